@@ -32,18 +32,21 @@ android {
 }
 
 dependencies {
+    // Models, codecs, timer math and recipe list rules (plain JVM)
+    implementation(project(":core"))
+
     implementation(libs.appcompat)
     implementation(libs.material)
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
-    // Gson for JSON serialization
-    implementation("com.google.code.gson:gson:2.10.1")
-
     // RecyclerView
     implementation("androidx.recyclerview:recyclerview:1.3.2")
 
     // LocalBroadcastManager (deprecated but still needed for compatibility)
     implementation("androidx.localbroadcastmanager:localbroadcastmanager:1.1.0")
+
+    // ViewModel for keeping the step editor draft across configuration changes
+    implementation("androidx.lifecycle:lifecycle-viewmodel:2.6.2")
 }
\ No newline at end of file
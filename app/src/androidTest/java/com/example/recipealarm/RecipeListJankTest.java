@@ -0,0 +1,195 @@
+package com.example.recipealarm;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 10,000개 행의 레시피 목록을 빠르게 넘기며 늦게 그려진 프레임 수를 세는 기기 테스트입니다.
+ * 행 글자를 메인 스레드에서 측정할 때와 {@link RecipeRowTextCache} 로 미리 측정할 때를 같은 조건으로 비교합니다.
+ * 두 방식을 먼저 한 번씩 돌려 예열한 뒤, 라운드마다 순서를 바꿔 가며 번갈아 측정합니다.
+ * 라운드별 결과는 logcat 의 "RecipeListJank" 태그로, 두 방식의 전체 비율은 am instrument 상태 출력으로도 남깁니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecipeListJankTest {
+
+    private static final String TAG = "RecipeListJank";
+    private static final int ROW_COUNT = 10_000;
+    private static final int FLING_COUNT = 8;
+    private static final int FLING_VELOCITY = 20_000;
+    private static final int WARMUP_FLING_COUNT = 2;
+    // 라운드마다 두 방식의 순서를 바꾸므로 홀수로 두어 과반을 정할 수 있게 합니다.
+    private static final int ROUNDS = 3;
+    private static final int MIN_FRAMES_PER_PASS = 30;
+    // am instrument 출력에 진행 중 상태로 남기는 결과 코드입니다.
+    private static final int INST_STATUS_IN_PROGRESS = 2;
+
+    private Context context;
+    private List<Recipe> originalRecipes;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        RecipeDataStore dataStore = RecipeDataStore.getInstance(context);
+        originalRecipes = dataStore.getRecipes().get(5, TimeUnit.SECONDS);
+
+        List<Recipe> recipes = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            recipes.add(new Recipe("jank-" + i,
+                    "아주 길고 자세한 주말 대용량 밑반찬 준비 레시피 " + i + "번 — 손질부터 보관까지 한 번에",
+                    Arrays.asList(
+                            new RecipeStep("재료 손질", 300 + i % 60),
+                            new RecipeStep("데치기", 180),
+                            new RecipeStep("양념 만들기", 120)),
+                    i % 7 == 0));
+        }
+        dataStore.saveRecipes(recipes).get(5, TimeUnit.SECONDS);
+        RecipeSessionCache.getInstance().replaceAll(recipes);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        RecipeDataStore.getInstance(context).saveRecipes(originalRecipes).get(5, TimeUnit.SECONDS);
+        RecipeSessionCache.getInstance().replaceAll(originalRecipes);
+    }
+
+    @Test
+    public void fling_precomputedTextDoesNotAddJank() throws Exception {
+        // 두 방식 모두 한 번씩 먼저 돌려 클래스 로딩, JIT, 글꼴 캐시 같은 첫 실행 비용을 측정에서 뺍니다.
+        measureJank(false, WARMUP_FLING_COUNT);
+        measureJank(true, WARMUP_FLING_COUNT);
+
+        int[] mainThread = new int[2];
+        int[] precomputed = new int[2];
+        int precomputedNotWorse = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // 먼저 도는 쪽이 유리하거나 불리하지 않도록 라운드마다 순서를 바꿉니다.
+            boolean precomputeFirst = round % 2 == 1;
+            int[] first = measureJank(precomputeFirst, FLING_COUNT);
+            int[] second = measureJank(!precomputeFirst, FLING_COUNT);
+            int[] roundMain = precomputeFirst ? second : first;
+            int[] roundPrecomputed = precomputeFirst ? first : second;
+            Log.i(TAG, String.format(Locale.US, "round %d (%s first): main thread %d/%d (%.3f), precomputed %d/%d (%.3f)",
+                    round, precomputeFirst ? "precomputed" : "main thread",
+                    roundMain[0], roundMain[1], ratio(roundMain), roundPrecomputed[0], roundPrecomputed[1],
+                    ratio(roundPrecomputed)));
+            assertTrue("라운드 " + round + " 에서 기록된 프레임이 너무 적습니다.",
+                    roundMain[1] >= MIN_FRAMES_PER_PASS && roundPrecomputed[1] >= MIN_FRAMES_PER_PASS);
+            if (ratio(roundPrecomputed) <= ratio(roundMain)) {
+                precomputedNotWorse++;
+            }
+            add(mainThread, roundMain);
+            add(precomputed, roundPrecomputed);
+        }
+
+        double before = ratio(mainThread);
+        double after = ratio(precomputed);
+        Log.i(TAG, String.format(Locale.US, "total: main thread %d/%d (%.3f), precomputed %d/%d (%.3f)",
+                mainThread[0], mainThread[1], before, precomputed[0], precomputed[1], after));
+        Bundle status = new Bundle();
+        status.putString(Instrumentation.REPORT_KEY_STREAMRESULT, String.format(Locale.US,
+                "%s: jank ratio main thread %.3f, precomputed %.3f%n", TAG, before, after));
+        status.putDouble("jank_ratio_main_thread", before);
+        status.putDouble("jank_ratio_precomputed", after);
+        InstrumentationRegistry.getInstrumentation().sendStatus(INST_STATUS_IN_PROGRESS, status);
+
+        assertTrue("미리 측정했을 때 전체 늦은 프레임 비율이 늘었습니다: " + before + " -> " + after, after <= before);
+        assertTrue("미리 측정한 쪽이 " + ROUNDS + " 라운드 중 " + precomputedNotWorse + " 라운드에서만 같거나 나았습니다.",
+                precomputedNotWorse > ROUNDS / 2);
+    }
+
+    private static double ratio(int[] jank) {
+        return jank[1] == 0 ? 0 : (double) jank[0] / jank[1];
+    }
+
+    private static void add(int[] total, int[] jank) {
+        total[0] += jank[0];
+        total[1] += jank[1];
+    }
+
+    /**
+     * 화면을 새로 띄워 목록을 여러 번 넘깁니다. 행 글자 캐시가 비어 있는 상태에서 시작하도록 매번 새로 띄웁니다.
+     * @param flingCount 넘기는 횟수
+     * @return {늦게 그려진 프레임 수, 전체 프레임 수}
+     */
+    private int[] measureJank(boolean precompute, int flingCount) throws Exception {
+        AtomicInteger frames = new AtomicInteger();
+        AtomicInteger janky = new AtomicInteger();
+        HandlerThread metricsThread = new HandlerThread("frame-metrics");
+        metricsThread.start();
+        Window.OnFrameMetricsAvailableListener listener = (window, metrics, dropped) -> {
+            if (metrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) {
+                return;
+            }
+            frames.incrementAndGet();
+            float refreshRate = window.getWindowManager().getDefaultDisplay().getRefreshRate();
+            long frameBudgetNs = (long) (1_000_000_000L / refreshRate);
+            if (metrics.getMetric(FrameMetrics.TOTAL_DURATION) > frameBudgetNs) {
+                janky.incrementAndGet();
+            }
+        };
+
+        try (ActivityScenario<RecipeListActivity> scenario = ActivityScenario.launch(RecipeListActivity.class)) {
+            RecyclerView[] recyclerView = new RecyclerView[1];
+            scenario.onActivity(activity -> {
+                recyclerView[0] = activity.findViewById(R.id.recipe_recycler_view);
+                ((RecipeAdapter) recyclerView[0].getAdapter()).setTextPrecomputeEnabled(precompute);
+            });
+            waitUntil(() -> recyclerView[0].getAdapter().getItemCount() == ROW_COUNT);
+
+            scenario.onActivity(activity -> activity.getWindow()
+                    .addOnFrameMetricsAvailableListener(listener, new Handler(metricsThread.getLooper())));
+            for (int i = 0; i < flingCount; i++) {
+                int velocity = i % 2 == 0 ? FLING_VELOCITY : -FLING_VELOCITY / 2;
+                scenario.onActivity(activity -> recyclerView[0].fling(0, velocity));
+                waitUntil(() -> recyclerView[0].getScrollState() == RecyclerView.SCROLL_STATE_IDLE);
+            }
+            scenario.onActivity(activity -> activity.getWindow().removeOnFrameMetricsAvailableListener(listener));
+        } finally {
+            metricsThread.quitSafely();
+        }
+        return new int[]{janky.get(), frames.get()};
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+
+    private static void waitUntil(Condition condition) throws InterruptedException {
+        long deadline = SystemClock.uptimeMillis() + 10_000;
+        while (true) {
+            boolean[] met = new boolean[1];
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> met[0] = condition.isMet());
+            if (met[0]) {
+                return;
+            }
+            assertTrue("시간 안에 조건을 만족하지 못했습니다.", SystemClock.uptimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
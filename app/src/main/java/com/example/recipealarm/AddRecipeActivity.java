@@ -1,16 +1,17 @@
 package com.example.recipealarm;
 
+import android.content.ClipData;
+import android.content.ClipboardManager;
 import android.os.Bundle;
-import android.view.LayoutInflater;
-import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
-import android.widget.LinearLayout;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,15 +20,23 @@ import java.util.List;
  *
  * UI 개발자는 이 액티비티의 레이아웃(activity_add_recipe.xml)을 자유롭게 수정하여
  * 디자인을 개선할 수 있습니다. 핵심 로직은 그대로 유지됩니다.
+ *
+ * 단계 입력은 RecyclerView 로 보이는 행만 만들고, 입력 중인 단계는 {@link RecipeEditorViewModel} 에
+ * 보관하여 화면 회전 후에도 다시 만들지 않습니다. 입력 검사와 저장 전 검사는 작업 스레드에서 실행됩니다.
+ * 저장도 ViewModel 이 진행하므로, 저장 중에 화면이 회전하면 결과는 새로 만들어진 액티비티가 받습니다.
  */
-public class AddRecipeActivity extends AppCompatActivity {
+public class AddRecipeActivity extends AppCompatActivity
+        implements RecipeEditorViewModel.Listener, StepEditorAdapter.OnDeleteStepListener {
 
     private EditText recipeNameInput;
-    private LinearLayout stepsContainer;
+    private RecyclerView stepsRecyclerView;
     private Button addStepButton;
+    private Button pasteStepsButton;
     private Button saveRecipeButton;
 
     private RecipeRepository recipeRepository;
+    private RecipeEditorViewModel viewModel;
+    private StepEditorAdapter stepAdapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -35,46 +44,105 @@ public class AddRecipeActivity extends AppCompatActivity {
         setContentView(R.layout.activity_add_recipe);
 
         recipeRepository = new RecipeRepository(this);
+        viewModel = new ViewModelProvider(this).get(RecipeEditorViewModel.class);
 
         recipeNameInput = findViewById(R.id.recipe_name_input);
-        stepsContainer = findViewById(R.id.steps_container);
+        stepsRecyclerView = findViewById(R.id.steps_recycler_view);
         addStepButton = findViewById(R.id.add_step_button);
+        pasteStepsButton = findViewById(R.id.paste_steps_button);
         saveRecipeButton = findViewById(R.id.save_recipe_button);
 
-        addStepButton.setOnClickListener(v -> addStepView());
+        stepAdapter = new StepEditorAdapter(viewModel, this);
+        stepsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        stepsRecyclerView.setAdapter(stepAdapter);
+
+        addStepButton.setOnClickListener(v -> addStep());
+        pasteStepsButton.setOnClickListener(v -> pasteSteps());
         saveRecipeButton.setOnClickListener(v -> saveRecipe());
+        // 회전 전에 시작한 저장이 아직 진행 중이면 다시 누를 수 없게 둡니다.
+        saveRecipeButton.setEnabled(viewModel.getSaveState() == RecipeEditorViewModel.SAVE_IDLE);
+
+        // 처음 열었을 때만 빈 단계 하나를 추가합니다. 화면 회전 후에는 ViewModel 의 단계를 그대로 씁니다.
+        if (viewModel.getSteps().isEmpty()) {
+            viewModel.addStep();
+        }
+        // 화면이 준비된 뒤에 등록합니다. 회전하는 사이에 끝난 저장 결과가 있으면 여기서 바로 전달됩니다.
+        viewModel.setListener(this);
+    }
 
-        // 초기 단계 입력 필드 하나를 추가합니다.
-        addStepView();
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        viewModel.setListener(null);
     }
 
     /**
      * '단계 추가' 버튼을 누르면 호출됩니다.
-     * 레시피 단계를 입력할 수 있는 새로운 View를 동적으로 추가합니다.
+     * 빈 단계를 끝에 추가하고 그 행으로 스크롤합니다.
      */
-    private void addStepView() {
-        LayoutInflater inflater = LayoutInflater.from(this);
-        View stepView = inflater.inflate(R.layout.item_recipe_step_input, stepsContainer, false);
-        
-        // 삭제 버튼 설정
-        android.widget.ImageButton deleteButton = stepView.findViewById(R.id.button_delete_step);
-        if (deleteButton != null) {
-            deleteButton.setOnClickListener(v -> {
-                // 마지막 하나 남은 경우 삭제 방지
-                if (stepsContainer.getChildCount() > 1) {
-                    stepsContainer.removeView(stepView);
-                } else {
-                    Toast.makeText(this, "최소 하나의 단계가 필요합니다.", Toast.LENGTH_SHORT).show();
-                }
-            });
+    private void addStep() {
+        int position = viewModel.addStep();
+        stepAdapter.notifyItemInserted(position);
+        stepsRecyclerView.scrollToPosition(position);
+    }
+
+    /**
+     * '붙여넣기' 버튼을 누르면 호출됩니다.
+     * 클립보드의 여러 줄을 단계로 나누어 끝에 추가합니다. 아직 비어 있는 마지막 단계는 대신합니다.
+     */
+    private void pasteSteps() {
+        ClipboardManager clipboard = getSystemService(ClipboardManager.class);
+        ClipData clip = clipboard != null ? clipboard.getPrimaryClip() : null;
+        CharSequence text = clip != null && clip.getItemCount() > 0 ? clip.getItemAt(0).coerceToText(this) : null;
+        List<StepPasteParser.ParsedStep> parsed = StepPasteParser.parse(text);
+        if (parsed.isEmpty()) {
+            Toast.makeText(this, "붙여넣을 단계가 없습니다.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (viewModel.removeTrailingBlankStep()) {
+            stepAdapter.notifyItemRemoved(viewModel.getSteps().size());
+        }
+        int start = viewModel.addSteps(parsed);
+        stepAdapter.notifyItemRangeInserted(start, parsed.size());
+        stepsRecyclerView.scrollToPosition(start);
+        Toast.makeText(this, parsed.size() + "개의 단계를 추가했습니다.", Toast.LENGTH_SHORT).show();
+    }
+
+    @Override
+    public void onDeleteStep(int position) {
+        // 마지막 하나 남은 경우 삭제 방지
+        if (viewModel.getSteps().size() <= 1) {
+            Toast.makeText(this, "최소 하나의 단계가 필요합니다.", Toast.LENGTH_SHORT).show();
+            return;
         }
-        
-        stepsContainer.addView(stepView);
+        viewModel.removeStep(position);
+        stepAdapter.notifyItemRemoved(position);
+        // 뒤의 단계들은 번호만 다시 그립니다.
+        stepAdapter.notifyItemRangeChanged(position, viewModel.getSteps().size() - position,
+                StepEditorAdapter.PAYLOAD_NUMBER);
+    }
+
+    @Override
+    public void onStepErrorChanged(int position) {
+        stepAdapter.notifyItemChanged(position, StepEditorAdapter.PAYLOAD_ERROR);
+    }
+
+    @Override
+    public void onRecipeSaved() {
+        Toast.makeText(this, "레시피가 저장되었습니다.", Toast.LENGTH_SHORT).show();
+        finish(); // 저장이 완료되면 화면을 닫습니다.
+    }
+
+    @Override
+    public void onSaveFailed(String message) {
+        saveRecipeButton.setEnabled(true);
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
     }
 
     /**
      * '레시피 저장' 버튼을 누르면 호출됩니다.
-     * 입력된 데이터를 Recipe 객체로 만들어 저장소에 저장합니다.
+     * 입력된 데이터를 Recipe 객체로 만들어 저장소에 저장합니다. 결과는 {@link #onRecipeSaved()} 나
+     * {@link #onSaveFailed(String)} 로 받습니다.
      */
     private void saveRecipe() {
         String recipeName = recipeNameInput.getText().toString().trim();
@@ -83,44 +151,8 @@ public class AddRecipeActivity extends AppCompatActivity {
             return;
         }
 
-        List<RecipeStep> steps = new ArrayList<>();
-        for (int i = 0; i < stepsContainer.getChildCount(); i++) {
-            View stepView = stepsContainer.getChildAt(i);
-            EditText stepDescriptionInput = stepView.findViewById(R.id.step_description_input);
-            EditText stepDurationInput = stepView.findViewById(R.id.step_duration_input);
-
-            String description = stepDescriptionInput.getText().toString().trim();
-            String durationStr = stepDurationInput.getText().toString().trim();
-
-            if (description.isEmpty() || durationStr.isEmpty()) {
-                Toast.makeText(this, "단계 " + (i + 1) + "의 설명과 시간을 모두 입력해주세요.", Toast.LENGTH_SHORT).show();
-                return;
-            }
-
-            try {
-                int durationInSeconds = Integer.parseInt(durationStr);
-                steps.add(new RecipeStep(description, durationInSeconds));
-            } catch (NumberFormatException e) {
-                Toast.makeText(this, "단계 " + (i + 1) + "의 시간은 숫자로 입력해주세요.", Toast.LENGTH_SHORT).show();
-                return;
-            }
+        if (viewModel.save(recipeRepository, recipeName)) {
+            saveRecipeButton.setEnabled(false);
         }
-
-        if (steps.isEmpty()) {
-            Toast.makeText(this, "레시피 단계를 하나 이상 추가해주세요.", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        Recipe newRecipe = new Recipe(recipeName, steps);
-        recipeRepository.addRecipe(newRecipe).whenComplete((aVoid, throwable) -> {
-            if (throwable != null) {
-                runOnUiThread(() -> Toast.makeText(AddRecipeActivity.this, "저장 실패: " + throwable.getMessage(), Toast.LENGTH_SHORT).show());
-            } else {
-                runOnUiThread(() -> {
-                    Toast.makeText(AddRecipeActivity.this, "레시피가 저장되었습니다.", Toast.LENGTH_SHORT).show();
-                    finish(); // 저장이 완료되면 화면을 닫습니다.
-                });
-            }
-        });
     }
 }
@@ -0,0 +1,139 @@
+package com.example.recipealarm;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 단계 알람이 예정보다 얼마나 늦게 울렸는지를 알람 예약 방식별 {@link LatencyHistogram} 으로 기기에 보관합니다.
+ * Doze 상태나 정확한 알람 권한이 없을 때 어떤 대체 경로가 사용자에게 손해를 주는지 확인하는 데 사용합니다.
+ * 요리 세션마다 {@link AlarmPolicy} 가 고른 예약 방법의 개수도 누적하여 세션당 깨우기 횟수를 비교할 수 있게 합니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
+ */
+public class AlarmLatencyStore {
+
+    private static final String PREFS_NAME = "alarm_latency";
+    private static final String[] MODES = {
+            RecipeTimer.ALARM_MODE_EXACT_ALLOW_WHILE_IDLE,
+            RecipeTimer.ALARM_MODE_WINDOWED_EXACT,
+            RecipeTimer.ALARM_MODE_ALARM_CLOCK,
+            RecipeTimer.ALARM_MODE_INEXACT_ALLOW_WHILE_IDLE,
+            RecipeTimer.ALARM_MODE_EXACT,
+            RecipeTimer.ALARM_MODE_INEXACT
+    };
+    private static final String KEY_SESSIONS = "decision_sessions";
+    private static final String KEY_DECISION_PREFIX = "decision.";
+    private static volatile AlarmLatencyStore INSTANCE;
+
+    private final SharedPreferences sharedPreferences;
+
+    private AlarmLatencyStore(Context context) {
+        this.sharedPreferences = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * AlarmLatencyStore 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 애플리케이션 컨텍스트
+     */
+    public static AlarmLatencyStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (AlarmLatencyStore.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AlarmLatencyStore(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 알람 지연을 기록합니다. 알람 처리 작업 스레드에서 호출됩니다.
+     * @param mode 알람을 예약한 방식 (RecipeTimer.ALARM_MODE_*)
+     * @param latencyMs 예정 시각보다 늦은 시간. 일찍 울렸으면 음수
+     */
+    public synchronized void record(String mode, long latencyMs) {
+        LatencyHistogram histogram = LatencyHistogram.decode(sharedPreferences.getString(mode, null));
+        histogram.record(latencyMs);
+        sharedPreferences.edit().putString(mode, histogram.encode()).apply();
+    }
+
+    /**
+     * @return 예약 방식별 히스토그램. 기록이 없는 방식도 빈 히스토그램으로 포함됩니다.
+     */
+    public synchronized Map<String, LatencyHistogram> snapshot() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        for (String mode : MODES) {
+            histograms.put(mode, LatencyHistogram.decode(sharedPreferences.getString(mode, null)));
+        }
+        return histograms;
+    }
+
+    /**
+     * 끝난 요리 세션 하나의 예약 방법 결정 개수를 누적합니다.
+     */
+    public synchronized void recordSession(AlarmDecisionCounter counter) {
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+        editor.putInt(KEY_SESSIONS, sharedPreferences.getInt(KEY_SESSIONS, 0) + 1);
+        for (int mechanism = 0; mechanism < AlarmPolicy.MECHANISM_COUNT; mechanism++) {
+            String key = KEY_DECISION_PREFIX + AlarmPolicy.nameOf(mechanism);
+            editor.putInt(key, sharedPreferences.getInt(key, 0) + counter.getCount(mechanism));
+        }
+        editor.apply();
+    }
+
+    public synchronized void clear() {
+        sharedPreferences.edit().clear().apply();
+    }
+
+    /**
+     * 디버그 화면과 내보내기에 사용할 요약 문자열을 만듭니다.
+     */
+    public String summarize() {
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : snapshot().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            summary.append(entry.getKey()).append('\n');
+            if (histogram.getTotalCount() == 0) {
+                summary.append("  기록 없음\n\n");
+                continue;
+            }
+            summary.append(String.format(Locale.US,
+                    "  n=%d  p50=%s  p95=%s  p99=%s  max=%s  early=%d%n%n",
+                    histogram.getTotalCount(),
+                    formatMillis(histogram.valueAtPercentile(50)),
+                    formatMillis(histogram.valueAtPercentile(95)),
+                    formatMillis(histogram.valueAtPercentile(99)),
+                    formatMillis(histogram.getMaxValue()),
+                    histogram.getNegativeCount()));
+        }
+        summarizeDecisions(summary);
+        return summary.toString().trim();
+    }
+
+    private synchronized void summarizeDecisions(StringBuilder summary) {
+        int sessions = sharedPreferences.getInt(KEY_SESSIONS, 0);
+        summary.append("예약 방법 결정 (세션 ").append(sessions).append("개)\n");
+        if (sessions == 0) {
+            summary.append("  기록 없음\n");
+            return;
+        }
+        int wakeups = 0;
+        for (int mechanism = 0; mechanism < AlarmPolicy.MECHANISM_COUNT; mechanism++) {
+            int count = sharedPreferences.getInt(KEY_DECISION_PREFIX + AlarmPolicy.nameOf(mechanism), 0);
+            wakeups += count * AlarmPolicy.dedicatedWakeupsFor(mechanism);
+            summary.append("  ").append(AlarmPolicy.nameOf(mechanism)).append('=').append(count).append('\n');
+        }
+        summary.append(String.format(Locale.US, "  세션당 깨우기 %.1f회%n", (double) wakeups / sessions));
+    }
+
+    private static String formatMillis(long millis) {
+        if (millis < 1000) {
+            return millis + "ms";
+        }
+        return String.format(Locale.US, "%.1fs", millis / 1000.0);
+    }
+}
@@ -1,103 +1,154 @@
 package com.example.recipealarm;
 
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.os.Build;
-import androidx.core.app.NotificationCompat;
-import androidx.core.app.NotificationManagerCompat;
-import com.google.gson.Gson;
+import android.util.Log;
+
+import androidx.localbroadcastmanager.content.LocalBroadcastManager;
+
+import com.example.recipealarm.utils.Constants;
 
 /**
  * AlarmManager로부터 브로드캐스트를 수신하여 알람 로직을 처리하는 클래스입니다.
- * 순차 알람의 핵심적인 역할을 담당하며, 이제 음성 안내(TTS)와 진동 기능도 처리합니다.
+ * 단계 종료 알림과 음성 안내는 {@link StepTransitionPipeline} 을 통해 포그라운드 서비스와 중복 없이 내보냅니다.
+ * 실제 처리는 메인 스레드가 아닌 작업 스레드에서 이루어집니다.
+ * 작업 스레드로 넘어가기까지의 대기, 처리 전체, 레시피 JSON 파싱은 {@link SpanTracer} 에 구간으로 기록합니다.
  */
 public class AlarmReceiver extends BroadcastReceiver {
 
-    private static final String CHANNEL_ID = "recipe_alarm_channel";
+    private static final String TAG = "AlarmReceiver";
+
+    // 브로드캐스트를 받은 때부터 작업 스레드에서 처리를 마칠 때까지의 시간
+    private static final MetricsRegistry.Histogram HANDLE_US = MetricsRegistry.getInstance().histogram("alarm.handle_us");
+    private static final MetricsRegistry.Counter FAILURES = MetricsRegistry.getInstance().counter("alarm.failures");
 
+    private final SpanTracer tracer = SpanTracer.getInstance();
+
+    /**
+     * 메인 스레드에서는 goAsync() 로 브로드캐스트를 연장하고 작업을 넘기기만 합니다.
+     * JSON 파싱, 일정 계산, 알림 게시는 {@link ReceiverWorkRunner} 의 작업 스레드에서 기한 안에 처리됩니다.
+     */
     @Override
     public void onReceive(Context context, Intent intent) {
-        createNotificationChannel(context);
+        // 지연은 작업 스레드로 넘어가기 전, 브로드캐스트를 받은 시각으로 잽니다.
+        long receivedAtMs = System.currentTimeMillis();
+        long receivedNanos = System.nanoTime();
+        Context appContext = context.getApplicationContext();
+        PendingResult pendingResult = goAsync();
+        long dispatchSpan = tracer.beginAsync("alarm.dispatch");
+        ReceiverWorkRunner.getInstance().run(() -> {
+            tracer.endAsync("alarm.dispatch", dispatchSpan);
+            handleAlarm(appContext, intent, receivedAtMs, receivedNanos);
+        }, pendingResult::finish);
+    }
+
+    private void handleAlarm(Context context, Intent intent, long receivedAtMs, long receivedNanos) {
+        long span = tracer.begin("alarm.handle");
+        try {
+            if (RecipeTimer.ACTION_PLANNED_START.equals(intent.getAction())) {
+                // 계획된 레시피의 시작 시각입니다. 잠든 동안 멈춰 있던 서비스가 레시피를 시작하고 안내하도록 알립니다.
+                LocalBroadcastManager.getInstance(context).sendBroadcast(new Intent(Constants.ACTION_TIMER_RESYNC));
+                return;
+            }
+            if (intent.getBooleanExtra(RecipeTimer.EXTRA_REARM, false)) {
+                rearmExact(context, intent, receivedAtMs);
+                return;
+            }
+            recordLatency(context, intent, receivedAtMs);
+            handleStepFinished(context, intent);
+        } catch (RuntimeException e) {
+            FAILURES.increment();
+            Log.e(TAG, "알람 처리 실패", e);
+            throw e;
+        } finally {
+            tracer.end(span);
+            HANDLE_US.recordMicrosSince(receivedNanos);
+            MetricsFileExporter.getInstance(context).dumpIfDue();
+        }
+    }
 
+    /**
+     * 긴 단계의 시간 범위 알람이 울린 경우입니다. 단계는 아직 끝나지 않았으므로 알리지 않고,
+     * 같은 단계의 알람을 원래 종료 시각에 정확하게 다시 겁니다.
+     * 시간 범위 알람이 미뤄져 종료 시각이 이미 지났다면 다시 걸지 않고 바로 단계 종료로 처리합니다.
+     */
+    private void rearmExact(Context context, Intent intent, long receivedAtMs) {
         String recipeJson = intent.getStringExtra(RecipeTimer.EXTRA_RECIPE_JSON);
         int stepIndex = intent.getIntExtra(RecipeTimer.EXTRA_STEP_INDEX, -1);
-
-        if (recipeJson == null || stepIndex == -1) {
+        long intendedTimeMs = intent.getLongExtra(RecipeTimer.EXTRA_INTENDED_TIME, -1);
+        if (recipeJson == null || stepIndex == -1 || intendedTimeMs < 0) {
             return;
         }
-
-        Gson gson = new Gson();
-        Recipe recipe = gson.fromJson(recipeJson, Recipe.class);
-
-        if (recipe == null) {
+        if (intendedTimeMs <= receivedAtMs) {
+            recordLatency(context, intent, receivedAtMs);
+            handleStepFinished(context, intent);
             return;
         }
-
-        RecipeStep finishedStep = recipe.getSteps().get(stepIndex);
-        int notificationId = recipe.getId().hashCode() + stepIndex;
-
-        // 현재 단계가 완료되었음을 알림
-        sendNotification(context, "단계 완료: " + finishedStep.getDescription(), "다음 단계를 준비하세요.", notificationId);
-
-        // 다음 단계가 있는지 확인
-        int nextStepIndex = stepIndex + 1;
-        if (nextStepIndex < recipe.getSteps().size()) {
-            RecipeStep nextStep = recipe.getSteps().get(nextStepIndex);
-            // 다음 단계 알람 설정
-            RecipeTimer.setAlarm(context, recipe, nextStepIndex);
-            // TTS로 다음 단계 안내
-            new TTSHandler(context, "다음 단계는, " + nextStep.getDescription() + " 입니다.");
-        } else {
-            // 마지막 단계였다면, 레시피 완료 알림 및 음성 안내
-            int finalNotificationId = recipe.getId().hashCode() + 1000;
-            String completionMessage = recipe.getName() + " 완성!";
-            sendNotification(context, "요리 완료!", completionMessage, finalNotificationId);
-            new TTSHandler(context, "요리가 완성되었습니다. 맛있게 드세요!");
+        Recipe recipe = RecipeJsonCodec.decodeRecipe(recipeJson);
+        if (recipe == null) {
+            return;
         }
+        int generation = intent.getIntExtra(RecipeTimer.EXTRA_GENERATION, -1);
+        RecipeTimer.rearmExact(context, recipe, recipeJson, stepIndex, intendedTimeMs, generation);
+        Log.d(TAG, "정확한 알람 다시 걸기: " + recipe.getName() + " 단계 " + stepIndex
+                + " (" + (intendedTimeMs - receivedAtMs) / 1000 + "초 남음)");
     }
 
     /**
-     * 사용자에게 알림을 보냅니다. 이제 진동 기능이 포함됩니다.
-     * @param context 컨텍스트
-     * @param title 알림 제목
-     * @param content 알림 내용
-     * @param notificationId 알림 ID
+     * 알람이 예정 시각보다 얼마나 늦게 울렸는지 예약 방식별로 기록합니다.
      */
-    private void sendNotification(Context context, String title, String content, int notificationId) {
-        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
-                .setSmallIcon(android.R.drawable.ic_dialog_info)
-                .setContentTitle(title)
-                .setContentText(content)
-                .setPriority(NotificationCompat.PRIORITY_HIGH)
-                .setCategory(NotificationCompat.CATEGORY_ALARM)
-                .setAutoCancel(true)
-                // 진동 패턴 설정: 0.5초 대기 -> 0.5초 진동 -> 0.25초 대기 -> 0.5초 진동
-                .setVibrate(new long[]{500, 500, 250, 500});
-
-        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
-        notificationManager.notify(notificationId, builder.build());
+    private void recordLatency(Context context, Intent intent, long receivedAtMs) {
+        long intendedTimeMs = intent.getLongExtra(RecipeTimer.EXTRA_INTENDED_TIME, -1);
+        String mode = intent.getStringExtra(RecipeTimer.EXTRA_ALARM_MODE);
+        if (intendedTimeMs < 0 || mode == null) {
+            return; // 이전 버전에서 예약된 알람
+        }
+        long latencyMs = receivedAtMs - intendedTimeMs;
+        AlarmLatencyStore.getInstance(context).record(mode, latencyMs);
+        Log.d(TAG, "알람 지연 " + latencyMs + "ms (" + mode + ")");
     }
 
     /**
-     * 알림 채널을 생성합니다. 채널에 진동을 활성화하는 설정을 추가합니다.
-     * @param context 컨텍스트
+     * 알람이 가리키는 단계 종료를 전환 파이프라인에 제출합니다.
+     * 포그라운드 서비스가 같은 전환을 먼저 처리했다면 알림과 안내는 다시 나가지 않습니다.
      */
-    private void createNotificationChannel(Context context) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            CharSequence name = "레시피 알람 채널";
-            String description = "레시피 타이머 알람을 위한 채널";
-            int importance = NotificationManager.IMPORTANCE_HIGH; // 높은 중요도로 설정해야 헤드업 알림이 뜹니다.
-            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, name, importance);
-            channel.setDescription(description);
-            // 채널에 진동 활성화
-            channel.enableVibration(true);
-            channel.setVibrationPattern(new long[]{500, 500, 250, 500});
-
-            NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
-            notificationManager.createNotificationChannel(channel);
+    private void handleStepFinished(Context context, Intent intent) {
+        String recipeJson = intent.getStringExtra(RecipeTimer.EXTRA_RECIPE_JSON);
+        int stepIndex = intent.getIntExtra(RecipeTimer.EXTRA_STEP_INDEX, -1);
+        int generation = intent.getIntExtra(RecipeTimer.EXTRA_GENERATION, -1);
+
+        if (recipeJson == null || stepIndex == -1) {
+            return;
         }
+
+        Recipe recipe;
+        long parseSpan = tracer.begin("alarm.parse");
+        try {
+            recipe = RecipeJsonCodec.decodeRecipe(recipeJson);
+        } finally {
+            tracer.end(parseSpan);
+        }
+
+        if (recipe == null) {
+            return;
+        }
+
+        StepSchedule schedule;
+        try {
+            schedule = StepSchedule.of(recipe);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (stepIndex >= schedule.getStepCount()) {
+            return;
+        }
+
+        // 각 단계의 알람은 레시피 시작 시 모두 예약되므로 여기서 다음 알람을 이어서 설정하지 않습니다.
+        StepTransitionPipeline.getInstance(context)
+                .submit(recipe, schedule, generation, stepIndex, StepTransitionPipeline.SOURCE_ALARM);
+        // 지켜보는 화면이 없으면 서비스는 단계 종료 시각에만 깨어나는데, 기기가 잠들었다면 그 콜백이 늦어집니다.
+        // 알람이 기기를 깨운 김에 서비스가 세션 상태와 알림을 바로 맞추도록 알립니다.
+        LocalBroadcastManager.getInstance(context).sendBroadcast(new Intent(Constants.ACTION_TIMER_RESYNC));
     }
 }
@@ -0,0 +1,121 @@
+package com.example.recipealarm;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.google.android.material.appbar.MaterialToolbar;
+import com.google.android.material.button.MaterialButton;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * 개발용 통계 화면입니다. 레시피 목록 화면의 툴바를 길게 누르면 열립니다.
+ * 알람 예약 방식별로 알람이 예정보다 늦게 울린 시간의 p50/p95/p99 를 보여주고,
+ * 텍스트로 내보내거나 초기화할 수 있습니다.
+ * 알람 예약 방법을 고르는 정확도 목표를 바꿔 가며 세션당 깨우기 횟수를 비교할 수도 있습니다.
+ * 상세 화면과 타이머 화면의 첫 내용 표시 시간도 레시피를 넘겨받은 경로별로 보여줍니다.
+ * 저장소, 타이머 서비스, 알람, 음성 안내의 {@link MetricsRegistry} 메트릭도 보여주며, 화면을 열 때마다
+ * 지금 값을 {@link MetricsFileExporter} 의 파일에도 남깁니다.
+ * 트레이스 저장 버튼은 {@link SpanTracer} 의 최근 구간을 {@link SpanTraceExporter} 로 Chrome trace-event 파일에 씁니다.
+ */
+public class DebugStatsActivity extends AppCompatActivity {
+
+    private AlarmLatencyStore latencyStore;
+    private TextView statsText;
+    private MaterialButton accuracyButton;
+
+    // 정확도 목표 버튼을 누를 때마다 차례로 바뀌는 값. 1초 미만이면 알람 시계를 사용합니다.
+    private static final long[] ACCURACY_TARGETS_MS = {500L, AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS, 30_000L};
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_debug_stats);
+
+        latencyStore = AlarmLatencyStore.getInstance(this);
+        statsText = findViewById(R.id.debug_stats_text);
+
+        MaterialToolbar toolbar = findViewById(R.id.toolbar_debug_stats);
+        if (toolbar != null) {
+            toolbar.setNavigationOnClickListener(v -> finish());
+        }
+
+        accuracyButton = findViewById(R.id.button_accuracy_target);
+        accuracyButton.setOnClickListener(v -> cycleAccuracyTarget());
+
+        MaterialButton traceButton = findViewById(R.id.button_save_trace);
+        traceButton.setOnClickListener(v -> saveTrace());
+
+        MaterialButton exportButton = findViewById(R.id.button_export_stats);
+        exportButton.setOnClickListener(v -> exportStats());
+
+        MaterialButton clearButton = findViewById(R.id.button_clear_stats);
+        clearButton.setOnClickListener(v -> {
+            latencyStore.clear();
+            ScreenTimingStore.getInstance(this).clear();
+            MetricsRegistry.getInstance().clear();
+            SpanTracer.getInstance().clear();
+            showStats();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        MetricsFileExporter.getInstance(this).dump();
+        showStats();
+    }
+
+    private void showStats() {
+        StringBuilder stats = new StringBuilder(latencyStore.summarize())
+                .append("\n\n").append(StepTransitionPipeline.getInstance(this).summarize());
+        String listening = VoiceCommandHandler.getLastContinuousSummary(this);
+        if (listening != null) {
+            stats.append("\n\n").append(listening);
+        }
+        String wakeups = TimerService.getLastWakeupSummary(this);
+        if (wakeups != null) {
+            stats.append("\n\n").append(wakeups);
+        }
+        RecipeSessionCache sessionCache = RecipeSessionCache.getInstance();
+        stats.append("\n\n").append(ScreenTimingStore.getInstance(this).summarize())
+                .append(String.format(Locale.US, "\n  레시피 넘겨받기: 메모리 %d회, 저장소 %d회",
+                        sessionCache.getHitCount(), sessionCache.getMissCount()));
+        stats.append("\n\n").append(MetricsRegistry.getInstance().summarize())
+                .append("\n  파일: ").append(MetricsFileExporter.getInstance(this).getCurrentFile().getPath());
+        statsText.setText(stats);
+        accuracyButton.setText(String.format(Locale.US, "알람 정확도 목표: %.1f초",
+                RecipeTimer.getAccuracyTargetMs(this) / 1000.0));
+    }
+
+    private void cycleAccuracyTarget() {
+        long current = RecipeTimer.getAccuracyTargetMs(this);
+        long next = ACCURACY_TARGETS_MS[0];
+        for (int i = 0; i < ACCURACY_TARGETS_MS.length; i++) {
+            if (ACCURACY_TARGETS_MS[i] == current) {
+                next = ACCURACY_TARGETS_MS[(i + 1) % ACCURACY_TARGETS_MS.length];
+                break;
+            }
+        }
+        RecipeTimer.setAccuracyTargetMs(this, next);
+        showStats();
+    }
+
+    private void saveTrace() {
+        File file = SpanTraceExporter.getInstance(this).save();
+        Toast.makeText(this, "트레이스를 저장합니다: " + file.getPath(), Toast.LENGTH_LONG).show();
+    }
+
+    private void exportStats() {
+        Intent sendIntent = new Intent(Intent.ACTION_SEND);
+        sendIntent.setType("text/plain");
+        sendIntent.putExtra(Intent.EXTRA_SUBJECT, "알람 지연 통계");
+        sendIntent.putExtra(Intent.EXTRA_TEXT, statsText.getText().toString());
+        startActivity(Intent.createChooser(sendIntent, "통계 내보내기"));
+    }
+}
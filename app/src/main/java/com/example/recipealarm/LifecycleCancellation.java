@@ -0,0 +1,32 @@
+package com.example.recipealarm;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+/**
+ * 화면의 생명주기에 묶인 {@link CancellationToken} 을 만듭니다.
+ * 화면이 파괴되면(ON_DESTROY) 토큰이 취소되어, 아직 시작하지 않은 저장소 작업은 건너뛰고 끝난 결과는 전달하지 않습니다.
+ */
+public final class LifecycleCancellation {
+
+    private LifecycleCancellation() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * @param owner 토큰을 묶을 액티비티. onCreate 에서 호출합니다.
+     * @return owner 가 파괴될 때 취소되는 토큰
+     */
+    public static CancellationToken bind(LifecycleOwner owner) {
+        CancellationToken token = new CancellationToken();
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                source.getLifecycle().removeObserver(this);
+                token.cancel();
+            }
+        });
+        return token;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.recipealarm;
+
+import android.content.ComponentName;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.IBinder;
+import android.text.format.DateFormat;
+import android.util.Log;
+import android.util.SparseBooleanArray;
+import android.widget.ArrayAdapter;
+import android.widget.ListView;
+import android.widget.TextView;
+import android.widget.TimePicker;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.recipealarm.utils.Constants;
+import com.google.android.material.appbar.MaterialToolbar;
+import com.google.android.material.button.MaterialButton;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 여러 레시피와 식사 시간을 골라 모든 요리가 함께 완성되도록 계획하는 액티비티입니다.
+ * 선택이 바뀔 때마다 {@link MealPlan} 으로 각 레시피의 시작 시각을 미리 보여주고,
+ * 계획 시작을 누르면 TimerService 가 늦게 시작할 레시피들의 시작을 예약합니다.
+ * 아직 시작하지 않은 레시피가 남은 계획이 있으면 서비스가 새 계획을 받지 않으므로, 실행 중인 서비스에 바인드해
+ * 미리 확인하고 화면을 닫지 않은 채 알려줍니다.
+ */
+public class MealPlanActivity extends AppCompatActivity {
+
+    private static final String TAG = "MealPlanActivity";
+
+    private final List<Recipe> recipes = new ArrayList<>();
+    private ArrayAdapter<String> recipeNamesAdapter;
+
+    private ListView recipeList;
+    private TimePicker timePicker;
+    private TextView previewText;
+
+    // 실행 중인 TimerService. 서비스가 없거나 연결되기 전에는 null 입니다.
+    private TimerService timerService;
+    private final ServiceConnection timerServiceConnection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder service) {
+            timerService = ((TimerService.LocalBinder) service).getService();
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            timerService = null;
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_meal_plan);
+
+        MaterialToolbar toolbar = findViewById(R.id.toolbar_meal_plan);
+        if (toolbar != null) {
+            toolbar.setNavigationOnClickListener(v -> finish());
+        }
+
+        recipeList = findViewById(R.id.meal_plan_recipe_list);
+        timePicker = findViewById(R.id.meal_plan_time_picker);
+        previewText = findViewById(R.id.meal_plan_preview);
+        MaterialButton startButton = findViewById(R.id.button_start_meal_plan);
+
+        recipeNamesAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_multiple_choice);
+        recipeList.setAdapter(recipeNamesAdapter);
+        recipeList.setOnItemClickListener((parent, view, position, id) -> updatePreview());
+
+        // 기본 식사 시간은 한 시간 뒤입니다.
+        Calendar defaultTime = Calendar.getInstance();
+        defaultTime.add(Calendar.HOUR_OF_DAY, 1);
+        timePicker.setIs24HourView(DateFormat.is24HourFormat(this));
+        timePicker.setHour(defaultTime.get(Calendar.HOUR_OF_DAY));
+        timePicker.setMinute(defaultTime.get(Calendar.MINUTE));
+        timePicker.setOnTimeChangedListener((view, hourOfDay, minute) -> updatePreview());
+
+        startButton.setOnClickListener(v -> startMealPlan());
+
+        loadRecipes();
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // 서비스를 새로 만들지 않고, 이미 실행 중일 때만 연결합니다.
+        bindService(new Intent(this, TimerService.class), timerServiceConnection, 0);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        unbindService(timerServiceConnection);
+        timerService = null;
+    }
+
+    private void loadRecipes() {
+        RecipeRepository repository = new RecipeRepository(getApplicationContext());
+        CancellationToken token = LifecycleCancellation.bind(this);
+        token.deliver(repository.getRecipes(token), repository.getMainExecutor(), (loaded, throwable) -> {
+            if (throwable != null || loaded == null) {
+                Log.e(TAG, "레시피 로드 실패", throwable);
+                Toast.makeText(this, "레시피를 불러오는 데 실패했습니다.", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            recipes.clear();
+            recipeNamesAdapter.clear();
+            for (Recipe recipe : loaded) {
+                recipes.add(recipe);
+                recipeNamesAdapter.add(recipe.getName() + " (" + StepSchedule.totalMsOf(recipe) / 60000 + "분)");
+            }
+            updatePreview();
+        });
+    }
+
+    private List<Recipe> getSelectedRecipes() {
+        List<Recipe> selected = new ArrayList<>();
+        SparseBooleanArray checked = recipeList.getCheckedItemPositions();
+        for (int i = 0; i < recipes.size(); i++) {
+            if (checked != null && checked.get(i)) {
+                selected.add(recipes.get(i));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return 선택한 식사 시간의 벽시계 시각. 이미 지난 시각이면 다음 날로 봅니다.
+     */
+    private long getTargetTimeMillis() {
+        Calendar target = Calendar.getInstance();
+        target.set(Calendar.HOUR_OF_DAY, timePicker.getHour());
+        target.set(Calendar.MINUTE, timePicker.getMinute());
+        target.set(Calendar.SECOND, 0);
+        target.set(Calendar.MILLISECOND, 0);
+        if (target.getTimeInMillis() <= System.currentTimeMillis()) {
+            target.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        return target.getTimeInMillis();
+    }
+
+    /**
+     * 선택한 레시피들의 시작 시각을 미리 계산해 보여줍니다.
+     */
+    private void updatePreview() {
+        List<Recipe> selected = getSelectedRecipes();
+        if (selected.isEmpty()) {
+            previewText.setText("레시피를 선택하면 각 레시피의 시작 시각이 표시됩니다.");
+            return;
+        }
+        MealPlan plan;
+        try {
+            plan = MealPlan.create(selected, System.currentTimeMillis(), getTargetTimeMillis());
+        } catch (IllegalArgumentException e) {
+            previewText.setText(e.getMessage());
+            return;
+        }
+
+        java.text.DateFormat timeFormat = DateFormat.getTimeFormat(this);
+        StringBuilder preview = new StringBuilder();
+        if (plan.isLate()) {
+            preview.append("시간이 부족해 ").append(timeFormat.format(new Date(plan.getFinishMs())))
+                    .append(" 에 완성됩니다.\n");
+        }
+        for (MealPlan.Entry entry : plan.getEntries()) {
+            preview.append(timeFormat.format(new Date(entry.getStartMs()))).append(" 시작 · ")
+                    .append(entry.getRecipe().getName())
+                    .append(" (").append(entry.getTotalMs() / 60000).append("분)\n");
+        }
+        previewText.setText(preview.toString().trim());
+    }
+
+    private void startMealPlan() {
+        List<Recipe> selected = getSelectedRecipes();
+        if (selected.isEmpty()) {
+            Toast.makeText(this, "함께 완성할 레시피를 선택해주세요.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (timerService != null && timerService.hasPendingMealPlan()) {
+            Toast.makeText(this, TimerService.MEAL_PLAN_REJECTED_MESSAGE, Toast.LENGTH_LONG).show();
+            return;
+        }
+        // 계획을 만들 수 없는 선택이면 서비스를 시작하지 않고 여기서 알려줍니다.
+        try {
+            MealPlan.create(selected, System.currentTimeMillis(), getTargetTimeMillis());
+        } catch (IllegalArgumentException e) {
+            Toast.makeText(this, e.getMessage(), Toast.LENGTH_LONG).show();
+            return;
+        }
+
+        Intent serviceIntent = new Intent(this, TimerService.class);
+        serviceIntent.setAction(Constants.ACTION_START_MEAL_PLAN);
+        serviceIntent.putExtra(Constants.EXTRA_MEAL_PLAN_RECIPES_JSON, RecipeJsonCodec.encode(selected));
+        serviceIntent.putExtra(Constants.EXTRA_MEAL_FINISH_DELAY_MS,
+                Math.max(0, getTargetTimeMillis() - System.currentTimeMillis()));
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            startForegroundService(serviceIntent);
+        } else {
+            startService(serviceIntent);
+        }
+
+        Toast.makeText(this, "식사 계획을 시작했습니다.", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+}
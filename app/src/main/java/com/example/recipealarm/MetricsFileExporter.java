@@ -0,0 +1,131 @@
+package com.example.recipealarm;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link MetricsRegistry} 의 값을 앱 내부 저장소의 파일에 이어 씁니다 (files/metrics/metrics.txt).
+ * 파일이 {@link #MAX_FILE_BYTES} 를 넘으면 metrics.1.txt, metrics.2.txt 로 밀어내고 가장 오래된 파일은 지우므로
+ * 저장 공간은 일정하게 유지됩니다. 파일은 adb 로 꺼내 {@link MetricsRegistry#dump} 형식 그대로 비교할 수 있습니다.
+ * 쓰기는 작업 스레드 하나에서 실행되므로 호출한 스레드를 막지 않습니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
+ */
+public class MetricsFileExporter {
+
+    private static final String TAG = "MetricsFileExporter";
+    private static final String DIRECTORY = "metrics";
+    private static final String FILE_PREFIX = "metrics";
+    private static final String FILE_SUFFIX = ".txt";
+    static final long MAX_FILE_BYTES = 256 * 1024;
+    // 현재 파일을 빼고 보관할 이전 파일 수
+    private static final int BACKUP_COUNT = 2;
+    // 자주 불리는 곳에서 요청해도 이 간격보다 자주 쓰지 않습니다.
+    private static final long MIN_INTERVAL_MS = 60_000L;
+    private static volatile MetricsFileExporter INSTANCE;
+
+    private final File directory;
+    private final Executor executor = Executors.newSingleThreadExecutor();
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+    // 마지막으로 쓰기를 요청한 시각 (SystemClock.elapsedRealtime). 처음에는 바로 쓰도록 과거 값으로 둡니다.
+    private long lastDumpElapsedMs = -MIN_INTERVAL_MS;
+
+    private MetricsFileExporter(Context context) {
+        this.directory = new File(context.getApplicationContext().getFilesDir(), DIRECTORY);
+    }
+
+    /**
+     * MetricsFileExporter 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 애플리케이션 컨텍스트
+     */
+    public static MetricsFileExporter getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (MetricsFileExporter.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MetricsFileExporter(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return 지금 이어 쓰고 있는 파일
+     */
+    public File getCurrentFile() {
+        return fileAt(0);
+    }
+
+    /**
+     * 지금 값을 파일에 씁니다.
+     */
+    public void dump() {
+        synchronized (this) {
+            lastDumpElapsedMs = SystemClock.elapsedRealtime();
+        }
+        long wallTimeMs = System.currentTimeMillis();
+        executor.execute(() -> write(wallTimeMs));
+    }
+
+    /**
+     * 마지막으로 쓴 지 {@link #MIN_INTERVAL_MS} 가 지났을 때만 지금 값을 파일에 씁니다.
+     * 알람을 받을 때처럼 자주 실행되는 곳에서 호출합니다.
+     */
+    public void dumpIfDue() {
+        synchronized (this) {
+            if (SystemClock.elapsedRealtime() - lastDumpElapsedMs < MIN_INTERVAL_MS) {
+                return;
+            }
+        }
+        dump();
+    }
+
+    private void write(long wallTimeMs) {
+        StringBuilder out = new StringBuilder();
+        registry.dump(wallTimeMs, out);
+        byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("디렉터리를 만들 수 없습니다: " + directory);
+            }
+            File current = fileAt(0);
+            if (current.length() + bytes.length > MAX_FILE_BYTES) {
+                rotate();
+            }
+            try (OutputStream stream = new FileOutputStream(current, true)) {
+                stream.write(bytes);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "메트릭을 파일에 쓰지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * metrics.txt -> metrics.1.txt -> metrics.2.txt 로 밀어내고, 가장 오래된 파일은 지웁니다.
+     */
+    private void rotate() {
+        File oldest = fileAt(BACKUP_COUNT);
+        if (oldest.exists() && !oldest.delete()) {
+            Log.w(TAG, "이전 메트릭 파일을 지우지 못했습니다: " + oldest);
+        }
+        for (int i = BACKUP_COUNT - 1; i >= 0; i--) {
+            File file = fileAt(i);
+            if (file.exists() && !file.renameTo(fileAt(i + 1))) {
+                Log.w(TAG, "메트릭 파일을 옮기지 못했습니다: " + file);
+            }
+        }
+    }
+
+    private File fileAt(int index) {
+        String name = index == 0 ? FILE_PREFIX + FILE_SUFFIX : FILE_PREFIX + "." + index + FILE_SUFFIX;
+        return new File(directory, name);
+    }
+}
@@ -2,12 +2,19 @@ package com.example.recipealarm;
 
 import android.Manifest;
 import android.content.BroadcastReceiver;
+import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
+import android.content.ServiceConnection;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.IBinder;
+import android.os.SystemClock;
+import android.speech.SpeechRecognizer;
 import android.util.Log;
+import android.view.Choreographer;
+import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -22,38 +29,84 @@ import com.example.recipealarm.utils.PermissionHelper;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
-import com.google.gson.Gson;
-
 /**
  * 레시피 타이머 화면을 표시하는 액티비티
  * UI 표시와 사용자 입력 처리만 담당하며, 모든 타이머 로직은 TimerService로 위임합니다.
+ * 화면이 보이는 동안에는 서비스에 바인드하여 일시정지, 단계 이동 같은 조작을 메소드 호출로 바로 적용하고
+ * 그 결과 상태를 {@link TimerSnapshot} 으로 읽어 즉시 그립니다.
+ *
+ * 단계 변경이나 일시정지 같은 상태 변화는 LocalBroadcast 로, 매 초의 남은 시간은
+ * {@link TimerTickDispatcher} 로 전달받습니다. 받은 남은 시간은 {@link TimerFrameModel} 의 종료 시각을 맞추는 데만 쓰고,
+ * 화면이 보이는 동안 진행 중이면 Choreographer 프레임마다 종료 시각으로부터 진행률과 남은 시간을 그립니다.
+ * 상세 화면이 넘긴 레시피는 {@link RecipeSessionCache} 에서 바로 꺼내 시작하고, 없을 때만 저장소에서 읽습니다.
+ * 음성 명령을 켜 두면 화면이 보이는 동안 계속 들으며, 일시정지, 재개, 이전/다음 단계, 취소,
+ * 남은 시간 묻기를 손을 쓰지 않고 음성으로 할 수 있습니다.
+ * 메인 스레드가 막힌 곳을 찾을 수 있도록 화면 생성, 상태 변경, 매 초 틱 처리를 {@link SpanTracer} 에 구간으로 기록합니다.
+ * 프레임마다 그리는 구간은 버퍼를 금방 채우므로 기록하지 않습니다.
  */
-public class RecipeActivity extends AppCompatActivity {
+public class RecipeActivity extends AppCompatActivity implements TimerTickDispatcher.TimerTickListener,
+        VoiceCommandHandler.VoiceCommandCallback {
 
     private static final String TAG = "RecipeActivity";
 
     private RecipeRepository recipeRepository;
+    // 화면이 파괴되면 취소되어, 저장소 읽기를 건너뛰고 결과를 전달하지 않습니다.
+    private CancellationToken lifecycleToken;
     private Recipe currentRecipe;
     private boolean isPaused = false;
+    private int displayedStepIndex = -1;
+    private long displayedBoundaryMs = -1;
+    private StepSchedule currentSchedule;
 
     // UI 컴포넌트
     private TextView currentStepTitle;
     private TextView currentStepIndex;
     private TextView currentStepTimer;
+    private TextView parallelStepsText;
     private CircularProgressIndicator circleTimer;
     private MaterialButton buttonPausePlay;
     private MaterialButton buttonPrevStep;
     private MaterialButton buttonNextStep;
+    private MaterialButton buttonVoiceCommand;
+
+    private VoiceCommandHandler voiceCommandHandler;
+    // 사용자가 음성 명령을 켰는지 여부. 화면이 가려지면 듣기를 멈추고 다시 보이면 이어서 듣습니다.
+    private boolean voiceCommandEnabled = false;
+    // 남은 시간 묻기에 답하기 위해 마지막으로 표시한 대표 단계의 남은 시간
+    private long displayedRemainingMs;
+
+    // 화면이 보이고 타이머가 진행 중인 동안 프레임마다 진행률과 남은 시간을 그립니다.
+    private final TimerFrameModel frameModel = new TimerFrameModel();
+    private final Choreographer.FrameCallback frameCallback = this::onFrame;
+    private final SpanTracer tracer = SpanTracer.getInstance();
+    private boolean frameLoopRunning = false;
+    private boolean resumed = false;
 
     // BroadcastReceiver
     private BroadcastReceiver timerUpdateReceiver;
 
+    // 바인드된 TimerService. 연결되기 전이거나 화면이 가려진 동안에는 null 이며, 이때는 인텐트 명령을 사용합니다.
+    private TimerService timerService;
+    private final ServiceConnection timerServiceConnection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder service) {
+            timerService = ((TimerService.LocalBinder) service).getService();
+            applySnapshot();
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            timerService = null;
+        }
+    };
+
     // 권한 요청
     private ActivityResultLauncher<String[]> requestPermissionsLauncher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        long span = tracer.begin("recipe_activity.create");
         setContentView(R.layout.activity_cooking_timer);
 
         initializeViews();
@@ -64,21 +117,29 @@ public class RecipeActivity extends AppCompatActivity {
         String recipeId = getIntent().getStringExtra(Constants.EXTRA_RECIPE_ID);
         if (recipeId == null || recipeId.isEmpty()) {
             showErrorAndFinish("레시피 정보를 불러올 수 없습니다.");
+            tracer.end(span);
             return;
         }
 
         recipeRepository = new RecipeRepository(getApplicationContext());
+        lifecycleToken = LifecycleCancellation.bind(this);
         loadAndStartRecipe(recipeId);
+        tracer.end(span);
     }
 
     private void initializeViews() {
         currentStepTitle = findViewById(R.id.current_step_title);
         currentStepIndex = findViewById(R.id.current_step_index);
         currentStepTimer = findViewById(R.id.current_step_timer);
+        parallelStepsText = findViewById(R.id.parallel_steps_text);
         circleTimer = findViewById(R.id.circle_timer);
+        if (circleTimer != null) {
+            circleTimer.setMax(TimerFrameModel.PROGRESS_MAX);
+        }
         buttonPausePlay = findViewById(R.id.button_pause_play);
         buttonPrevStep = findViewById(R.id.button_prev_step);
         buttonNextStep = findViewById(R.id.button_next_step);
+        buttonVoiceCommand = findViewById(R.id.button_voice_command);
 
         // 버튼 클릭 리스너 설정
         if (buttonPausePlay != null) {
@@ -90,6 +151,92 @@ public class RecipeActivity extends AppCompatActivity {
         if (buttonNextStep != null) {
             buttonNextStep.setOnClickListener(v -> navigateToNextStep());
         }
+        if (buttonVoiceCommand != null) {
+            if (SpeechRecognizer.isRecognitionAvailable(this)) {
+                buttonVoiceCommand.setOnClickListener(v -> toggleVoiceCommand());
+            } else {
+                buttonVoiceCommand.setVisibility(View.GONE);
+            }
+        }
+    }
+
+    private void toggleVoiceCommand() {
+        if (voiceCommandEnabled) {
+            voiceCommandEnabled = false;
+            if (voiceCommandHandler != null) {
+                voiceCommandHandler.stopContinuous();
+            }
+        } else {
+            if (!PermissionHelper.hasPermissions(this, Manifest.permission.RECORD_AUDIO)) {
+                requestRuntimePermissions();
+                return;
+            }
+            voiceCommandEnabled = true;
+            startVoiceCommand();
+        }
+        updateVoiceCommandButton();
+    }
+
+    private void startVoiceCommand() {
+        if (voiceCommandHandler == null) {
+            voiceCommandHandler = new VoiceCommandHandler(this, this);
+        }
+        voiceCommandHandler.startContinuous();
+    }
+
+    private void updateVoiceCommandButton() {
+        setTextSafely(buttonVoiceCommand, voiceCommandEnabled ? "음성 명령 끄기" : "음성 명령 켜기");
+    }
+
+    @Override
+    public void onContinuousListeningStopped() {
+        voiceCommandEnabled = false;
+        updateVoiceCommandButton();
+        Toast.makeText(this, "음성 명령을 사용할 수 없습니다.", Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * 인식된 음성 명령을 TimerService 의 동작으로 바로 보냅니다.
+     */
+    @Override
+    public void onCommandReceived(String command) {
+        if (currentRecipe == null) {
+            return;
+        }
+        switch (command) {
+            case VoiceCommandGrammar.COMMAND_PAUSE:
+                if (!isPaused) {
+                    toggleTimer();
+                }
+                break;
+            case VoiceCommandGrammar.COMMAND_RESUME:
+                if (isPaused) {
+                    toggleTimer();
+                }
+                break;
+            case VoiceCommandGrammar.COMMAND_NEXT:
+                navigateToNextStep();
+                break;
+            case VoiceCommandGrammar.COMMAND_PREVIOUS:
+                navigateToPrevStep();
+                break;
+            case VoiceCommandGrammar.COMMAND_STOP:
+                stopCurrentRecipe();
+                break;
+            case VoiceCommandGrammar.COMMAND_TIME:
+                speakRemainingTime();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void speakRemainingTime() {
+        long seconds = (displayedRemainingMs + 999) / 1000;
+        String text = seconds >= 60
+                ? "남은 시간 " + seconds / 60 + "분 " + seconds % 60 + "초"
+                : "남은 시간 " + seconds + "초";
+        TTSHandler.getInstance(this).speak(text, UtteranceQueue.PRIORITY_HIGH);
     }
 
     private void setupToolbar() {
@@ -166,7 +313,9 @@ public class RecipeActivity extends AppCompatActivity {
         long stepDurationMs = intent.getLongExtra(Constants.EXTRA_STEP_DURATION_MS, 1);
         isPaused = intent.getBooleanExtra(Constants.EXTRA_IS_PAUSED, false);
 
+        long span = tracer.begin("recipe_activity.timer_update");
         updateTimerUI(stepDescription, timeRemaining, stepIndex, totalSteps, timeRemainingMs, stepDurationMs);
+        tracer.end(span);
     }
 
     private void handleTimerFinish() {
@@ -181,34 +330,56 @@ public class RecipeActivity extends AppCompatActivity {
     }
 
     private void loadAndStartRecipe(String recipeId) {
-        recipeRepository.getRecipeById(recipeId)
-                .thenAccept(recipe -> {
+        // 상세 화면이 넘긴 레시피가 메모리에 있으면 저장소를 읽지 않고 바로 시작합니다.
+        Recipe handoff = recipeRepository.peekRecipe(recipeId);
+        if (handoff != null) {
+            startRecipe(handoff, ScreenTimingStore.SOURCE_HANDOFF);
+            return;
+        }
+        // 화면이 끝나면 읽기를 건너뛰고, 끝난 화면이 타이머 서비스를 시작하지 않도록 결과도 전달하지 않습니다.
+        lifecycleToken.deliver(recipeRepository.getRecipeById(recipeId, lifecycleToken),
+                recipeRepository.getMainExecutor(), (recipe, throwable) -> {
+                    if (throwable != null) {
+                        Log.e(TAG, "레시피 로드 실패", throwable);
+                        showErrorAndFinish("레시피를 불러오는 데 실패했습니다.");
+                        return;
+                    }
                     if (recipe == null) {
-                        runOnUiThread(() -> showErrorAndFinish("레시피를 찾을 수 없습니다."));
+                        showErrorAndFinish("레시피를 찾을 수 없습니다.");
                         return;
                     }
-
-                    this.currentRecipe = recipe;
-                    startTimerService(recipe);
-                    
-                    runOnUiThread(() -> {
-                        setTitle(recipe.getName());
-                        resetProgress();
-                        updatePauseButton(false);
-                        Toast.makeText(this, "레시피 시작: " + recipe.getName(), Toast.LENGTH_SHORT).show();
-                    });
-                })
-                .exceptionally(ex -> {
-                    Log.e(TAG, "레시피 로드 실패", ex);
-                    runOnUiThread(() -> showErrorAndFinish("레시피를 불러오는 데 실패했습니다."));
-                    return null;
+                    startRecipe(recipe, ScreenTimingStore.SOURCE_STORE);
                 });
     }
 
+    /**
+     * 레시피의 타이머를 시작하고 첫 화면을 그립니다. 메인 스레드에서 호출합니다.
+     * @param source 레시피를 얻은 경로 (ScreenTimingStore.SOURCE_*)
+     */
+    private void startRecipe(Recipe recipe, String source) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
+        this.currentRecipe = recipe;
+        try {
+            this.currentSchedule = RecipeSessionCache.getInstance().scheduleFor(recipe);
+        } catch (IllegalArgumentException e) {
+            showErrorAndFinish(e.getMessage());
+            return;
+        }
+        startTimerService(recipe);
+
+        setTitle(recipe.getName());
+        resetProgress();
+        updatePauseButton(false);
+        Toast.makeText(this, "레시피 시작: " + recipe.getName(), Toast.LENGTH_SHORT).show();
+        ScreenTimingStore.getInstance(this).recordFirstContent(this, ScreenTimingStore.SCREEN_TIMER, source);
+    }
+
     private void startTimerService(Recipe recipe) {
         Intent serviceIntent = new Intent(this, TimerService.class);
         serviceIntent.setAction(Constants.ACTION_START_TIMER);
-        serviceIntent.putExtra(RecipeTimer.EXTRA_RECIPE_JSON, new Gson().toJson(recipe));
+        serviceIntent.putExtra(RecipeTimer.EXTRA_RECIPE_JSON, RecipeJsonCodec.encodeRecipe(recipe));
 
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
             startForegroundService(serviceIntent);
@@ -219,24 +390,132 @@ public class RecipeActivity extends AppCompatActivity {
 
     private void updateTimerUI(String stepDescription, String timeRemaining, int stepIndex,
                                int totalSteps, long timeRemainingMs, long stepDurationMs) {
+        displayedStepIndex = stepIndex;
         setTextSafely(currentStepTitle, "[" + (stepIndex + 1) + "단계] " + stepDescription);
-        setTextSafely(currentStepIndex, (stepIndex + 1) + " / " + totalSteps + " 단계");
+        String indexText = (stepIndex + 1) + " / " + totalSteps + " 단계";
+        if (currentSchedule != null && currentSchedule.isParallel()) {
+            indexText += " · 전체 " + TimeFormatter.format(currentSchedule.getTotalMs());
+        }
+        setTextSafely(currentStepIndex, indexText);
         setTextSafely(currentStepTimer, timeRemaining);
+        updateProgress(timeRemainingMs, stepDurationMs);
+
+        // 버튼 상태 업데이트. 이전/다음은 크리티컬 패스의 단계 사이를 이동합니다.
+        boolean hasPrev = currentSchedule != null
+                ? currentSchedule.previousOnCriticalPath(stepIndex) >= 0 : stepIndex > 0;
+        boolean hasNext = currentSchedule != null
+                ? currentSchedule.nextOnCriticalPath(stepIndex) >= 0 : stepIndex < totalSteps - 1;
+        setEnabledSafely(buttonPrevStep, hasPrev && !isPaused);
+        setEnabledSafely(buttonNextStep, hasNext && !isPaused);
+        updatePauseButton(isPaused);
+    }
 
-        // 프로그레스 업데이트
-        if (circleTimer != null && stepDurationMs > 0) {
-            try {
-                int progress = (int) ((stepDurationMs - timeRemainingMs) * 100 / stepDurationMs);
-                circleTimer.setProgress(Math.max(0, Math.min(100, progress)));
-            } catch (Exception e) {
-                Log.e(TAG, "Progress 업데이트 실패", e);
+    /**
+     * 대표 단계와 함께 진행 중인 병행 단계들을 표시합니다.
+     * 단계 구성이 바뀔 때만 호출되므로 틱마다 문자열을 만들지 않습니다.
+     */
+    private void updateParallelSteps(TimerSession session) {
+        if (parallelStepsText == null) {
+            return;
+        }
+        displayedBoundaryMs = session.getNextBoundaryMs();
+        StepSchedule schedule = session.getSchedule();
+        long elapsed = session.getElapsedMs(SystemClock.elapsedRealtime());
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < schedule.getStepCount(); i++) {
+            if (i == session.getStepIndex() || !schedule.isActiveAt(i, elapsed)) {
+                continue;
             }
+            builder.append(builder.length() == 0 ? "함께 진행 중: " : ", ")
+                    .append(session.getRecipe().getSteps().get(i).getDescription());
         }
+        if (builder.length() == 0) {
+            parallelStepsText.setVisibility(View.GONE);
+        } else {
+            parallelStepsText.setText(builder);
+            parallelStepsText.setVisibility(View.VISIBLE);
+        }
+    }
 
-        // 버튼 상태 업데이트
-        setEnabledSafely(buttonPrevStep, stepIndex > 0 && !isPaused);
-        setEnabledSafely(buttonNextStep, stepIndex < totalSteps - 1 && !isPaused);
-        updatePauseButton(isPaused);
+    /**
+     * TimerService 의 매 초 틱을 받아 남은 시간과 진행률만 갱신합니다.
+     * 메인 스레드에서 호출되며, 프레임 모델의 종료 시각만 맞추므로 문자열을 만들지 않습니다.
+     */
+    @Override
+    public void onTimerTick(TimerSession session) {
+        if (currentRecipe == null || !currentRecipe.getId().equals(session.getRecipeId())) {
+            return;
+        }
+        long span = tracer.begin("recipe_activity.tick");
+        if (session.getStepIndex() != displayedStepIndex) {
+            // 화면이 가려진 동안 단계가 바뀌어 브로드캐스트를 놓친 경우 전체를 다시 그립니다.
+            isPaused = session.isPaused();
+            updateTimerUI(session.getCurrentStep().getDescription(), session.copyFormattedRemaining(),
+                    session.getStepIndex(), session.getTotalSteps(), session.getRemainingMs(), session.getStepDurationMs());
+            updateParallelSteps(session);
+        } else {
+            if (session.getNextBoundaryMs() != displayedBoundaryMs) {
+                updateParallelSteps(session);
+            }
+            updateProgress(session.getRemainingMs(), session.getStepDurationMs());
+        }
+        tracer.end(span);
+    }
+
+    /**
+     * 서비스에서 받은 남은 시간으로 프레임 모델을 맞추고 한 번 그린 뒤, 필요하면 프레임 루프를 시작하거나 멈춥니다.
+     * isPaused 가 먼저 갱신되어 있어야 합니다.
+     */
+    private void updateProgress(long timeRemainingMs, long stepDurationMs) {
+        long now = frameClockMs();
+        frameModel.sync(timeRemainingMs, stepDurationMs, isPaused, now);
+        renderFrame(now);
+        updateFrameLoop(now);
+    }
+
+    /**
+     * Choreographer 의 프레임 시각과 같은 기준(System.nanoTime)의 현재 시각입니다.
+     */
+    private static long frameClockMs() {
+        return System.nanoTime() / 1_000_000;
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        if (!frameLoopRunning) {
+            return;
+        }
+        long now = frameTimeNanos / 1_000_000;
+        renderFrame(now);
+        if (resumed && frameModel.isRunning(now)) {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            // 단계 종료 시각에 도달했습니다. 다음 단계는 서비스의 상태 변경으로 다시 시작합니다.
+            frameLoopRunning = false;
+        }
+    }
+
+    /**
+     * 한 프레임을 그립니다. 객체를 할당하지 않으며, 남은 시간 글자는 표시할 초가 바뀔 때만 다시 씁니다.
+     */
+    private void renderFrame(long nowMs) {
+        displayedRemainingMs = frameModel.remainingAt(nowMs);
+        if (circleTimer != null) {
+            circleTimer.setProgress(frameModel.progressAt(nowMs));
+        }
+        if (currentStepTimer != null && frameModel.formatIfChanged(nowMs)) {
+            currentStepTimer.setText(frameModel.getFormatted(), 0, frameModel.getFormattedLength());
+        }
+    }
+
+    private void updateFrameLoop(long nowMs) {
+        boolean shouldRun = resumed && frameModel.isRunning(nowMs);
+        if (shouldRun && !frameLoopRunning) {
+            frameLoopRunning = true;
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else if (!shouldRun && frameLoopRunning) {
+            frameLoopRunning = false;
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+        }
     }
 
     private void updatePauseButton(boolean paused) {
@@ -279,9 +558,23 @@ public class RecipeActivity extends AppCompatActivity {
         finish();
     }
 
+    /**
+     * 일시정지/재개를 전환합니다. 서비스에 바인드되어 있으면 메소드를 직접 호출하고,
+     * 아직 연결되지 않았으면 인텐트 명령으로 보냅니다.
+     */
     private void toggleTimer() {
         if (currentRecipe == null) return;
 
+        if (timerService != null) {
+            if (isPaused) {
+                timerService.resume(currentRecipe.getId());
+            } else {
+                timerService.pause(currentRecipe.getId());
+            }
+            applySnapshot();
+            return;
+        }
+
         Intent serviceIntent = new Intent(this, TimerService.class);
         serviceIntent.putExtra(TimerService.EXTRA_RECIPE_ID, currentRecipe.getId());
 
@@ -297,6 +590,12 @@ public class RecipeActivity extends AppCompatActivity {
     private void navigateToPrevStep() {
         if (currentRecipe == null || isPaused) return;
 
+        if (timerService != null) {
+            timerService.previousStep(currentRecipe.getId());
+            applySnapshot();
+            return;
+        }
+
         Intent serviceIntent = new Intent(this, TimerService.class);
         serviceIntent.setAction(Constants.ACTION_NAVIGATE_STEP);
         serviceIntent.putExtra(TimerService.EXTRA_RECIPE_ID, currentRecipe.getId());
@@ -307,6 +606,12 @@ public class RecipeActivity extends AppCompatActivity {
     private void navigateToNextStep() {
         if (currentRecipe == null || isPaused) return;
 
+        if (timerService != null) {
+            timerService.nextStep(currentRecipe.getId());
+            applySnapshot();
+            return;
+        }
+
         Intent serviceIntent = new Intent(this, TimerService.class);
         serviceIntent.setAction(Constants.ACTION_NAVIGATE_STEP);
         serviceIntent.putExtra(TimerService.EXTRA_RECIPE_ID, currentRecipe.getId());
@@ -314,16 +619,36 @@ public class RecipeActivity extends AppCompatActivity {
         startService(serviceIntent);
     }
 
+    /**
+     * 바인드된 서비스에서 현재 상태를 바로 읽어 화면에 반영합니다.
+     */
+    private void applySnapshot() {
+        if (timerService == null || currentRecipe == null) {
+            return;
+        }
+        TimerSnapshot snapshot = timerService.getSnapshot(currentRecipe.getId());
+        if (snapshot == null) {
+            return;
+        }
+        isPaused = snapshot.isPaused();
+        updateTimerUI(snapshot.getStepDescription(), snapshot.getFormattedRemaining(), snapshot.getStepIndex(),
+                snapshot.getTotalSteps(), snapshot.getRemainingMs(), snapshot.getStepDurationMs());
+    }
+
     private void stopCurrentRecipe() {
         if (currentRecipe == null) {
             Toast.makeText(this, "실행 중인 레시피가 없습니다.", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        Intent serviceIntent = new Intent(this, TimerService.class);
-        serviceIntent.setAction(Constants.ACTION_STOP_TIMER);
-        serviceIntent.putExtra(TimerService.EXTRA_RECIPE_ID, currentRecipe.getId());
-        startService(serviceIntent);
+        if (timerService != null) {
+            timerService.stop(currentRecipe.getId());
+        } else {
+            Intent serviceIntent = new Intent(this, TimerService.class);
+            serviceIntent.setAction(Constants.ACTION_STOP_TIMER);
+            serviceIntent.putExtra(TimerService.EXTRA_RECIPE_ID, currentRecipe.getId());
+            startService(serviceIntent);
+        }
 
         Toast.makeText(this, "레시피가 취소되었습니다.", Toast.LENGTH_SHORT).show();
         finish();
@@ -338,11 +663,46 @@ public class RecipeActivity extends AppCompatActivity {
         filter.addAction(Constants.ACTION_TIMER_UPDATE);
         filter.addAction(Constants.ACTION_TIMER_FINISH);
         LocalBroadcastManager.getInstance(this).registerReceiver(timerUpdateReceiver, filter);
+        TimerTickDispatcher.getInstance().addListener(this);
+        resumed = true;
+        updateFrameLoop(frameClockMs());
     }
 
     @Override
     protected void onPause() {
         super.onPause();
         LocalBroadcastManager.getInstance(this).unregisterReceiver(timerUpdateReceiver);
+        TimerTickDispatcher.getInstance().removeListener(this);
+        resumed = false;
+        updateFrameLoop(frameClockMs());
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // 서비스를 새로 만들지 않고, 타이머가 시작되어 서비스가 실행 중일 때만 연결합니다.
+        bindService(new Intent(this, TimerService.class), timerServiceConnection, 0);
+        if (voiceCommandEnabled) {
+            startVoiceCommand();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        unbindService(timerServiceConnection);
+        timerService = null;
+        if (voiceCommandHandler != null) {
+            voiceCommandHandler.stopContinuous();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (voiceCommandHandler != null) {
+            voiceCommandHandler.destroy();
+            voiceCommandHandler = null;
+        }
     }
 }
@@ -1,62 +1,232 @@
 package com.example.recipealarm;
 
+import android.util.Log;
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * RecipeListActivity의 RecyclerView에 레시피 목록을 표시하기 위한 어댑터입니다.
  * 레시피 데이터를 UI에 바인딩하고, 사용자 상호작용(클릭, 즐겨찾기)에 대한 이벤트를 처리합니다.
+ *
+ * 새 목록은 {@link AsyncListDiffer} 가 작업 스레드에서 이전 목록과 비교해 바뀐 행만 알리며,
+ * 항목은 레시피 ID 로 식별하고 안정적인 아이템 ID 를 사용합니다. 즐겨찾기만 바뀐 행은
+ * {@link RecipeDiffCallback#PAYLOAD_FAVORITE} 페이로드로 하트 아이콘만 다시 바인딩합니다.
+ * 행을 누르기 시작하면 클릭이 확정되기 전에 다음 화면을 미리 준비하도록 알립니다.
+ *
+ * 레시피 이름과 요약 문구는 {@link RecipeRowTextCache} 가 작업 스레드에서 미리 측정하며,
+ * 스크롤하는 동안 스크롤 방향으로 {@link #PREFETCH_LOOKAHEAD} 개 행을 앞서 준비합니다.
  */
 public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeViewHolder> {
 
-    private List<Recipe> recipes = new ArrayList<>();
+    /** 스크롤 방향으로 미리 글자를 측정해 둘 행 수 */
+    static final int PREFETCH_LOOKAHEAD = 20;
+
+    private final AsyncListDiffer<Recipe> differ = new AsyncListDiffer<>(this, new RecipeDiffCallback());
     private final OnRecipeClickListener recipeClickListener;
     private final OnFavoriteClickListener favoriteClickListener;
+    private final OnRecipePressListener recipePressListener;
+
+    // 레시피 ID 를 안정적인 아이템 ID 로 바꾸는 표. 메인 스레드에서만 사용합니다.
+    private final Map<String, Long> stableIds = new HashMap<>();
+    private long nextStableId = 0;
+
+    // 마지막으로 넘긴 목록. 비교가 끝나기 전에도 다음 변경은 이 목록을 기준으로 만듭니다.
+    private List<Recipe> submitted = new ArrayList<>();
+
+    private final RecipeRowTextCache textCache = new RecipeRowTextCache();
+    private boolean textPrecomputeEnabled = true;
+    private RecyclerView recyclerView;
+    // 스크롤 이벤트마다 새로 할당하지 않도록 미리 준비할 범위를 담아 두는 배열. 메인 스레드에서만 사용합니다.
+    private final int[] prefetchRange = new int[2];
+    private final RecyclerView.OnScrollListener prefetchScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (dy != 0) {
+                prefetchRows(dy);
+            }
+        }
+    };
 
     /**
      * 어댑터 생성자
      * @param recipeClickListener 레시피 항목 클릭 리스너
      * @param favoriteClickListener 즐겨찾기 아이콘 클릭 리스너
+     * @param recipePressListener 레시피 항목을 누르기 시작했을 때의 리스너
      */
-    public RecipeAdapter(OnRecipeClickListener recipeClickListener, OnFavoriteClickListener favoriteClickListener) {
+    public RecipeAdapter(OnRecipeClickListener recipeClickListener, OnFavoriteClickListener favoriteClickListener,
+                         OnRecipePressListener recipePressListener) {
         this.recipeClickListener = recipeClickListener;
         this.favoriteClickListener = favoriteClickListener;
+        this.recipePressListener = recipePressListener;
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public RecipeViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_recipe, parent, false);
-        return new RecipeViewHolder(view);
+        RecipeViewHolder holder = new RecipeViewHolder(view);
+        if (!textCache.hasParams()) {
+            // 모든 행의 글자 설정이 같으므로 처음 만든 행에서 한 번만 얻습니다.
+            textCache.setParams(TextViewCompat.getTextMetricsParams(holder.recipeNameText),
+                    TextViewCompat.getTextMetricsParams(holder.recipeDescriptionText));
+        }
+        // 리스너는 뷰홀더를 만들 때 한 번만 달고, 클릭 시점의 위치로 현재 목록의 레시피를 찾습니다.
+        view.setOnClickListener(v -> {
+            Recipe recipe = recipeAt(holder.getBindingAdapterPosition());
+            if (recipe != null) {
+                recipeClickListener.onRecipeClick(recipe);
+            }
+        });
+        view.setOnTouchListener((v, event) -> {
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                Recipe recipe = recipeAt(holder.getBindingAdapterPosition());
+                if (recipe != null) {
+                    recipePressListener.onRecipePress(recipe);
+                }
+            }
+            return false; // 클릭과 스크롤 처리는 그대로 둡니다.
+        });
+        holder.favoriteIcon.setOnClickListener(v -> {
+            Recipe recipe = recipeAt(holder.getBindingAdapterPosition());
+            if (recipe != null) {
+                favoriteClickListener.onFavoriteClick(recipe);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull RecipeViewHolder holder, int position) {
-        Recipe recipe = recipes.get(position);
-        holder.bind(recipe, recipeClickListener, favoriteClickListener);
+        Recipe recipe = differ.getCurrentList().get(position);
+        holder.bind(recipe, textPrecomputeEnabled ? textCache.get(recipe) : null);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        this.recyclerView = recyclerView;
+        recyclerView.addOnScrollListener(prefetchScrollListener);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(prefetchScrollListener);
+        this.recyclerView = null;
+        textCache.clear();
+    }
+
+    /**
+     * 보이는 행 너머로 스크롤 방향의 행 글자를 미리 측정합니다.
+     * @param dy 스크롤 방향. 0 이면 보이는 행의 앞뒤를 준비합니다.
+     */
+    private void prefetchRows(int dy) {
+        if (!textPrecomputeEnabled || recyclerView == null
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        List<Recipe> current = differ.getCurrentList();
+        RecipeRowText.prefetchRange(layoutManager.findFirstVisibleItemPosition(),
+                layoutManager.findLastVisibleItemPosition(), dy, current.size(), PREFETCH_LOOKAHEAD, prefetchRange);
+        textCache.prefetch(current, prefetchRange[0], prefetchRange[1]);
+    }
+
+    /**
+     * 행 글자를 작업 스레드에서 미리 측정할지 정합니다. 끄면 바인딩할 때 메인 스레드에서 측정합니다.
+     * 프레임 시간 테스트에서 두 방식을 비교하는 데 사용합니다.
+     */
+    public void setTextPrecomputeEnabled(boolean enabled) {
+        textPrecomputeEnabled = enabled;
+        if (!enabled) {
+            textCache.clear();
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecipeViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload != RecipeDiffCallback.PAYLOAD_FAVORITE) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        holder.bindFavorite(differ.getCurrentList().get(position));
     }
 
     @Override
     public int getItemCount() {
-        return recipes.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String recipeId = differ.getCurrentList().get(position).getId();
+        Long id = stableIds.get(recipeId);
+        if (id == null) {
+            id = nextStableId++;
+            stableIds.put(recipeId, id);
+        }
+        return id;
+    }
+
+    private Recipe recipeAt(int position) {
+        List<Recipe> current = differ.getCurrentList();
+        return position != RecyclerView.NO_POSITION && position < current.size() ? current.get(position) : null;
     }
 
     /**
      * RecyclerView에 표시할 레시피 목록을 설정(또는 업데이트)합니다.
-     * @param recipes 새로운 레시피 목록
+     * 변경분은 작업 스레드에서 계산되어 바뀐 행에만 반영됩니다.
+     * @param recipes 새로운 레시피 목록. 넘긴 뒤에는 목록과 레시피 객체를 변경하면 안 됩니다.
      */
     public void setRecipes(List<Recipe> recipes) {
-        this.recipes = recipes;
-        notifyDataSetChanged(); // 데이터가 변경되었음을 어댑터에 알립니다.
+        submitted = recipes;
+        differ.submitList(recipes, () -> prefetchRows(0));
+    }
+
+    /**
+     * 같은 ID 의 레시피 하나만 바꾼 새 목록을 표시합니다.
+     * @param recipe 바꿀 레시피. 목록에 없으면 무시합니다.
+     */
+    public void replaceRecipe(Recipe recipe) {
+        for (int i = 0; i < submitted.size(); i++) {
+            if (submitted.get(i).getId().equals(recipe.getId())) {
+                List<Recipe> updated = new ArrayList<>(submitted);
+                updated.set(i, recipe);
+                setRecipes(updated);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 마지막으로 설정한 레시피 목록 (읽기 전용)
+     */
+    public List<Recipe> getRecipes() {
+        return submitted;
     }
 
     /**
@@ -74,30 +244,52 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
             favoriteIcon = itemView.findViewById(R.id.favorite_icon);
         }
 
-        public void bind(final Recipe recipe, final OnRecipeClickListener recipeClickListener, final OnFavoriteClickListener favoriteClickListener) {
-            recipeNameText.setText(recipe.getName());
-
-            // 총 시간과 단계 수 계산 및 표시
-            int totalSeconds = 0;
-            int stepCount = recipe.getSteps().size();
-            for (com.example.recipealarm.RecipeStep step : recipe.getSteps()) {
-                totalSeconds += step.getDurationInSeconds();
+        /**
+         * @param rowText 미리 측정한 글자. null 이면 메인 스레드에서 글자를 만들고 측정합니다.
+         */
+        public void bind(Recipe recipe, RecipeRowTextCache.RowText rowText) {
+            if (rowText != null) {
+                setPrecomputed(recipeNameText, rowText.name, recipe.getName());
+                setPrecomputed(recipeDescriptionText, rowText.summary, RecipeRowText.summaryOf(recipe));
+            } else {
+                recipeNameText.setText(recipe.getName());
+                // 총 시간과 단계 수 계산 및 표시 (병행 단계가 있으면 단축된 시간)
+                recipeDescriptionText.setText(RecipeRowText.summaryOf(recipe));
             }
-            int totalMinutes = totalSeconds / 60;
-            String infoText = "총 " + totalMinutes + "분";
-            if (stepCount > 0) {
-                infoText += " · " + stepCount + "단계";
+
+            bindFavorite(recipe);
+        }
+
+        /**
+         * 측정이 끝났으면 바로 넣고, 아니면 TextView 가 측정할 때까지 기다리도록 넘깁니다.
+         * 메인 스레드에서 측정을 기다리지 않도록, 기다리게 할 수 없는 TextView 에는 측정하지 않은 글자를 넣습니다.
+         */
+        private static void setPrecomputed(TextView textView, Future<PrecomputedTextCompat> text, CharSequence plain) {
+            if (text.isDone()) {
+                try {
+                    TextViewCompat.setPrecomputedText(textView, text.get());
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Log.w("RecipeAdapter", "행 글자를 미리 측정하지 못했습니다.", e);
+                }
+            } else if (textView instanceof AppCompatTextView) {
+                ((AppCompatTextView) textView).setTextFuture(text);
+                return;
             }
-            recipeDescriptionText.setText(infoText);
+            textView.setText(plain);
+        }
 
+        /**
+         * 즐겨찾기 아이콘만 다시 바인딩합니다.
+         */
+        public void bindFavorite(Recipe recipe) {
             if (recipe.isFavorite()) {
                 favoriteIcon.setImageResource(R.drawable.ic_favorite_on);
             } else {
                 favoriteIcon.setImageResource(R.drawable.ic_favorite_off);
             }
-
-            itemView.setOnClickListener(v -> recipeClickListener.onRecipeClick(recipe));
-            favoriteIcon.setOnClickListener(v -> favoriteClickListener.onFavoriteClick(recipe));
         }
     }
 
@@ -114,4 +306,11 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
     public interface OnFavoriteClickListener {
         void onFavoriteClick(Recipe recipe);
     }
+
+    /**
+     * 레시피 항목을 누르기 시작했을 때 호출될 콜백 인터페이스. 스크롤로 끝날 수도 있으므로 가벼운 준비만 합니다.
+     */
+    public interface OnRecipePressListener {
+        void onRecipePress(Recipe recipe);
+    }
 }
@@ -4,10 +4,6 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -18,16 +14,31 @@ import java.util.concurrent.Executors;
  * SharedPreferences를 사용하여 레시피 목록을 로컬에 저장하고 관리하는 클래스입니다.
  * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
  * 모든 데이터 I/O는 비동기적으로 처리됩니다.
+ * 읽기는 하나의 작업 스레드에서 차례로 실행되며, 차례가 오기 전에 {@link CancellationToken} 이 취소된 읽기는 건너뜁니다.
+ * core 모듈의 {@link RecipeStorage} 를 구현하며, JSON 변환은 {@link RecipeJsonCodec} 에 맡깁니다.
+ * 읽고 쓴 JSON 의 길이(문자 수)와 변환 시간은 {@link MetricsRegistry} 에 기록합니다.
+ * 작업 스레드의 대기열에서 기다린 시간과 읽기, 쓰기, 변환 구간은 {@link SpanTracer} 에 기록합니다.
  */
-public class RecipeDataStore {
+public class RecipeDataStore implements RecipeStorage {
 
     private static final String TAG = "RecipeDataStore";
     private static final String PREFS_NAME = "recipe_store";
     private static final String RECIPES_KEY = "recipes_json";
     private static volatile RecipeDataStore INSTANCE;
 
+    private static final MetricsRegistry.Histogram LOAD_CHARS =
+            MetricsRegistry.getInstance().histogram("datastore.load.chars");
+    private static final MetricsRegistry.Histogram LOAD_PARSE_US =
+            MetricsRegistry.getInstance().histogram("datastore.load.parse_us");
+    private static final MetricsRegistry.Counter LOAD_ERRORS = MetricsRegistry.getInstance().counter("datastore.load.errors");
+    private static final MetricsRegistry.Histogram SAVE_CHARS =
+            MetricsRegistry.getInstance().histogram("datastore.save.chars");
+    private static final MetricsRegistry.Histogram SAVE_ENCODE_US =
+            MetricsRegistry.getInstance().histogram("datastore.save.encode_us");
+    private static final MetricsRegistry.Counter SAVE_ERRORS = MetricsRegistry.getInstance().counter("datastore.save.errors");
+
     private final SharedPreferences sharedPreferences;
-    private final Gson gson = new Gson();
+    private final SpanTracer tracer = SpanTracer.getInstance();
     private final Executor executor = Executors.newSingleThreadExecutor();
 
     private RecipeDataStore(Context context) {
@@ -56,22 +67,41 @@ public class RecipeDataStore {
      * @return 레시피 리스트를 담고 있는 CompletableFuture. 데이터가 없으면 빈 리스트를 반환합니다.
      */
     public CompletableFuture<List<Recipe>> getRecipes() {
+        return getRecipes(CancellationToken.NONE);
+    }
+
+    /**
+     * SharedPreferences에 저장된 레시피 목록을 비동기적으로 불러옵니다.
+     * 토큰이 취소되면 반환한 CompletableFuture 도 취소되고, 아직 시작하지 않은 읽기는 실행하지 않습니다.
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 레시피 리스트를 담고 있는 CompletableFuture. 데이터가 없으면 빈 리스트를 반환합니다.
+     */
+    @Override
+    public CompletableFuture<List<Recipe>> getRecipes(CancellationToken token) {
         CompletableFuture<List<Recipe>> future = new CompletableFuture<>();
-        
+        Runnable unregister = token.onCancel(() -> future.cancel(false));
+        future.whenComplete((recipes, throwable) -> unregister.run());
+
+        long queueSpan = tracer.beginAsync("datastore.queue");
         executor.execute(() -> {
+            tracer.endAsync("datastore.queue", queueSpan);
+            if (future.isDone()) {
+                return; // 차례가 오기 전에 취소되었습니다.
+            }
+            long span = tracer.begin("datastore.load");
             try {
                 String json = sharedPreferences.getString(RECIPES_KEY, null);
-                if (json == null || json.isEmpty()) {
-                    future.complete(new ArrayList<>());
-                    return;
-                }
-                
-                Type type = new TypeToken<ArrayList<Recipe>>() {}.getType();
-                List<Recipe> recipes = gson.fromJson(json, type);
-                future.complete(recipes != null ? recipes : new ArrayList<>());
+                long parseStartNanos = System.nanoTime();
+                List<Recipe> recipes = RecipeJsonCodec.decode(json);
+                LOAD_PARSE_US.recordMicrosSince(parseStartNanos);
+                LOAD_CHARS.record(json != null ? json.length() : 0);
+                future.complete(recipes);
             } catch (Exception e) {
+                LOAD_ERRORS.increment();
                 Log.e(TAG, "Error getting recipes from DataStore", e);
                 future.complete(new ArrayList<>());
+            } finally {
+                tracer.end(span);
             }
         });
         
@@ -83,19 +113,31 @@ public class RecipeDataStore {
      * @param recipes 저장할 레시피 목록
      * @return 저장이 완료되면 끝나는 CompletableFuture
      */
+    @Override
     public CompletableFuture<Void> saveRecipes(List<Recipe> recipes) {
         CompletableFuture<Void> future = new CompletableFuture<>();
-        String json = gson.toJson(recipes);
-        
+        long encodeSpan = tracer.begin("datastore.encode");
+        long encodeStartNanos = System.nanoTime();
+        String json = RecipeJsonCodec.encode(recipes);
+        SAVE_ENCODE_US.recordMicrosSince(encodeStartNanos);
+        SAVE_CHARS.record(json.length());
+        tracer.end(encodeSpan);
+
+        long queueSpan = tracer.beginAsync("datastore.queue");
         executor.execute(() -> {
+            tracer.endAsync("datastore.queue", queueSpan);
+            long span = tracer.begin("datastore.save");
             try {
                 sharedPreferences.edit()
                         .putString(RECIPES_KEY, json)
                         .apply();
                 future.complete(null);
             } catch (Exception e) {
+                SAVE_ERRORS.increment();
                 Log.e(TAG, "Error saving recipes to DataStore", e);
                 future.completeExceptionally(e);
+            } finally {
+                tracer.end(span);
             }
         });
         
@@ -2,11 +2,15 @@ package com.example.recipealarm;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -15,14 +19,18 @@ import com.google.android.material.floatingactionbutton.ExtendedFloatingActionBu
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 레시피 상세 정보를 보여주는 액티비티입니다.
  * 사용자는 이 화면에서 레시피의 모든 단계를 확인하고, "요리 시작" 버튼을 눌러 타이머를 시작할 수 있습니다.
+ * 목록 화면이 넘긴 레시피는 {@link RecipeSessionCache} 에서 바로 꺼내 그리고, 없을 때만 저장소에서 읽습니다.
  */
 public class RecipeDetailActivity extends AppCompatActivity {
 
     private RecipeRepository recipeRepository;
+    // 화면이 파괴되면 취소되어, 저장소 읽기를 건너뛰고 결과를 전달하지 않습니다.
+    private CancellationToken lifecycleToken;
     private Recipe currentRecipe;
     private RecipeStepAdapter stepAdapter;
 
@@ -40,6 +48,7 @@ public class RecipeDetailActivity extends AppCompatActivity {
         toolbar.setNavigationOnClickListener(v -> finish());
 
         recipeRepository = new RecipeRepository(this);
+        lifecycleToken = LifecycleCancellation.bind(this);
 
         String recipeId = getIntent().getStringExtra(Constants.EXTRA_RECIPE_ID);
         if (recipeId == null || recipeId.isEmpty()) {
@@ -58,58 +67,83 @@ public class RecipeDetailActivity extends AppCompatActivity {
         ExtendedFloatingActionButton fabStartCooking = findViewById(R.id.fab_start_cooking);
         fabStartCooking.setOnClickListener(v -> startCooking());
 
-        loadRecipe(recipeId);
+        // 목록에서 넘겨받은 레시피가 메모리에 있으면 저장소를 읽지 않고 첫 프레임에 바로 그립니다.
+        Recipe handoff = recipeRepository.peekRecipe(recipeId);
+        if (handoff != null) {
+            showRecipe(handoff);
+            ScreenTimingStore.getInstance(this).recordFirstContent(this,
+                    ScreenTimingStore.SCREEN_DETAIL, ScreenTimingStore.SOURCE_HANDOFF);
+        } else {
+            loadRecipe(recipeId);
+        }
     }
 
     /**
-     * 레시피 정보를 불러와 화면에 표시합니다.
+     * 레시피 정보를 저장소에서 불러와 화면에 표시합니다.
      */
     private void loadRecipe(String recipeId) {
-        recipeRepository.getRecipeById(recipeId).thenAccept(recipe -> {
-            if (recipe == null) {
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "레시피를 찾을 수 없습니다.", Toast.LENGTH_SHORT).show();
-                    finish();
+        lifecycleToken.deliver(recipeRepository.getRecipeById(recipeId, lifecycleToken),
+                recipeRepository.getMainExecutor(), (recipe, throwable) -> {
+                    if (throwable != null) {
+                        Toast.makeText(this, "레시피를 불러오는 데 실패했습니다.", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+                    if (recipe == null) {
+                        Toast.makeText(this, "레시피를 찾을 수 없습니다.", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+                    showRecipe(recipe);
+                    ScreenTimingStore.getInstance(this).recordFirstContent(this,
+                            ScreenTimingStore.SCREEN_DETAIL, ScreenTimingStore.SOURCE_STORE);
                 });
-                return;
-            }
-
-            this.currentRecipe = recipe;
+    }
 
-            runOnUiThread(() -> {
-                // 레시피 제목 표시
-                TextView titleText = findViewById(R.id.detail_recipe_title);
-                if (titleText != null) {
-                    titleText.setText(recipe.getName());
-                }
+    /**
+     * 레시피를 화면에 표시합니다. 메인 스레드에서 호출합니다.
+     */
+    private void showRecipe(Recipe recipe) {
+        this.currentRecipe = recipe;
 
-                // 총 시간과 단계 수 계산 및 표시
-                int totalSeconds = 0;
-                int stepCount = recipe.getSteps().size();
-                for (RecipeStep step : recipe.getSteps()) {
-                    totalSeconds += step.getDurationInSeconds();
-                }
-                int totalMinutes = totalSeconds / 60;
+        // 레시피 제목 표시
+        TextView titleText = findViewById(R.id.detail_recipe_title);
+        if (titleText != null) {
+            titleText.setText(recipe.getName());
+        }
 
-                TextView totalTimeText = findViewById(R.id.detail_total_time);
-                if (totalTimeText != null) {
-                    totalTimeText.setText("총 " + totalMinutes + "분 · " + stepCount + "단계");
-                }
+        // 총 시간과 단계 수 계산 및 표시. 병행 단계가 있으면 단축된 시간과 순차 시간을 함께 보여줍니다.
+        int stepCount = recipe.getSteps().size();
+        StepSchedule schedule = scheduleOf(recipe);
+
+        TextView totalTimeText = findViewById(R.id.detail_total_time);
+        if (totalTimeText != null) {
+            String totalText = "총 " + (schedule != null ? schedule.getTotalMs() / 60000
+                    : StepSchedule.totalMsOf(recipe) / 60000) + "분 · " + stepCount + "단계";
+            if (schedule != null && schedule.isParallel()) {
+                totalText += " · 동시 진행 " + schedule.getLaneCount() + "줄 (순서대로 하면 "
+                        + schedule.getSequentialMs() / 60000 + "분)";
+            }
+            totalTimeText.setText(totalText);
+        }
 
-                // 단계 목록 표시
-                stepAdapter.setSteps(recipe.getSteps());
+        // 단계 목록 표시
+        stepAdapter.setSteps(recipe.getSteps(), schedule);
 
-                // Toolbar 제목 업데이트
-                setTitle(recipe.getName());
-            });
+        // Toolbar 제목 업데이트
+        setTitle(recipe.getName());
+    }
 
-        }).exceptionally(ex -> {
-            runOnUiThread(() -> {
-                Toast.makeText(this, "레시피를 불러오는 데 실패했습니다.", Toast.LENGTH_SHORT).show();
-                finish();
-            });
+    /**
+     * 레시피의 단계 일정을 가져옵니다. 목록에서 미리 계산해 둔 일정이 있으면 그대로 씁니다.
+     * 선행 관계가 잘못된 레시피는 null 을 반환합니다.
+     */
+    private static StepSchedule scheduleOf(Recipe recipe) {
+        try {
+            return RecipeSessionCache.getInstance().scheduleFor(recipe);
+        } catch (IllegalArgumentException e) {
             return null;
-        });
+        }
     }
 
     /**
@@ -122,21 +156,75 @@ public class RecipeDetailActivity extends AppCompatActivity {
             return;
         }
 
+        RecipeSessionCache.getInstance().put(currentRecipe);
         Intent intent = new Intent(this, RecipeActivity.class);
         intent.putExtra(Constants.EXTRA_RECIPE_ID, currentRecipe.getId());
+        intent.putExtra(Constants.EXTRA_NAV_START_UPTIME_MS, SystemClock.uptimeMillis());
         startActivity(intent);
     }
 
+    /**
+     * 단계 목록의 한 행에 표시할 값입니다. 단계 인덱스가 행의 식별자이며, 행 내용은 만들 때 미리 계산합니다.
+     */
+    private static final class StepRow {
+        final int index;
+        final String title;
+        final String timeText;
+
+        StepRow(int index, String title, String timeText) {
+            this.index = index;
+            this.title = title;
+            this.timeText = timeText;
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<StepRow> STEP_DIFF = new DiffUtil.ItemCallback<StepRow>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull StepRow oldItem, @NonNull StepRow newItem) {
+            return oldItem.index == newItem.index;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull StepRow oldItem, @NonNull StepRow newItem) {
+            return Objects.equals(oldItem.title, newItem.title) && Objects.equals(oldItem.timeText, newItem.timeText);
+        }
+    };
+
     /**
      * 레시피 단계 목록을 표시하기 위한 어댑터입니다.
+     * 새 목록은 작업 스레드에서 이전 목록과 비교되어 바뀐 행만 다시 바인딩되며, 단계 인덱스를 안정적인 아이템 ID 로 사용합니다.
      */
     private static class RecipeStepAdapter extends androidx.recyclerview.widget.RecyclerView.Adapter<RecipeStepAdapter.StepViewHolder> {
 
-        private List<RecipeStep> steps = new ArrayList<>();
+        private final AsyncListDiffer<StepRow> differ = new AsyncListDiffer<>(this, STEP_DIFF);
 
-        public void setSteps(List<RecipeStep> steps) {
-            this.steps = steps != null ? steps : new ArrayList<>();
-            notifyDataSetChanged();
+        RecipeStepAdapter() {
+            setHasStableIds(true);
+        }
+
+        public void setSteps(List<RecipeStep> steps, StepSchedule schedule) {
+            List<StepRow> rows = new ArrayList<>();
+            if (steps != null) {
+                for (int i = 0; i < steps.size(); i++) {
+                    RecipeStep step = steps.get(i);
+                    rows.add(new StepRow(i, step.getDescription(), timeTextOf(step, i, schedule)));
+                }
+            }
+            differ.submitList(rows);
+        }
+
+        /**
+         * 시간 포맷팅 (초 -> 분:초). 병행 단계가 있는 레시피는 시작 시점과 병행 여부를 함께 표시합니다.
+         */
+        private static String timeTextOf(RecipeStep step, int position, StepSchedule schedule) {
+            String timeText = TimeFormatter.format(step.getDurationInSeconds() * 1000L);
+            if (schedule != null && schedule.isParallel()) {
+                timeText += " · " + TimeFormatter.format(schedule.getStartMs(position)) + "부터";
+                if (!schedule.isCritical(position)) {
+                    timeText += " · 병행 " + schedule.getLane(position);
+                }
+            }
+            return timeText;
         }
 
         @Override
@@ -148,13 +236,17 @@ public class RecipeDetailActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(StepViewHolder holder, int position) {
-            RecipeStep step = steps.get(position);
-            holder.bind(step, position);
+            holder.bind(differ.getCurrentList().get(position));
         }
 
         @Override
         public int getItemCount() {
-            return steps.size();
+            return differ.getCurrentList().size();
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return differ.getCurrentList().get(position).index;
         }
 
         static class StepViewHolder extends androidx.recyclerview.widget.RecyclerView.ViewHolder {
@@ -169,14 +261,10 @@ public class RecipeDetailActivity extends AppCompatActivity {
                 stepTime = itemView.findViewById(R.id.step_item_time);
             }
 
-            public void bind(RecipeStep step, int position) {
-                stepNumber.setText(String.valueOf(position + 1));
-                stepTitle.setText(step.getDescription());
-
-                // 시간 포맷팅 (초 -> 분:초)
-                int minutes = step.getDurationInSeconds() / 60;
-                int seconds = step.getDurationInSeconds() % 60;
-                stepTime.setText(String.format("%02d:%02d", minutes, seconds));
+            public void bind(StepRow row) {
+                stepNumber.setText(String.valueOf(row.index + 1));
+                stepTitle.setText(row.title);
+                stepTime.setText(row.timeText);
             }
         }
     }
@@ -0,0 +1,44 @@
+package com.example.recipealarm;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.Objects;
+
+/**
+ * 레시피 목록의 변경분을 계산하기 위한 DiffUtil 콜백입니다.
+ *
+ * 같은 항목인지는 {@link Recipe#getId()} 로, 내용이 같은지는 목록 행에 실제로 표시되는 값
+ * (이름, 총 시간, 단계 수, 즐겨찾기)으로 판단합니다. 즐겨찾기만 바뀌었다면 {@link #PAYLOAD_FAVORITE} 를
+ * 페이로드로 넘겨 해당 행의 하트 아이콘만 다시 그리게 합니다.
+ * 비교는 AsyncListDiffer 의 작업 스레드에서 실행되므로, 비교하는 Recipe 객체는 목록에 넘긴 뒤 변경하면 안 됩니다.
+ */
+public class RecipeDiffCallback extends DiffUtil.ItemCallback<Recipe> {
+
+    /** 즐겨찾기 상태만 바뀐 행에 전달되는 페이로드 */
+    public static final Object PAYLOAD_FAVORITE = "favorite";
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Recipe oldItem, @NonNull Recipe newItem) {
+        return Objects.equals(oldItem.getId(), newItem.getId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Recipe oldItem, @NonNull Recipe newItem) {
+        return oldItem.isFavorite() == newItem.isFavorite() && sameSummary(oldItem, newItem);
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull Recipe oldItem, @NonNull Recipe newItem) {
+        if (oldItem.isFavorite() != newItem.isFavorite() && sameSummary(oldItem, newItem)) {
+            return PAYLOAD_FAVORITE;
+        }
+        return null; // 전체를 다시 바인딩합니다.
+    }
+
+    private static boolean sameSummary(Recipe oldItem, Recipe newItem) {
+        return Objects.equals(oldItem.getName(), newItem.getName())
+                && oldItem.getSteps().size() == newItem.getSteps().size()
+                && StepSchedule.totalMsOf(oldItem) == StepSchedule.totalMsOf(newItem);
+    }
+}
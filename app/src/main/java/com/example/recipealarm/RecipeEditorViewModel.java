@@ -0,0 +1,276 @@
+package com.example.recipealarm;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.ViewModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 레시피 편집 화면의 단계 목록을 보관하는 ViewModel 입니다.
+ *
+ * 화면 회전 같은 구성 변경에도 입력 중인 단계가 유지되므로, 액티비티가 다시 만들어져도
+ * 목록은 보이는 행만 다시 바인딩합니다. 입력 검사는 하나의 작업 스레드에서 실행되며,
+ * 글자를 고친 행은 그 행만, 단계를 추가하거나 지운 경우에는 번호가 바뀌므로 전체를 다시 검사합니다.
+ * 검사 결과는 메인 스레드에서 오류가 실제로 바뀐 행에만 알립니다.
+ *
+ * 저장도 이 ViewModel 이 맡습니다. 저장 중에 화면이 회전하면 결과는 새 액티비티의 리스너로 전달되고,
+ * 리스너가 없는 사이에 끝난 결과는 다음 리스너가 등록될 때 전달합니다.
+ * 저장이 진행 중이거나 끝난 뒤에는 다시 저장하지 않으므로 같은 레시피가 두 번 저장되지 않습니다.
+ * 모든 public 메소드는 메인 스레드에서 호출합니다.
+ */
+public class RecipeEditorViewModel extends ViewModel {
+
+    /**
+     * 검사 결과를 받는 리스너입니다. 메인 스레드에서 호출됩니다.
+     */
+    public interface Listener {
+        /**
+         * @param position 오류 표시가 바뀐 단계의 위치
+         */
+        void onStepErrorChanged(int position);
+
+        /**
+         * 레시피가 저장되었습니다.
+         */
+        void onRecipeSaved();
+
+        /**
+         * 입력이 잘못되었거나 저장에 실패했습니다. 다시 저장할 수 있습니다.
+         * @param message 사용자에게 보여줄 메시지
+         */
+        void onSaveFailed(String message);
+    }
+
+    /** 저장하지 않았거나 실패해서 다시 저장할 수 있는 상태 */
+    public static final int SAVE_IDLE = 0;
+    /** 단계를 검사하거나 저장소에 쓰는 중인 상태 */
+    public static final int SAVE_IN_PROGRESS = 1;
+    /** 저장을 마친 상태 */
+    public static final int SAVE_DONE = 2;
+
+    private final List<StepDraft> steps = new ArrayList<>();
+    private long nextId = 0;
+
+    private final ExecutorService validationExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private Listener listener;
+
+    private int saveState = SAVE_IDLE;
+    // 리스너가 없는 사이에 끝난 저장 결과. 실패했으면 메시지, 성공했으면 null 입니다.
+    private boolean hasPendingSaveResult;
+    private String pendingSaveError;
+
+    /**
+     * 리스너를 바꿉니다. 리스너가 없는 사이에 끝난 저장 결과가 있으면 새 리스너에게 바로 전달합니다.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+        if (listener != null && hasPendingSaveResult) {
+            hasPendingSaveResult = false;
+            String error = pendingSaveError;
+            pendingSaveError = null;
+            deliverSaveResult(error);
+        }
+    }
+
+    /**
+     * @return SAVE_IDLE, SAVE_IN_PROGRESS, SAVE_DONE 중 하나
+     */
+    public int getSaveState() {
+        return saveState;
+    }
+
+    /**
+     * @return 편집 중인 단계 목록. 메인 스레드에서만 읽고 고칩니다.
+     */
+    public List<StepDraft> getSteps() {
+        return steps;
+    }
+
+    /**
+     * 빈 단계를 끝에 추가합니다. 단계 수가 바뀌어 선행 단계 번호의 범위도 바뀌므로 전체를 다시 검사합니다.
+     * @return 추가된 위치
+     */
+    public int addStep() {
+        steps.add(new StepDraft(nextId++, "", "", ""));
+        validateAll();
+        return steps.size() - 1;
+    }
+
+    /**
+     * 붙여넣은 단계들을 끝에 추가합니다.
+     * @return 추가를 시작한 위치
+     */
+    public int addSteps(List<StepPasteParser.ParsedStep> parsed) {
+        int start = steps.size();
+        for (StepPasteParser.ParsedStep step : parsed) {
+            steps.add(new StepDraft(nextId++, step.getDescription(), step.getDurationText(), step.getDependsText()));
+        }
+        validateAll();
+        return start;
+    }
+
+    /**
+     * 마지막 단계가 아무것도 입력되지 않은 상태이면 지웁니다. 붙여넣기 전에 처음의 빈 단계를 치울 때 사용합니다.
+     * @return 지웠으면 true
+     */
+    public boolean removeTrailingBlankStep() {
+        if (!steps.isEmpty() && steps.get(steps.size() - 1).isBlank()) {
+            steps.remove(steps.size() - 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 단계를 지우고 번호가 바뀐 나머지 단계를 다시 검사합니다.
+     */
+    public void removeStep(int position) {
+        steps.remove(position);
+        validateAll();
+    }
+
+    /**
+     * 단계의 입력이 바뀌었을 때 호출합니다. 그 단계만 작업 스레드에서 다시 검사합니다.
+     */
+    public void onStepEdited(int position) {
+        List<StepDraft> snapshot = new ArrayList<>(1);
+        snapshot.add(steps.get(position).copy());
+        int[] positions = {position};
+        submitValidation(snapshot, positions, steps.size());
+    }
+
+    /**
+     * 모든 단계를 작업 스레드에서 다시 검사합니다.
+     */
+    public void validateAll() {
+        List<StepDraft> snapshot = new ArrayList<>(steps.size());
+        int[] positions = new int[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            snapshot.add(steps.get(i).copy());
+            positions[i] = i;
+        }
+        submitValidation(snapshot, positions, steps.size());
+    }
+
+    private void submitValidation(List<StepDraft> snapshot, int[] positions, int stepCount) {
+        validationExecutor.execute(() -> {
+            String[] errors = new String[snapshot.size()];
+            for (int i = 0; i < snapshot.size(); i++) {
+                StepDraft draft = snapshot.get(i);
+                // 아직 아무것도 입력하지 않은 단계는 저장할 때만 알립니다.
+                errors[i] = draft.isBlank() ? null : StepDraftValidator.validate(positions[i], draft.getDescription(),
+                        draft.getDurationText(), draft.getDependsText(), stepCount);
+            }
+            mainHandler.post(() -> applyValidation(snapshot, errors, stepCount));
+        });
+    }
+
+    /**
+     * 검사하는 동안 입력이 바뀌지 않은 단계에만 결과를 반영합니다.
+     */
+    private void applyValidation(List<StepDraft> snapshot, String[] errors, int stepCount) {
+        if (stepCount != steps.size()) {
+            return; // 단계 수가 바뀌었으므로 뒤따르는 전체 검사의 결과를 기다립니다.
+        }
+        Map<Long, Integer> positions = positionsById();
+        for (int i = 0; i < snapshot.size(); i++) {
+            StepDraft checked = snapshot.get(i);
+            Integer position = positions.get(checked.getId());
+            if (position == null) {
+                continue;
+            }
+            StepDraft current = steps.get(position);
+            String error = errors[i];
+            if (current.getRevision() != checked.getRevision()
+                    || (error == null ? current.getError() == null : error.equals(current.getError()))) {
+                continue;
+            }
+            current.setError(error);
+            if (listener != null) {
+                listener.onStepErrorChanged(position);
+            }
+        }
+    }
+
+    /**
+     * 검사하는 동안 단계가 옮겨졌을 수 있으므로 위치는 ID 로 다시 찾습니다.
+     */
+    private Map<Long, Integer> positionsById() {
+        Map<Long, Integer> positions = new HashMap<>(steps.size() * 2);
+        for (int i = 0; i < steps.size(); i++) {
+            positions.put(steps.get(i).getId(), i);
+        }
+        return positions;
+    }
+
+    /**
+     * 모든 단계를 작업 스레드에서 검사한 뒤 레시피를 저장합니다.
+     * 결과는 그때 등록된 리스너의 {@link Listener#onRecipeSaved()} 나 {@link Listener#onSaveFailed(String)} 로 받습니다.
+     * 쓰기는 화면이 끝나도 끝까지 실행됩니다.
+     * @param recipeName 저장할 레시피 이름
+     * @return 저장을 시작했으면 true. 이미 저장 중이거나 저장을 마쳤으면 false
+     */
+    public boolean save(RecipeRepository repository, String recipeName) {
+        if (saveState != SAVE_IDLE) {
+            return false;
+        }
+        saveState = SAVE_IN_PROGRESS;
+        List<StepDraft> snapshot = new ArrayList<>(steps.size());
+        for (StepDraft draft : steps) {
+            snapshot.add(draft.copy());
+        }
+        validationExecutor.execute(() -> {
+            List<RecipeStep> built;
+            try {
+                built = StepDraftValidator.toSteps(snapshot);
+            } catch (IllegalArgumentException e) {
+                String message = e.getMessage();
+                mainHandler.post(() -> finishSave(message));
+                return;
+            }
+            Recipe recipe = new Recipe(recipeName, built);
+            mainHandler.post(() -> {
+                if (validationExecutor.isShutdown()) {
+                    return; // 검사하는 동안 화면을 닫았으므로 저장하지 않습니다.
+                }
+                repository.addRecipe(recipe).whenCompleteAsync((aVoid, throwable) ->
+                        finishSave(throwable != null ? "저장 실패: " + throwable.getMessage() : null), mainHandler::post);
+            });
+        });
+        return true;
+    }
+
+    private void finishSave(String error) {
+        saveState = error == null ? SAVE_DONE : SAVE_IDLE;
+        if (listener == null) {
+            // 화면이 다시 만들어지는 중입니다. 새 화면이 리스너를 등록할 때 전달합니다.
+            hasPendingSaveResult = true;
+            pendingSaveError = error;
+            return;
+        }
+        deliverSaveResult(error);
+    }
+
+    private void deliverSaveResult(String error) {
+        if (error == null) {
+            listener.onRecipeSaved();
+        } else {
+            listener.onSaveFailed(error);
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        listener = null;
+        validationExecutor.shutdownNow();
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+}
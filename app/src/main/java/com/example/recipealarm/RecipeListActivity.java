@@ -2,6 +2,11 @@ package com.example.recipealarm;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
 import android.widget.Toast;
 
@@ -13,34 +18,56 @@ import com.example.recipealarm.utils.Constants;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 앱의 메인 화면으로, 저장된 레시피 목록을 보여주는 액티비티입니다.
  * 사용자는 이 화면에서 레시피를 선택하여 타이머를 시작하거나,
  * 새로운 레시피를 추가하거나, 즐겨찾기를 관리할 수 있습니다.
  * 이 액티비티가 앱의 시작점(Launcher Activity)이 됩니다.
+ *
+ * 즐겨찾기는 누르는 즉시 화면에 반영하고, 저장은 {@link FavoriteWriteQueue} 에 모아 잠시 뒤 한 번에 씁니다.
+ * 저장에 실패하면 마지막으로 저장된 상태로 되돌리고 알려줍니다.
+ *
+ * 행을 누르기 시작하면 {@link RecipeSessionCache} 에 레시피를 넘기고 단계 일정을 미리 계산하여,
+ * 상세 화면이 저장소를 다시 읽지 않고 첫 프레임에 내용을 그릴 수 있게 합니다.
  */
-public class RecipeListActivity extends AppCompatActivity implements RecipeAdapter.OnRecipeClickListener, RecipeAdapter.OnFavoriteClickListener {
+public class RecipeListActivity extends AppCompatActivity implements RecipeAdapter.OnRecipeClickListener,
+        RecipeAdapter.OnFavoriteClickListener, RecipeAdapter.OnRecipePressListener {
 
     private RecipeRepository recipeRepository;
+    // 화면이 파괴되면 취소되어, 저장소 읽기를 건너뛰고 결과를 전달하지 않습니다.
+    private CancellationToken lifecycleToken;
     private RecipeAdapter recipeAdapter;
     private View emptyStateView;
 
+    // 연달아 누른 즐겨찾기를 한 번의 쓰기로 모으기 위해 기다리는 시간
+    private static final long FAVORITE_WRITE_DELAY_MS = 400L;
+    private final FavoriteWriteQueue favoriteQueue = new FavoriteWriteQueue();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushFavoritesRunnable = this::flushFavorites;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_recipe_list);
 
         recipeRepository = new RecipeRepository(this);
+        lifecycleToken = LifecycleCancellation.bind(this);
 
         // Toolbar 설정
         com.google.android.material.appbar.MaterialToolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
+        // 툴바를 길게 누르면 개발용 통계 화면을 엽니다.
+        toolbar.setOnLongClickListener(v -> {
+            startActivity(new Intent(this, DebugStatsActivity.class));
+            return true;
+        });
 
         // RecyclerView 설정
         RecyclerView recyclerView = findViewById(R.id.recipe_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        recipeAdapter = new RecipeAdapter(this, this);
+        recipeAdapter = new RecipeAdapter(this, this, this);
         recyclerView.setAdapter(recipeAdapter);
 
         // 빈 상태 뷰 설정
@@ -54,27 +81,50 @@ public class RecipeListActivity extends AppCompatActivity implements RecipeAdapt
         });
     }
 
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_recipe_list, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_meal_plan) {
+            startActivity(new Intent(this, MealPlanActivity.class));
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
         loadRecipes();
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 화면을 떠나면 기다리지 않고 바로 저장합니다.
+        mainHandler.removeCallbacks(flushFavoritesRunnable);
+        flushFavorites();
+    }
+
     /**
      * RecipeRepository에서 레시피 목록을 불러와 RecyclerView에 표시합니다.
      */
     private void loadRecipes() {
-        recipeRepository.getRecipes().whenComplete((recipes, throwable) -> {
-            runOnUiThread(() -> {
-                if (throwable != null) {
-                    Toast.makeText(this, "레시피를 불러오는 데 실패했습니다.", Toast.LENGTH_SHORT).show();
-                    updateEmptyState(recipes != null ? recipes : java.util.Collections.emptyList());
-                } else {
-                    recipeAdapter.setRecipes(recipes);
-                    updateEmptyState(recipes);
-                }
-            });
-        });
+        lifecycleToken.deliver(recipeRepository.getRecipes(lifecycleToken), recipeRepository.getMainExecutor(),
+                (recipes, throwable) -> {
+                    if (throwable != null) {
+                        Toast.makeText(this, "레시피를 불러오는 데 실패했습니다.", Toast.LENGTH_SHORT).show();
+                        updateEmptyState(recipes != null ? recipes : java.util.Collections.emptyList());
+                    } else {
+                        // 아직 저장 중인 즐겨찾기 변경은 불러온 목록보다 우선합니다.
+                        recipeAdapter.setRecipes(favoriteQueue.applyPending(recipes));
+                        updateEmptyState(recipes);
+                    }
+                });
     }
 
     /**
@@ -93,25 +143,94 @@ public class RecipeListActivity extends AppCompatActivity implements RecipeAdapt
      */
     @Override
     public void onRecipeClick(Recipe recipe) {
+        RecipeSessionCache.getInstance().put(recipe);
         Intent intent = new Intent(this, RecipeDetailActivity.class);
         intent.putExtra(Constants.EXTRA_RECIPE_ID, recipe.getId());
+        intent.putExtra(Constants.EXTRA_NAV_START_UPTIME_MS, SystemClock.uptimeMillis());
         startActivity(intent);
     }
 
+    /**
+     * 레시피 항목을 누르기 시작했을 때 호출됩니다. 클릭이 확정되기 전에 상세 화면에 필요한 값을 미리 준비합니다.
+     * @param recipe 누른 Recipe 객체
+     */
+    @Override
+    public void onRecipePress(Recipe recipe) {
+        RecipeSessionCache.getInstance().prefetch(recipe);
+    }
+
     /**
      * 즐겨찾기 아이콘이 클릭되었을 때 호출됩니다.
      * @param recipe 클릭된 Recipe 객체
      */
     @Override
     public void onFavoriteClick(Recipe recipe) {
-        recipe.setFavorite(!recipe.isFavorite());
-        recipeRepository.updateRecipe(recipe).whenComplete((aVoid, throwable) -> {
-            if (throwable != null) {
-                runOnUiThread(() -> Toast.makeText(this, "즐겨찾기 업데이트 실패", Toast.LENGTH_SHORT).show());
-            } else {
-                // 즐겨찾기 상태가 변경되었으므로 목록을 새로고침합니다.
-                loadRecipes();
+        // 목록 비교가 끝나기 전에 다시 눌렀을 수 있으므로 대기 중인 값을 기준으로 뒤집습니다.
+        boolean previous = favoriteQueue.currentValue(recipe.getId(), recipe.isFavorite());
+        boolean favorite = !previous;
+        // 어댑터가 이전 목록과 비교할 수 있도록 표시 중인 객체는 그대로 두고 복사본으로 바꿉니다.
+        recipeAdapter.replaceRecipe(recipe.withFavorite(favorite));
+        if (favoriteQueue.offer(recipe.getId(), previous, favorite)) {
+            scheduleFavoriteFlush();
+        }
+    }
+
+    private void scheduleFavoriteFlush() {
+        mainHandler.removeCallbacks(flushFavoritesRunnable);
+        mainHandler.postDelayed(flushFavoritesRunnable, FAVORITE_WRITE_DELAY_MS);
+    }
+
+    /**
+     * 모아 둔 즐겨찾기 변경을 한 번에 저장합니다.
+     */
+    private void flushFavorites() {
+        Map<String, Boolean> batch = favoriteQueue.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 저장은 화면이 끝나도 마칩니다. 대기열 정리와 이어지는 저장은 화면이 끝나도 메인 스레드에서 처리해야
+        // 쓰는 동안 누른 변경이 사라지지 않으므로, 수명 토큰을 거치지 않습니다.
+        recipeRepository.updateFavorites(batch).whenCompleteAsync(
+                (aVoid, throwable) -> onFavoritesWritten(throwable), recipeRepository.getMainExecutor());
+    }
+
+    /**
+     * 즐겨찾기 묶음의 저장이 끝났을 때 메인 스레드에서 호출됩니다. 화면이 이미 끝났더라도 호출되며,
+     * 이때는 목록을 되돌리거나 알리지 않고 남은 변경만 바로 저장합니다.
+     */
+    private void onFavoritesWritten(Throwable throwable) {
+        boolean screenGone = lifecycleToken.isCancelled();
+        if (throwable == null) {
+            if (favoriteQueue.onWriteSucceeded()) {
+                // 저장하는 동안 새로 누른 변경이 있습니다.
+                flushRemainingFavorites(screenGone);
             }
-        });
+            return;
+        }
+        Map<String, Boolean> rollback = favoriteQueue.onWriteFailed();
+        if (!screenGone) {
+            for (Recipe recipe : recipeAdapter.getRecipes()) {
+                Boolean favorite = rollback.get(recipe.getId());
+                if (favorite != null && favorite != recipe.isFavorite()) {
+                    recipeAdapter.replaceRecipe(recipe.withFavorite(favorite));
+                }
+            }
+            Toast.makeText(this, "즐겨찾기를 저장하지 못해 되돌렸습니다.", Toast.LENGTH_SHORT).show();
+        }
+        if (favoriteQueue.hasPending()) {
+            flushRemainingFavorites(screenGone);
+        }
+    }
+
+    /**
+     * 화면이 살아 있으면 더 모을 수 있도록 잠시 기다렸다가, 화면이 끝났거나 끝나는 중이면 바로 저장합니다.
+     */
+    private void flushRemainingFavorites(boolean screenGone) {
+        if (screenGone || isFinishing()) {
+            mainHandler.removeCallbacks(flushFavoritesRunnable);
+            flushFavorites();
+        } else {
+            scheduleFavoriteFlush();
+        }
     }
 }
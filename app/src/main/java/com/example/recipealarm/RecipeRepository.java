@@ -2,31 +2,67 @@ package com.example.recipealarm;
 
 import android.content.Context;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import androidx.core.content.ContextCompat;
+
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * 레시피 데이터의 출처(Source of truth) 역할을 하는 클래스입니다.
  * UI나 비즈니스 로직은 이 클래스를 통해 레시피 데이터에 접근해야 합니다.
  * 내부적으로 RecipeDataStore를 사용하여 데이터를 로컬에 영구 저장합니다.
+ * 목록을 읽고 고치는 규칙은 core 모듈의 {@link RecipeCatalog} 에 있으며, 이 클래스는 안드로이드 저장소와
+ * 메인 스레드 실행기를 연결해 줍니다.
  *
  * UI 개발자는 이 클래스의 public 메소드를 사용하여 비동기적으로 데이터를 가져오고,
  * 레시피를 추가, 수정, 삭제하는 기능을 구현할 수 있습니다.
+ *
+ * 불러오거나 저장한 목록은 {@link RecipeSessionCache} 에도 반영하여, 화면을 옮길 때
+ * {@link #peekRecipe(String)} 로 저장소를 다시 읽지 않고 레시피를 바로 꺼낼 수 있게 합니다.
+ *
+ * 화면에서 읽을 때는 {@link LifecycleCancellation} 으로 만든 토큰을 넘기고, 결과는
+ * {@link CancellationToken#deliver} 로 {@link #getMainExecutor()} 에서 받습니다.
+ * 화면이 끝나면 아직 시작하지 않은 읽기는 건너뛰고 결과도 전달되지 않습니다. 쓰기는 화면이 끝나도 끝까지 실행됩니다.
+ *
+ * 각 작업을 호출한 때부터 끝날 때까지의 시간은 작업별로 {@link MetricsRegistry} 에 기록하고,
+ * 같은 구간을 {@link SpanTracer} 에 "repository." 으로 시작하는 비동기 구간으로 남깁니다.
  */
 public class RecipeRepository {
 
-    private final RecipeDataStore dataStore;
+    private static final MetricsRegistry.Histogram GET_RECIPES_US =
+            MetricsRegistry.getInstance().histogram("repository.get_recipes_us");
+    private static final MetricsRegistry.Histogram GET_RECIPE_BY_ID_US =
+            MetricsRegistry.getInstance().histogram("repository.get_recipe_by_id_us");
+    private static final MetricsRegistry.Histogram ADD_US = MetricsRegistry.getInstance().histogram("repository.add_us");
+    private static final MetricsRegistry.Histogram UPDATE_US =
+            MetricsRegistry.getInstance().histogram("repository.update_us");
+    private static final MetricsRegistry.Histogram UPDATE_FAVORITES_US =
+            MetricsRegistry.getInstance().histogram("repository.update_favorites_us");
+    private static final MetricsRegistry.Histogram DELETE_US =
+            MetricsRegistry.getInstance().histogram("repository.delete_us");
+    private static final MetricsRegistry.Counter FAILURES = MetricsRegistry.getInstance().counter("repository.failures");
+
+    private final RecipeCatalog catalog;
+    private final Executor mainExecutor;
 
     /**
      * 생성자. RecipeRepository 인스턴스를 생성합니다.
      * @param context 애플리케이션 컨텍스트. DataStore를 초기화하는 데 필요합니다.
      */
     public RecipeRepository(Context context) {
-        this.dataStore = RecipeDataStore.getInstance(context);
+        this.catalog = new RecipeCatalog(RecipeDataStore.getInstance(context), RecipeSessionCache.getInstance());
+        this.mainExecutor = ContextCompat.getMainExecutor(context);
+    }
+
+    /**
+     * @return 결과를 화면에 전달할 메인 스레드 실행기
+     */
+    public Executor getMainExecutor() {
+        return mainExecutor;
     }
 
     /**
@@ -39,13 +75,25 @@ public class RecipeRepository {
      * @return 레시피 리스트를 담고 있는 CompletableFuture.
      */
     public CompletableFuture<List<Recipe>> getRecipes() {
-        return dataStore.getRecipes().thenCompose(recipes -> {
-            if (recipes == null || recipes.isEmpty()) {
-                // 데이터가 없으면 샘플 레시피를 생성하고 저장합니다.
-                return createSampleRecipes().thenCompose(sampleRecipes -> dataStore.saveRecipes(sampleRecipes).thenApply(v -> sampleRecipes));
-            }
-            return CompletableFuture.completedFuture(recipes);
-        });
+        return getRecipes(CancellationToken.NONE);
+    }
+
+    /**
+     * 저장된 모든 레시피 목록을 비동기적으로 가져옵니다. 토큰이 취소되면 아직 시작하지 않은 읽기는 건너뜁니다.
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 레시피 리스트를 담고 있는 CompletableFuture. 취소되면 CancellationException 으로 끝납니다.
+     */
+    public CompletableFuture<List<Recipe>> getRecipes(CancellationToken token) {
+        return timed("repository.get_recipes", GET_RECIPES_US, () -> catalog.getRecipes(token));
+    }
+
+    /**
+     * 이미 불러온 레시피를 저장소를 읽지 않고 바로 가져옵니다. 화면을 옮길 때 첫 화면을 바로 그리는 데 사용합니다.
+     * @param recipeId 가져올 레시피의 고유 ID
+     * @return 메모리에 있는 레시피. 아직 불러오지 않았으면 null 이며, 이때는 {@link #getRecipeById(String)} 를 사용합니다.
+     */
+    public Recipe peekRecipe(String recipeId) {
+        return catalog.peekRecipe(recipeId);
     }
 
     /**
@@ -54,12 +102,17 @@ public class RecipeRepository {
      * @return 해당 레시피 객체를 담은 CompletableFuture. 레시피가 없으면 null을 담고 있습니다.
      */
     public CompletableFuture<Recipe> getRecipeById(String recipeId) {
-        return getRecipes().thenApply(recipes ->
-                recipes.stream()
-                        .filter(r -> Objects.equals(r.getId(), recipeId))
-                        .findFirst()
-                        .orElse(null)
-        );
+        return getRecipeById(recipeId, CancellationToken.NONE);
+    }
+
+    /**
+     * ID를 이용해 특정 레시피 하나를 비동기적으로 가져옵니다. 토큰이 취소되면 아직 시작하지 않은 읽기는 건너뜁니다.
+     * @param recipeId 가져올 레시피의 고유 ID
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 해당 레시피 객체를 담은 CompletableFuture. 레시피가 없으면 null을 담고 있습니다.
+     */
+    public CompletableFuture<Recipe> getRecipeById(String recipeId, CancellationToken token) {
+        return timed("repository.get_recipe_by_id", GET_RECIPE_BY_ID_US, () -> catalog.getRecipeById(recipeId, token));
     }
 
     /**
@@ -68,10 +121,7 @@ public class RecipeRepository {
      * @return 저장이 완료되면 끝나는 CompletableFuture.
      */
     public CompletableFuture<Void> addRecipe(Recipe recipe) {
-        return getRecipes().thenCompose(recipes -> {
-            recipes.add(recipe);
-            return dataStore.saveRecipes(recipes);
-        });
+        return timed("repository.add", ADD_US, () -> catalog.addRecipe(recipe));
     }
 
     /**
@@ -80,12 +130,16 @@ public class RecipeRepository {
      * @return 업데이트가 완료되면 끝나는 CompletableFuture.
      */
     public CompletableFuture<Void> updateRecipe(Recipe updatedRecipe) {
-        return getRecipes().thenCompose(recipes -> {
-            List<Recipe> newRecipeList = recipes.stream()
-                    .map(r -> Objects.equals(r.getId(), updatedRecipe.getId()) ? updatedRecipe : r)
-                    .collect(Collectors.toList());
-            return dataStore.saveRecipes(newRecipeList);
-        });
+        return timed("repository.update", UPDATE_US, () -> catalog.updateRecipe(updatedRecipe));
+    }
+
+    /**
+     * 여러 레시피의 즐겨찾기 상태를 한 번의 읽기와 쓰기로 저장합니다.
+     * @param favorites 레시피 ID 와 저장할 즐겨찾기 값
+     * @return 저장이 완료되면 끝나는 CompletableFuture.
+     */
+    public CompletableFuture<Void> updateFavorites(Map<String, Boolean> favorites) {
+        return timed("repository.update_favorites", UPDATE_FAVORITES_US, () -> catalog.updateFavorites(favorites));
     }
 
     /**
@@ -94,29 +148,30 @@ public class RecipeRepository {
      * @return 삭제가 완료되면 끝나는 CompletableFuture.
      */
     public CompletableFuture<Void> deleteRecipe(String recipeId) {
-        return getRecipes().thenCompose(recipes -> {
-            List<Recipe> newRecipeList = recipes.stream()
-                    .filter(r -> !Objects.equals(r.getId(), recipeId))
-                    .collect(Collectors.toList());
-            return dataStore.saveRecipes(newRecipeList);
-        });
+        return timed("repository.delete", DELETE_US, () -> catalog.deleteRecipe(recipeId));
     }
 
     /**
-     * 샘플 레시피 데이터를 생성합니다. 앱 최초 실행 시 사용됩니다.
-     * @return 샘플 레시피 리스트를 담은 CompletableFuture.
+     * 작업을 시작하고, 끝나면 걸린 시간을 기록합니다. 취소된 읽기는 기록하지 않고, 실패는 횟수만 셉니다.
+     * 추적 구간은 취소나 실패와 관계없이 작업이 끝날 때 닫습니다.
+     * @param spanName {@link SpanTracer} 에 남길 구간 이름
+     * @param operation 작업을 시작하는 함수. 시간을 재기 시작한 뒤에 호출합니다.
      */
-    private CompletableFuture<List<Recipe>> createSampleRecipes() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Recipe> sampleRecipes = new ArrayList<>();
-            Recipe ramen = new Recipe("신라면 맛있게 끓이기", Arrays.asList(
-                    new RecipeStep("물 550ml 끓이기", 180), // 3분
-                    new RecipeStep("면과 분말, 건더기 스프 넣기", 270), // 4분 30초
-                    new RecipeStep("계란 넣고 30초 더 끓이기", 30) // 30초
-            ));
-            ramen.setFavorite(true); // 샘플 레시피를 즐겨찾기에 추가해 봅니다.
-            sampleRecipes.add(ramen);
-            return sampleRecipes;
+    private static <T> CompletableFuture<T> timed(String spanName, MetricsRegistry.Histogram histogram,
+                                                  Supplier<CompletableFuture<T>> operation) {
+        SpanTracer tracer = SpanTracer.getInstance();
+        long span = tracer.beginAsync(spanName);
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> future = operation.get();
+        future.whenComplete((result, throwable) -> {
+            tracer.endAsync(spanName, span);
+            if (throwable == null) {
+                histogram.recordMicrosSince(startNanos);
+            } else if (!(throwable instanceof CancellationException)
+                    && !(throwable.getCause() instanceof CancellationException)) {
+                FAILURES.increment();
+            }
         });
+        return future;
     }
 }
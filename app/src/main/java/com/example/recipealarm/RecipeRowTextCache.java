@@ -0,0 +1,116 @@
+package com.example.recipealarm;
+
+import android.os.Process;
+
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 레시피 목록 행의 이름과 요약 문구를 작업 스레드에서 {@link PrecomputedTextCompat} 으로 미리 측정해 보관합니다.
+ *
+ * 행을 바인딩할 때 측정이 끝나 있으면 메인 스레드는 글자 배치만 하고, 아직 끝나지 않았으면 TextView 의
+ * setTextFuture 로 넘겨 실제로 측정할 때까지 기다립니다. RecyclerView 가 다음 행을 미리 바인딩(prefetch)하거나
+ * 스크롤 방향의 행을 {@link #prefetch} 로 미리 준비하면 대부분의 행은 보이기 전에 측정이 끝납니다.
+ * 결과는 {@link RecipeRowText#cacheKeyOf} 로 만든 키마다 보관하므로 목록을 다시 읽거나 즐겨찾기만 바꾼 레시피도
+ * 다시 측정하지 않으며, 최근에 쓴 {@link #MAX_ENTRIES} 개까지만 유지합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class RecipeRowTextCache {
+
+    static final int MAX_ENTRIES = 256;
+
+    // 측정 작업은 화면 그리기와 경쟁하지 않도록 낮은 우선순위의 스레드 하나에서 실행합니다.
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "recipe-row-text");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 한 행의 미리 측정한 글자입니다.
+     */
+    public static final class RowText {
+        final Future<PrecomputedTextCompat> name;
+        final Future<PrecomputedTextCompat> summary;
+
+        RowText(Future<PrecomputedTextCompat> name, Future<PrecomputedTextCompat> summary) {
+            this.name = name;
+            this.summary = summary;
+        }
+    }
+
+    // 레시피 ID 와 행 글자를 바꾸는 값으로 만든 키 -> 측정 결과
+    private final Map<String, RowText> rows = new LinkedHashMap<String, RowText>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RowText> eldest) {
+            // 이미 TextView 에 넘겼을 수 있으므로 취소하지 않고 보관만 그만둡니다.
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private PrecomputedTextCompat.Params nameParams;
+    private PrecomputedTextCompat.Params summaryParams;
+
+    /**
+     * @return 측정에 쓸 글자 설정을 받았으면 true
+     */
+    public boolean hasParams() {
+        return nameParams != null && summaryParams != null;
+    }
+
+    /**
+     * 행의 TextView 에서 얻은 글자 크기, 글꼴, 줄바꿈 설정을 지정합니다. 설정이 바뀌면 보관한 결과를 버립니다.
+     */
+    public void setParams(PrecomputedTextCompat.Params nameParams, PrecomputedTextCompat.Params summaryParams) {
+        if (nameParams.equals(this.nameParams) && summaryParams.equals(this.summaryParams)) {
+            return;
+        }
+        this.nameParams = nameParams;
+        this.summaryParams = summaryParams;
+        rows.clear();
+    }
+
+    /**
+     * 레시피의 행 글자를 돌려줍니다. 아직 측정하지 않았으면 작업 스레드에 측정을 맡깁니다.
+     * @return 글자 설정을 받기 전이면 null
+     */
+    public RowText get(Recipe recipe) {
+        if (!hasParams()) {
+            return null;
+        }
+        String key = RecipeRowText.cacheKeyOf(recipe);
+        RowText row = rows.get(key);
+        if (row == null) {
+            PrecomputedTextCompat.Params name = nameParams;
+            PrecomputedTextCompat.Params summary = summaryParams;
+            row = new RowText(
+                    EXECUTOR.submit(() -> PrecomputedTextCompat.create(recipe.getName(), name)),
+                    EXECUTOR.submit(() -> PrecomputedTextCompat.create(RecipeRowText.summaryOf(recipe), summary)));
+            rows.put(key, row);
+        }
+        return row;
+    }
+
+    /**
+     * 주어진 범위의 행을 미리 측정합니다.
+     * @param start 시작 위치
+     * @param end 끝 위치 (포함하지 않음)
+     */
+    public void prefetch(List<Recipe> recipes, int start, int end) {
+        for (int i = start; i < end && i < recipes.size(); i++) {
+            get(recipes.get(i));
+        }
+    }
+
+    public void clear() {
+        rows.clear();
+    }
+}
@@ -4,9 +4,10 @@ import android.app.AlarmManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
+import android.os.PowerManager;
 import android.util.Log;
-import com.google.gson.Gson;
 
+import com.example.recipealarm.utils.Constants;
 /**
  * AlarmManager를 사용하여 백그라운드에서 안전하게 동작하는 알람을 예약하는 클래스입니다.
  * 이 클래스는 레시피의 알람 시퀀스를 설정하고 취소하는 역할을 담당합니다.
@@ -16,71 +17,143 @@ public class RecipeTimer {
 
     public static final String EXTRA_RECIPE_JSON = "com.example.recipealarm.RECIPE_JSON";
     public static final String EXTRA_STEP_INDEX = "com.example.recipealarm.STEP_INDEX";
+    public static final String EXTRA_INTENDED_TIME = "com.example.recipealarm.INTENDED_TIME";
+    public static final String EXTRA_ALARM_MODE = "com.example.recipealarm.ALARM_MODE";
+    // true 이면 단계 종료가 아니라 긴 단계의 종료 전에 정확한 알람을 다시 걸기 위한 시간 범위 알람입니다.
+    public static final String EXTRA_REARM = "com.example.recipealarm.REARM";
+    // 식사 계획에서 나중에 시작할 레시피의 시작 시각에 울리는 알람. 단계 알람과 PendingIntent 가 겹치지 않도록 액션으로 구분합니다.
+    public static final String ACTION_PLANNED_START = "com.example.recipealarm.ACTION_PLANNED_START";
+    // 알람을 예약한 세대. StepTransitionPipeline 이 이전 세대의 알람을 걸러내는 데 사용합니다.
+    public static final String EXTRA_GENERATION = "com.example.recipealarm.GENERATION";
+
+    // 알람 예약 방식. 알람 지연 통계를 방식별로 나누어 기록합니다.
+    public static final String ALARM_MODE_EXACT_ALLOW_WHILE_IDLE = "exact_allow_while_idle";
+    public static final String ALARM_MODE_EXACT = "exact";
+    public static final String ALARM_MODE_INEXACT = "inexact";
+    public static final String ALARM_MODE_ALARM_CLOCK = "alarm_clock";
+    public static final String ALARM_MODE_INEXACT_ALLOW_WHILE_IDLE = "inexact_allow_while_idle";
+    // 시간 범위 알람으로 깨어난 뒤 다시 건 정확한 알람
+    public static final String ALARM_MODE_WINDOWED_EXACT = "windowed_exact";
+
+    private static final String PREFS_ALARM_POLICY = "alarm_policy";
+    private static final String KEY_ACCURACY_TARGET_MS = "accuracy_target_ms";
 
     /**
-     * 레시피의 특정 단계에 대한 백그라운드 알람을 설정합니다.
-     * 이 알람이 울리면 AlarmReceiver가 실행되고, 이어서 다음 단계의 알람을 설정합니다.
+     * 레시피의 남은 모든 단계에 대해 각 단계가 끝나는 시각에 울리는 백그라운드 알람을 설정합니다.
+     * 단계들은 선행 관계에 따라 동시에 진행될 수 있으므로({@link StepSchedule}), 단계마다 자신의 알람을 가집니다.
      *
-     * 레시피를 시작하려면 이 메소드를 stepIndex = 0으로 호출하면 됩니다.
+     * 레시피를 시작하려면 이 메소드를 elapsedMs = 0 으로 호출하면 됩니다.
+     * 일시정지 후 재개하거나 단계를 이동한 경우에는 cancelAlarms 후 현재 경과 시간으로 다시 호출합니다.
+     * 식사 계획처럼 나중에 시작할 레시피는 음수 경과 시간(-시작까지 남은 시간)으로 미리 예약할 수 있습니다.
      *
      * @param context 애플리케이션 컨텍스트.
      * @param recipe 알람을 설정할 레시피.
-     * @param stepIndex 알람을 설정할 단계의 인덱스.
+     * @param elapsedMs 레시피 시작으로부터 현재까지의 경과 시간. 이미 끝난 단계의 알람은 설정하지 않습니다.
+     * @param generation {@link StepTransitionPipeline#nextGeneration(String)} 로 받은 세대 번호.
+     * @param counter 단계마다 고른 예약 방법을 기록할 세션의 카운터.
+     * @param foregroundDelivery 포그라운드 서비스가 실행 중이고 화면이 지켜보고 있어 단계 전환을 틱으로 직접 처리하는지.
+     *                           true 이면 알람을 걸지 않으며, 서비스는 지켜보는 화면이 사라질 때 다시 예약해야 합니다.
      */
-    public static void setAlarm(Context context, Recipe recipe, int stepIndex) {
-        if (recipe == null || stepIndex < 0 || stepIndex >= recipe.getSteps().size()) {
+    public static void setAlarms(Context context, Recipe recipe, long elapsedMs, int generation,
+                                 AlarmDecisionCounter counter, boolean foregroundDelivery) {
+        if (recipe == null || recipe.getSteps().isEmpty()) {
             return; // 잘못된 입력
         }
 
-        RecipeStep step = recipe.getSteps().get(stepIndex);
-        long durationInMillis = step.getDurationInSeconds() * 1000L;
-
-        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-        Intent intent = new Intent(context, AlarmReceiver.class);
+        StepSchedule schedule;
+        try {
+            schedule = StepSchedule.of(recipe);
+        } catch (IllegalArgumentException e) {
+            Log.e("RecipeTimer", "단계 선행 관계가 올바르지 않아 알람을 설정할 수 없습니다: " + e.getMessage());
+            return;
+        }
 
         // AlarmReceiver가 레시피 정보를 다시 조회할 필요 없도록, 객체를 JSON 문자열로 변환하여 전달합니다.
-        Gson gson = new Gson();
-        intent.putExtra(EXTRA_RECIPE_JSON, gson.toJson(recipe));
-        intent.putExtra(EXTRA_STEP_INDEX, stepIndex);
-
-        // 멀티 타이머를 지원하고 각 알람을 고유하게 식별하기 위해,
-        // 레시피의 고유 ID와 단계 인덱스를 조합하여 request code를 생성합니다.
-        int requestCode = recipe.getId().hashCode() + stepIndex;
+        String recipeJson = RecipeJsonCodec.encodeRecipe(recipe);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < schedule.getStepCount(); i++) {
+            long endMs = schedule.getEndMs(i);
+            if (endMs > elapsedMs) {
+                setAlarm(context, recipe, recipeJson, i, now + (endMs - elapsedMs), generation, counter,
+                        foregroundDelivery);
+            }
+        }
+    }
 
-        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, requestCode, intent,
-                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    /**
+     * 레시피의 특정 단계에 대한 백그라운드 알람을 설정합니다.
+     * 이 알람이 울리면 AlarmReceiver가 실행되어 단계 완료를 알리고 다음 단계를 안내합니다.
+     * 예약 방법은 {@link AlarmPolicy} 가 남은 시간, 정확도 목표, 포그라운드 처리 여부와 Doze 상태에 따라 고르며,
+     * 고른 방법은 counter 에 기록됩니다.
+     * 알람에는 예정 시각과 실제로 사용한 예약 방식이 담기며, AlarmReceiver 가 지연을 기록하는 데 사용합니다.
+     *
+     * @param context 애플리케이션 컨텍스트.
+     * @param recipe 알람을 설정할 레시피.
+     * @param recipeJson 알람에 담을 레시피 JSON.
+     * @param stepIndex 알람을 설정할 단계의 인덱스.
+     * @param alarmTime 알람이 울릴 시각 (System.currentTimeMillis 기준).
+     * @param generation 알람에 담을 세대 번호.
+     * @param counter 고른 방법을 기록할 카운터. null 이면 기록하지 않습니다.
+     * @param foregroundDelivery 서비스가 틱으로 단계 전환을 직접 처리하는지.
+     */
+    private static void setAlarm(Context context, Recipe recipe, String recipeJson, int stepIndex, long alarmTime,
+                                 int generation, AlarmDecisionCounter counter, boolean foregroundDelivery) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        AlarmPolicy policy = new AlarmPolicy(getAccuracyTargetMs(context));
 
-        long alarmTime = System.currentTimeMillis() + durationInMillis;
+        boolean exactAllowed = isExactAllowed(alarmManager);
+        if (!exactAllowed && !foregroundDelivery) {
+            Log.w("RecipeTimer", "정확한 알람 권한이 없어 부정확한 알람으로 대체합니다. 단계 종료 안내가 늦어질 수 있습니다.");
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        boolean deviceIdle = powerManager != null && powerManager.isDeviceIdleMode();
+        int mechanism = policy.choose(alarmTime - System.currentTimeMillis(), exactAllowed, foregroundDelivery,
+                deviceIdle);
+        if (counter != null) {
+            counter.record(mechanism);
+        }
 
-        // 정확한 시간에 알람이 울리도록 버전에 따라 적절한 메서드 사용
         try {
-            if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.M) {
-                // Android 6.0 이상에서는 setExactAndAllowWhileIdle 사용 (Android 12 이상 권장)
-                if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.S) {
-                    // Android 12 이상: setExactAndAllowWhileIdle 사용
-                    // 권한이 없으면 SecurityException 발생 가능
-                    if (alarmManager.canScheduleExactAlarms()) {
-                        alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
-                        Log.d("RecipeTimer", "알람 설정 성공 (setExactAndAllowWhileIdle): " + recipe.getName() + " 단계 " + stepIndex);
-                    } else {
-                        // 권한이 없으면 setExact로 대체 (덜 정확하지만 작동함)
-                        Log.w("RecipeTimer", "정확한 알람 권한이 없어 setExact로 대체합니다.");
-                        alarmManager.setExact(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
-                    }
-                } else {
-                    // Android 6.0 ~ 11
-                    alarmManager.setExact(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
-                    Log.d("RecipeTimer", "알람 설정 성공 (setExact): " + recipe.getName() + " 단계 " + stepIndex);
+            switch (mechanism) {
+                case AlarmPolicy.MECHANISM_FOREGROUND_ONLY:
+                    return;
+                case AlarmPolicy.MECHANISM_WINDOWED_THEN_EXACT: {
+                    // 종료 전의 시간 범위 안에서 다른 깨우기와 함께 울리고, AlarmReceiver 가 정확한 알람으로 다시 겁니다.
+                    PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                            ALARM_MODE_WINDOWED_EXACT, generation, true);
+                    alarmManager.setWindow(AlarmManager.RTC_WAKEUP, AlarmPolicy.rearmWindowStartMs(alarmTime),
+                            AlarmPolicy.REARM_WINDOW_MS, pendingIntent);
+                    break;
+                }
+                case AlarmPolicy.MECHANISM_ALARM_CLOCK: {
+                    PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                            ALARM_MODE_ALARM_CLOCK, generation, false);
+                    alarmManager.setAlarmClock(new AlarmManager.AlarmClockInfo(alarmTime,
+                            createShowIntent(context, recipe)), pendingIntent);
+                    break;
+                }
+                case AlarmPolicy.MECHANISM_INEXACT_ALLOW_WHILE_IDLE: {
+                    // 시스템이 울리는 시각을 미룰 수 있어 지연의 상한은 없지만, Doze 중에도 울립니다.
+                    PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                            ALARM_MODE_INEXACT_ALLOW_WHILE_IDLE, generation, false);
+                    alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
+                    break;
+                }
+                default: {
+                    PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                            ALARM_MODE_EXACT_ALLOW_WHILE_IDLE, generation, false);
+                    alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
+                    break;
                 }
-            } else {
-                // Android 6.0 미만 (레거시 지원)
-                alarmManager.set(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
-                Log.d("RecipeTimer", "알람 설정 성공 (set): " + recipe.getName() + " 단계 " + stepIndex);
             }
+            Log.d("RecipeTimer", "알람 설정 성공 (" + AlarmPolicy.nameOf(mechanism) + "): "
+                    + recipe.getName() + " 단계 " + stepIndex);
         } catch (SecurityException e) {
             Log.e("RecipeTimer", "알람 설정 실패 (권한 없음): " + e.getMessage());
-            // 권한이 없으면 일반 알람으로 대체 시도
+            // 권한이 없으면 일반 알람으로 대체 시도. 알람에 담긴 예약 방식도 함께 바꿉니다.
             try {
+                PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                        ALARM_MODE_INEXACT, generation, false);
                 alarmManager.set(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
                 Log.w("RecipeTimer", "일반 알람으로 대체 설정했습니다.");
             } catch (Exception e2) {
@@ -91,6 +164,133 @@ public class RecipeTimer {
         }
     }
 
+    /**
+     * 긴 단계의 시간 범위 알람이 울렸을 때 AlarmReceiver 가 호출합니다.
+     * 같은 단계의 알람을 원래 종료 시각에 정확하게 다시 겁니다. 처음 예약할 때 이미 기록된 결정이므로 다시 세지 않습니다.
+     * 그 사이 정확한 알람 권한이 사라졌으면 Doze 중에도 울리는 부정확한 알람으로 겁니다.
+     *
+     * @param context 애플리케이션 컨텍스트.
+     * @param recipe 알람에 담긴 레시피.
+     * @param recipeJson 알람에 담긴 레시피 JSON.
+     * @param stepIndex 단계 인덱스.
+     * @param alarmTime 원래 예정된 단계 종료 시각.
+     * @param generation 알람에 담긴 세대 번호.
+     */
+    static void rearmExact(Context context, Recipe recipe, String recipeJson, int stepIndex, long alarmTime,
+                           int generation) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent pendingIntent = createAlarmIntent(context, recipe, recipeJson, stepIndex, alarmTime,
+                ALARM_MODE_WINDOWED_EXACT, generation, false);
+        try {
+            if (isExactAllowed(alarmManager)) {
+                alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
+            } else {
+                alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
+            }
+        } catch (SecurityException e) {
+            Log.e("RecipeTimer", "정확한 알람 다시 걸기 실패 (권한 없음): " + e.getMessage());
+            alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, alarmTime, pendingIntent);
+        }
+    }
+
+    /**
+     * 식사 계획에서 나중에 시작할 레시피의 시작 시각에 울리는 알람을 겁니다.
+     * 기기가 잠들어 있어도 제시간에 깨워 TimerService 가 레시피를 시작하고 요리를 시작하라고 안내하게 합니다.
+     *
+     * @param context 애플리케이션 컨텍스트.
+     * @param recipe 시작할 레시피.
+     * @param startAtElapsedMs 시작 시각 (SystemClock.elapsedRealtime 기준).
+     */
+    public static void setPlannedStartAlarm(Context context, Recipe recipe, long startAtElapsedMs) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, recipe.getId().hashCode(),
+                createPlannedStartIntent(context, recipe),
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        try {
+            if (isExactAllowed(alarmManager)) {
+                alarmManager.setExactAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, startAtElapsedMs,
+                        pendingIntent);
+            } else {
+                Log.w("RecipeTimer", "정확한 알람 권한이 없어 레시피 시작 안내가 늦어질 수 있습니다: " + recipe.getName());
+                alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, startAtElapsedMs,
+                        pendingIntent);
+            }
+        } catch (SecurityException e) {
+            Log.e("RecipeTimer", "레시피 시작 알람 설정 실패 (권한 없음): " + e.getMessage());
+            alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, startAtElapsedMs, pendingIntent);
+        }
+    }
+
+    /**
+     * {@link #setPlannedStartAlarm} 으로 건 레시피 시작 알람을 취소합니다.
+     */
+    public static void cancelPlannedStartAlarm(Context context, Recipe recipe) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, recipe.getId().hashCode(),
+                createPlannedStartIntent(context, recipe), PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE);
+        if (pendingIntent != null) {
+            alarmManager.cancel(pendingIntent);
+        }
+    }
+
+    private static Intent createPlannedStartIntent(Context context, Recipe recipe) {
+        Intent intent = new Intent(context, AlarmReceiver.class);
+        intent.setAction(ACTION_PLANNED_START);
+        intent.putExtra(Constants.EXTRA_RECIPE_ID, recipe.getId());
+        return intent;
+    }
+
+    private static boolean isExactAllowed(AlarmManager alarmManager) {
+        return android.os.Build.VERSION.SDK_INT < android.os.Build.VERSION_CODES.S
+                || alarmManager.canScheduleExactAlarms();
+    }
+
+    private static PendingIntent createAlarmIntent(Context context, Recipe recipe, String recipeJson, int stepIndex,
+                                                   long alarmTime, String mode, int generation, boolean rearm) {
+        Intent intent = new Intent(context, AlarmReceiver.class);
+
+        intent.putExtra(EXTRA_RECIPE_JSON, recipeJson);
+        intent.putExtra(EXTRA_STEP_INDEX, stepIndex);
+        intent.putExtra(EXTRA_INTENDED_TIME, alarmTime);
+        intent.putExtra(EXTRA_ALARM_MODE, mode);
+        intent.putExtra(EXTRA_GENERATION, generation);
+        intent.putExtra(EXTRA_REARM, rearm);
+
+        // 멀티 타이머를 지원하고 각 알람을 고유하게 식별하기 위해,
+        // 레시피의 고유 ID와 단계 인덱스를 조합하여 request code를 생성합니다.
+        // 다시 걸기 알람도 같은 request code 를 쓰므로 cancelAlarms 로 함께 취소됩니다.
+        int requestCode = recipe.getId().hashCode() + stepIndex;
+
+        return PendingIntent.getBroadcast(context, requestCode, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * 알람 시계 아이콘을 눌렀을 때 열 레시피 타이머 화면입니다.
+     */
+    private static PendingIntent createShowIntent(Context context, Recipe recipe) {
+        Intent intent = new Intent(context, RecipeActivity.class);
+        intent.putExtra(Constants.EXTRA_RECIPE_ID, recipe.getId());
+        return PendingIntent.getActivity(context, recipe.getId().hashCode(), intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * @return 단계 종료 안내가 허용하는 최대 지연. 알람 예약 방법을 고르는 기준입니다.
+     */
+    public static long getAccuracyTargetMs(Context context) {
+        return context.getSharedPreferences(PREFS_ALARM_POLICY, Context.MODE_PRIVATE)
+                .getLong(KEY_ACCURACY_TARGET_MS, AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS);
+    }
+
+    /**
+     * 정확도 목표를 바꿉니다. 이후에 예약되는 알람부터 적용됩니다.
+     */
+    public static void setAccuracyTargetMs(Context context, long accuracyTargetMs) {
+        context.getSharedPreferences(PREFS_ALARM_POLICY, Context.MODE_PRIVATE)
+                .edit().putLong(KEY_ACCURACY_TARGET_MS, accuracyTargetMs).apply();
+    }
+
     /**
      * 특정 레시피에 대해 예약된 모든 백그라운드 알람을 취소합니다.
      * 사용자가 수동으로 레시피를 중단할 때 호출해야 합니다.
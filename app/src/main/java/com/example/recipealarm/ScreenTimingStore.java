@@ -0,0 +1,123 @@
+package com.example.recipealarm;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import com.example.recipealarm.utils.Constants;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 화면을 연 뒤 첫 내용이 그려지기까지 걸린 시간(time-to-first-content)을 화면과 레시피를 얻은 경로별
+ * {@link LatencyHistogram} 으로 기기에 보관합니다.
+ * 목록에서 넘겨받은 레시피를 메모리에서 바로 그린 경우와 저장소에서 다시 읽은 경우를 나누어 비교할 수 있습니다.
+ * 기록은 메인 스레드를 막지 않도록 작업 스레드에서 저장합니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
+ */
+public class ScreenTimingStore {
+
+    public static final String SCREEN_DETAIL = "detail";
+    public static final String SCREEN_TIMER = "timer";
+
+    /** 메모리 캐시에서 레시피를 바로 꺼내 그린 경우 */
+    public static final String SOURCE_HANDOFF = "handoff";
+    /** 저장소에서 레시피를 다시 읽어 그린 경우 */
+    public static final String SOURCE_STORE = "store";
+
+    private static final String PREFS_NAME = "screen_timing";
+    private static final String[] SCREENS = {SCREEN_DETAIL, SCREEN_TIMER};
+    private static final String[] SOURCES = {SOURCE_HANDOFF, SOURCE_STORE};
+    private static volatile ScreenTimingStore INSTANCE;
+
+    private final SharedPreferences sharedPreferences;
+    private final Executor executor = Executors.newSingleThreadExecutor();
+
+    private ScreenTimingStore(Context context) {
+        this.sharedPreferences = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * ScreenTimingStore 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 애플리케이션 컨텍스트
+     */
+    public static ScreenTimingStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ScreenTimingStore.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ScreenTimingStore(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 첫 내용이 그려지기까지 걸린 시간을 기록합니다.
+     * @param screen 화면 (SCREEN_*)
+     * @param source 레시피를 얻은 경로 (SOURCE_*)
+     * @param elapsedMs 화면 이동을 시작한 때부터 첫 내용을 그린 프레임까지의 시간
+     */
+    public void record(String screen, String source, long elapsedMs) {
+        executor.execute(() -> {
+            synchronized (this) {
+                String key = keyOf(screen, source);
+                LatencyHistogram histogram = LatencyHistogram.decode(sharedPreferences.getString(key, null));
+                histogram.record(elapsedMs);
+                sharedPreferences.edit().putString(key, histogram.encode()).apply();
+            }
+        });
+    }
+
+    /**
+     * 방금 화면에 채운 첫 내용이 그려지는 프레임에서 걸린 시간을 기록하고 {@link Activity#reportFullyDrawn()} 을 알립니다.
+     * 화면 이동을 시작한 시각은 인텐트의 {@link Constants#EXTRA_NAV_START_UPTIME_MS} 에서 읽으며, 없으면 기록하지 않습니다.
+     * 메인 스레드에서 호출합니다.
+     */
+    public void recordFirstContent(Activity activity, String screen, String source) {
+        long navStartMs = activity.getIntent().getLongExtra(Constants.EXTRA_NAV_START_UPTIME_MS, -1);
+        Choreographer.getInstance().postFrameCallback(frameTimeNanos -> {
+            activity.reportFullyDrawn();
+            if (navStartMs >= 0) {
+                record(screen, source, SystemClock.uptimeMillis() - navStartMs);
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        sharedPreferences.edit().clear().apply();
+    }
+
+    /**
+     * 디버그 화면과 내보내기에 사용할 요약 문자열을 만듭니다.
+     */
+    public synchronized String summarize() {
+        StringBuilder summary = new StringBuilder("첫 내용 표시 시간 (TTFC)\n");
+        for (String screen : SCREENS) {
+            for (String source : SOURCES) {
+                LatencyHistogram histogram = LatencyHistogram.decode(
+                        sharedPreferences.getString(keyOf(screen, source), null));
+                summary.append("  ").append(keyOf(screen, source));
+                if (histogram.getTotalCount() == 0) {
+                    summary.append(": 기록 없음\n");
+                    continue;
+                }
+                summary.append(String.format(Locale.US, ": n=%d  p50=%dms  p95=%dms  max=%dms%n",
+                        histogram.getTotalCount(),
+                        histogram.valueAtPercentile(50),
+                        histogram.valueAtPercentile(95),
+                        histogram.getMaxValue()));
+            }
+        }
+        return summary.toString().trim();
+    }
+
+    private static String keyOf(String screen, String source) {
+        return screen + "." + source;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.recipealarm;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link SpanTracer} 에 남아 있는 구간을 앱 내부 저장소의 Chrome trace-event JSON 파일로 씁니다
+ * (files/traces/trace-날짜-시각.json). 파일은 adb 로 꺼내 chrome://tracing 이나 ui.perfetto.dev 에서 엽니다.
+ * 최근 {@link #MAX_FILES} 개의 파일만 남기고 오래된 파일은 지웁니다.
+ * 쓰기는 작업 스레드 하나에서 실행되므로 호출한 스레드를 막지 않습니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
+ */
+public class SpanTraceExporter {
+
+    private static final String TAG = "SpanTraceExporter";
+    private static final String DIRECTORY = "traces";
+    private static final String FILE_PREFIX = "trace-";
+    private static final String FILE_SUFFIX = ".json";
+    static final int MAX_FILES = 5;
+    private static volatile SpanTraceExporter INSTANCE;
+
+    private final File directory;
+    private final Executor executor = Executors.newSingleThreadExecutor();
+    private final SpanTracer tracer = SpanTracer.getInstance();
+
+    private SpanTraceExporter(Context context) {
+        this.directory = new File(context.getApplicationContext().getFilesDir(), DIRECTORY);
+    }
+
+    /**
+     * SpanTraceExporter 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 애플리케이션 컨텍스트
+     */
+    public static SpanTraceExporter getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (SpanTraceExporter.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SpanTraceExporter(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 지금까지의 구간을 새 파일에 씁니다. 파일 이름은 바로 정해지고, 내용은 작업 스레드에서 씁니다.
+     * @return 쓰게 될 파일
+     */
+    public File save() {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, FILE_PREFIX + stamp + FILE_SUFFIX);
+        executor.execute(() -> write(file));
+        return file;
+    }
+
+    private void write(File file) {
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("디렉터리를 만들 수 없습니다: " + directory);
+            }
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                tracer.writeChromeTrace(writer);
+            }
+            deleteOldFiles();
+        } catch (IOException e) {
+            Log.e(TAG, "트레이스를 파일에 쓰지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 이름에 시각이 들어 있으므로 이름 순서가 곧 시간 순서입니다. 가장 최근 {@link #MAX_FILES} 개만 남깁니다.
+     */
+    private void deleteOldFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null || files.length <= MAX_FILES) {
+            return;
+        }
+        Arrays.sort(files);
+        for (int i = 0; i < files.length - MAX_FILES; i++) {
+            if (!files[i].delete()) {
+                Log.w(TAG, "이전 트레이스 파일을 지우지 못했습니다: " + files[i]);
+            }
+        }
+    }
+}
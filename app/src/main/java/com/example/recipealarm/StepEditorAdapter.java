@@ -0,0 +1,194 @@
+package com.example.recipealarm;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * AddRecipeActivity 의 단계 입력 목록을 표시하는 어댑터입니다.
+ *
+ * 단계 데이터는 {@link RecipeEditorViewModel} 이 가지고 있고, 어댑터는 화면에 보이는 행에만 바인딩합니다.
+ * 입력란의 TextWatcher 는 뷰홀더를 만들 때 한 번만 달아 두고, 바인딩하는 동안의 setText 는 무시합니다.
+ * 검사 결과나 단계 번호만 바뀐 행은 {@link #PAYLOAD_ERROR}, {@link #PAYLOAD_NUMBER} 페이로드로
+ * 해당 텍스트만 다시 바인딩하여 입력 중인 EditText 의 커서를 건드리지 않습니다.
+ */
+public class StepEditorAdapter extends RecyclerView.Adapter<StepEditorAdapter.StepInputViewHolder> {
+
+    /** 오류 표시만 바뀐 행에 전달되는 페이로드 */
+    public static final Object PAYLOAD_ERROR = "error";
+    /** 단계 번호만 바뀐 행에 전달되는 페이로드 */
+    public static final Object PAYLOAD_NUMBER = "number";
+
+    private final RecipeEditorViewModel viewModel;
+    private final OnDeleteStepListener deleteStepListener;
+
+    /**
+     * 어댑터 생성자
+     * @param viewModel 단계 목록을 가진 ViewModel
+     * @param deleteStepListener 삭제 버튼 클릭 리스너
+     */
+    public StepEditorAdapter(RecipeEditorViewModel viewModel, OnDeleteStepListener deleteStepListener) {
+        this.viewModel = viewModel;
+        this.deleteStepListener = deleteStepListener;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public StepInputViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_recipe_step_input, parent, false);
+        StepInputViewHolder holder = new StepInputViewHolder(view);
+        holder.descriptionInput.addTextChangedListener(new StepTextWatcher(holder) {
+            @Override
+            void apply(StepDraft draft, String text) {
+                draft.setDescription(text);
+            }
+        });
+        holder.durationInput.addTextChangedListener(new StepTextWatcher(holder) {
+            @Override
+            void apply(StepDraft draft, String text) {
+                draft.setDurationText(text);
+            }
+        });
+        holder.dependsInput.addTextChangedListener(new StepTextWatcher(holder) {
+            @Override
+            void apply(StepDraft draft, String text) {
+                draft.setDependsText(text);
+            }
+        });
+        holder.deleteButton.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                deleteStepListener.onDeleteStep(position);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull StepInputViewHolder holder, int position) {
+        holder.bind(viewModel.getSteps().get(position), position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull StepInputViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        StepDraft draft = viewModel.getSteps().get(position);
+        for (Object payload : payloads) {
+            if (payload == PAYLOAD_ERROR) {
+                holder.bindError(draft);
+            } else if (payload == PAYLOAD_NUMBER) {
+                holder.bindNumber(position);
+            } else {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return viewModel.getSteps().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return viewModel.getSteps().get(position).getId();
+    }
+
+    /**
+     * 입력란의 글자가 바뀌면 해당 단계에 반영하고 그 단계만 다시 검사하도록 알리는 TextWatcher 입니다.
+     */
+    private abstract class StepTextWatcher implements TextWatcher {
+        private final StepInputViewHolder holder;
+
+        StepTextWatcher(StepInputViewHolder holder) {
+            this.holder = holder;
+        }
+
+        abstract void apply(StepDraft draft, String text);
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            int position = holder.getBindingAdapterPosition();
+            if (holder.binding || position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            apply(viewModel.getSteps().get(position), s.toString());
+            viewModel.onStepEdited(position);
+        }
+    }
+
+    /**
+     * 각 단계 입력 행의 View를 보관하는 ViewHolder 클래스입니다.
+     */
+    static class StepInputViewHolder extends RecyclerView.ViewHolder {
+        private final TextView numberLabel;
+        private final EditText descriptionInput;
+        private final EditText durationInput;
+        private final EditText dependsInput;
+        private final TextView errorText;
+        private final ImageButton deleteButton;
+
+        // 바인딩 중의 setText 가 입력으로 처리되지 않도록 합니다.
+        private boolean binding;
+
+        StepInputViewHolder(@NonNull View itemView) {
+            super(itemView);
+            numberLabel = itemView.findViewById(R.id.step_number_label);
+            descriptionInput = itemView.findViewById(R.id.step_description_input);
+            durationInput = itemView.findViewById(R.id.step_duration_input);
+            dependsInput = itemView.findViewById(R.id.step_depends_input);
+            errorText = itemView.findViewById(R.id.step_error_text);
+            deleteButton = itemView.findViewById(R.id.button_delete_step);
+        }
+
+        void bind(StepDraft draft, int position) {
+            binding = true;
+            descriptionInput.setText(draft.getDescription());
+            durationInput.setText(draft.getDurationText());
+            dependsInput.setText(draft.getDependsText());
+            binding = false;
+            bindNumber(position);
+            bindError(draft);
+        }
+
+        void bindNumber(int position) {
+            numberLabel.setText((position + 1) + "단계");
+        }
+
+        void bindError(StepDraft draft) {
+            String error = draft.getError();
+            errorText.setText(error);
+            errorText.setVisibility(error != null ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    /**
+     * 단계 삭제 버튼 클릭 시 호출될 콜백 인터페이스
+     */
+    public interface OnDeleteStepListener {
+        void onDeleteStep(int position);
+    }
+}
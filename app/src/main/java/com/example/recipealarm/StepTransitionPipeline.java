@@ -0,0 +1,199 @@
+package com.example.recipealarm;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+
+import java.util.Locale;
+
+/**
+ * 단계 종료를 사용자에게 알리는 유일한 경로입니다.
+ *
+ * 단계 종료는 TimerService 의 틱과 AlarmReceiver 의 알람 두 곳에서 감지될 수 있습니다.
+ * 두 경로 모두 이 파이프라인에 전환 이벤트를 제출하며, {@link StepTransitionLedger} 로 중복을 걸러
+ * 먼저 도착한 이벤트만 단계 완료 알림과 음성 안내를 내보냅니다. 단계 이동 전에 예약되었던 알람처럼
+ * 이전 세대의 이벤트는 버려집니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다. 어느 스레드에서 호출해도 됩니다.
+ */
+public class StepTransitionPipeline {
+
+    private static final String TAG = "StepTransitionPipeline";
+    private static final String CHANNEL_ID = "recipe_alarm_channel";
+
+    /** 포그라운드 서비스의 틱에서 감지한 전환 */
+    public static final String SOURCE_SERVICE = "service";
+    /** 백그라운드 알람에서 감지한 전환 */
+    public static final String SOURCE_ALARM = "alarm";
+
+    private static volatile StepTransitionPipeline INSTANCE;
+
+    private final Context context;
+    private final StepTransitionLedger ledger = new StepTransitionLedger();
+    private int serviceFirstCount;
+    private int alarmFirstCount;
+
+    // 알림 채널은 프로세스마다 한 번만 만들면 됩니다.
+    private volatile boolean channelCreated = false;
+
+    private StepTransitionPipeline(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * StepTransitionPipeline 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 애플리케이션 컨텍스트
+     */
+    public static StepTransitionPipeline getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (StepTransitionPipeline.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new StepTransitionPipeline(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 레시피의 알람을 새로 예약하기 전에 호출합니다.
+     * @return 알람과 서비스의 전환 이벤트에 붙일 새 세대 번호
+     */
+    public synchronized int nextGeneration(String recipeId) {
+        return ledger.nextGeneration(recipeId);
+    }
+
+    public synchronized int currentGeneration(String recipeId) {
+        return ledger.currentGeneration(recipeId);
+    }
+
+    /**
+     * 레시피가 끝나거나 중지되었을 때 호출합니다. 이미 전달 중인 알람의 전환은 이후 버려집니다.
+     */
+    public synchronized void retire(String recipeId) {
+        ledger.retire(recipeId);
+    }
+
+    /**
+     * 단계 종료 이벤트를 제출합니다. 처음 도착한 이벤트이면 알림과 음성 안내를 내보냅니다.
+     * @param generation 이벤트를 만든 세대 번호
+     * @param source SOURCE_SERVICE 또는 SOURCE_ALARM
+     * @return 이 호출에서 전환을 처리했으면 true
+     */
+    public boolean submit(Recipe recipe, StepSchedule schedule, int generation, int stepIndex, String source) {
+        long sequence;
+        synchronized (this) {
+            int result = ledger.offer(recipe.getId(), generation, stepIndex);
+            if (result != StepTransitionLedger.RESULT_ACCEPTED) {
+                Log.d(TAG, "전환 무시 (" + (result == StepTransitionLedger.RESULT_STALE ? "이전 세대" : "중복")
+                        + ", " + source + "): " + recipe.getName() + " 단계 " + stepIndex);
+                return false;
+            }
+            sequence = ledger.getSequence();
+            if (SOURCE_SERVICE.equals(source)) {
+                serviceFirstCount++;
+            } else {
+                alarmFirstCount++;
+            }
+        }
+        Log.d(TAG, "전환 #" + sequence + " (" + source + "): " + recipe.getName() + " 단계 " + stepIndex);
+        deliver(recipe, schedule, stepIndex);
+        return true;
+    }
+
+    /**
+     * 단계 완료 알림과 다음 단계 음성 안내를 내보냅니다.
+     */
+    private void deliver(Recipe recipe, StepSchedule schedule, int stepIndex) {
+        createNotificationChannel();
+
+        RecipeStep finishedStep = recipe.getSteps().get(stepIndex);
+        int notificationId = recipe.getId().hashCode() + stepIndex;
+
+        // 현재 단계가 완료되었음을 알림
+        sendNotification("단계 완료: " + finishedStep.getDescription(), "다음 단계를 준비하세요.", notificationId);
+
+        if (schedule.isFinalStep(stepIndex)) {
+            // 마지막 단계였다면, 레시피 완료 알림
+            int finalNotificationId = recipe.getId().hashCode() + 1000;
+            String completionMessage = recipe.getName() + " 완성!";
+            sendNotification("요리 완료!", completionMessage, finalNotificationId);
+        }
+        // 이 단계가 끝나면서 시작되는 단계들을 안내합니다. 병행 단계가 끝난 경우 시작되는 단계가 없을 수 있습니다.
+        // 안내 문장은 세션 시작 시 미리 합성되어 있으므로 캐시된 음성이 바로 재생됩니다.
+        String announcement = StepAnnouncements.forStepEnd(recipe, schedule, stepIndex);
+        if (announcement != null) {
+            int priority = schedule.isFinalStep(stepIndex) ? UtteranceQueue.PRIORITY_HIGH : UtteranceQueue.PRIORITY_NORMAL;
+            TTSHandler.getInstance(context).speak(announcement, priority);
+        }
+    }
+
+    /**
+     * 식사 계획에서 나중에 시작할 레시피의 시작 시각이 되었음을 알림과 음성으로 알립니다.
+     * 다른 요리와 함께 완성되려면 지금 시작해야 하므로 단계 완료 안내처럼 높은 우선순위로 알립니다.
+     */
+    public void announcePlannedStart(Recipe recipe, StepSchedule schedule) {
+        createNotificationChannel();
+        sendNotification("요리 시작: " + recipe.getName(), "지금 시작해야 다른 요리와 함께 완성됩니다.",
+                recipe.getId().hashCode() + 2000);
+        TTSHandler.getInstance(context).speak(StepAnnouncements.forPlannedStart(recipe, schedule),
+                UtteranceQueue.PRIORITY_HIGH);
+    }
+
+    /**
+     * 디버그 화면에 표시할 요약 문자열을 만듭니다.
+     */
+    public synchronized String summarize() {
+        return String.format(Locale.US, "단계 전환\n  처리=%d (service=%d, alarm=%d)  중복=%d  이전 세대=%d",
+                ledger.getSequence(), serviceFirstCount, alarmFirstCount,
+                ledger.getDuplicateCount(), ledger.getStaleCount());
+    }
+
+    /**
+     * 사용자에게 알림을 보냅니다. 진동 기능이 포함됩니다.
+     * @param title 알림 제목
+     * @param content 알림 내용
+     * @param notificationId 알림 ID
+     */
+    private void sendNotification(String title, String content, int notificationId) {
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(android.R.drawable.ic_dialog_info)
+                .setContentTitle(title)
+                .setContentText(content)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setCategory(NotificationCompat.CATEGORY_ALARM)
+                .setAutoCancel(true)
+                // 진동 패턴 설정: 0.5초 대기 -> 0.5초 진동 -> 0.25초 대기 -> 0.5초 진동
+                .setVibrate(new long[]{500, 500, 250, 500});
+
+        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+        notificationManager.notify(notificationId, builder.build());
+    }
+
+    /**
+     * 알림 채널을 생성합니다. 채널에 진동을 활성화하는 설정을 추가합니다.
+     */
+    private void createNotificationChannel() {
+        if (channelCreated) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            CharSequence name = "레시피 알람 채널";
+            String description = "레시피 타이머 알람을 위한 채널";
+            int importance = NotificationManager.IMPORTANCE_HIGH; // 높은 중요도로 설정해야 헤드업 알림이 뜹니다.
+            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, name, importance);
+            channel.setDescription(description);
+            // 채널에 진동 활성화
+            channel.enableVibration(true);
+            channel.setVibrationPattern(new long[]{500, 500, 250, 500});
+
+            NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+            notificationManager.createNotificationChannel(channel);
+        }
+        channelCreated = true;
+    }
+}
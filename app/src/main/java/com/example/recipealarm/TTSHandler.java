@@ -1,92 +1,644 @@
 package com.example.recipealarm;
 
 import android.content.Context;
-import android.os.Build;
+import android.content.SharedPreferences;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.speech.tts.TextToSpeech;
 import android.speech.tts.UtteranceProgressListener;
+import android.speech.tts.Voice;
 import android.util.Log;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
- * TTS(Text-to-Speech) 출력을 간편하게 처리하기 위한 헬퍼 클래스입니다.
- * 이 클래스의 인스턴스는 "fire-and-forget" 방식으로 동작하도록 설계되었습니다.
- * 인스턴스를 생성하고 speak() 메소드를 호출하면, 음성 출력이 완료된 후 스스로 리소스를 해제합니다.
- * BroadcastReceiver와 같이 생명주기가 짧은 컴포넌트에서 사용하기에 적합합니다.
+ * TTS(Text-to-Speech) 출력을 담당하는 프로세스 단위 싱글톤입니다.
+ *
+ * TextToSpeech 엔진은 처음 안내할 때 한 번만 초기화되고, 타이머가 진행 중인 동안({@link #acquire()})
+ * 계속 유지됩니다. 따라서 단계가 바뀔 때마다 엔진 바인딩과 초기화 지연이 생기지 않습니다.
+ * 안내는 {@link UtteranceQueue} 에 우선순위대로 쌓였다가 하나씩 재생되므로, 여러 레시피의 안내가
+ * 겹쳐도 서로를 끊지 않습니다. 사용하는 곳이 없고 재생할 안내도 없으면 일정 시간 뒤 엔진을 해제합니다.
+ *
+ * 세션이 시작되면 {@link #prefetch(List)} 로 레시피의 안내 문장들을 미리 음성 파일로 합성해
+ * {@link SpeechAudioCache} 에 보관합니다. 단계가 바뀔 때는 캐시된 파일을 바로 재생하고,
+ * 캐시에 없을 때만 실시간으로 합성합니다. 합성은 재생할 안내가 없을 때만 진행합니다.
+ * 캐시 조회, 합성 결과 저장, 크기 맞추기 같은 디스크 작업은 캐시 작업 스레드에서만 하므로 안내를 늦추지 않습니다.
+ * 캐시 적중 횟수와 안내 지연(요청부터 소리가 나기까지)은 {@link MetricsRegistry} 에 기록합니다.
+ * 엔진 초기화와 재생 요청은 {@link SpanTracer} 에 구간으로 기록합니다.
+ * 음성 명령 인식이 앱의 안내를 명령으로 듣지 않도록, 재생할 안내가 생기거나 모두 끝날 때
+ * {@link SpeakingListener} 에 알립니다.
+ *
+ * 엔진 초기화가 실패하면 대기 중인 안내를 버리지 않고 간격을 늘려 가며 다시 시도합니다.
+ *
+ * 캐시를 뺀 모든 상태는 메인 스레드에서만 변경됩니다. 엔진의 콜백은 메인 스레드로 옮겨 처리합니다.
  */
 public class TTSHandler implements TextToSpeech.OnInitListener {
 
     private static final String TAG = "TTSHandler";
-    private TextToSpeech tts;
-    private final String textToSpeak;
+
+    // 마지막 안내 이후 이 시간 동안 사용하는 곳이 없으면 엔진을 해제합니다.
+    private static final long IDLE_TIMEOUT_MS = 60_000L;
+    // 엔진 초기화가 실패하면 이 시간부터 두 배씩 늘려 가며 다시 시도합니다.
+    private static final long INIT_RETRY_BASE_MS = 1_000L;
+    private static final int MAX_INIT_ATTEMPTS = 4;
+
+    private static final Locale LOCALE = Locale.KOREAN;
+    private static final long CACHE_MAX_BYTES = 10L * 1024 * 1024;
+    private static final String CACHE_DIRECTORY = "tts";
+    private static final String PREFS_NAME = "tts_cache";
+    private static final String PREF_VOICE = "voice";
+    private static final String DEFAULT_VOICE = "default";
+    private static final String SYNTHESIS_ID_PREFIX = "synth:";
+
+    private static final int STATE_RELEASED = 0;
+    private static final int STATE_INITIALIZING = 1;
+    private static final int STATE_READY = 2;
+    // 초기화에 실패해 다시 시도할 때를 기다리는 중
+    private static final int STATE_RETRY_WAIT = 3;
+
+    private static volatile TTSHandler INSTANCE;
+
+    // 엔진을 만든 때부터 onInit 을 메인 스레드에서 처리할 때까지의 시간
+    private static final MetricsRegistry.Histogram INIT_US = MetricsRegistry.getInstance().histogram("tts.init_us");
+    private static final MetricsRegistry.Counter INIT_FAILURES = MetricsRegistry.getInstance().counter("tts.init_failures");
+    // 엔진을 끝내 초기화하지 못해 재생하지 못한 안내 수
+    private static final MetricsRegistry.Counter DROPPED_CUES = MetricsRegistry.getInstance().counter("tts.cues.dropped");
+    // 안내 요청부터 소리가 나기까지의 시간과, 캐시된 음성으로 재생했는지 여부
+    private static final MetricsRegistry.Histogram CUE_LATENCY_MS =
+            MetricsRegistry.getInstance().histogram("tts.cue_latency_ms");
+    private static final MetricsRegistry.Counter CACHED_CUES = MetricsRegistry.getInstance().counter("tts.cues.cached");
+    private static final MetricsRegistry.Counter LIVE_CUES = MetricsRegistry.getInstance().counter("tts.cues.live");
+    private static final MetricsRegistry.Counter CACHE_HITS = MetricsRegistry.getInstance().counter("tts.cache.hits");
+    private static final MetricsRegistry.Counter CACHE_MISSES = MetricsRegistry.getInstance().counter("tts.cache.misses");
+
+    /**
+     * 안내 재생 상태가 바뀔 때 메인 스레드에서 호출되는 리스너입니다.
+     */
+    public interface SpeakingListener {
+        /**
+         * @param speaking 재생 중이거나 재생을 기다리는 안내가 있으면 true, 모두 끝났으면 false
+         */
+        void onSpeakingChanged(boolean speaking);
+    }
+
     private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final UtteranceQueue queue = new UtteranceQueue();
+    private final Runnable idleReleaseRunnable = this::releaseIfIdle;
+    private final Runnable retryInitRunnable = this::retryInitialize;
+    private final SpanTracer tracer = SpanTracer.getInstance();
+
+    private TextToSpeech tts;
+    private int state = STATE_RELEASED;
+    private long initStartNanos;
+    private long initSpan;
+    private UtteranceQueue.Utterance speaking;
+    private int holdCount;
+    // 연달아 실패한 초기화 횟수. 초기화에 성공하거나 엔진을 해제하면 0 으로 돌아갑니다.
+    private int failedInitAttempts;
+    private final List<SpeakingListener> speakingListeners = new ArrayList<>();
+    private boolean speakingReported;
+
+    // 미리 합성한 음성 캐시. 캐시 작업 스레드에서만 만들고 사용합니다.
+    private final Executor cacheExecutor = Executors.newSingleThreadExecutor();
+    private SpeechAudioCache audioCache;
+    // 대기 중인 안내 ID -> 요청 시점에 찾은 캐시 파일
+    private final Map<String, File> cachedClips = new HashMap<>();
+    // 캐시 조회가 끝나지 않은 안내 ID. 조회가 끝날 때까지 그 안내는 재생하지 않습니다.
+    private final Set<String> pendingLookups = new HashSet<>();
+    // 합성을 기다리는 문장. 캐시 키 -> 합성 요청
+    private final Map<String, Synthesis> synthesisQueue = new LinkedHashMap<>();
+    private String synthesizingKey;
+    private MediaPlayer player;
+    // player 의 비동기 준비가 끝나 재생을 시작했는지. 준비 중의 오류만 실시간 합성으로 대체합니다.
+    private boolean playerStarted;
+    // 메인 스레드에서 바꾸고 캐시 작업 스레드에서 캐시 키를 만들 때 읽습니다.
+    private volatile String voiceName;
 
     /**
-     * TTSHandler를 생성하고 음성 출력을 준비합니다.
-     * @param context 애플리케이션 컨텍스트
-     * @param textToSpeak 음성으로 변환할 텍스트
+     * 캐시 작업 스레드에서 캐시 키와 임시 파일을 정해 둔 합성 요청입니다.
      */
-    public TTSHandler(Context context, String textToSpeak) {
-        this.context = context;
-        this.textToSpeak = textToSpeak;
-        // TextToSpeech 엔진을 초기화합니다. 초기화가 완료되면 onInit 콜백이 호출됩니다.
-        this.tts = new TextToSpeech(context, this);
+    private static final class Synthesis {
+        final String key;
+        final String text;
+        final File tempFile;
+
+        Synthesis(String key, String text, File tempFile) {
+            this.key = key;
+            this.text = text;
+            this.tempFile = tempFile;
+        }
+    }
+
+    private TTSHandler(Context context) {
+        this.context = context.getApplicationContext();
     }
 
     /**
-     * TextToSpeech 엔진이 초기화되었을 때 호출되는 콜백 메소드입니다.
-     * @param status 초기화 상태 (TextToSpeech.SUCCESS 또는 TextToSpeech.ERROR)
+     * TTSHandler 의 싱글톤 인스턴스를 가져옵니다.
+     * @param context 컨텍스트 (애플리케이션 컨텍스트로 보관됩니다)
      */
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            // 언어 설정 (한국어)
-            int result = tts.setLanguage(Locale.KOREAN);
+    public static TTSHandler getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (TTSHandler.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TTSHandler(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
 
-            if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-                Log.e(TAG, "한국어 TTS가 지원되지 않습니다.");
-                // 지원되지 않아도 소멸 로직은 타야 하므로 speak를 호출합니다.
-                speakNow();
-            } else {
-                // 음성 출력 시작
-                speakNow();
+    /**
+     * 일반 우선순위로 안내를 대기열에 추가합니다.
+     * @param text 음성으로 변환할 텍스트
+     */
+    public void speak(String text) {
+        speak(text, UtteranceQueue.PRIORITY_NORMAL);
+    }
+
+    /**
+     * 안내를 대기열에 추가합니다. 미리 합성된 음성이 있으면 엔진 없이 바로 재생하고,
+     * 없으면 엔진을 준비해 실시간으로 합성합니다. 어느 스레드에서 호출해도 됩니다.
+     * @param text 음성으로 변환할 텍스트
+     * @param priority {@link UtteranceQueue#PRIORITY_NORMAL} 또는 {@link UtteranceQueue#PRIORITY_HIGH}
+     */
+    public void speak(String text, int priority) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        long requestedAtMs = SystemClock.elapsedRealtime();
+        runOnMain(() -> {
+            UtteranceQueue.Utterance utterance = queue.add(text, priority, requestedAtMs);
+            String utteranceId = utterance.getId();
+            pendingLookups.add(utteranceId);
+            cacheExecutor.execute(() -> {
+                File clip = getAudioCache().get(cacheKeyFor(text));
+                (clip != null ? CACHE_HITS : CACHE_MISSES).increment();
+                mainHandler.post(() -> onLookupFinished(utteranceId, clip));
+            });
+            mainHandler.removeCallbacks(idleReleaseRunnable);
+            updateSpeakingState();
+        });
+    }
+
+    private void onLookupFinished(String utteranceId, File clip) {
+        if (!pendingLookups.remove(utteranceId)) {
+            return; // 조회하는 동안 대기열이 비워졌습니다.
+        }
+        if (clip != null) {
+            cachedClips.put(utteranceId, clip);
+        }
+        speakNext();
+    }
+
+    /**
+     * 안내 문장들을 미리 음성 파일로 합성해 캐시에 넣습니다. 이미 캐시에 있는 문장은 건너뜁니다.
+     * 합성은 재생할 안내가 없을 때 하나씩 진행됩니다. 어느 스레드에서 호출해도 됩니다.
+     * @param texts 미리 합성할 안내 문장들
+     */
+    public void prefetch(List<String> texts) {
+        List<String> copy = new ArrayList<>(texts);
+        cacheExecutor.execute(() -> {
+            SpeechAudioCache cache = getAudioCache();
+            List<Synthesis> missing = new ArrayList<>();
+            for (String text : copy) {
+                String key = cacheKeyFor(text);
+                if (!cache.contains(key)) {
+                    missing.add(new Synthesis(key, text, cache.tempFileFor(key)));
+                }
+            }
+            if (!missing.isEmpty()) {
+                mainHandler.post(() -> enqueueSynthesis(missing));
             }
+        });
+    }
+
+    private void enqueueSynthesis(List<Synthesis> missing) {
+        for (Synthesis synthesis : missing) {
+            if (!synthesis.key.equals(synthesizingKey)) {
+                synthesisQueue.putIfAbsent(synthesis.key, synthesis);
+            }
+        }
+        if (synthesisQueue.isEmpty()) {
+            return;
+        }
+        mainHandler.removeCallbacks(idleReleaseRunnable);
+        if (state == STATE_RELEASED) {
+            initializeEngine();
         } else {
-            Log.e(TAG, "TTS 엔진 초기화 실패");
-            // 초기화에 실패해도 리소스를 해제해야 합니다.
-            shutdown();
+            synthesizeNext();
         }
     }
 
     /**
-     * 실제 음성 출력을 실행하고, 출력이 끝나면 리소스를 해제하도록 설정합니다.
+     * 타이머 세션처럼 곧 안내가 이어질 곳에서 엔진을 유지하도록 요청합니다.
+     * 엔진을 미리 초기화해 두어 첫 안내의 지연을 없앱니다. {@link #release()} 와 짝을 맞춰야 합니다.
+     */
+    public void acquire() {
+        runOnMain(() -> {
+            holdCount++;
+            mainHandler.removeCallbacks(idleReleaseRunnable);
+            if (state == STATE_RELEASED) {
+                initializeEngine();
+            }
+        });
+    }
+
+    /**
+     * {@link #acquire()} 로 요청한 유지를 해제합니다. 남은 안내를 모두 재생한 뒤 유휴 시간이 지나면 엔진을 해제합니다.
      */
-    private void speakNow() {
-        // 음성 출력이 언제 끝나는지 감지하기 위해 리스너를 설정합니다.
+    public void release() {
+        runOnMain(() -> {
+            if (holdCount > 0) {
+                holdCount--;
+            }
+            scheduleIdleRelease();
+        });
+    }
+
+    private void initializeEngine() {
+        state = STATE_INITIALIZING;
+        initStartNanos = System.nanoTime();
+        initSpan = tracer.beginAsync("tts.init");
+        // 초기화가 완료되면 onInit 콜백이 호출됩니다.
+        tts = new TextToSpeech(context, this);
         tts.setOnUtteranceProgressListener(new UtteranceProgressListener() {
             @Override
             public void onStart(String utteranceId) {
-                // 음성 출력이 시작됨
+                runOnMain(() -> onUtteranceStarted(utteranceId));
             }
 
             @Override
             public void onDone(String utteranceId) {
-                // 음성 출력이 완료되면 TTS 엔진 리소스를 해제합니다.
-                shutdown();
+                runOnMain(() -> onUtteranceFinished(utteranceId, true));
             }
 
             @Override
             public void onError(String utteranceId) {
-                // 오류가 발생해도 리소스를 해제합니다.
-                shutdown();
+                Log.e(TAG, "음성 출력 실패: " + utteranceId);
+                runOnMain(() -> onUtteranceFinished(utteranceId, false));
+            }
+        });
+    }
+
+    /**
+     * TextToSpeech 엔진이 초기화되었을 때 호출되는 콜백 메소드입니다.
+     * @param status 초기화 상태 (TextToSpeech.SUCCESS 또는 TextToSpeech.ERROR)
+     */
+    @Override
+    public void onInit(int status) {
+        // 생성자 안에서 바로 호출되는 엔진도 있으므로 항상 다음 루프에서 처리합니다.
+        mainHandler.post(() -> {
+            if (state != STATE_INITIALIZING) {
+                return; // 초기화 도중 엔진이 해제되었습니다.
+            }
+            INIT_US.recordMicrosSince(initStartNanos);
+            tracer.endAsync("tts.init", initSpan);
+            if (status != TextToSpeech.SUCCESS) {
+                onInitFailed();
+                return;
+            }
+            failedInitAttempts = 0;
+            // 언어 설정 (한국어)
+            int result = tts.setLanguage(LOCALE);
+            if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
+                Log.e(TAG, "한국어 TTS가 지원되지 않습니다.");
             }
+            updateVoiceName();
+            state = STATE_READY;
+            speakNext();
         });
+    }
+
+    /**
+     * 엔진 초기화가 실패했을 때 호출됩니다. 대기 중인 안내는 그대로 두고 간격을 늘려 가며 엔진을 다시 만듭니다.
+     * 그동안에도 차례가 된 안내에 캐시된 음성이 있으면 엔진 없이 재생합니다. {@link #MAX_INIT_ATTEMPTS} 번 모두 실패하면
+     * 캐시된 음성이 없는 안내만 버리고 그 수를 기록합니다.
+     */
+    private void onInitFailed() {
+        INIT_FAILURES.increment();
+        failedInitAttempts++;
+        releaseEngine();
+        if (failedInitAttempts < MAX_INIT_ATTEMPTS) {
+            long delayMs = INIT_RETRY_BASE_MS << (failedInitAttempts - 1);
+            Log.e(TAG, "TTS 엔진 초기화 실패 (" + failedInitAttempts + "회). " + delayMs + "ms 뒤 다시 시도합니다.");
+            state = STATE_RETRY_WAIT;
+            mainHandler.postDelayed(retryInitRunnable, delayMs);
+            return;
+        }
+        int dropped = queue.size() - cachedClips.size();
+        Log.e(TAG, "TTS 엔진 초기화를 " + failedInitAttempts + "회 실패했습니다. 대기 중인 안내 "
+                + Math.max(0, dropped) + "개를 재생하지 못했습니다.");
+        DROPPED_CUES.add(Math.max(0, dropped));
+        // 캐시된 음성은 엔진 없이 재생할 수 있으므로 남겨 둡니다. 다음 안내를 요청하면 엔진을 처음부터 다시 만듭니다.
+        dropUncachedCues();
+        synthesisQueue.clear();
+        failedInitAttempts = 0;
+        state = STATE_RELEASED;
+        speakNext();
+    }
 
-        // 음성 출력을 요청합니다. utteranceId는 "SelfDestruct"로 지정하여 콜백에서 식별할 수 있도록 합니다.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            tts.speak(textToSpeak, TextToSpeech.QUEUE_FLUSH, null, "SelfDestruct");
+    private void retryInitialize() {
+        if (state == STATE_RETRY_WAIT) {
+            state = STATE_RELEASED;
+            initializeEngine();
+        }
+    }
+
+    /**
+     * 엔진 없이 재생할 수 없는 안내, 즉 캐시된 음성이 없거나 아직 캐시를 조회하지 않은 안내를 대기열에서 뺍니다.
+     */
+    private void dropUncachedCues() {
+        List<UtteranceQueue.Utterance> kept = new ArrayList<>();
+        UtteranceQueue.Utterance utterance;
+        while ((utterance = queue.poll()) != null) {
+            if (cachedClips.containsKey(utterance.getId())) {
+                kept.add(utterance);
+            }
+        }
+        pendingLookups.clear();
+        Map<String, File> keptClips = new HashMap<>();
+        for (UtteranceQueue.Utterance cue : kept) {
+            UtteranceQueue.Utterance requeued = queue.add(cue.getText(), cue.getPriority(), cue.getEnqueuedAtMs());
+            keptClips.put(requeued.getId(), cachedClips.get(cue.getId()));
+        }
+        cachedClips.clear();
+        cachedClips.putAll(keptClips);
+    }
+
+    /**
+     * 재생 중인 안내가 없으면 대기열의 다음 안내를 재생합니다. 캐시된 음성이 있으면 그것을 재생하고,
+     * 없으면 엔진에 넘깁니다. 엔진에는 한 번에 하나씩만 넘기므로 우선순위가 높은 안내가
+     * 뒤늦게 들어와도 먼저 재생됩니다. 재생할 안내가 없으면 미리 합성을 이어갑니다.
+     */
+    private void speakNext() {
+        if (speaking != null) {
+            return;
+        }
+        UtteranceQueue.Utterance next = queue.peek();
+        if (next == null) {
+            updateSpeakingState();
+            synthesizeNext();
+            scheduleIdleRelease();
+            return;
+        }
+        if (pendingLookups.contains(next.getId())) {
+            return; // 캐시 조회가 끝나면 onLookupFinished 에서 이어서 재생합니다.
+        }
+        File clip = cachedClips.remove(next.getId());
+        if (clip != null && playClip(next, clip)) {
+            // 지연은 파일 준비가 끝나 실제로 재생을 시작할 때 onClipPrepared 에서 기록합니다.
+            queue.poll();
+            speaking = next;
+            return;
+        }
+        if (state != STATE_READY) {
+            // 캐시에 없는 안내는 엔진이 준비된 뒤 onInit 에서 이어서 재생합니다.
+            if (state == STATE_RELEASED) {
+                initializeEngine();
+            }
+            return;
+        }
+        queue.poll();
+        speakLive(next);
+    }
+
+    /**
+     * 안내를 엔진으로 실시간 합성해 재생합니다. 엔진이 준비된 상태에서만 호출해야 합니다.
+     */
+    private void speakLive(UtteranceQueue.Utterance utterance) {
+        speaking = utterance;
+        long span = tracer.begin("tts.speak");
+        int result = tts.speak(utterance.getText(), TextToSpeech.QUEUE_ADD, null, utterance.getId());
+        tracer.end(span);
+        if (result != TextToSpeech.SUCCESS) {
+            Log.e(TAG, "음성 출력 요청 실패: " + utterance.getText());
+            speaking = null;
+            speakNext();
+        }
+    }
+
+    /**
+     * 캐시된 음성 파일의 재생을 시작합니다. 파일 준비는 메인 스레드를 막지 않도록 비동기로 하고,
+     * 준비가 끝나면 {@link #onClipPrepared} 에서 재생합니다.
+     * @return 재생 준비를 시작했으면 true
+     */
+    private boolean playClip(UtteranceQueue.Utterance utterance, File clip) {
+        long span = tracer.begin("tts.play_clip");
+        try {
+            return startClip(utterance, clip);
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private boolean startClip(UtteranceQueue.Utterance utterance, File clip) {
+        releasePlayer();
+        MediaPlayer mediaPlayer = new MediaPlayer();
+        try {
+            mediaPlayer.setAudioAttributes(new AudioAttributes.Builder()
+                    .setUsage(AudioAttributes.USAGE_ASSISTANCE_SONIFICATION)
+                    .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                    .build());
+            mediaPlayer.setDataSource(clip.getPath());
+            String utteranceId = utterance.getId();
+            mediaPlayer.setOnPreparedListener(mp -> onClipPrepared(mp, utterance));
+            mediaPlayer.setOnCompletionListener(mp -> onUtteranceFinished(utteranceId, true));
+            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+                Log.e(TAG, "캐시된 음성 재생 오류: " + what + "/" + extra);
+                if (mp == player && !playerStarted) {
+                    onClipFailed(utterance);
+                } else {
+                    onUtteranceFinished(utteranceId, false);
+                }
+                return true;
+            });
+            mediaPlayer.prepareAsync();
+        } catch (IOException | IllegalStateException e) {
+            Log.e(TAG, "캐시된 음성 재생 실패, 실시간 합성으로 대체합니다: " + clip.getName(), e);
+            mediaPlayer.release();
+            return false;
+        }
+        player = mediaPlayer;
+        playerStarted = false;
+        return true;
+    }
+
+    /**
+     * 캐시된 음성 파일의 준비가 끝나면 재생을 시작하고, 이때를 안내가 실제로 들리기 시작한 시각으로 기록합니다.
+     * 준비하는 동안 다른 안내로 바뀌었거나 종료되었으면 무시합니다.
+     */
+    private void onClipPrepared(MediaPlayer mediaPlayer, UtteranceQueue.Utterance utterance) {
+        if (mediaPlayer != player || speaking != utterance) {
+            return;
+        }
+        mediaPlayer.start();
+        playerStarted = true;
+        recordCue(utterance, true);
+    }
+
+    /**
+     * 캐시된 음성 파일을 준비하지 못했으면 같은 안내를 실시간 합성으로 대신 재생합니다.
+     * 엔진이 아직 준비되지 않았으면 요청 시각을 유지한 채 대기열에 되돌려 onInit 에서 이어서 재생합니다.
+     */
+    private void onClipFailed(UtteranceQueue.Utterance utterance) {
+        Log.w(TAG, "캐시된 음성 준비 실패, 실시간 합성으로 대체합니다: " + utterance.getText());
+        releasePlayer();
+        speaking = null;
+        if (state == STATE_READY) {
+            speakLive(utterance);
+        } else {
+            queue.add(utterance.getText(), utterance.getPriority(), utterance.getEnqueuedAtMs());
+            speakNext();
+        }
+    }
+
+    private void releasePlayer() {
+        if (player != null) {
+            player.release();
+            player = null;
+        }
+        playerStarted = false;
+    }
+
+    private void onUtteranceStarted(String utteranceId) {
+        if (speaking != null && speaking.getId().equals(utteranceId)) {
+            recordCue(speaking, false);
+        }
+    }
+
+    private void onUtteranceFinished(String utteranceId, boolean success) {
+        if (utteranceId != null && utteranceId.startsWith(SYNTHESIS_ID_PREFIX)) {
+            onSynthesisFinished(utteranceId.substring(SYNTHESIS_ID_PREFIX.length()), success);
+            return;
+        }
+        if (speaking != null && speaking.getId().equals(utteranceId)) {
+            speaking = null;
+            releasePlayer();
+            speakNext();
+        }
+    }
+
+    /**
+     * 재생할 안내가 없고 엔진이 준비되어 있으면 다음 문장을 음성 파일로 합성합니다.
+     */
+    private void synthesizeNext() {
+        if (state != STATE_READY || synthesizingKey != null || speaking != null || !queue.isEmpty()) {
+            return;
+        }
+        Iterator<Synthesis> it = synthesisQueue.values().iterator();
+        while (it.hasNext()) {
+            Synthesis synthesis = it.next();
+            it.remove();
+            Bundle params = new Bundle();
+            int result = tts.synthesizeToFile(synthesis.text, params, synthesis.tempFile,
+                    SYNTHESIS_ID_PREFIX + synthesis.key);
+            if (result == TextToSpeech.SUCCESS) {
+                synthesizingKey = synthesis.key;
+                return;
+            }
+            discardInBackground(synthesis.key);
+            Log.e(TAG, "음성 합성 요청 실패: " + synthesis.text);
+        }
+        scheduleIdleRelease();
+    }
+
+    private void onSynthesisFinished(String key, boolean success) {
+        if (!key.equals(synthesizingKey)) {
+            return;
+        }
+        synthesizingKey = null;
+        if (success) {
+            // 이름 바꾸기와 크기 맞추기(파일 목록 정렬)는 캐시 작업 스레드에서 합니다.
+            cacheExecutor.execute(() -> getAudioCache().commit(key));
         } else {
-            tts.speak(textToSpeak, TextToSpeech.QUEUE_FLUSH, null);
+            discardInBackground(key);
+        }
+        speakNext();
+    }
+
+    private void discardInBackground(String key) {
+        cacheExecutor.execute(() -> getAudioCache().discard(key));
+    }
+
+    /**
+     * 안내가 요청된 뒤 실제로 소리가 나기까지의 지연과 캐시된 음성으로 재생했는지를 기록합니다.
+     */
+    private void recordCue(UtteranceQueue.Utterance utterance, boolean cached) {
+        long latencyMs = SystemClock.elapsedRealtime() - utterance.getEnqueuedAtMs();
+        CUE_LATENCY_MS.record(latencyMs);
+        (cached ? CACHED_CUES : LIVE_CUES).increment();
+        Log.d(TAG, "안내 지연 " + latencyMs + "ms (" + (cached ? "캐시" : "실시간 합성") + ")");
+    }
+
+    /**
+     * 캐시를 처음 쓸 때 디렉터리를 만듭니다. 캐시 작업 스레드에서만 호출해야 합니다.
+     */
+    private SpeechAudioCache getAudioCache() {
+        if (audioCache == null) {
+            audioCache = new SpeechAudioCache(new File(context.getCacheDir(), CACHE_DIRECTORY), CACHE_MAX_BYTES);
+        }
+        return audioCache;
+    }
+
+    /**
+     * 캐시 키는 현재 음성 이름을 포함합니다. 엔진이 초기화되기 전에는 마지막으로 사용한 음성 이름을 사용합니다.
+     * 저장된 음성 이름을 읽을 수 있으므로 캐시 작업 스레드에서만 호출해야 합니다.
+     */
+    private String cacheKeyFor(String text) {
+        String voice = voiceName;
+        if (voice == null) {
+            voice = getPreferences().getString(PREF_VOICE, DEFAULT_VOICE);
+            voiceName = voice;
+        }
+        return SpeechAudioCache.keyFor(text, LOCALE.toLanguageTag(), voice);
+    }
+
+    private void updateVoiceName() {
+        Voice voice = tts.getVoice();
+        String name = voice != null ? voice.getName() : DEFAULT_VOICE;
+        if (!name.equals(voiceName)) {
+            voiceName = name;
+            cacheExecutor.execute(() -> getPreferences().edit().putString(PREF_VOICE, name).apply());
+        }
+    }
+
+    private SharedPreferences getPreferences() {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    private void scheduleIdleRelease() {
+        mainHandler.removeCallbacks(idleReleaseRunnable);
+        if (isIdle() && state != STATE_RELEASED) {
+            mainHandler.postDelayed(idleReleaseRunnable, IDLE_TIMEOUT_MS);
+        }
+    }
+
+    private boolean isIdle() {
+        return holdCount == 0 && speaking == null && queue.isEmpty()
+                && synthesizingKey == null && synthesisQueue.isEmpty();
+    }
+
+    private void releaseIfIdle() {
+        if (isIdle()) {
+            shutdown();
         }
     }
 
@@ -94,10 +646,71 @@ public class TTSHandler implements TextToSpeech.OnInitListener {
      * TextToSpeech 엔진을 안전하게 종료하고 리소스를 해제합니다.
      */
     private void shutdown() {
+        releaseEngine();
+        mainHandler.removeCallbacks(retryInitRunnable);
+        failedInitAttempts = 0;
+        if (synthesizingKey != null) {
+            discardInBackground(synthesizingKey);
+            synthesizingKey = null;
+        }
+        synthesisQueue.clear();
+        releasePlayer();
+        speaking = null;
+        state = STATE_RELEASED;
+        updateSpeakingState();
+    }
+
+    /**
+     * 엔진만 해제합니다. 대기열과 재생 중인 캐시된 음성은 그대로 둡니다.
+     */
+    private void releaseEngine() {
         if (tts != null) {
             tts.stop();
             tts.shutdown();
-            Log.d(TAG, "TTS 엔진이 소멸되었습니다.");
+            tts = null;
+            Log.d(TAG, "TTS 엔진이 해제되었습니다.");
+        }
+    }
+
+    /**
+     * 재생 상태 리스너를 등록합니다. 메인 스레드에서 호출해야 합니다.
+     */
+    public void addSpeakingListener(SpeakingListener listener) {
+        if (!speakingListeners.contains(listener)) {
+            speakingListeners.add(listener);
+        }
+    }
+
+    /**
+     * 재생 상태 리스너를 해제합니다. 메인 스레드에서 호출해야 합니다.
+     */
+    public void removeSpeakingListener(SpeakingListener listener) {
+        speakingListeners.remove(listener);
+    }
+
+    /**
+     * @return 재생 중이거나 재생을 기다리는 안내가 있으면 true. 메인 스레드에서 호출해야 합니다.
+     */
+    public boolean isSpeaking() {
+        return speaking != null || !queue.isEmpty();
+    }
+
+    private void updateSpeakingState() {
+        boolean active = isSpeaking();
+        if (active == speakingReported) {
+            return;
+        }
+        speakingReported = active;
+        for (int i = speakingListeners.size() - 1; i >= 0; i--) {
+            speakingListeners.get(i).onSpeakingChanged(active);
+        }
+    }
+
+    private void runOnMain(Runnable action) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            action.run();
+        } else {
+            mainHandler.post(action);
         }
     }
 }
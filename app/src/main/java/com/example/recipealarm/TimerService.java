@@ -3,21 +3,35 @@ package com.example.recipealarm;
 import android.app.Notification;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
+import android.app.PendingIntent;
 import android.app.Service;
+import android.content.BroadcastReceiver;
+import android.content.Context;
 import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Binder;
 import android.os.Build;
-import android.os.CountDownTimer;
+import android.os.Handler;
 import android.os.IBinder;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.text.format.DateFormat;
 import android.util.Log;
+import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.example.recipealarm.utils.Constants;
-import com.google.gson.Gson;
 
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,30 +39,137 @@ import java.util.concurrent.ConcurrentHashMap;
  * 레시피 타이머를 백그라운드에서 안정적으로 실행하기 위한 Foreground Service 입니다.
  * 이 서비스는 이제 여러 레시피의 타이머를 동시에 관리할 수 있습니다.
  *
- * 각 타이머는 레시피 ID를 키로 하는 Map을 통해 관리됩니다.
+ * 각 타이머의 상태는 레시피 ID를 키로 하는 {@link TimerSession} 으로 관리됩니다.
  * 서비스는 활성 타이머가 하나라도 있는 동안 Foreground 상태를 유지하며,
  * 모든 타이머가 종료되면 스스로 중지됩니다.
+ *
+ * 알림은 레시피마다 하나씩 그룹으로 묶어 게시하며, 남은 시간은 시스템 크로노미터
+ * (단계 종료 시각을 when 으로 한 카운트다운)가 그리도록 합니다. 따라서 알림은 매 초가 아니라
+ * 단계 변경, 일시정지, 레시피 추가/제거처럼 실제 상태가 바뀔 때만 다시 게시됩니다.
+ *
+ * 매 초의 틱은 모든 세션이 공유하는 하나의 Handler 콜백에서 처리되며, 화면에는
+ * {@link TimerTickDispatcher} 를 통해 전달됩니다. 정상 상태의 틱 경로는 객체를 할당하지 않습니다.
+ * 단계 변경이나 일시정지 같은 상태 변화만 LocalBroadcast 로 알립니다.
+ * 틱을 받는 화면이 없거나 화면이 꺼져 있으면 매 초 틱을 멈추고 다음 단계 종료 시각에만 깨어나며,
+ * 기기가 잠들어 그 콜백이 늦어지면 단계 알람이 전환을 알린 뒤 서비스 상태를 다시 맞추게 합니다.
+ * 화면이 다시 리스너를 등록하면 즉시 모든 세션을 갱신해 전달하고 매 초 틱을 다시 시작합니다.
+ * 화면이 켜져 있고 지켜보는 동안에는 매 초 틱이 단계 전환을 처리하므로 진행 중인 세션의 단계 알람을 걸지 않고
+ * ({@link AlarmPolicy#MECHANISM_FOREGROUND_ONLY}), 지켜보지 않게 되거나 기기가 Doze 에 들어가면 알람을 다시 예약합니다.
+ * 틱에서 감지한 단계 종료는 {@link StepTransitionPipeline} 에 제출되며, 같은 단계의 알람과 중복되지 않도록
+ * 먼저 도착한 쪽만 단계 완료 알림과 음성 안내를 내보냅니다.
+ *
+ * 같은 프로세스의 화면은 서비스에 바인드해 {@link LocalBinder} 로 받은 서비스의 메소드를 직접 호출하고
+ * 상태를 {@link TimerSnapshot} 으로 바로 읽습니다. 알림 버튼처럼 바인드할 수 없는 곳은 인텐트 명령을 사용합니다.
+ *
+ * 식사 계획({@link MealPlan})을 받으면 여러 레시피가 같은 시각에 완성되도록 늦게 시작할 레시피의
+ * 시작을 예약합니다. 시작 시각은 단계 알람처럼 AlarmManager 로 예약하므로 기기가 잠들어 있어도 제시간에 깨어나
+ * 레시피를 시작하고, 요리를 시작하라는 알림과 음성 안내를 내보냅니다. 단계 알람도 계획을 받는 즉시 예정된 시각으로
+ * 걸어 두므로, 세션은 계획된 타임라인에 맞춰 진행됩니다. 계획에 포함된 레시피가
+ * 일시정지되면 아직 시작하지 않은 레시피들은 대기하고, 재개할 때 늦어진 만큼 완성 시각을 다시 맞춥니다.
+ *
+ * 틱 처리와 알림 게시는 {@link SpanTracer} 에 구간으로 기록합니다.
  */
 public class TimerService extends Service {
 
     private static final String TAG = "TimerService";
     private static final String CHANNEL_ID = "timer_service_channel";
     private static final int NOTIFICATION_ID = 1;
+    private static final String GROUP_KEY_TIMERS = "com.example.recipealarm.TIMER_GROUP";
+    private static final String PREFS_NAME = "timer_service";
+    private static final String PREF_LAST_WAKEUP_SUMMARY = "last_wakeup_summary";
+
+    // 시작을 기다리는 식사 계획이 있어 새 계획을 받지 않을 때 보여줄 안내
+    static final String MEAL_PLAN_REJECTED_MESSAGE = "아직 시작하지 않은 식사 계획이 있습니다. 그 계획이 모두 시작된 뒤 다시 시도해주세요.";
 
     // Extras for communication (Actions are in Constants)
     public static final String EXTRA_RECIPE_ID = Constants.EXTRA_RECIPE_ID;
 
-    // 멀티 타이머 관리를 위한 Map
-    private final Map<String, CountDownTimer> activeTimers = new ConcurrentHashMap<>();
-    private final Map<String, Recipe> activeRecipes = new ConcurrentHashMap<>();
-    private final Map<String, Integer> activeSteps = new ConcurrentHashMap<>();
-    private final Map<String, Boolean> pausedStates = new ConcurrentHashMap<>();
-    private final Map<String, Long> pausedTimeRemaining = new ConcurrentHashMap<>();
+    // 틱이 예약한 시각보다 늦게 실행된 시간, 알림 게시 횟수와 시간, 진행 중인 세션 수
+    private static final MetricsRegistry.Histogram TICK_JITTER_MS =
+            MetricsRegistry.getInstance().histogram("timer.tick_jitter_ms");
+    private static final MetricsRegistry.Counter NOTIFICATION_POSTS =
+            MetricsRegistry.getInstance().counter("timer.notification_posts");
+    private static final MetricsRegistry.Histogram NOTIFICATION_POST_US =
+            MetricsRegistry.getInstance().histogram("timer.notification_post_us");
+    private static final MetricsRegistry.Gauge ACTIVE_SESSIONS =
+            MetricsRegistry.getInstance().gauge("timer.active_sessions");
+
+    // 멀티 타이머 관리를 위한 Map. 틱 루프는 반복자 할당을 피하기 위해 sessionList 를 인덱스로 순회합니다.
+    private final Map<String, TimerSession> sessions = new ConcurrentHashMap<>();
+    private final List<TimerSession> sessionList = new ArrayList<>();
+
+    private final IBinder binder = new LocalBinder();
+
+    private final Handler tickHandler = new Handler(Looper.getMainLooper());
+    private final TimerTickDispatcher tickDispatcher = TimerTickDispatcher.getInstance();
+    private final SpanTracer tracer = SpanTracer.getInstance();
+    private final Runnable tickRunnable = this::onTick;
+    private boolean tickScheduled = false;
+    // 예약한 틱이 실행되어야 하는 시각 (SystemClock.uptimeMillis). 늦게 실행된 시간을 기록하는 데 사용합니다.
+    private long tickDueUptimeMs;
+
+    // 틱을 받는 화면이 있고 화면이 켜져 있는 동안에만 매 초 틱을 돌립니다.
+    private boolean screenInteractive = true;
+    private boolean watched = false;
+    private final TickWakeupStats wakeupStats = new TickWakeupStats();
+    private final TimerTickDispatcher.ObserverListener observerListener = hasObservers -> updateWatched();
+
+    private final BroadcastReceiver screenReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            screenInteractive = Intent.ACTION_SCREEN_ON.equals(intent.getAction());
+            updateWatched();
+        }
+    };
+
+    // 기기가 Doze 에 들어가면 미뤄질 수 있는 시간 범위 알람을 allow-while-idle 정확한 알람으로 바꿉니다.
+    private final BroadcastReceiver idleReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            PowerManager powerManager = getSystemService(PowerManager.class);
+            if (powerManager != null && powerManager.isDeviceIdleMode()) {
+                rearmAllAlarms();
+            }
+        }
+    };
+
+    // 알람이 단계 종료나 계획된 시작 시각을 처리한 뒤 보내는 신호. 잠든 동안 늦어진 틱과 시작 콜백 대신 상태를 맞춥니다.
+    private final BroadcastReceiver resyncReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            startDuePlannedRecipes();
+            resync();
+        }
+    };
+
+    // 진행 중인 식사 계획. 아직 시작하지 않은 레시피는 예정 시각의 시작 알람이나, 기기가 깨어 있으면 planRunnable 이 시작합니다.
+    private MealPlan mealPlan;
+    private final Runnable planRunnable = this::startDuePlannedRecipes;
+
+    // 레시피별로 알람 예약 방법을 고른 결과. 세션이 끝나면 통계로 누적합니다.
+    private final Map<String, AlarmDecisionCounter> alarmDecisions = new HashMap<>();
+
+    // 세션 동안 게시된 알림 수 (알림 게시 빈도 확인용)
+    private int notificationPostCount = 0;
 
     @Override
     public void onCreate() {
         super.onCreate();
         createNotificationChannel();
+        // 타이머가 도는 동안 단계 안내가 지연 없이 나오도록 TTS 엔진을 미리 띄워 둡니다.
+        TTSHandler.getInstance(this).acquire();
+
+        PowerManager powerManager = getSystemService(PowerManager.class);
+        screenInteractive = powerManager == null || powerManager.isInteractive();
+        IntentFilter screenFilter = new IntentFilter(Intent.ACTION_SCREEN_ON);
+        screenFilter.addAction(Intent.ACTION_SCREEN_OFF);
+        registerReceiver(screenReceiver, screenFilter);
+        registerReceiver(idleReceiver, new IntentFilter(PowerManager.ACTION_DEVICE_IDLE_MODE_CHANGED));
+        LocalBroadcastManager.getInstance(this)
+                .registerReceiver(resyncReceiver, new IntentFilter(Constants.ACTION_TIMER_RESYNC));
+        tickDispatcher.setObserverListener(observerListener);
+        watched = screenInteractive && tickDispatcher.hasListeners();
+        wakeupStats.start(SystemClock.uptimeMillis(), Process.getElapsedCpuTime(), watched);
     }
 
     @Override
@@ -60,11 +181,17 @@ public class TimerService extends Service {
             if (Constants.ACTION_START_TIMER.equals(action)) {
                 String recipeJson = intent.getStringExtra(RecipeTimer.EXTRA_RECIPE_JSON);
                 if (recipeJson != null) {
-                    Recipe recipe = new Gson().fromJson(recipeJson, Recipe.class);
+                    Recipe recipe = RecipeJsonCodec.decodeRecipe(recipeJson);
                     if (recipe != null) {
                         startRecipeTimer(recipe);
                     }
                 }
+            } else if (Constants.ACTION_START_MEAL_PLAN.equals(action)) {
+                String recipesJson = intent.getStringExtra(Constants.EXTRA_MEAL_PLAN_RECIPES_JSON);
+                long finishDelayMs = intent.getLongExtra(Constants.EXTRA_MEAL_FINISH_DELAY_MS, 0);
+                if (recipesJson != null) {
+                    startMealPlan(RecipeJsonCodec.decode(recipesJson), finishDelayMs);
+                }
             } else if (Constants.ACTION_STOP_TIMER.equals(action)) {
                 if (recipeId != null) {
                     stopRecipeTimer(recipeId);
@@ -88,40 +215,290 @@ public class TimerService extends Service {
     }
 
     private void startRecipeTimer(Recipe recipe) {
-        if (activeRecipes.containsKey(recipe.getId())) {
+        if (sessions.containsKey(recipe.getId())) {
             Log.d(TAG, "이미 실행 중인 레시피입니다: " + recipe.getName());
+            // 알림 등에서 화면으로 돌아온 경우를 위해 현재 상태를 다시 알려줍니다.
+            broadcastCurrentState(recipe.getId());
             return;
         }
         Log.d(TAG, "레시피 타이머 시작: " + recipe.getName());
-        activeRecipes.put(recipe.getId(), recipe);
-        pausedStates.put(recipe.getId(), false);
+        TimerSession session;
+        try {
+            session = new TimerSession(recipe);
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "레시피 단계 구성이 올바르지 않습니다: " + recipe.getName(), e);
+            return;
+        }
+        sessions.put(recipe.getId(), session);
+        sessionList.add(session);
+
+        long now = SystemClock.elapsedRealtime();
+        MealPlan.Entry planned = mealPlan != null ? mealPlan.find(recipe.getId()) : null;
+        if (planned != null && !planned.isStarted()) {
+            // 계획보다 먼저 직접 시작한 경우입니다. 예정된 알람 대신 지금 기준으로 다시 예약합니다.
+            mealPlan.markStarted(planned, now);
+            RecipeTimer.cancelAlarms(this, recipe);
+            RecipeTimer.cancelPlannedStartAlarm(this, recipe);
+        }
+
+        // 포그라운드 타이머와 각 단계의 백그라운드 알람 시작
+        session.startAt(0, now);
+        armAlarms(recipe, 0, watched);
+        prefetchAnnouncements(recipe, session.getSchedule());
+        onSessionStateChanged(session);
+    }
+
+    /**
+     * 여러 레시피가 지금부터 finishDelayMs 뒤에 함께 완성되도록 계획을 세우고 시작을 예약합니다.
+     * 이미 실행 중인 레시피는 계획에서 제외됩니다.
+     * 아직 시작하지 않은 레시피가 남은 계획이 있으면 새 계획을 받지 않습니다. 계획 화면은 {@link #hasPendingMealPlan()}
+     * 으로 먼저 확인하지만, 확인과 요청 사이에 계획이 생긴 경우에도 사용자가 알 수 있도록 직접 알립니다.
+     * 이 명령은 startForegroundService 로 전달되므로 계획을 받지 않는 경우에도 반드시 포그라운드 알림을 게시합니다.
+     */
+    private void startMealPlan(List<Recipe> recipes, long finishDelayMs) {
+        if (hasPendingMealPlan()) {
+            Log.w(TAG, "아직 시작하지 않은 식사 계획이 있어 새 계획을 받지 않습니다.");
+            Toast.makeText(this, MEAL_PLAN_REJECTED_MESSAGE, Toast.LENGTH_LONG).show();
+            finishForegroundStart();
+            return;
+        }
+        List<Recipe> planned = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            if (!sessions.containsKey(recipe.getId())) {
+                planned.add(recipe);
+            }
+        }
+        if (planned.isEmpty()) {
+            finishForegroundStart();
+            return;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        try {
+            mealPlan = MealPlan.create(planned, now, now + finishDelayMs);
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "식사 계획을 만들 수 없습니다.", e);
+            mealPlan = null;
+            finishForegroundStart();
+            return;
+        }
+        if (mealPlan.isLate()) {
+            Log.d(TAG, "목표 시각까지 시간이 부족해 완성 시각을 "
+                    + (mealPlan.getFinishMs() - mealPlan.getTargetFinishMs()) / 1000 + "초 늦춥니다.");
+        }
+        armPendingAlarms(now);
+        TTSHandler ttsHandler = TTSHandler.getInstance(this);
+        for (MealPlan.Entry entry : mealPlan.getEntries()) {
+            prefetchAnnouncements(entry.getRecipe(), entry.getSchedule());
+            ttsHandler.prefetch(Collections.singletonList(
+                    StepAnnouncements.forPlannedStart(entry.getRecipe(), entry.getSchedule())));
+        }
+        startDuePlannedRecipes();
+        updateForegroundNotification();
+    }
+
+    /**
+     * startForegroundService 로 받은 명령이 새 작업 없이 끝날 때 호출합니다. Android 8 부터는 그렇게 시작된 서비스가
+     * startForeground 를 호출하지 않으면 앱이 종료되므로, 진행 중인 작업이 있으면 포그라운드 알림을 다시 게시하고
+     * 없으면 잠깐 포그라운드로 올렸다가 알림을 지우고 서비스를 멈춥니다.
+     */
+    private void finishForegroundStart() {
+        if (!sessions.isEmpty() || mealPlan != null) {
+            updateForegroundNotification();
+            return;
+        }
+        Notification notification = new NotificationCompat.Builder(this, CHANNEL_ID)
+                .setContentTitle("식사 계획을 확인하고 있습니다.")
+                .setSmallIcon(R.drawable.ic_launcher_foreground)
+                .build();
+        startForeground(NOTIFICATION_ID, notification);
+        stopForeground(STOP_FOREGROUND_REMOVE);
+        stopSelf();
+    }
+
+    /**
+     * 레시피를 진행하는 동안 나올 음성 안내를 미리 합성해 둡니다.
+     * 단계가 끝나는 순간에는 캐시된 음성을 바로 재생하므로 안내가 늦지 않습니다.
+     */
+    private void prefetchAnnouncements(Recipe recipe, StepSchedule schedule) {
+        TTSHandler.getInstance(this).prefetch(StepAnnouncements.allFor(recipe, schedule));
+    }
+
+    /**
+     * 시작 시각이 된 계획 레시피들을 시작하고, 남은 레시피마다 시작 시각에 울리는 알람을 겁니다.
+     * 기기가 깨어 있으면 가장 이른 시작 시각의 핸들러 콜백이, 잠들어 있으면 시작 알람이 먼저 이 메소드를 다시 부릅니다.
+     * 핸들러의 지연은 기기가 잠든 동안 멈추므로 알람만이 제시간의 시작을 보장합니다.
+     */
+    private void startDuePlannedRecipes() {
+        tickHandler.removeCallbacks(planRunnable);
+        if (mealPlan == null || isPlanOnHold()) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        long nextStartMs = Long.MAX_VALUE;
+        for (MealPlan.Entry entry : mealPlan.getEntries()) {
+            if (entry.isStarted()) {
+                continue;
+            }
+            if (entry.getStartMs() <= now) {
+                startPlannedRecipe(entry, now);
+            } else {
+                RecipeTimer.setPlannedStartAlarm(this, entry.getRecipe(), entry.getStartMs());
+                nextStartMs = Math.min(nextStartMs, entry.getStartMs());
+            }
+        }
+        if (nextStartMs != Long.MAX_VALUE) {
+            tickHandler.postDelayed(planRunnable, nextStartMs - now);
+        }
+    }
+
+    /**
+     * 계획된 레시피를 시작하고, 지금 요리를 시작하라고 알림과 음성으로 알립니다.
+     * 콜백이 늦었더라도 계획된 시작 시각 기준의 타임라인으로 진행하며, 단계 알람은 계획을 세울 때 이미 예약되어 있습니다.
+     */
+    private void startPlannedRecipe(MealPlan.Entry entry, long now) {
+        Recipe recipe = entry.getRecipe();
+        Log.d(TAG, "계획된 레시피 시작: " + recipe.getName());
+        TimerSession session = new TimerSession(recipe);
+        mealPlan.markStarted(entry, entry.getStartMs());
+        sessions.put(recipe.getId(), session);
+        sessionList.add(session);
+        session.startAt(now - entry.getStartMs(), now);
+        RecipeTimer.cancelPlannedStartAlarm(this, recipe);
+        StepTransitionPipeline.getInstance(this).announcePlannedStart(recipe, session.getSchedule());
+        onSessionStateChanged(session);
+    }
+
+    /**
+     * 레시피의 남은 단계 알람을 새 세대로 예약하고, 고른 예약 방법을 레시피의 카운터에 기록합니다.
+     * 이전 세대로 예약되었던 알람이 이미 전달 중이더라도 전환 파이프라인에서 버려집니다.
+     * @param foregroundDelivery 화면이 지켜보고 있어 매 초 틱이 단계 전환을 처리하면 true. 이때는 알람을 걸지 않습니다.
+     */
+    private void armAlarms(Recipe recipe, long elapsedMs, boolean foregroundDelivery) {
+        AlarmDecisionCounter counter = alarmDecisions.get(recipe.getId());
+        if (counter == null) {
+            counter = new AlarmDecisionCounter();
+            alarmDecisions.put(recipe.getId(), counter);
+        }
+        int generation = StepTransitionPipeline.getInstance(this).nextGeneration(recipe.getId());
+        RecipeTimer.setAlarms(this, recipe, elapsedMs, generation, counter, foregroundDelivery);
+    }
 
-        // 백그라운드 알람 시퀀스 시작
-        RecipeTimer.setAlarm(this, recipe, 0);
-        // 포그라운드 타이머 시작
-        startStep(recipe, 0, recipe.getSteps().get(0).getDurationInSeconds() * 1000L);
+    /**
+     * 진행 중인 세션들의 남은 알람을 지금의 지켜봄 상태와 Doze 상태에 맞춰 다시 예약합니다.
+     * 지켜보는 동안에는 알람을 걸지 않으므로, 지켜보는 화면이 사라지면 반드시 다시 예약해야 합니다.
+     */
+    private void rearmSessionAlarms() {
+        long now = SystemClock.elapsedRealtime();
+        for (int i = 0; i < sessionList.size(); i++) {
+            TimerSession session = sessionList.get(i);
+            if (session.isPaused()) {
+                continue;
+            }
+            RecipeTimer.cancelAlarms(this, session.getRecipe());
+            armAlarms(session.getRecipe(), session.getElapsedMs(now), watched);
+        }
+    }
+
+    /**
+     * 진행 중인 세션과 아직 시작하지 않은 계획 레시피의 알람을 모두 다시 예약합니다. 기기가 Doze 에 들어갈 때 호출됩니다.
+     */
+    private void rearmAllAlarms() {
+        rearmSessionAlarms();
+        if (mealPlan != null && !isPlanOnHold()) {
+            armPendingAlarms(SystemClock.elapsedRealtime());
+        }
+    }
+
+    /**
+     * 레시피 세션이 끝났을 때 알람 예약 방법 결정을 통계에 누적합니다.
+     */
+    private void recordAlarmDecisions(String recipeId) {
+        AlarmDecisionCounter counter = alarmDecisions.remove(recipeId);
+        if (counter != null && counter.getTotalCount() > 0) {
+            Log.d(TAG, "알람 예약 방법 (" + recipeId + "): " + counter);
+            AlarmLatencyStore.getInstance(this).recordSession(counter);
+        }
+    }
+
+    /**
+     * 아직 시작하지 않은 계획 레시피들의 단계 알람을 예정된 시각으로 예약합니다.
+     * 시작 전이므로 경과 시간은 음수이며, 알람은 (시작 시각 + 단계 종료 시각)에 울립니다.
+     */
+    private void armPendingAlarms(long now) {
+        for (MealPlan.Entry entry : mealPlan.getEntries()) {
+            if (!entry.isStarted()) {
+                // 아직 시작하지 않아 틱이 처리하지 않으므로 항상 알람을 겁니다.
+                armAlarms(entry.getRecipe(), now - entry.getStartMs(), false);
+            }
+        }
+    }
+
+    private void cancelPendingAlarms() {
+        for (MealPlan.Entry entry : mealPlan.getEntries()) {
+            if (!entry.isStarted()) {
+                RecipeTimer.cancelAlarms(this, entry.getRecipe());
+                RecipeTimer.cancelPlannedStartAlarm(this, entry.getRecipe());
+            }
+        }
+    }
+
+    /**
+     * @return 계획에 포함된 레시피 중 일시정지된 것이 있어 나머지 레시피의 시작을 보류해야 하면 true
+     */
+    private boolean isPlanOnHold() {
+        if (mealPlan == null) {
+            return false;
+        }
+        for (int i = 0; i < sessionList.size(); i++) {
+            TimerSession session = sessionList.get(i);
+            if (session.isPaused() && mealPlan.find(session.getRecipeId()) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 계획 레시피의 일시정지/중지로 보류 상태가 풀렸으면 남은 레시피의 알람과 시작을 다시 예약합니다.
+     */
+    private void releasePlanHoldIfPossible() {
+        if (mealPlan == null || isPlanOnHold()) {
+            return;
+        }
+        armPendingAlarms(SystemClock.elapsedRealtime());
+        startDuePlannedRecipes();
     }
 
     private void stopRecipeTimer(String recipeId) {
         Log.d(TAG, "레시피 타이머 중지: " + recipeId);
-        Recipe recipe = activeRecipes.get(recipeId);
-        if (recipe != null) {
-            RecipeTimer.cancelAlarms(this, recipe);
+        TimerSession session = sessions.remove(recipeId);
+        if (session != null) {
+            RecipeTimer.cancelAlarms(this, session.getRecipe());
+            sessionList.remove(session);
         }
+        cancelRecipeNotification(recipeId);
+        recordAlarmDecisions(recipeId);
+        StepTransitionPipeline.getInstance(this).retire(recipeId);
 
-        CountDownTimer timer = activeTimers.get(recipeId);
-        if (timer != null) {
-            timer.cancel();
+        if (mealPlan != null) {
+            MealPlan.Entry planned = mealPlan.find(recipeId);
+            if (planned != null && !planned.isStarted()) {
+                RecipeTimer.cancelAlarms(this, planned.getRecipe());
+                RecipeTimer.cancelPlannedStartAlarm(this, planned.getRecipe());
+                mealPlan.removePending(recipeId);
+            }
+            if (!mealPlan.hasPendingStarts()) {
+                tickHandler.removeCallbacks(planRunnable);
+                mealPlan = null;
+            } else {
+                releasePlanHoldIfPossible();
+            }
         }
 
-        activeTimers.remove(recipeId);
-        activeRecipes.remove(recipeId);
-        activeSteps.remove(recipeId);
-        pausedStates.remove(recipeId);
-        pausedTimeRemaining.remove(recipeId);
-
-        if (activeRecipes.isEmpty()) {
-            Log.d(TAG, "모든 타이머가 종료되어 서비스를 중지합니다.");
+        if (sessions.isEmpty() && mealPlan == null) {
+            Log.d(TAG, "모든 타이머가 종료되어 서비스를 중지합니다. 게시된 알림 수: " + notificationPostCount);
+            stopTicking();
             stopSelf();
         } else {
             updateForegroundNotification();
@@ -129,170 +506,407 @@ public class TimerService extends Service {
     }
 
     private void pauseRecipeTimer(String recipeId) {
-        if (!activeRecipes.containsKey(recipeId)) {
+        TimerSession session = sessions.get(recipeId);
+        if (session == null) {
             return;
         }
 
-        CountDownTimer timer = activeTimers.get(recipeId);
-        if (timer != null) {
-            timer.cancel();
+        session.pause(SystemClock.elapsedRealtime());
+        // 일시정지 동안 알람이 울리지 않도록 취소하고, 재개할 때 남은 일정으로 다시 예약합니다.
+        RecipeTimer.cancelAlarms(this, session.getRecipe());
+        if (mealPlan != null && mealPlan.find(recipeId) != null && mealPlan.hasPendingStarts()) {
+            // 얼마나 늦어질지 모르므로 아직 시작하지 않은 레시피들은 재개될 때까지 대기합니다.
+            tickHandler.removeCallbacks(planRunnable);
+            cancelPendingAlarms();
         }
-        activeTimers.remove(recipeId);
-        
-        pausedStates.put(recipeId, true);
-        
+
         // 일시정지 상태 브로드캐스트
-        Recipe recipe = activeRecipes.get(recipeId);
-        int stepIndex = activeSteps.getOrDefault(recipeId, 0);
-        RecipeStep step = recipe.getSteps().get(stepIndex);
-        long remainingMs = pausedTimeRemaining.getOrDefault(recipeId, step.getDurationInSeconds() * 1000L);
-        long durationMs = step.getDurationInSeconds() * 1000L;
-        
-        broadcastUpdate(recipeId, step.getDescription(), formatTime(remainingMs), 
-                stepIndex, recipe.getSteps().size(), remainingMs, durationMs, true);
+        broadcastCurrentState(recipeId);
+        postRecipeNotification(session);
         updateForegroundNotification();
-        
+
         Log.d(TAG, "레시피 타이머 일시정지: " + recipeId);
     }
 
+    /**
+     * 레시피의 현재 단계와 남은 시간을 한 번 브로드캐스트합니다.
+     * 단계가 바뀌거나 일시정지, 화면 재연결처럼 상태가 바뀔 때 UI를 맞추는 데 사용합니다.
+     */
+    private void broadcastCurrentState(String recipeId) {
+        TimerSession session = sessions.get(recipeId);
+        if (session == null) {
+            return;
+        }
+        broadcastUpdate(recipeId, session.getCurrentStep().getDescription(),
+                session.copyFormattedRemaining(), session.getStepIndex(),
+                session.getTotalSteps(), session.getRemainingMs(), session.getStepDurationMs(),
+                session.isPaused());
+    }
+
     private void resumeRecipeTimer(String recipeId) {
-        if (!activeRecipes.containsKey(recipeId) || !pausedStates.getOrDefault(recipeId, false)) {
+        TimerSession session = sessions.get(recipeId);
+        if (session == null || !session.isPaused()) {
             return;
         }
 
-        Recipe recipe = activeRecipes.get(recipeId);
-        int stepIndex = activeSteps.getOrDefault(recipeId, 0);
-        long remainingMs = pausedTimeRemaining.getOrDefault(recipeId, recipe.getSteps().get(stepIndex).getDurationInSeconds() * 1000L);
-        
-        pausedStates.put(recipeId, false);
-        startStep(recipe, stepIndex, remainingMs);
-        
+        long now = SystemClock.elapsedRealtime();
+        session.resume(now);
+        armAlarms(session.getRecipe(), session.getElapsedMs(now), watched);
+        if (mealPlan != null && mealPlan.find(recipeId) != null) {
+            // 일시정지로 늦어진 만큼 공통 완성 시각을 미루고 남은 레시피의 시작 시각을 다시 맞춥니다.
+            long finishMs = now + session.getSchedule().getTotalMs() - session.getElapsedMs(now);
+            if (mealPlan.delayFinish(finishMs)) {
+                Log.d(TAG, "식사 계획 완성 시각이 늦춰졌습니다: " + recipeId);
+            }
+            releasePlanHoldIfPossible();
+        }
+        onSessionStateChanged(session);
+
         Log.d(TAG, "레시피 타이머 재개: " + recipeId);
     }
 
     private void navigateStep(String recipeId, String direction) {
-        Recipe recipe = activeRecipes.get(recipeId);
-        if (recipe == null) {
+        TimerSession session = sessions.get(recipeId);
+        if (session == null) {
             return;
         }
+        Recipe recipe = session.getRecipe();
+        StepSchedule schedule = session.getSchedule();
 
-        int currentStep = activeSteps.getOrDefault(recipeId, 0);
+        // 단계 이동은 크리티컬 패스를 따라 이루어집니다. 순차 레시피에서는 i-1, i+1 단계와 같습니다.
+        int currentStep = session.getStepIndex();
         int newStep;
         
         if ("prev".equals(direction)) {
-            newStep = currentStep - 1;
+            newStep = schedule.previousOnCriticalPath(currentStep);
             if (newStep < 0) {
                 return; // 첫 번째 단계입니다
             }
         } else if ("next".equals(direction)) {
-            newStep = currentStep + 1;
-            if (newStep >= recipe.getSteps().size()) {
+            newStep = schedule.nextOnCriticalPath(currentStep);
+            if (newStep < 0) {
                 return; // 마지막 단계입니다
             }
         } else {
             return;
         }
 
-        // 현재 타이머 취소
-        CountDownTimer timer = activeTimers.get(recipeId);
-        if (timer != null) {
-            timer.cancel();
-        }
-        activeTimers.remove(recipeId);
-
-        // 새로운 단계 시작
+        // 새로운 단계의 시작 시각으로 타임라인을 옮기고 남은 단계들의 알람을 다시 예약합니다.
+        session.jumpToStep(newStep, SystemClock.elapsedRealtime());
         RecipeTimer.cancelAlarms(this, recipe);
-        RecipeTimer.setAlarm(this, recipe, newStep);
-        startStep(recipe, newStep, recipe.getSteps().get(newStep).getDurationInSeconds() * 1000L);
+        armAlarms(recipe, schedule.getStartMs(newStep), watched);
+        onSessionStateChanged(session);
         
         Log.d(TAG, "단계 이동: " + recipeId + " -> " + newStep);
     }
 
-    private void startStep(Recipe recipe, int stepIndex, long remainingMs) {
-        String recipeId = recipe.getId();
-        if (stepIndex < 0 || stepIndex >= recipe.getSteps().size()) {
-            Log.d(TAG, "레시피 종료: " + recipe.getName());
-            broadcastFinish(recipeId);
-            stopRecipeTimer(recipeId);
+    /**
+     * 단계가 바뀌거나 재개되는 등 세션 상태가 바뀌었을 때 호출됩니다.
+     * 알림은 이때만 다시 게시하며, 이후의 카운트다운은 크로노미터가 표시합니다.
+     */
+    private void onSessionStateChanged(TimerSession session) {
+        postRecipeNotification(session);
+        updateForegroundNotification();
+        broadcastCurrentState(session.getRecipeId());
+        scheduleTick();
+    }
+
+    /**
+     * 어떤 단계의 종료 시각을 지났을 때 호출됩니다. 끝난 단계들을 전환 파이프라인에 제출하고,
+     * 대표 단계가 바뀌었으면 상태를 알리고, 모든 단계가 끝났으면 레시피를 종료합니다.
+     * 같은 전환을 알람이 먼저 처리했다면 알림과 음성 안내는 다시 나가지 않습니다.
+     */
+    private void onStepFinished(TimerSession session) {
+        int previousStep = session.getStepIndex();
+        long now = SystemClock.elapsedRealtime();
+        submitFinishedSteps(session, session.getNextBoundaryMs(), Math.min(session.getElapsedMs(now),
+                session.getSchedule().getTotalMs()));
+        if (session.advanceBoundary(now)) {
+            Log.d(TAG, "레시피 종료: " + session.getRecipe().getName());
+            broadcastFinish(session.getRecipeId());
+            stopRecipeTimer(session.getRecipeId());
             return;
         }
+        if (session.getStepIndex() != previousStep) {
+            onSessionStateChanged(session);
+        } else {
+            // 병행 단계만 끝난 경우에는 알림의 병행 단계 목록만 갱신합니다.
+            postRecipeNotification(session);
+            tickDispatcher.dispatch(session);
+        }
+    }
 
-        activeSteps.put(recipeId, stepIndex);
-        RecipeStep step = recipe.getSteps().get(stepIndex);
+    /**
+     * 타임라인의 [fromMs, toMs] 사이에 끝난 단계들을 전환 파이프라인에 제출합니다.
+     */
+    private void submitFinishedSteps(TimerSession session, long fromMs, long toMs) {
+        StepTransitionPipeline pipeline = StepTransitionPipeline.getInstance(this);
+        StepSchedule schedule = session.getSchedule();
+        int generation = pipeline.currentGeneration(session.getRecipeId());
+        for (int i = 0; i < schedule.getStepCount(); i++) {
+            long endMs = schedule.getEndMs(i);
+            if (endMs >= fromMs && endMs <= toMs) {
+                pipeline.submit(session.getRecipe(), schedule, generation, i, StepTransitionPipeline.SOURCE_SERVICE);
+            }
+        }
+    }
 
-        updateForegroundNotification();
+    /**
+     * 모든 세션이 공유하는 틱 콜백입니다. 정상 상태에서는 객체를 할당하지 않습니다.
+     */
+    private void onTick() {
+        tickScheduled = false;
+        long uptimeMs = SystemClock.uptimeMillis();
+        TICK_JITTER_MS.record(uptimeMs - tickDueUptimeMs);
+        wakeupStats.onWakeup(uptimeMs);
+        long span = tracer.begin("timer.tick");
+        tickSessions(false);
+        scheduleTick();
+        tracer.end(span);
+    }
 
-        // 기존 타이머가 있으면 취소
-        CountDownTimer oldTimer = activeTimers.get(recipeId);
-        if (oldTimer != null) {
-            oldTimer.cancel();
-        }
+    /**
+     * 예약된 틱을 기다리지 않고 모든 세션을 지금 시각으로 갱신합니다.
+     * 화면이 다시 지켜보기 시작했거나 알람이 단계 종료를 처리했을 때 호출됩니다.
+     */
+    private void resync() {
+        stopTicking();
+        tickSessions(true);
+        scheduleTick();
+    }
 
-        long stepDurationMs = step.getDurationInSeconds() * 1000L;
-        long startTime = Math.min(remainingMs, stepDurationMs);
-        
-        // 초기 상태 브로드캐스트 (타이머 시작 전)
-        String initialTimeFormatted = formatTime(startTime);
-        broadcastUpdate(recipeId, step.getDescription(), initialTimeFormatted, 
-                stepIndex, recipe.getSteps().size(), startTime, stepDurationMs, false);
-        
-        CountDownTimer newTimer = new CountDownTimer(startTime, 1000) {
-            @Override
-            public void onTick(long millisUntilFinished) {
-                String timeFormatted = formatTime(millisUntilFinished);
-                pausedTimeRemaining.put(recipeId, millisUntilFinished);
-                // 단계 정보와 진행률을 포함하여 브로드캐스트
-                broadcastUpdate(recipeId, step.getDescription(), timeFormatted, 
-                        stepIndex, recipe.getSteps().size(), millisUntilFinished, stepDurationMs, false);
-                updateForegroundNotification();
+    /**
+     * @param forceDispatch 표시할 초가 바뀌지 않았더라도 화면에 전달하려면 true
+     */
+    private void tickSessions(boolean forceDispatch) {
+        long now = SystemClock.elapsedRealtime();
+        // 단계가 끝난 세션은 리스트에서 제거될 수 있으므로 뒤에서부터 순회합니다.
+        for (int i = sessionList.size() - 1; i >= 0; i--) {
+            if (i >= sessionList.size()) {
+                continue;
             }
-
-            @Override
-            public void onFinish() {
-                pausedTimeRemaining.remove(recipeId);
-                // 다음 단계로 이동 (startStep 내부에서 범위 체크를 수행)
-                int nextStepIndex = stepIndex + 1;
-                if (nextStepIndex < recipe.getSteps().size()) {
-                    long nextStepDurationMs = recipe.getSteps().get(nextStepIndex).getDurationInSeconds() * 1000L;
-                    startStep(recipe, nextStepIndex, nextStepDurationMs);
-                } else {
-                    // 마지막 단계 완료 - startStep이 종료 처리를 합니다
-                    startStep(recipe, nextStepIndex, 0);
-                }
+            TimerSession session = sessionList.get(i);
+            int result = session.tick(now);
+            if (result == TimerSession.TICK_FINISHED) {
+                onStepFinished(session);
+            } else if (result == TimerSession.TICK_CHANGED || forceDispatch) {
+                tickDispatcher.dispatch(session);
             }
-        };
-        newTimer.start();
-        activeTimers.put(recipeId, newTimer);
+        }
     }
 
-    private void updateForegroundNotification() {
-        String title;
-        String text;
-        int timerCount = activeRecipes.size();
-
-        if (timerCount == 0) {
+    /**
+     * 틱을 받는 화면과 화면 켜짐 상태가 바뀌었을 때 틱 방식을 바꿉니다.
+     */
+    private void updateWatched() {
+        boolean nowWatched = screenInteractive && tickDispatcher.hasListeners();
+        if (nowWatched == watched) {
             return;
-        } else if (timerCount == 1) {
-            Recipe recipe = activeRecipes.values().iterator().next();
-            int stepIndex = activeSteps.getOrDefault(recipe.getId(), 0);
-            RecipeStep step = recipe.getSteps().get(stepIndex);
-            boolean isPaused = pausedStates.getOrDefault(recipe.getId(), false);
-            title = (isPaused ? "[일시정지] " : "") + "진행 중: " + step.getDescription();
-            text = recipe.getName();
+        }
+        watched = nowWatched;
+        wakeupStats.setWatched(nowWatched, SystemClock.uptimeMillis());
+        // 지켜보는 동안에는 틱이 전환을 처리하므로 알람을 거두고, 지켜보지 않게 되면 알람을 다시 겁니다.
+        rearmSessionAlarms();
+        if (nowWatched) {
+            // 화면이 다시 붙었으므로 다음 초를 기다리지 않고 바로 현재 상태를 전달합니다.
+            resync();
         } else {
-            title = timerCount + "개의 레시피가 진행 중입니다.";
-            text = String.join(", ", activeRecipes.values().stream().map(Recipe::getName).collect(java.util.stream.Collectors.toList()));
+            stopTicking();
+            scheduleTick();
         }
-        startForeground(NOTIFICATION_ID, createNotification(title, text));
     }
 
-    private Notification createNotification(String title, String text) {
-        return new NotificationCompat.Builder(this, CHANNEL_ID)
+    /**
+     * 진행 중인 세션이 있으면 다음 틱을 예약합니다. 화면이 지켜보고 있으면 가장 가까운 초 경계에,
+     * 아니면 가장 가까운 단계 종료 시각에 맞춥니다.
+     */
+    private void scheduleTick() {
+        if (tickScheduled) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        long delay = Long.MAX_VALUE;
+        for (int i = 0; i < sessionList.size(); i++) {
+            TimerSession session = sessionList.get(i);
+            if (!session.isPaused()) {
+                delay = Math.min(delay, watched
+                        ? session.millisUntilNextSecond(now)
+                        : session.millisUntilNextBoundary(now));
+            }
+        }
+        if (delay != Long.MAX_VALUE) {
+            long uptimeMs = SystemClock.uptimeMillis();
+            tickHandler.postDelayed(tickRunnable, delay);
+            tickScheduled = true;
+            tickDueUptimeMs = uptimeMs + delay;
+            wakeupStats.onScheduled(uptimeMs);
+        }
+    }
+
+    private void stopTicking() {
+        tickHandler.removeCallbacks(tickRunnable);
+        if (tickScheduled) {
+            wakeupStats.onCancelled(SystemClock.uptimeMillis());
+        }
+        tickScheduled = false;
+    }
+
+    /**
+     * 레시피 알림들을 묶는 그룹 요약 알림을 Foreground 알림으로 게시합니다.
+     * 활성 레시피 구성이나 일시정지 상태가 바뀔 때만 호출되어야 합니다.
+     */
+    private void updateForegroundNotification() {
+        int timerCount = sessionList.size();
+        int pendingCount = 0;
+        if (mealPlan != null) {
+            for (MealPlan.Entry entry : mealPlan.getEntries()) {
+                if (!entry.isStarted()) {
+                    pendingCount++;
+                }
+            }
+        }
+        if (timerCount == 0 && pendingCount == 0) {
+            return;
+        }
+
+        NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
+        StringBuilder names = new StringBuilder();
+        for (TimerSession session : sessionList) {
+            String name = session.getRecipe().getName();
+            style.addLine((session.isPaused() ? "[일시정지] " : "") + name);
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(name);
+        }
+        if (pendingCount > 0) {
+            boolean onHold = isPlanOnHold();
+            java.text.DateFormat timeFormat = DateFormat.getTimeFormat(this);
+            long wallOffset = System.currentTimeMillis() - SystemClock.elapsedRealtime();
+            for (MealPlan.Entry entry : mealPlan.getEntries()) {
+                if (entry.isStarted()) {
+                    continue;
+                }
+                String when = onHold ? "[대기] "
+                        : "[" + timeFormat.format(new Date(wallOffset + entry.getStartMs())) + " 시작 예정] ";
+                style.addLine(when + entry.getRecipe().getName());
+            }
+        }
+
+        String title = timerCount == 0 ? pendingCount + "개의 레시피가 시작을 기다리고 있습니다."
+                : timerCount == 1 ? "레시피가 진행 중입니다." : timerCount + "개의 레시피가 진행 중입니다.";
+        Notification summary = new NotificationCompat.Builder(this, CHANNEL_ID)
                 .setContentTitle(title)
-                .setContentText(text)
+                .setContentText(names.toString())
+                .setStyle(style.setSummaryText(title))
                 .setSmallIcon(R.drawable.ic_launcher_foreground)
+                .setGroup(GROUP_KEY_TIMERS)
+                .setGroupSummary(true)
                 .setOnlyAlertOnce(true)
+                .setOngoing(true)
                 .build();
+        long span = tracer.begin("timer.notify_summary");
+        long postStartNanos = System.nanoTime();
+        startForeground(NOTIFICATION_ID, summary);
+        NOTIFICATION_POST_US.recordMicrosSince(postStartNanos);
+        tracer.end(span);
+        NOTIFICATION_POSTS.increment();
+        ACTIVE_SESSIONS.set(timerCount);
+        notificationPostCount++;
+    }
+
+    /**
+     * 레시피 하나에 대한 알림을 게시합니다.
+     * 진행 중인 단계는 종료 시각을 when 으로 하는 카운트다운 크로노미터로 표시하므로
+     * 매 초 알림을 다시 게시할 필요가 없습니다. 일시정지 중에는 남은 시간을 고정 문자열로 표시합니다.
+     * @param session 알림을 게시할 레시피의 세션
+     */
+    private void postRecipeNotification(TimerSession session) {
+        String recipeId = session.getRecipeId();
+        int stepIndex = session.getStepIndex();
+        RecipeStep step = session.getCurrentStep();
+        boolean isPaused = session.isPaused();
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(this, CHANNEL_ID)
+                .setContentTitle((isPaused ? "[일시정지] " : "") + "[" + (stepIndex + 1) + "단계] " + step.getDescription())
+                .setSubText(session.getRecipe().getName())
+                .setSmallIcon(R.drawable.ic_launcher_foreground)
+                .setContentIntent(createContentIntent(recipeId))
+                .setGroup(GROUP_KEY_TIMERS)
+                .setCategory(NotificationCompat.CATEGORY_STOPWATCH)
+                .setOnlyAlertOnce(true)
+                .setOngoing(true);
+
+        if (!isPaused) {
+            // 크로노미터는 벽시계 기준이므로 틱 시계의 종료 시각을 변환합니다.
+            long wallDeadline = System.currentTimeMillis()
+                    + (session.getDeadlineMs() - SystemClock.elapsedRealtime());
+            builder.setWhen(wallDeadline)
+                    .setShowWhen(true)
+                    .setUsesChronometer(true)
+                    .setChronometerCountDown(true)
+                    .setContentText(describeProgress(session));
+        } else {
+            builder.setShowWhen(false)
+                    .setContentText("남은 시간 " + session.copyFormattedRemaining());
+        }
+
+        NotificationManager manager = getSystemService(NotificationManager.class);
+        if (manager != null) {
+            long span = tracer.begin("timer.notify_recipe");
+            long postStartNanos = System.nanoTime();
+            manager.notify(notificationIdFor(recipeId), builder.build());
+            NOTIFICATION_POST_US.recordMicrosSince(postStartNanos);
+            tracer.end(span);
+            NOTIFICATION_POSTS.increment();
+            notificationPostCount++;
+        }
+    }
+
+    /**
+     * 알림 본문에 표시할 진행 상황입니다. 병행 중인 단계가 있으면 함께 표시합니다.
+     */
+    private String describeProgress(TimerSession session) {
+        StringBuilder text = new StringBuilder()
+                .append(session.getStepIndex() + 1).append(" / ").append(session.getTotalSteps()).append(" 단계");
+        StepSchedule schedule = session.getSchedule();
+        if (schedule.isParallel()) {
+            long elapsed = session.getElapsedMs(SystemClock.elapsedRealtime());
+            String separator = " · 함께 진행: ";
+            for (int i = 0; i < session.getTotalSteps(); i++) {
+                if (i != session.getStepIndex() && schedule.isActiveAt(i, elapsed)) {
+                    text.append(separator).append(session.getRecipe().getSteps().get(i).getDescription());
+                    separator = ", ";
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private void cancelRecipeNotification(String recipeId) {
+        NotificationManager manager = getSystemService(NotificationManager.class);
+        if (manager != null) {
+            manager.cancel(notificationIdFor(recipeId));
+        }
+    }
+
+    /**
+     * 알림을 누르면 해당 레시피의 타이머 화면으로 돌아가도록 하는 PendingIntent 를 만듭니다.
+     */
+    private PendingIntent createContentIntent(String recipeId) {
+        Intent intent = new Intent(this, RecipeActivity.class);
+        intent.putExtra(Constants.EXTRA_RECIPE_ID, recipeId);
+        intent.setFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        return PendingIntent.getActivity(this, notificationIdFor(recipeId), intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * 레시피별 알림 ID. AlarmReceiver 의 단계 완료 알림 ID(hashCode + 단계 인덱스)와 겹치지 않도록
+     * 접두어를 붙인 문자열의 해시를 사용합니다.
+     */
+    private static int notificationIdFor(String recipeId) {
+        return ("timer:" + recipeId).hashCode();
     }
 
     private void broadcastUpdate(String recipeId, String stepDescription, String timeRemaining, 
@@ -315,28 +929,120 @@ public class TimerService extends Service {
         LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
     }
 
-    private String formatTime(long millis) {
-        long minutes = (millis / 1000) / 60;
-        long seconds = (millis / 1000) % 60;
-        return String.format(Locale.getDefault(), "%02d:%02d", minutes, seconds);
-    }
-
     @Override
     public void onDestroy() {
         super.onDestroy();
-        activeTimers.values().forEach(CountDownTimer::cancel);
-        activeTimers.clear();
-        activeRecipes.clear();
-        activeSteps.clear();
-        pausedStates.clear();
-        pausedTimeRemaining.clear();
+        stopTicking();
+        tickDispatcher.setObserverListener(null);
+        unregisterReceiver(screenReceiver);
+        unregisterReceiver(idleReceiver);
+        LocalBroadcastManager.getInstance(this).unregisterReceiver(resyncReceiver);
+        recordWakeupStats();
+        ACTIVE_SESSIONS.set(0);
+        MetricsFileExporter.getInstance(this).dump();
+        TTSHandler.getInstance(this).release();
+        tickHandler.removeCallbacks(planRunnable);
+        if (mealPlan != null) {
+            cancelPendingAlarms();
+            mealPlan = null;
+        }
+        for (String recipeId : sessions.keySet()) {
+            cancelRecipeNotification(recipeId);
+            recordAlarmDecisions(recipeId);
+        }
+        alarmDecisions.clear();
+        sessions.clear();
+        sessionList.clear();
         Log.d(TAG, "TimerService 소멸");
     }
 
+    /**
+     * 서비스가 실행된 동안의 틱 깨우기 통계를 로그로 남기고 디버그 화면용으로 저장합니다.
+     */
+    private void recordWakeupStats() {
+        long now = SystemClock.uptimeMillis();
+        long cpuTimeMs = Process.getElapsedCpuTime();
+        wakeupStats.stop(now, cpuTimeMs);
+        String summary = wakeupStats.summarize(now, cpuTimeMs);
+        Log.d(TAG, summary);
+        getSharedPreferences(PREFS_NAME, MODE_PRIVATE)
+                .edit().putString(PREF_LAST_WAKEUP_SUMMARY, summary).apply();
+    }
+
+    /**
+     * @return 마지막으로 종료된 서비스의 틱 깨우기 통계 요약. 기록이 없으면 null
+     */
+    public static String getLastWakeupSummary(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .getString(PREF_LAST_WAKEUP_SUMMARY, null);
+    }
+
     @Nullable
     @Override
     public IBinder onBind(Intent intent) {
-        return null;
+        return binder;
+    }
+
+    /**
+     * 같은 프로세스의 화면이 서비스에 바인드했을 때 받는 바인더입니다.
+     */
+    public class LocalBinder extends Binder {
+        public TimerService getService() {
+            return TimerService.this;
+        }
+    }
+
+    /**
+     * 레시피 타이머를 일시정지합니다. 바인드된 화면에서 메인 스레드로 호출합니다.
+     */
+    public void pause(String recipeId) {
+        pauseRecipeTimer(recipeId);
+    }
+
+    /**
+     * 일시정지된 레시피 타이머를 재개합니다. 바인드된 화면에서 메인 스레드로 호출합니다.
+     */
+    public void resume(String recipeId) {
+        resumeRecipeTimer(recipeId);
+    }
+
+    /**
+     * 크리티컬 패스의 이전 단계로 이동합니다. 바인드된 화면에서 메인 스레드로 호출합니다.
+     */
+    public void previousStep(String recipeId) {
+        navigateStep(recipeId, "prev");
+    }
+
+    /**
+     * 크리티컬 패스의 다음 단계로 이동합니다. 바인드된 화면에서 메인 스레드로 호출합니다.
+     */
+    public void nextStep(String recipeId) {
+        navigateStep(recipeId, "next");
+    }
+
+    /**
+     * 레시피 타이머를 중지합니다. 바인드된 화면에서 메인 스레드로 호출합니다.
+     */
+    public void stop(String recipeId) {
+        stopRecipeTimer(recipeId);
+    }
+
+    /**
+     * 새 식사 계획을 받을 수 있는지 확인합니다. 메인 스레드에서 호출합니다.
+     * @return 아직 시작하지 않은 레시피가 남은 식사 계획이 있으면 true. 이때 새 계획은 거절됩니다.
+     */
+    public boolean hasPendingMealPlan() {
+        return mealPlan != null && mealPlan.hasPendingStarts();
+    }
+
+    /**
+     * 레시피 타이머의 현재 상태를 바로 읽습니다. 메인 스레드에서 호출합니다.
+     * @return 상태. 실행 중인 타이머가 없으면 null
+     */
+    @Nullable
+    public TimerSnapshot getSnapshot(String recipeId) {
+        TimerSession session = sessions.get(recipeId);
+        return session != null ? session.snapshot(SystemClock.elapsedRealtime()) : null;
     }
 
     private void createNotificationChannel() {
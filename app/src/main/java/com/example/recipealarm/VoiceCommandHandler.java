@@ -3,6 +3,10 @@ package com.example.recipealarm;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -12,15 +16,47 @@ import java.util.ArrayList;
 
 /**
  * 안드로이드의 SpeechRecognizer를 사용하여 음성 인식을 처리하는 클래스입니다.
- * 이 클래스는 음성 입력을 듣고, 간단한 명령어로 분석한 뒤,
+ * 이 클래스는 음성 입력을 듣고, {@link VoiceCommandGrammar} 로 명령어를 분석한 뒤,
  * 콜백을 사용하여 인식된 명령을 UI에 알립니다.
+ *
+ * 말이 끝나기를 기다리지 않도록 부분 결과에서도 명령을 찾으며, 확신할 수 있는 명령이 보이면 바로 알리고
+ * 인식을 멈춥니다. 최종 결과에서는 첫 번째 후보만이 아니라 모든 인식 후보(N-best)를 신뢰도와 함께 사용합니다.
+ * 한 번의 발화에서는 명령을 한 번만 알립니다.
+ *
+ * 연속 모드({@link #startContinuous()})에서는 인식이 끝날 때마다 {@link ContinuousListeningPolicy} 가 정한
+ * 간격 뒤에 인식기를 다시 시작하므로, 요리하는 동안 버튼을 누르지 않고 명령할 수 있습니다.
+ * 앱의 음성 안내가 재생되는 동안에는 안내를 명령으로 듣지 않도록 인식을 멈췄다가 안내가 끝나면 다시 듣습니다.
+ * 모든 메소드는 메인 스레드에서 호출해야 합니다.
  */
-public class VoiceCommandHandler implements RecognitionListener {
+public class VoiceCommandHandler implements RecognitionListener, TTSHandler.SpeakingListener {
 
     private static final String TAG = "VoiceCommandHandler";
     private final SpeechRecognizer speechRecognizer;
     private final Intent speechRecognizerIntent;
     private final VoiceCommandCallback callback;
+    private final VoiceCommandGrammar grammar = VoiceCommandGrammar.createDefault();
+
+    // 부분 결과에서는 1등 명령의 점수가 다른 명령보다 이 배수 이상 높아야 바로 실행합니다.
+    private static final double PARTIAL_MIN_RATIO = 2.0;
+    private static final double FINAL_MIN_RATIO = 1.0;
+    private static final int MAX_RESULTS = 5;
+    // 안내가 끝난 뒤 스피커의 잔향이 인식되지 않도록 잠시 기다립니다.
+    private static final long AFTER_SPEECH_DELAY_MS = 300L;
+    private static final String PREFS_NAME = "voice_listening";
+    private static final String PREF_LAST_SUMMARY = "last_summary";
+
+    // 이번 발화에서 이미 명령을 알렸는지 여부
+    private boolean commandFired = false;
+
+    // 연속 모드 상태
+    private final Context context;
+    private final TTSHandler ttsHandler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable restartRunnable = this::restartListening;
+    private final ContinuousListeningPolicy listeningPolicy = new ContinuousListeningPolicy();
+    private boolean continuous = false;
+    private boolean listening = false;
+    private boolean pausedForSpeech = false;
 
     /**
      * 명령어가 인식되었을 때 호출 컨텍스트(예: 액티비티)에 알리기 위한 콜백 인터페이스입니다.
@@ -28,9 +64,15 @@ public class VoiceCommandHandler implements RecognitionListener {
     public interface VoiceCommandCallback {
         /**
          * 지원되는 명령어가 감지되었을 때 호출됩니다.
-         * @param command 명령어를 나타내는 간단한 문자열 (예: "start", "cancel").
+         * @param command VoiceCommandGrammar.COMMAND_* 중 하나.
          */
         void onCommandReceived(String command);
+
+        /**
+         * 권한이 없는 등의 이유로 연속 모드가 스스로 꺼졌을 때 호출됩니다.
+         */
+        default void onContinuousListeningStopped() {
+        }
     }
 
     /**
@@ -40,6 +82,8 @@ public class VoiceCommandHandler implements RecognitionListener {
      */
     public VoiceCommandHandler(Context context, VoiceCommandCallback callback) {
         this.callback = callback;
+        this.context = context.getApplicationContext();
+        this.ttsHandler = TTSHandler.getInstance(context);
         speechRecognizer = SpeechRecognizer.createSpeechRecognizer(context);
         if (speechRecognizer != null) {
             speechRecognizer.setRecognitionListener(this);
@@ -48,6 +92,8 @@ public class VoiceCommandHandler implements RecognitionListener {
         speechRecognizerIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
         speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
         speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "ko-KR"); // 한국어 설정
+        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
+        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, MAX_RESULTS);
     }
 
     /**
@@ -56,10 +102,115 @@ public class VoiceCommandHandler implements RecognitionListener {
      */
     public void startListening() {
         if (speechRecognizer != null) {
+            commandFired = false;
+            listening = true;
+            if (continuous) {
+                listeningPolicy.onListeningStarted();
+            }
             speechRecognizer.startListening(speechRecognizerIntent);
         }
     }
 
+    /**
+     * 연속 모드를 켭니다. 인식이 끝날 때마다 자동으로 다시 듣습니다.
+     */
+    public void startContinuous() {
+        if (speechRecognizer == null || continuous) {
+            return;
+        }
+        continuous = true;
+        listeningPolicy.start(SystemClock.elapsedRealtime(), Process.getElapsedCpuTime());
+        ttsHandler.addSpeakingListener(this);
+        pausedForSpeech = ttsHandler.isSpeaking();
+        if (!pausedForSpeech && !listening) {
+            startListening();
+        }
+        Log.d(TAG, "연속 음성 명령 시작");
+    }
+
+    /**
+     * 연속 모드를 끄고 듣고 있던 인식을 취소합니다. 켜져 있던 동안의 사용량을 기록합니다.
+     */
+    public void stopContinuous() {
+        if (!continuous) {
+            return;
+        }
+        continuous = false;
+        pausedForSpeech = false;
+        mainHandler.removeCallbacks(restartRunnable);
+        ttsHandler.removeSpeakingListener(this);
+        cancelListening();
+        long now = SystemClock.elapsedRealtime();
+        long cpuTimeMs = Process.getElapsedCpuTime();
+        listeningPolicy.stop(now, cpuTimeMs);
+        String summary = listeningPolicy.summarize(now, cpuTimeMs);
+        Log.d(TAG, summary);
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .edit().putString(PREF_LAST_SUMMARY, summary).apply();
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * @return 마지막으로 끝난 연속 모드의 사용량 요약. 기록이 없으면 null
+     */
+    public static String getLastContinuousSummary(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).getString(PREF_LAST_SUMMARY, null);
+    }
+
+    private void cancelListening() {
+        if (speechRecognizer != null && listening) {
+            speechRecognizer.cancel();
+        }
+        listening = false;
+    }
+
+    /**
+     * 인식이 한 번 끝났을 때 연속 모드이면 정책이 정한 간격 뒤에 다시 듣도록 예약합니다.
+     */
+    private void onListeningEnded(int outcome) {
+        listening = false;
+        if (!continuous) {
+            return;
+        }
+        long delayMs = listeningPolicy.onSessionEnded(outcome);
+        if (delayMs == ContinuousListeningPolicy.STOP) {
+            Log.w(TAG, "음성 인식을 계속할 수 없어 연속 모드를 끕니다.");
+            stopContinuous();
+            callback.onContinuousListeningStopped();
+            return;
+        }
+        if (!pausedForSpeech) {
+            mainHandler.removeCallbacks(restartRunnable);
+            mainHandler.postDelayed(restartRunnable, delayMs);
+        }
+    }
+
+    private void restartListening() {
+        if (continuous && !pausedForSpeech && !listening) {
+            startListening();
+        }
+    }
+
+    /**
+     * 앱의 음성 안내가 시작되면 인식을 멈추고, 끝나면 잠시 뒤 다시 듣습니다.
+     */
+    @Override
+    public void onSpeakingChanged(boolean speaking) {
+        if (!continuous) {
+            return;
+        }
+        pausedForSpeech = speaking;
+        mainHandler.removeCallbacks(restartRunnable);
+        if (speaking) {
+            cancelListening();
+        } else {
+            mainHandler.postDelayed(restartRunnable, AFTER_SPEECH_DELAY_MS);
+        }
+    }
+
     /**
      * 음성 입력을 중지합니다.
      */
@@ -74,6 +225,7 @@ public class VoiceCommandHandler implements RecognitionListener {
      * 이 메소드는 호스팅하는 액티비티나 프래그먼트의 onDestroy()에서 호출되어야 합니다.
      */
     public void destroy() {
+        stopContinuous();
         if (speechRecognizer != null) {
             speechRecognizer.destroy();
         }
@@ -82,27 +234,53 @@ public class VoiceCommandHandler implements RecognitionListener {
     @Override
     public void onResults(Bundle results) {
         ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-        if (matches != null && !matches.isEmpty()) {
-            String bestMatch = matches.get(0).toLowerCase();
-            Log.d(TAG, "Recognized text: " + bestMatch);
-            // 간단한 명령어 분석. 실제 앱에서는 더 정교하게 만들 수 있습니다.
-            if (bestMatch.contains("시작")) {
-                callback.onCommandReceived("start");
-            } else if (bestMatch.contains("취소")) {
-                callback.onCommandReceived("cancel");
-            }
+        float[] confidences = results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES);
+        Log.d(TAG, "Recognized text: " + matches);
+        dispatch(grammar.bestCommand(matches, confidences, FINAL_MIN_RATIO), "final");
+        boolean heard = matches != null && !matches.isEmpty();
+        onListeningEnded(heard ? ContinuousListeningPolicy.OUTCOME_SPEECH : ContinuousListeningPolicy.OUTCOME_SILENCE);
+    }
+
+    @Override
+    public void onPartialResults(Bundle partialResults) {
+        if (commandFired) {
+            return;
+        }
+        ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+        if (dispatch(grammar.bestCommand(matches, null, PARTIAL_MIN_RATIO), "partial")) {
+            // 명령을 이미 알렸으므로 말이 끝나기를 기다리지 않고 인식을 마칩니다.
+            stopListening();
         }
     }
 
+    /**
+     * 이번 발화에서 아직 명령을 알리지 않았으면 명령을 알립니다.
+     * @return 명령을 알렸으면 true
+     */
+    private boolean dispatch(String command, String source) {
+        if (command == null || commandFired) {
+            return false;
+        }
+        commandFired = true;
+        Log.d(TAG, "명령 인식 (" + source + "): " + command);
+        callback.onCommandReceived(command);
+        return true;
+    }
+
     // 다른 RecognitionListener 메소드들은 디버깅과 완전성을 위해 구현되었습니다.
     @Override
     public void onReadyForSpeech(Bundle params) { Log.d(TAG, "onReadyForSpeech"); }
 
     @Override
-    public void onBeginningOfSpeech() { Log.d(TAG, "onBeginningOfSpeech"); }
+    public void onBeginningOfSpeech() {
+        Log.d(TAG, "onBeginningOfSpeech");
+        commandFired = false;
+    }
 
     @Override
-    public void onRmsChanged(float rmsdB) { /* 신경쓰지 않음 */ }
+    public void onRmsChanged(float rmsdB) {
+        listeningPolicy.onRmsChanged(rmsdB);
+    }
 
     @Override
     public void onBufferReceived(byte[] buffer) { /* 신경쓰지 않음 */ }
@@ -111,10 +289,22 @@ public class VoiceCommandHandler implements RecognitionListener {
     public void onEndOfSpeech() { Log.d(TAG, "onEndOfSpeech"); }
 
     @Override
-    public void onError(int error) { Log.e(TAG, "onError: " + error); }
+    public void onError(int error) {
+        Log.e(TAG, "onError: " + error);
+        onListeningEnded(outcomeOf(error));
+    }
 
-    @Override
-    public void onPartialResults(Bundle partialResults) { /* 신경쓰지 않음 */ }
+    private static int outcomeOf(int error) {
+        switch (error) {
+            case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
+            case SpeechRecognizer.ERROR_NO_MATCH:
+                return ContinuousListeningPolicy.OUTCOME_SILENCE;
+            case SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS:
+                return ContinuousListeningPolicy.OUTCOME_FATAL_ERROR;
+            default:
+                return ContinuousListeningPolicy.OUTCOME_TRANSIENT_ERROR;
+        }
+    }
 
     @Override
     public void onEvent(int eventType, Bundle params) { /* 신경쓰지 않음 */ }
@@ -6,6 +6,7 @@ package com.example.recipealarm.utils;
 public class Constants {
     // Intent Extras
     public static final String EXTRA_RECIPE_ID = "com.example.recipealarm.EXTRA_RECIPE_ID";
+    public static final String EXTRA_NAV_START_UPTIME_MS = "com.example.recipealarm.EXTRA_NAV_START_UPTIME_MS"; // 화면 이동을 시작한 SystemClock.uptimeMillis
     
     // TimerService Actions
     public static final String ACTION_START_TIMER = "com.example.recipealarm.ACTION_START_TIMER";
@@ -13,8 +14,10 @@ public class Constants {
     public static final String ACTION_PAUSE_TIMER = "com.example.recipealarm.ACTION_PAUSE_TIMER";
     public static final String ACTION_RESUME_TIMER = "com.example.recipealarm.ACTION_RESUME_TIMER";
     public static final String ACTION_NAVIGATE_STEP = "com.example.recipealarm.ACTION_NAVIGATE_STEP";
+    public static final String ACTION_START_MEAL_PLAN = "com.example.recipealarm.ACTION_START_MEAL_PLAN";
     public static final String ACTION_TIMER_UPDATE = "com.example.recipealarm.ACTION_TIMER_UPDATE";
     public static final String ACTION_TIMER_FINISH = "com.example.recipealarm.ACTION_TIMER_FINISH";
+    public static final String ACTION_TIMER_RESYNC = "com.example.recipealarm.ACTION_TIMER_RESYNC"; // 알람이 울린 뒤 서비스 상태를 맞춥니다
     
     // TimerService Extras
     public static final String EXTRA_STEP_DESCRIPTION = "EXTRA_STEP_DESCRIPTION";
@@ -25,6 +28,8 @@ public class Constants {
     public static final String EXTRA_STEP_DURATION_MS = "EXTRA_STEP_DURATION_MS";
     public static final String EXTRA_IS_PAUSED = "EXTRA_IS_PAUSED";
     public static final String EXTRA_NAVIGATE_DIRECTION = "EXTRA_NAVIGATE_DIRECTION"; // "prev" or "next"
+    public static final String EXTRA_MEAL_PLAN_RECIPES_JSON = "EXTRA_MEAL_PLAN_RECIPES_JSON"; // Recipe[] JSON
+    public static final String EXTRA_MEAL_FINISH_DELAY_MS = "EXTRA_MEAL_FINISH_DELAY_MS"; // 지금부터 목표 완성 시각까지
     
     private Constants() {
         // 인스턴스화 방지
@@ -0,0 +1,53 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * 레시피 목록의 변경분을 판단하는 RecipeDiffCallback 을 확인하는 테스트입니다.
+ */
+public class RecipeDiffCallbackTest {
+
+    private final RecipeDiffCallback callback = new RecipeDiffCallback();
+
+    private final Recipe ramen = new Recipe("id-ramen", "라면", Arrays.asList(
+            new RecipeStep("물 끓이기", 180),
+            new RecipeStep("면 넣기", 240)), false);
+
+    @Test
+    public void favoriteToggle_rebindsOnlyTheHeart() {
+        Recipe toggled = ramen.withFavorite(true);
+
+        assertTrue(callback.areItemsTheSame(ramen, toggled));
+        assertFalse(callback.areContentsTheSame(ramen, toggled));
+        assertSame(RecipeDiffCallback.PAYLOAD_FAVORITE, callback.getChangePayload(ramen, toggled));
+        // 표시 중인 객체는 바뀌지 않습니다.
+        assertFalse(ramen.isFavorite());
+    }
+
+    @Test
+    public void reloadedCopy_isUnchanged() {
+        Recipe reloaded = new Recipe("id-ramen", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180),
+                new RecipeStep("면 넣기", 240)), false);
+
+        assertTrue(callback.areItemsTheSame(ramen, reloaded));
+        assertTrue(callback.areContentsTheSame(ramen, reloaded));
+    }
+
+    @Test
+    public void summaryChange_rebindsWholeRow() {
+        Recipe renamed = new Recipe("id-ramen", "짜파게티", ramen.getSteps(), true);
+        Recipe shorter = new Recipe("id-ramen", "라면",
+                Collections.singletonList(new RecipeStep("물 끓이기", 180)), false);
+
+        assertFalse(callback.areContentsTheSame(ramen, renamed));
+        assertNull(callback.getChangePayload(ramen, renamed));
+        assertFalse(callback.areContentsTheSame(ramen, shorter));
+        assertFalse(callback.areItemsTheSame(ramen, new Recipe("id-other", "라면", ramen.getSteps(), false)));
+    }
+}
@@ -0,0 +1,59 @@
+import groovy.json.JsonSlurper
+
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// JMH benchmarks for the :core serialization, recipe list and timer hot paths.
+//   ./gradlew :benchmarks:jmh                        run everything
+//   ./gradlew :benchmarks:jmh -PjmhIncludes=Timer    run benchmarks whose name matches "Timer"
+// Results go to build/results/jmh/results.json (JMH JSON) and to a sorted
+// build/results/jmh/summary.tsv that is easy to diff between runs in review.
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    fork.set(2)
+    // The 100k-recipe JSON is about 48 MB as a string.
+    jvmArgs.add("-Xmx2g")
+    warmupIterations.set(3)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+val jmhSummary by tasks.registering {
+    description = "Writes the JMH results as a sorted TSV (benchmark, params, score, error, unit)."
+    val results = layout.buildDirectory.file("results/jmh/results.json")
+    val summary = layout.buildDirectory.file("results/jmh/summary.tsv")
+    inputs.file(results)
+    outputs.file(summary)
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        val runs = JsonSlurper().parse(results.get().asFile) as List<Map<String, Any?>>
+        val lines = runs.map { run ->
+            val params = (run["params"] as Map<String, Any?>?).orEmpty().toSortedMap()
+                .entries.joinToString(",") { "${it.key}=${it.value}" }
+            val metric = run["primaryMetric"] as Map<String, Any?>
+            listOf(run["benchmark"], params, metric["score"], metric["scoreError"], metric["scoreUnit"])
+                .joinToString("\t")
+        }.sorted()
+        summary.get().asFile.writeText(
+            (listOf("benchmark\tparams\tscore\terror\tunit") + lines).joinToString("\n", postfix = "\n"))
+    }
+}
+
+tasks.named("jmh") {
+    finalizedBy(jmhSummary)
+}
@@ -0,0 +1,48 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출시 빌드에서도 켜 두는 {@link MetricsRegistry} 의 기록 비용을 잽니다.
+ * 여러 스레드가 같은 메트릭에 동시에 기록하는 경우도 함께 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    private MetricsRegistry.Counter counter;
+    private MetricsRegistry.Histogram histogram;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry registry = new MetricsRegistry();
+        counter = registry.counter("bench.count");
+        histogram = registry.histogram("bench_us");
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void histogramRecordMicrosSince() {
+        histogram.recordMicrosSince(System.nanoTime() - 1_500_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void histogramRecordContended() {
+        histogram.recordMicrosSince(System.nanoTime() - 1_500_000);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReceiverWorkRunner#run} 가 호출 스레드(리시버의 메인 스레드)에서 쓰는 비용을 잽니다.
+ * 알람마다 메인 스레드에서 불리므로 작업을 넘기는 비용이 1ms 예산보다 훨씬 작은지 확인하는 용도입니다.
+ *
+ * 작업 스레드가 밀려 대기열이 끝없이 커지지 않도록, 끝나지 않은 작업이 {@link #MAX_IN_FLIGHT} 개를 넘으면
+ * 절반이 끝날 때까지 기다립니다. 작업은 비어 있으므로 보통은 기다리지 않습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReceiverWorkRunnerBenchmark {
+
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Runnable work = () -> { };
+    private final Runnable onFinished = inFlight::decrementAndGet;
+
+    private ExecutorService worker;
+    private ScheduledExecutorService watchdog;
+    private ReceiverWorkRunner runner;
+
+    @Setup
+    public void setUp() {
+        worker = Executors.newSingleThreadExecutor(ReceiverWorkRunner.daemonThreads("benchmark-worker"));
+        watchdog = ReceiverWorkRunner.newWatchdog();
+        runner = new ReceiverWorkRunner(worker, watchdog, ReceiverWorkRunner.DEFAULT_DEADLINE_MS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        worker.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    @Benchmark
+    public void run() {
+        if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+            while (inFlight.get() > MAX_IN_FLIGHT / 2) {
+                Thread.onSpinWait();
+            }
+        }
+        runner.run(work, onFinished);
+    }
+}
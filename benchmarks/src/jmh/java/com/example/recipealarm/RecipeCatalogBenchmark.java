@@ -0,0 +1,119 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecipeCatalog} 의 조회와 수정 비용을 레시피 수에 따라 잽니다.
+ *
+ * 저장소는 메모리에 있는 목록의 복사본을 바로 돌려주고 저장은 버리므로, 디스크와 JSON 비용
+ * ({@link RecipeJsonBenchmark} 참고)을 빼고 목록 규칙과 {@link RecipeSessionCache} 갱신만 측정합니다.
+ * 저장을 버리므로 반복해서 호출해도 목록 크기는 변하지 않습니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeCatalogBenchmark {
+
+    private static final int LOOKUP_COUNT = 1024;
+    private static final int FAVORITE_BATCH = 16;
+
+    @Param({"100", "10000", "100000"})
+    public int recipeCount;
+
+    private RecipeCatalog catalog;
+    private String[] lookupIds;
+    private Recipe[] updates;
+    private Map<String, Boolean> favorites;
+    private Recipe added;
+    private int next;
+
+    /** 읽을 때마다 목록의 복사본을 돌려주고, 저장은 버리는 저장소입니다. */
+    private static final class FixedStorage implements RecipeStorage {
+        private final List<Recipe> recipes;
+
+        FixedStorage(List<Recipe> recipes) {
+            this.recipes = recipes;
+        }
+
+        @Override
+        public CompletableFuture<List<Recipe>> getRecipes(CancellationToken token) {
+            return CompletableFuture.completedFuture(new ArrayList<>(recipes));
+        }
+
+        @Override
+        public CompletableFuture<Void> saveRecipes(List<Recipe> recipes) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        List<Recipe> recipes = RecipeFixtures.recipes(recipeCount);
+        catalog = new RecipeCatalog(new FixedStorage(recipes), new RecipeSessionCache(Runnable::run));
+        catalog.getRecipes(CancellationToken.NONE).join();
+
+        int[] indexes = RecipeFixtures.indexes(LOOKUP_COUNT, recipeCount);
+        lookupIds = new String[LOOKUP_COUNT];
+        updates = new Recipe[LOOKUP_COUNT];
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            Recipe recipe = recipes.get(indexes[i]);
+            lookupIds[i] = recipe.getId();
+            updates[i] = recipe.withFavorite(!recipe.isFavorite());
+        }
+        favorites = new HashMap<>();
+        for (int i = 0; i < FAVORITE_BATCH; i++) {
+            favorites.put(lookupIds[i], i % 2 == 0);
+        }
+        added = new Recipe("추가한 레시피", Collections.singletonList(new RecipeStep("끓이기", 60)));
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (LOOKUP_COUNT - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Recipe peekRecipe() {
+        return catalog.peekRecipe(lookupIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public Recipe getRecipeById() {
+        return catalog.getRecipeById(lookupIds[nextIndex()], CancellationToken.NONE).join();
+    }
+
+    @Benchmark
+    public Void addRecipe() {
+        return catalog.addRecipe(added).join();
+    }
+
+    @Benchmark
+    public Void updateRecipe() {
+        return catalog.updateRecipe(updates[nextIndex()]).join();
+    }
+
+    @Benchmark
+    public Void updateFavorites() {
+        return catalog.updateFavorites(favorites).join();
+    }
+
+    @Benchmark
+    public Void deleteRecipe() {
+        return catalog.deleteRecipe(lookupIds[nextIndex()]).join();
+    }
+}
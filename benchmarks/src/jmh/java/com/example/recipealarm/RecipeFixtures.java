@@ -0,0 +1,83 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 벤치마크에 쓸 레시피를 만듭니다. 같은 인자로 부르면 언제나 같은 레시피가 나오므로 실행 결과를 서로 비교할 수 있습니다.
+ *
+ * 단계 시간은 30초에서 30분 사이이며, 약 1/3 의 단계는 바로 앞 단계 대신 앞쪽의 다른 단계 한두 개를 선행 단계로 가져
+ * 실제 레시피처럼 병행 단계가 섞인 타임라인이 됩니다.
+ */
+final class RecipeFixtures {
+
+    private static final long SEED = 0x5EED_2024L;
+    private static final String[] VERBS = {"손질하기", "데치기", "볶기", "끓이기", "식히기", "양념하기", "굽기", "재우기"};
+    private static final String[] INGREDIENTS = {"양파", "대파", "돼지고기", "두부", "감자", "애호박", "김치", "계란"};
+
+    private RecipeFixtures() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * @return index 번째 레시피의 ID
+     */
+    static String idOf(int index) {
+        return String.format(Locale.ROOT, "recipe-%06d", index);
+    }
+
+    /**
+     * @param count 만들 레시피 수
+     * @return 단계가 3~12개인 레시피 목록. 수정할 수 있습니다.
+     */
+    static List<Recipe> recipes(int count) {
+        Random random = new Random(SEED);
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            recipes.add(recipe(random, i, 3 + random.nextInt(10)));
+        }
+        return recipes;
+    }
+
+    /**
+     * @param stepCount 단계 수
+     * @return 단계 수가 정해진 레시피 하나
+     */
+    static Recipe recipe(int stepCount) {
+        return recipe(new Random(SEED + stepCount), 0, stepCount);
+    }
+
+    /**
+     * @param count 고를 인덱스 수
+     * @param bound 인덱스의 상한 (포함하지 않음)
+     * @return 0 이상 bound 미만의 인덱스들
+     */
+    static int[] indexes(int count, int bound) {
+        Random random = new Random(SEED ^ bound);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = random.nextInt(bound);
+        }
+        return result;
+    }
+
+    private static Recipe recipe(Random random, int index, int stepCount) {
+        List<RecipeStep> steps = new ArrayList<>(stepCount);
+        for (int s = 0; s < stepCount; s++) {
+            String description = INGREDIENTS[random.nextInt(INGREDIENTS.length)] + " "
+                    + VERBS[random.nextInt(VERBS.length)];
+            int duration = 30 + random.nextInt(1771);
+            List<Integer> dependsOn = null;
+            if (s > 1 && random.nextInt(3) == 0) {
+                int first = random.nextInt(s);
+                int second = random.nextInt(s);
+                dependsOn = first == second ? Arrays.asList(first) : Arrays.asList(first, second);
+            }
+            steps.add(new RecipeStep(description, duration, dependsOn));
+        }
+        return new Recipe(idOf(index), "벤치마크 레시피 " + index, steps, index % 7 == 0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecipeJsonCodec} 의 비용을 잽니다.
+ * 목록 전체의 변환은 RecipeDataStore 가 읽고 쓸 때마다, 레시피 하나의 변환은 RecipeTimer 가 알람을 예약하고
+ * AlarmReceiver 와 TimerService 가 Intent 를 받을 때마다 실행됩니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeJsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ListState {
+        @Param({"100", "10000", "100000"})
+        public int recipeCount;
+
+        List<Recipe> recipes;
+        String json;
+
+        @Setup
+        public void setUp() {
+            recipes = RecipeFixtures.recipes(recipeCount);
+            json = RecipeJsonCodec.encode(recipes);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class IntentState {
+        @Param({"3", "12", "48"})
+        public int stepCount;
+
+        Recipe recipe;
+        String json;
+
+        @Setup
+        public void setUp() {
+            recipe = RecipeFixtures.recipe(stepCount);
+            json = RecipeJsonCodec.encodeRecipe(recipe);
+        }
+    }
+
+    @Benchmark
+    public String encodeList(ListState state) {
+        return RecipeJsonCodec.encode(state.recipes);
+    }
+
+    @Benchmark
+    public List<Recipe> decodeList(ListState state) {
+        return RecipeJsonCodec.decode(state.json);
+    }
+
+    @Benchmark
+    public String encodeRecipe(IntentState state) {
+        return RecipeJsonCodec.encodeRecipe(state.recipe);
+    }
+
+    @Benchmark
+    public Recipe decodeRecipe(IntentState state) {
+        return RecipeJsonCodec.decodeRecipe(state.json);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SpanTracer} 의 구간 기록 비용과, 가득 찬 버퍼를 Chrome trace JSON 으로 쓰는 비용을 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpanTracerBenchmark {
+
+    private SpanTracer tracer;
+    private SpanTracer disabledTracer;
+    private SpanTracer fullTracer;
+    private final StringBuilder out = new StringBuilder(256 * 1024);
+
+    @Setup
+    public void setUp() {
+        tracer = new SpanTracer(SpanTracer.DEFAULT_CAPACITY, System::nanoTime);
+        disabledTracer = new SpanTracer(SpanTracer.DEFAULT_CAPACITY, System::nanoTime);
+        disabledTracer.setEnabled(false);
+        fullTracer = new SpanTracer(SpanTracer.DEFAULT_CAPACITY, System::nanoTime);
+        for (int i = 0; i < SpanTracer.DEFAULT_CAPACITY; i++) {
+            fullTracer.end(fullTracer.begin("timer.tick"));
+        }
+    }
+
+    @Benchmark
+    public void beginEnd() {
+        tracer.end(tracer.begin("timer.tick"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void beginEndContended() {
+        tracer.end(tracer.begin("timer.tick"));
+    }
+
+    @Benchmark
+    public void beginEndDisabled() {
+        disabledTracer.end(disabledTracer.begin("timer.tick"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int writeFullRing() throws IOException {
+        out.setLength(0);
+        fullTracer.writeChromeTrace(out);
+        return out.length();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimerService 가 매 초 실행하는 경로를 잽니다. 남은 시간 글자 만들기, {@link TimerSession#tick(long)},
+ * 그리고 {@link StepSchedule} 의 타임라인 조회가 대상입니다.
+ * 단계 수에 따라 달라지는 조회는 단계 수별로 따로 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimerTickBenchmark {
+
+    // 서로소인 보폭으로 타임라인을 고르게 훑습니다. 1초 틱마다 조금씩 어긋나도록 1초보다 약간 깁니다.
+    private static final long STRIDE_MS = 1_009;
+
+    @State(Scope.Thread)
+    public static class FormatState {
+        final char[] buffer = new char[TimeFormatter.BUFFER_SIZE];
+        long millis;
+
+        long nextMillis() {
+            millis = (millis + STRIDE_MS) % (100 * 60 * 60 * 1000L);
+            return millis;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TimelineState {
+        @Param({"8", "64", "512"})
+        public int stepCount;
+
+        Recipe recipe;
+        StepSchedule schedule;
+        TimerSession session;
+        long elapsedMs;
+        long nowMs;
+
+        @Setup
+        public void setUp() {
+            recipe = RecipeFixtures.recipe(stepCount);
+            schedule = StepSchedule.of(recipe);
+            session = new TimerSession(recipe);
+            session.startAt(0, 0);
+        }
+
+        long nextElapsed() {
+            elapsedMs = (elapsedMs + STRIDE_MS) % schedule.getTotalMs();
+            return elapsedMs;
+        }
+    }
+
+    @Benchmark
+    public int formatInto(FormatState state) {
+        return TimeFormatter.formatInto(state.nextMillis(), state.buffer);
+    }
+
+    @Benchmark
+    public String format(FormatState state) {
+        return TimeFormatter.format(state.nextMillis());
+    }
+
+    /**
+     * 1초마다 한 번 틱하고, 단계가 끝나면 서비스처럼 다음 단계로 넘기며, 레시피가 끝나면 처음부터 다시 시작합니다.
+     */
+    @Benchmark
+    public int tick(TimelineState state) {
+        state.nowMs += 1_000;
+        TimerSession session = state.session;
+        int result = session.tick(state.nowMs);
+        if (result == TimerSession.TICK_FINISHED && session.advanceBoundary(state.nowMs)) {
+            session.startAt(0, state.nowMs);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public StepSchedule buildSchedule(TimelineState state) {
+        return StepSchedule.of(state.recipe);
+    }
+
+    @Benchmark
+    public int focusStepAt(TimelineState state) {
+        return state.schedule.focusStepAt(state.nextElapsed());
+    }
+
+    @Benchmark
+    public long nextEndAfter(TimelineState state) {
+        return state.schedule.nextEndAfter(state.nextElapsed());
+    }
+}
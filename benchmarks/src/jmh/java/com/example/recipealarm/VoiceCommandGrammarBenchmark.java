@@ -0,0 +1,50 @@
+package com.example.recipealarm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VoiceCommandGrammar} 가 인식 문장에서 명령을 찾는 비용을 잽니다.
+ * 부분 결과마다 불리므로 문장 하나의 매칭이 수십 마이크로초 안에 끝나는지 확인하는 용도입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VoiceCommandGrammarBenchmark {
+
+    private static final String[] SENTENCES = {
+            "지금 몇 분 남았는지 알려줘", "양파를 갈색이 될 때까지 볶다가 다음 단계로",
+            "잠깐만 기다려 줘", "물이 끓으면 면을 넣어요"
+    };
+
+    private VoiceCommandGrammar grammar;
+    private List<String> hypotheses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        grammar = VoiceCommandGrammar.createDefault();
+        hypotheses = Arrays.asList("다 은 단계", "다음 단계", "다음 단계요", "다음 단계로 가자", "다은 단계");
+    }
+
+    @Benchmark
+    public String match() {
+        String sentence = SENTENCES[next];
+        next = (next + 1) % SENTENCES.length;
+        return grammar.match(sentence);
+    }
+
+    @Benchmark
+    public String bestCommand() {
+        return grammar.bestCommand(hypotheses, null, 2.0);
+    }
+}
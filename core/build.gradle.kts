@@ -0,0 +1,16 @@
+plugins {
+    `java-library`
+}
+
+// Plain JVM module without Android dependencies: models, JSON codec, timer math and recipe list rules.
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    // Gson for JSON serialization
+    implementation("com.google.code.gson:gson:2.10.1")
+
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,52 @@
+package com.example.recipealarm;
+
+/**
+ * {@link AlarmPolicy} 가 고른 방법을 세는 카운터입니다. 요리 세션마다 하나씩 두어
+ * 세션당 깨우기 횟수를 비교하는 데 사용합니다. 메인 스레드에서만 사용합니다.
+ */
+public class AlarmDecisionCounter {
+
+    private final int[] counts = new int[AlarmPolicy.MECHANISM_COUNT];
+
+    public void record(int mechanism) {
+        counts[mechanism]++;
+    }
+
+    public int getCount(int mechanism) {
+        return counts[mechanism];
+    }
+
+    public int getTotalCount() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return 기기를 단독으로 깨운 횟수의 추정치
+     */
+    public int getDedicatedWakeups() {
+        int wakeups = 0;
+        for (int mechanism = 0; mechanism < counts.length; mechanism++) {
+            wakeups += counts[mechanism] * AlarmPolicy.dedicatedWakeupsFor(mechanism);
+        }
+        return wakeups;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int mechanism = 0; mechanism < counts.length; mechanism++) {
+            if (counts[mechanism] == 0) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(AlarmPolicy.nameOf(mechanism)).append('=').append(counts[mechanism]);
+        }
+        return builder.append(" (wakeups=").append(getDedicatedWakeups()).append(')').toString();
+    }
+}
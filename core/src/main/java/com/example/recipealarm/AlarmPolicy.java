@@ -0,0 +1,129 @@
+package com.example.recipealarm;
+
+/**
+ * 단계 종료 시각마다 정확도 목표를 지키면서 가장 적은 비용(기기 깨우기)으로 알리는 방법을 고르는 정책입니다.
+ *
+ * <ul>
+ *     <li>화면이 지켜보고 있어 포그라운드 서비스가 매 초 틱으로 단계 전환을 직접 처리하면 알람을 걸지 않습니다.</li>
+ *     <li>정확한 알람을 쓸 수 없으면 Doze 중에도 울리는 부정확한 알람(setAndAllowWhileIdle)으로 최선을 다합니다.
+ *     이때는 지연의 상한이 없으므로 정확도 목표를 지킨다고 볼 수 없습니다.</li>
+ *     <li>정확도 목표가 매우 엄격하면 Doze 중에도 제시간에 울리는 알람 시계(setAlarmClock)를 씁니다.</li>
+ *     <li>긴 단계는 먼저 다른 앱의 깨우기와 묶일 수 있는 시간 범위 알람(setWindow)을 걸고,
+ *     그 알람이 울리면 종료 시각에 정확한 알람으로 다시 겁니다.</li>
+ *     <li>그 밖에는 setExactAndAllowWhileIdle 로 한 번만 깨웁니다.</li>
+ * </ul>
+ *
+ * setWindow 는 allow-while-idle 이 아니어서 Doze 중에는 다음 유지보수 시간까지 미뤄질 수 있습니다.
+ * 그래서 기기가 Doze 상태이면 시간 범위 알람을 고르지 않고, 서비스는 Doze 에 들어갈 때 알람을 다시 예약합니다.
+ * Android 12 부터 시간 범위는 10분보다 짧을 수 없으므로 {@link #REARM_WINDOW_MS} 는 10분이고,
+ * 그 범위가 끝난 뒤에도 종료까지 {@link #REARM_LEAD_MS} 가 남도록 {@link #REARM_THRESHOLD_MS} 보다 긴 단계에만 씁니다.
+ *
+ * 안드로이드 API 를 사용하지 않으므로 JVM 테스트에서 그대로 검증할 수 있습니다.
+ */
+public class AlarmPolicy {
+
+    /** 알람 없이 포그라운드 서비스의 틱으로만 처리합니다. */
+    public static final int MECHANISM_FOREGROUND_ONLY = 0;
+    /** 종료 전에 시간 범위 알람으로 깨어나 종료 시각에 정확한 알람을 다시 겁니다. */
+    public static final int MECHANISM_WINDOWED_THEN_EXACT = 1;
+    /** setExactAndAllowWhileIdle */
+    public static final int MECHANISM_EXACT_ALLOW_WHILE_IDLE = 2;
+    /** setAlarmClock. Doze 를 해제하므로 가장 비쌉니다. */
+    public static final int MECHANISM_ALARM_CLOCK = 3;
+    /** 정확한 알람 권한이 없을 때의 setAndAllowWhileIdle. 지연의 상한이 없습니다. */
+    public static final int MECHANISM_INEXACT_ALLOW_WHILE_IDLE = 4;
+
+    public static final int MECHANISM_COUNT = 5;
+
+    /** 기본 정확도 목표. 단계 종료 안내가 이 시간보다 늦지 않아야 합니다. */
+    public static final long DEFAULT_ACCURACY_TARGET_MS = 5_000L;
+    /** 이보다 엄격한 정확도 목표는 알람 시계로만 지킬 수 있습니다 (Doze 중 allow-while-idle 알람은 미뤄질 수 있음). */
+    public static final long STRICT_ACCURACY_MS = 1_000L;
+    /** 시간 범위 알람의 길이. Android 12 부터 이보다 짧은 범위는 이 길이로 늘어납니다. */
+    public static final long REARM_WINDOW_MS = 10 * 60_000L;
+    /** 시간 범위가 끝난 뒤 종료 시각까지 남겨 두는 시간 */
+    public static final long REARM_LEAD_MS = 5 * 60_000L;
+    /** 이보다 긴 단계에만 시간 범위 알람 후 다시 거는 방식을 사용합니다. */
+    public static final long REARM_THRESHOLD_MS = 30 * 60_000L;
+
+    private final long accuracyTargetMs;
+
+    /**
+     * @param accuracyTargetMs 허용하는 최대 지연
+     */
+    public AlarmPolicy(long accuracyTargetMs) {
+        this.accuracyTargetMs = Math.max(0, accuracyTargetMs);
+    }
+
+    /**
+     * 단계 종료 시각 하나에 사용할 방법을 고릅니다.
+     * @param delayMs 지금부터 종료 시각까지 남은 시간
+     * @param exactAllowed 정확한 알람을 예약할 수 있는지 (Android 12 이상의 권한)
+     * @param foregroundDelivery 포그라운드 서비스가 실행 중이고 화면이 지켜보고 있어 단계 전환을 직접 처리하는지
+     * @param deviceIdle 기기가 지금 Doze 상태인지. 이때는 시간 범위 알람이 미뤄지므로 고르지 않습니다.
+     * @return MECHANISM_* 중 하나
+     */
+    public int choose(long delayMs, boolean exactAllowed, boolean foregroundDelivery, boolean deviceIdle) {
+        if (foregroundDelivery) {
+            return MECHANISM_FOREGROUND_ONLY;
+        }
+        if (!exactAllowed) {
+            return MECHANISM_INEXACT_ALLOW_WHILE_IDLE;
+        }
+        if (accuracyTargetMs < STRICT_ACCURACY_MS) {
+            return MECHANISM_ALARM_CLOCK;
+        }
+        if (delayMs > REARM_THRESHOLD_MS && !deviceIdle) {
+            return MECHANISM_WINDOWED_THEN_EXACT;
+        }
+        return MECHANISM_EXACT_ALLOW_WHILE_IDLE;
+    }
+
+    /**
+     * @return 다시 걸기 알람의 시간 범위가 시작되는 시각
+     */
+    public static long rearmWindowStartMs(long deadlineMs) {
+        return deadlineMs - REARM_LEAD_MS - REARM_WINDOW_MS;
+    }
+
+    public long getAccuracyTargetMs() {
+        return accuracyTargetMs;
+    }
+
+    /**
+     * 방법 하나가 기기를 단독으로 깨우는 횟수의 추정치입니다.
+     * 시간 범위 알람은 다른 깨우기와 묶일 수 있으므로 다시 건 정확한 알람만 셉니다.
+     * 부정확한 알람도 Doze 중에는 혼자 기기를 깨우므로 한 번으로 셉니다.
+     */
+    public static int dedicatedWakeupsFor(int mechanism) {
+        switch (mechanism) {
+            case MECHANISM_WINDOWED_THEN_EXACT:
+            case MECHANISM_EXACT_ALLOW_WHILE_IDLE:
+            case MECHANISM_ALARM_CLOCK:
+            case MECHANISM_INEXACT_ALLOW_WHILE_IDLE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return 통계와 로그에 표시할 이름
+     */
+    public static String nameOf(int mechanism) {
+        switch (mechanism) {
+            case MECHANISM_FOREGROUND_ONLY:
+                return "foreground_only";
+            case MECHANISM_WINDOWED_THEN_EXACT:
+                return "windowed_then_exact";
+            case MECHANISM_EXACT_ALLOW_WHILE_IDLE:
+                return "exact_allow_while_idle";
+            case MECHANISM_ALARM_CLOCK:
+                return "alarm_clock";
+            case MECHANISM_INEXACT_ALLOW_WHILE_IDLE:
+                return "inexact_allow_while_idle";
+            default:
+                return "unknown";
+        }
+    }
+}
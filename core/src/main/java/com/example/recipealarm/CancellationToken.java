@@ -0,0 +1,101 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * 화면이 끝나면 그 화면이 시작한 작업을 멈추기 위한 취소 신호입니다.
+ *
+ * 저장소는 대기열에 있지만 아직 시작하지 않은 읽기를 취소된 토큰이면 건너뛰고,
+ * {@link #deliver} 는 취소된 뒤에 끝난 결과를 화면에 전달하지 않습니다.
+ * 한 번 취소된 토큰은 되돌릴 수 없습니다. 안드로이드 API 를 사용하지 않으며, 어느 스레드에서나 호출할 수 있습니다.
+ */
+public class CancellationToken {
+
+    /** 취소되지 않는 토큰. 화면과 상관없는 작업에 사용합니다. */
+    public static final CancellationToken NONE = new CancellationToken() {
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("NONE 토큰은 취소할 수 없습니다.");
+        }
+    };
+
+    private final List<Runnable> listeners = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 토큰을 취소하고 등록된 리스너를 호출한 스레드에서 실행합니다. 이미 취소되었으면 아무것도 하지 않습니다.
+     */
+    public void cancel() {
+        List<Runnable> toRun;
+        synchronized (listeners) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (Runnable listener : toRun) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 취소될 때 실행할 리스너를 등록합니다. 이미 취소되었으면 바로 실행합니다.
+     * @return 작업이 끝나 더 이상 필요 없을 때 리스너를 해제하는 Runnable
+     */
+    public Runnable onCancel(Runnable listener) {
+        synchronized (listeners) {
+            if (!cancelled) {
+                listeners.add(listener);
+                return () -> {
+                    synchronized (listeners) {
+                        listeners.remove(listener);
+                    }
+                };
+            }
+        }
+        listener.run();
+        return () -> { };
+    }
+
+    /**
+     * @throws CancellationException 취소되었을 때
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * 작업이 끝나면 결과를 주어진 실행기에서 전달합니다. 전달하는 시점에 취소되어 있으면 전달하지 않습니다.
+     * 콜백이 받는 오류는 CompletionException 을 벗긴 원래의 예외입니다.
+     * @param executor 결과를 전달할 실행기. 화면에는 메인 스레드 실행기를 사용합니다.
+     */
+    public <T> void deliver(CompletableFuture<T> future, Executor executor, BiConsumer<? super T, Throwable> callback) {
+        future.whenCompleteAsync((result, throwable) -> {
+            if (cancelled) {
+                return;
+            }
+            callback.accept(result, unwrap(throwable));
+        }, executor);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.recipealarm;
+
+import java.util.Locale;
+
+/**
+ * 연속 음성 명령 모드에서 인식기를 언제 다시 시작할지 정하고, 사용량을 기록하는 정책입니다.
+ *
+ * 인식기는 한 번의 발화가 끝나거나 조용한 상태로 시간이 지나면 멈추므로 계속 다시 시작해야 합니다.
+ * 인식 중에 onRmsChanged 로 받은 음량이 한 번도 기준을 넘지 않았다면 주방이 조용하다는 뜻이므로,
+ * 연속으로 조용했던 횟수만큼 재시작 간격을 두 배씩 늘려 인식기를 쓸데없이 돌리지 않습니다.
+ * 말소리가 들렸거나 명령을 인식했으면 간격을 초기화합니다. 오류는 종류에 따라 간격을 늘리거나 모드를 멈춥니다.
+ *
+ * 모드가 켜져 있던 시간, 그동안 쓴 CPU 시간, 인식기 재시작 횟수를 기록해 시간당 값으로 보고합니다.
+ * 안드로이드 API 를 사용하지 않으며, 메인 스레드에서만 사용합니다.
+ */
+public class ContinuousListeningPolicy {
+
+    /** 명령을 인식했거나 말소리가 들린 채로 끝났습니다. */
+    public static final int OUTCOME_SPEECH = 0;
+    /** 아무 말도 들리지 않은 채로 끝났습니다 (ERROR_SPEECH_TIMEOUT, ERROR_NO_MATCH). */
+    public static final int OUTCOME_SILENCE = 1;
+    /** 일시적인 오류입니다 (인식기 사용 중, 네트워크, 클라이언트 오류 등). */
+    public static final int OUTCOME_TRANSIENT_ERROR = 2;
+    /** 다시 시작해도 소용없는 오류입니다 (권한 없음 등). */
+    public static final int OUTCOME_FATAL_ERROR = 3;
+
+    /** 다시 시작하지 않아야 할 때 {@link #onSessionEnded(int)} 가 반환하는 값 */
+    public static final long STOP = -1;
+
+    static final long RESTART_DELAY_MS = 150L;
+    static final long SILENCE_BASE_DELAY_MS = 1_000L;
+    static final long ERROR_BASE_DELAY_MS = 500L;
+    /** 조용한 동안에도 이 시간보다 오래 듣지 않는 일은 없도록 합니다. */
+    static final long MAX_DELAY_MS = 8_000L;
+    /** 말소리로 볼 음량 (onRmsChanged 의 dB 값) */
+    static final float SPEECH_RMS_DB = 4.0f;
+
+    private boolean heardSpeech;
+    private int consecutiveSilences;
+    private int consecutiveErrors;
+
+    private boolean active;
+    private long activeSinceMs;
+    private long cpuSinceMs;
+    private long activeMs;
+    private long cpuMs;
+    private int restartCount;
+    private int errorCount;
+
+    /**
+     * 연속 모드를 켭니다.
+     * @param nowMs 현재 시각
+     * @param cpuTimeMs 프로세스가 지금까지 사용한 CPU 시간 (Process.getElapsedCpuTime)
+     */
+    public void start(long nowMs, long cpuTimeMs) {
+        if (active) {
+            return;
+        }
+        active = true;
+        activeSinceMs = nowMs;
+        cpuSinceMs = cpuTimeMs;
+        consecutiveSilences = 0;
+        consecutiveErrors = 0;
+    }
+
+    /**
+     * 연속 모드를 끄고 켜져 있던 동안의 시간을 누적합니다.
+     */
+    public void stop(long nowMs, long cpuTimeMs) {
+        if (!active) {
+            return;
+        }
+        active = false;
+        activeMs += nowMs - activeSinceMs;
+        cpuMs += cpuTimeMs - cpuSinceMs;
+    }
+
+    /**
+     * 인식기를 (다시) 시작할 때 호출합니다.
+     */
+    public void onListeningStarted() {
+        heardSpeech = false;
+        restartCount++;
+    }
+
+    /**
+     * 인식 중 음량이 바뀔 때 호출합니다. 객체를 할당하지 않습니다.
+     */
+    public void onRmsChanged(float rmsDb) {
+        if (rmsDb >= SPEECH_RMS_DB) {
+            heardSpeech = true;
+        }
+    }
+
+    /**
+     * 인식이 한 번 끝났을 때 호출합니다.
+     * @param outcome OUTCOME_* 중 하나
+     * @return 인식기를 다시 시작하기까지 기다릴 시간. 다시 시작하지 않아야 하면 {@link #STOP}
+     */
+    public long onSessionEnded(int outcome) {
+        if (outcome == OUTCOME_SILENCE && heardSpeech) {
+            // 말소리는 들렸지만 명령이 아니었습니다. 이어서 말할 수 있으므로 바로 다시 듣습니다.
+            outcome = OUTCOME_SPEECH;
+        }
+        switch (outcome) {
+            case OUTCOME_SPEECH:
+                consecutiveSilences = 0;
+                consecutiveErrors = 0;
+                return RESTART_DELAY_MS;
+            case OUTCOME_SILENCE:
+                consecutiveErrors = 0;
+                return backoff(SILENCE_BASE_DELAY_MS, ++consecutiveSilences);
+            case OUTCOME_TRANSIENT_ERROR:
+                errorCount++;
+                return backoff(ERROR_BASE_DELAY_MS, ++consecutiveErrors);
+            default:
+                errorCount++;
+                return STOP;
+        }
+    }
+
+    private static long backoff(long baseMs, int attempt) {
+        int shift = Math.min(attempt - 1, 16);
+        return Math.min(MAX_DELAY_MS, baseMs << shift);
+    }
+
+    public int getRestartCount() {
+        return restartCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return 연속 모드가 켜져 있던 시간. 켜져 있는 중이면 지금까지의 시간을 포함합니다.
+     */
+    public long getActiveMs(long nowMs) {
+        return activeMs + (active ? nowMs - activeSinceMs : 0);
+    }
+
+    /**
+     * @return 켜져 있던 1시간당 인식기 재시작 횟수
+     */
+    public double getRestartsPerHour(long nowMs) {
+        return perHour(restartCount, getActiveMs(nowMs));
+    }
+
+    /**
+     * @return 켜져 있던 1시간당 프로세스 CPU 시간(ms)
+     */
+    public double getCpuMsPerHour(long nowMs, long cpuTimeMs) {
+        long cpu = cpuMs + (active ? cpuTimeMs - cpuSinceMs : 0);
+        return perHour(cpu, getActiveMs(nowMs));
+    }
+
+    private static double perHour(double value, long activeMs) {
+        return activeMs > 0 ? value * 3_600_000.0 / activeMs : 0;
+    }
+
+    /**
+     * 로그와 디버그 화면에 표시할 요약 문자열을 만듭니다.
+     */
+    public String summarize(long nowMs, long cpuTimeMs) {
+        return String.format(Locale.US, "연속 음성 명령\n  켜진 시간=%ds  재시작=%d (%.0f/h)  오류=%d  CPU=%.0fms/h",
+                getActiveMs(nowMs) / 1000, restartCount, getRestartsPerHour(nowMs), errorCount,
+                getCpuMsPerHour(nowMs, cpuTimeMs));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 화면에 먼저 반영한 즐겨찾기 변경을 저장소에 모아서 쓰기 위한 대기열입니다.
+ *
+ * 레시피마다 마지막으로 저장된 값(confirmed)과 사용자가 원하는 값(desired)만 기억하므로,
+ * 같은 레시피를 여러 번 눌러도 쓰기는 마지막 값으로 한 번만 일어나고, 원래 값으로 돌아왔다면 쓰지 않습니다.
+ * 한 번에 하나의 묶음만 쓰며, 쓰는 동안 들어온 변경은 다음 묶음으로 넘깁니다.
+ * 쓰기가 실패하면 해당 레시피들을 마지막으로 저장된 값으로 되돌리도록 알려줍니다.
+ * 안드로이드 API 를 사용하지 않으며, 메인 스레드에서만 사용합니다.
+ */
+public class FavoriteWriteQueue {
+
+    private static final class Entry {
+        boolean confirmed;
+        boolean desired;
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private Map<String, Boolean> inFlightBatch;
+    private int writeCount;
+    private int coalescedCount;
+
+    /**
+     * 화면에서 즐겨찾기를 바꿨을 때 호출합니다.
+     * @param recipeId 레시피 ID
+     * @param previous 바꾸기 전 화면에 표시되던 값
+     * @param desired 새 값
+     * @return 대기 중인 쓰기가 없던 상태에서 처음 들어온 변경이면 true. 이때 쓰기를 예약합니다.
+     */
+    public boolean offer(String recipeId, boolean previous, boolean desired) {
+        Entry entry = entries.get(recipeId);
+        if (entry != null) {
+            entry.desired = desired;
+            coalescedCount++;
+            return false;
+        }
+        entry = new Entry();
+        entry.confirmed = previous;
+        entry.desired = desired;
+        entries.put(recipeId, entry);
+        return inFlightBatch == null;
+    }
+
+    /**
+     * 저장할 변경을 한 묶음으로 꺼냅니다. 원래 값으로 돌아온 레시피는 쓰지 않고 대기열에서 뺍니다.
+     * @return 레시피 ID 와 저장할 값. 쓰는 중인 묶음이 있거나 쓸 것이 없으면 빈 맵
+     */
+    public Map<String, Boolean> drain() {
+        Map<String, Boolean> batch = new LinkedHashMap<>();
+        if (inFlightBatch != null) {
+            return batch;
+        }
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            Entry entry = e.getValue();
+            if (entry.desired == entry.confirmed) {
+                it.remove();
+                coalescedCount++;
+                continue;
+            }
+            batch.put(e.getKey(), entry.desired);
+        }
+        if (!batch.isEmpty()) {
+            inFlightBatch = batch;
+            writeCount++;
+        }
+        return batch;
+    }
+
+    /**
+     * {@link #drain()} 으로 꺼낸 묶음이 저장되었을 때 호출합니다.
+     * @return 쓰는 동안 새 변경이 들어와 다시 쓰기를 예약해야 하면 true
+     */
+    public boolean onWriteSucceeded() {
+        if (inFlightBatch == null) {
+            return false;
+        }
+        for (Map.Entry<String, Boolean> written : inFlightBatch.entrySet()) {
+            Entry entry = entries.get(written.getKey());
+            if (entry == null) {
+                continue;
+            }
+            entry.confirmed = written.getValue();
+            if (entry.desired == entry.confirmed) {
+                entries.remove(written.getKey());
+            }
+        }
+        inFlightBatch = null;
+        return !entries.isEmpty();
+    }
+
+    /**
+     * {@link #drain()} 으로 꺼낸 묶음을 저장하지 못했을 때 호출합니다.
+     * 묶음에 포함된 레시피는 쓰는 동안 다시 바뀌었더라도 마지막으로 저장된 값으로 되돌립니다.
+     * @return 되돌릴 레시피 ID 와 값
+     */
+    public Map<String, Boolean> onWriteFailed() {
+        Map<String, Boolean> rollback = new LinkedHashMap<>();
+        if (inFlightBatch == null) {
+            return rollback;
+        }
+        for (String recipeId : inFlightBatch.keySet()) {
+            Entry entry = entries.remove(recipeId);
+            if (entry != null) {
+                rollback.put(recipeId, entry.confirmed);
+            }
+        }
+        inFlightBatch = null;
+        return rollback;
+    }
+
+    /**
+     * 저장소에서 다시 불러온 목록에 아직 저장되지 않은 변경을 덮어씁니다.
+     * @param recipes 저장소에서 불러온 목록
+     * @return 대기 중인 변경이 없으면 같은 목록, 있으면 해당 레시피를 바꾼 새 목록
+     */
+    public List<Recipe> applyPending(List<Recipe> recipes) {
+        if (entries.isEmpty()) {
+            return recipes;
+        }
+        List<Recipe> result = new ArrayList<>(recipes.size());
+        for (Recipe recipe : recipes) {
+            Entry entry = entries.get(recipe.getId());
+            result.add(entry != null && entry.desired != recipe.isFavorite()
+                    ? recipe.withFavorite(entry.desired) : recipe);
+        }
+        return result;
+    }
+
+    /**
+     * @return 저장을 기다리는 변경이 있으면 그 값, 없으면 fallback
+     */
+    public boolean currentValue(String recipeId, boolean fallback) {
+        Entry entry = entries.get(recipeId);
+        return entry != null ? entry.desired : fallback;
+    }
+
+    /**
+     * @return 저장되지 않은 변경이 있거나 쓰는 중이면 true
+     */
+    public boolean hasPending() {
+        return !entries.isEmpty();
+    }
+
+    /**
+     * @return 저장소에 실제로 쓴 묶음 수
+     */
+    public int getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * @return 다른 변경에 합쳐지거나 원래 값으로 돌아와 따로 쓰지 않은 변경 수
+     */
+    public int getCoalescedCount() {
+        return coalescedCount;
+    }
+}
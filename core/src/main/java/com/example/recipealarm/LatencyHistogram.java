@@ -0,0 +1,167 @@
+package com.example.recipealarm;
+
+/**
+ * 알람 지연(ms)처럼 범위가 넓은 값의 분포를 작은 고정 크기로 기록하는 HDR 방식의 히스토그램입니다.
+ *
+ * 0~31ms 는 1ms 단위로, 그 위로는 2의 거듭제곱 구간마다 16개씩의 버킷으로 나누어 기록하므로
+ * 어느 값이든 상대 오차가 1/16(약 6%) 이내입니다. 약 24일까지의 값을 448개의 버킷으로 표현합니다.
+ * 백분위 값은 해당 버킷에 속하는 가장 큰 값으로 보고합니다.
+ *
+ * 기기에 저장할 수 있도록 0이 아닌 버킷만 "인덱스:개수" 형식의 문자열로 변환합니다.
+ * 동기화하지 않으므로 호출자가 동기화해야 합니다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+    /** 기록할 수 있는 가장 큰 값. 이보다 큰 값은 이 값으로 기록됩니다. */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 31) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+    private long negativeCount;
+
+    /**
+     * 값을 기록합니다. 음수(예정보다 이른 알람)는 0 으로 기록하고 따로 개수를 셉니다.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            negativeCount++;
+            value = 0;
+        }
+        value = Math.min(value, MAX_TRACKABLE_VALUE);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * 버킷별 개수로 히스토그램을 만듭니다. {@link MetricsRegistry} 가 동시에 기록한 값의 스냅숏을 만들 때 사용합니다.
+     * @param counts 길이가 {@link #BUCKET_COUNT} 인 버킷별 개수
+     */
+    static LatencyHistogram of(long[] counts, long maxValue, long negativeCount) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            histogram.counts[i] = counts[i];
+            histogram.totalCount += counts[i];
+        }
+        histogram.maxValue = maxValue;
+        histogram.negativeCount = negativeCount;
+        return histogram;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >> shift) - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * @return 버킷에 속하는 가장 큰 값
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @param percentile 0~100 사이의 백분위
+     * @return 기록된 값 중 해당 백분위의 값. 기록이 없으면 0
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0, Math.min(100, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @return 예정보다 일찍 기록된 값의 개수
+     */
+    public long getNegativeCount() {
+        return negativeCount;
+    }
+
+    /**
+     * 저장용 문자열로 변환합니다. 형식: "max;negative;index:count,index:count,..."
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder().append(maxValue).append(';').append(negativeCount).append(';');
+        boolean first = true;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (!first) {
+                builder.append(',');
+            }
+            builder.append(i).append(':').append(counts[i]);
+            first = false;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * {@link #encode()} 로 만든 문자열에서 히스토그램을 복원합니다.
+     * @return 복원된 히스토그램. 문자열이 비었거나 형식이 잘못되었으면 빈 히스토그램
+     */
+    public static LatencyHistogram decode(String encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (encoded == null || encoded.isEmpty()) {
+            return histogram;
+        }
+        try {
+            String[] parts = encoded.split(";", -1);
+            if (parts.length != 3) {
+                return histogram;
+            }
+            long maxValue = Long.parseLong(parts[0]);
+            long negativeCount = Long.parseLong(parts[1]);
+            if (!parts[2].isEmpty()) {
+                for (String entry : parts[2].split(",")) {
+                    int separator = entry.indexOf(':');
+                    int index = Integer.parseInt(entry.substring(0, separator));
+                    long count = Long.parseLong(entry.substring(separator + 1));
+                    if (index < 0 || index >= BUCKET_COUNT || count < 0) {
+                        return new LatencyHistogram();
+                    }
+                    histogram.counts[index] += count;
+                    histogram.totalCount += count;
+                }
+            }
+            histogram.maxValue = maxValue;
+            histogram.negativeCount = negativeCount;
+            return histogram;
+        } catch (RuntimeException e) {
+            return new LatencyHistogram();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 여러 레시피가 같은 시각에 완성되도록 시작 시각을 역산한 식사 계획입니다.
+ *
+ * 각 레시피의 완성까지 걸리는 시간은 {@link StepSchedule} 의 전체 시간(병행 단계 반영)을 사용하며,
+ * 시작 시각 = 공통 완성 시각 - 전체 시간 입니다. 목표 시각까지 시간이 부족하면
+ * 가장 오래 걸리는 레시피가 지금 바로 시작하도록 공통 완성 시각을 늦춥니다.
+ *
+ * 시간은 모두 호출자가 넘겨주는 단조 증가 시계(SystemClock.elapsedRealtime 등) 기준입니다.
+ * 메인 스레드에서만 접근하도록 설계되었습니다.
+ */
+public class MealPlan {
+
+    /**
+     * 계획에 포함된 레시피 하나입니다.
+     */
+    public static final class Entry {
+        private final Recipe recipe;
+        private final StepSchedule schedule;
+        private long startMs;
+        private boolean started;
+
+        Entry(Recipe recipe, StepSchedule schedule) {
+            this.recipe = recipe;
+            this.schedule = schedule;
+        }
+
+        public Recipe getRecipe() {
+            return recipe;
+        }
+
+        public StepSchedule getSchedule() {
+            return schedule;
+        }
+
+        /**
+         * @return 레시피를 시작할 시각
+         */
+        public long getStartMs() {
+            return startMs;
+        }
+
+        /**
+         * @return 단계를 시작할 시각
+         */
+        public long getStepStartMs(int stepIndex) {
+            return startMs + schedule.getStartMs(stepIndex);
+        }
+
+        public long getTotalMs() {
+            return schedule.getTotalMs();
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+    }
+
+    private final List<Entry> entries;
+    private final long targetFinishMs;
+    private long finishMs;
+
+    private MealPlan(List<Entry> entries, long targetFinishMs) {
+        this.entries = entries;
+        this.targetFinishMs = targetFinishMs;
+    }
+
+    /**
+     * 레시피들이 목표 시각에 함께 완성되도록 계획을 만듭니다.
+     * @param recipes 함께 완성할 레시피들
+     * @param nowMs 현재 시각
+     * @param targetFinishMs 목표 완성 시각
+     * @throws IllegalArgumentException 레시피가 없거나 단계의 선행 관계가 잘못된 경우
+     */
+    public static MealPlan create(List<Recipe> recipes, long nowMs, long targetFinishMs) {
+        if (recipes == null || recipes.isEmpty()) {
+            throw new IllegalArgumentException("계획할 레시피가 없습니다.");
+        }
+        List<Entry> entries = new ArrayList<>(recipes.size());
+        long longestMs = 0;
+        for (Recipe recipe : recipes) {
+            Entry entry = new Entry(recipe, StepSchedule.of(recipe));
+            entries.add(entry);
+            longestMs = Math.max(longestMs, entry.getTotalMs());
+        }
+        MealPlan plan = new MealPlan(entries, targetFinishMs);
+        plan.finishMs = Math.max(targetFinishMs, nowMs + longestMs);
+        plan.updateStarts();
+        return plan;
+    }
+
+    /**
+     * 공통 완성 시각을 늦추고 아직 시작하지 않은 레시피의 시작 시각을 다시 계산합니다.
+     * 이미 시작한 레시피가 일시정지되어 늦어졌을 때 나머지 레시피를 맞추는 데 사용합니다.
+     * @param finishMs 새 완성 시각. 현재 완성 시각보다 이르면 무시됩니다.
+     * @return 완성 시각이 바뀌었으면 true
+     */
+    public boolean delayFinish(long finishMs) {
+        if (finishMs <= this.finishMs) {
+            return false;
+        }
+        this.finishMs = finishMs;
+        updateStarts();
+        return true;
+    }
+
+    private void updateStarts() {
+        for (Entry entry : entries) {
+            if (!entry.started) {
+                entry.startMs = finishMs - entry.getTotalMs();
+            }
+        }
+    }
+
+    /**
+     * 레시피가 시작되었음을 기록합니다. 이후 완성 시각이 바뀌어도 시작 시각은 그대로 유지됩니다.
+     */
+    public void markStarted(Entry entry, long startMs) {
+        entry.started = true;
+        entry.startMs = startMs;
+    }
+
+    /**
+     * 아직 시작하지 않은 레시피를 계획에서 뺍니다. 완성 시각은 그대로 유지됩니다.
+     * @return 항목을 뺐으면 true
+     */
+    public boolean removePending(String recipeId) {
+        Entry entry = find(recipeId);
+        return entry != null && !entry.started && entries.remove(entry);
+    }
+
+    /**
+     * @return 레시피 ID 에 해당하는 항목. 계획에 없으면 null
+     */
+    public Entry find(String recipeId) {
+        for (Entry entry : entries) {
+            if (entry.recipe.getId().equals(recipeId)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 아직 시작하지 않은 레시피가 있으면 true
+     */
+    public boolean hasPendingStarts() {
+        for (Entry entry : entries) {
+            if (!entry.started) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public long getFinishMs() {
+        return finishMs;
+    }
+
+    public long getTargetFinishMs() {
+        return targetFinishMs;
+    }
+
+    /**
+     * @return 목표 시각까지 시간이 부족해 완성 시각이 늦춰졌으면 true
+     */
+    public boolean isLate() {
+        return finishMs > targetFinishMs;
+    }
+}
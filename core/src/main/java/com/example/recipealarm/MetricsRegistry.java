@@ -0,0 +1,225 @@
+package com.example.recipealarm;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 자주 실행되는 경로의 횟수와 소요 시간을 모으는 메트릭 저장소입니다.
+ *
+ * 카운터, 게이지, 고정 버킷 히스토그램을 이름으로 한 번 얻어 필드에 보관해 두고, 기록할 때는 잠금 없이
+ * 원자적 연산만 사용하므로 출시 빌드에서도 켜 둘 수 있습니다. 히스토그램은 {@link LatencyHistogram} 과 같은 버킷을 쓰며,
+ * 단위는 이름 끝에 붙입니다 (예: "_us", "_ms", "_chars").
+ * 모은 값은 디버그 화면용 {@link #summarize()} 와, 파일에 이어 쓰는 한 줄에 하나씩의 {@link #dump} 형식으로 꺼냅니다.
+ * 안드로이드 API 를 사용하지 않으며, 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class MetricsRegistry {
+
+    private static volatile MetricsRegistry INSTANCE;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * MetricsRegistry 의 싱글톤 인스턴스를 가져옵니다.
+     */
+    public static MetricsRegistry getInstance() {
+        if (INSTANCE == null) {
+            synchronized (MetricsRegistry.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MetricsRegistry();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 늘어나기만 하는 횟수입니다.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * 마지막으로 설정한 값을 보관합니다.
+     */
+    public static final class Gauge {
+        private final AtomicLong value = new AtomicLong();
+
+        public void set(long newValue) {
+            value.set(newValue);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+
+    /**
+     * 값의 분포를 {@link LatencyHistogram} 과 같은 고정 버킷에 잠금 없이 기록합니다.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+        private final AtomicLong maxValue = new AtomicLong();
+        private final AtomicLong negativeCount = new AtomicLong();
+
+        /**
+         * 값을 기록합니다. 음수는 0 으로 기록하고 따로 개수를 셉니다.
+         */
+        public void record(long value) {
+            if (value < 0) {
+                negativeCount.incrementAndGet();
+                value = 0;
+            }
+            value = Math.min(value, LatencyHistogram.MAX_TRACKABLE_VALUE);
+            counts.incrementAndGet(LatencyHistogram.bucketIndex(value));
+            long max = maxValue.get();
+            while (value > max && !maxValue.compareAndSet(max, value)) {
+                max = maxValue.get();
+            }
+        }
+
+        /**
+         * System.nanoTime() 으로 잰 시작 시각부터 지금까지의 시간을 마이크로초로 기록합니다.
+         * @param startNanos 작업을 시작할 때의 System.nanoTime()
+         */
+        public void recordMicrosSince(long startNanos) {
+            record((System.nanoTime() - startNanos) / 1000);
+        }
+
+        /**
+         * @return 지금까지 기록한 값의 복사본. 기록 중에 만들면 일부 값이 빠질 수 있습니다.
+         */
+        public LatencyHistogram snapshot() {
+            long[] copy = new long[LatencyHistogram.BUCKET_COUNT];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = counts.get(i);
+            }
+            return LatencyHistogram.of(copy, maxValue.get(), negativeCount.get());
+        }
+
+        void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            maxValue.set(0);
+            negativeCount.set(0);
+        }
+    }
+
+    /**
+     * @param name 메트릭 이름 (예: "datastore.load.errors")
+     * @return 이름에 해당하는 카운터. 처음 부르면 만듭니다.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * @param name 메트릭 이름 (예: "timer.active_sessions")
+     * @return 이름에 해당하는 게이지. 처음 부르면 만듭니다.
+     */
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> new Gauge());
+    }
+
+    /**
+     * @param name 단위를 붙인 메트릭 이름 (예: "datastore.load.parse_us")
+     * @return 이름에 해당하는 히스토그램. 처음 부르면 만듭니다.
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * 카운터와 히스토그램을 비웁니다. 게이지는 현재 상태이므로 그대로 둡니다.
+     * 카운터는 {@link LongAdder} 를 새로 만들 수 없으므로 지금 값을 빼서 0 으로 맞춥니다.
+     */
+    public void clear() {
+        for (Counter counter : counters.values()) {
+            counter.add(-counter.get());
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * 모든 메트릭을 이름 순서로 한 줄에 하나씩, 탭으로 구분해 씁니다.
+     * 첫 줄은 "# metrics 시각" 이고, 히스토그램 줄의 buckets 는 {@link LatencyHistogram#encode()} 형식입니다.
+     * <pre>
+     * counter	datastore.load.errors	0
+     * gauge	timer.active_sessions	1
+     * histogram	datastore.load.parse_us	n=12	p50=840	p95=2300	p99=2300	max=2281	buckets=...
+     * </pre>
+     * @param wallTimeMs 기록 시각 (System.currentTimeMillis())
+     */
+    public void dump(long wallTimeMs, StringBuilder out) {
+        out.append("# metrics ").append(wallTimeMs).append('\n');
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            out.append("counter\t").append(entry.getKey()).append('\t').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            out.append("gauge\t").append(entry.getKey()).append('\t').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue().snapshot();
+            out.append("histogram\t").append(entry.getKey())
+                    .append("\tn=").append(histogram.getTotalCount())
+                    .append("\tp50=").append(histogram.valueAtPercentile(50))
+                    .append("\tp95=").append(histogram.valueAtPercentile(95))
+                    .append("\tp99=").append(histogram.valueAtPercentile(99))
+                    .append("\tmax=").append(histogram.getMaxValue())
+                    .append("\tbuckets=").append(histogram.encode())
+                    .append('\n');
+        }
+    }
+
+    /**
+     * 디버그 화면과 내보내기에 사용할 요약 문자열을 만듭니다. 기록이 없는 히스토그램은 생략합니다.
+     */
+    public String summarize() {
+        StringBuilder summary = new StringBuilder("메트릭\n");
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            summary.append("  ").append(entry.getKey()).append(" = ").append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            summary.append("  ").append(entry.getKey()).append(" = ").append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue().snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            summary.append("  ").append(entry.getKey()).append(String.format(Locale.US,
+                    "%n    n=%d  p50=%d  p95=%d  p99=%d  max=%d%n",
+                    histogram.getTotalCount(),
+                    histogram.valueAtPercentile(50),
+                    histogram.valueAtPercentile(95),
+                    histogram.valueAtPercentile(99),
+                    histogram.getMaxValue()));
+        }
+        return summary.toString().trim();
+    }
+}
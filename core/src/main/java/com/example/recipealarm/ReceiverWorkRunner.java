@@ -0,0 +1,128 @@
+package com.example.recipealarm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BroadcastReceiver 의 작업을 메인 스레드 밖에서 실행하고, 정해진 시간 안에 반드시 끝냈음을 알리는 실행기입니다.
+ *
+ * 리시버는 goAsync() 로 받은 PendingResult 의 finish 를 완료 콜백으로 넘깁니다. 작업이 끝나거나
+ * 실패하면 완료 콜백이 한 번 호출되며, 작업이 기한을 넘기면 시스템이 프로세스를 멈추기 전에
+ * 감시 스레드가 먼저 완료 콜백을 호출합니다. 작업은 모든 리시버가 공유하는 작업 스레드 하나에서 차례로 실행됩니다.
+ *
+ * {@link #run(Runnable, Runnable)} 는 작업을 넘겨주기만 하므로 호출 스레드에서의 비용이 매우 작습니다.
+ */
+public final class ReceiverWorkRunner {
+
+    /** 브로드캐스트 처리 제한 시간(10초)보다 짧은 작업 기한 */
+    public static final long DEFAULT_DEADLINE_MS = 8_000L;
+
+    private static volatile ReceiverWorkRunner INSTANCE;
+
+    private final ExecutorService worker;
+    private final ScheduledExecutorService watchdog;
+    private final long deadlineMs;
+
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final AtomicInteger timedOutCount = new AtomicInteger();
+
+    ReceiverWorkRunner(ExecutorService worker, ScheduledExecutorService watchdog, long deadlineMs) {
+        // 앱에서는 getInstance() 를 사용합니다. 테스트에서만 직접 생성합니다.
+        this.worker = worker;
+        this.watchdog = watchdog;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * ReceiverWorkRunner 의 싱글톤 인스턴스를 가져옵니다.
+     */
+    public static ReceiverWorkRunner getInstance() {
+        if (INSTANCE == null) {
+            synchronized (ReceiverWorkRunner.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReceiverWorkRunner(
+                            Executors.newSingleThreadExecutor(daemonThreads("receiver-worker")),
+                            newWatchdog(), DEFAULT_DEADLINE_MS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    static ScheduledExecutorService newWatchdog() {
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, daemonThreads("receiver-watchdog"));
+        // 정상 종료된 작업의 기한 타이머가 큐에 남지 않도록 합니다.
+        watchdog.setRemoveOnCancelPolicy(true);
+        return watchdog;
+    }
+
+    static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 작업을 작업 스레드에 넘깁니다.
+     * @param work 실행할 작업. 예외를 던져도 완료 콜백은 호출되며, 예외는 실패 횟수로만 기록됩니다.
+     * @param onFinished 작업이 끝나거나 기한을 넘겼을 때 한 번만 호출됩니다 (PendingResult::finish)
+     */
+    public void run(Runnable work, Runnable onFinished) {
+        AtomicBoolean finished = new AtomicBoolean();
+        Runnable finishOnce = () -> {
+            if (finished.compareAndSet(false, true)) {
+                onFinished.run();
+            }
+        };
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            if (!finished.get()) {
+                timedOutCount.incrementAndGet();
+                finishOnce.run();
+            }
+        }, deadlineMs, TimeUnit.MILLISECONDS);
+        try {
+            worker.execute(() -> {
+                try {
+                    work.run();
+                    completedCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 작업 스레드가 죽어 앱이 종료되지 않도록 여기서 멈춥니다. 로그는 작업 쪽에서 남깁니다.
+                    failedCount.incrementAndGet();
+                } finally {
+                    deadline.cancel(false);
+                    finishOnce.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            deadline.cancel(false);
+            failedCount.incrementAndGet();
+            finishOnce.run();
+        }
+    }
+
+    public int getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return 기한을 넘겨 작업이 끝나기 전에 완료 처리된 횟수
+     */
+    public int getTimedOutCount() {
+        return timedOutCount.get();
+    }
+}
@@ -59,4 +59,13 @@ public class Recipe {
     public void setFavorite(boolean favorite) {
         isFavorite = favorite;
     }
+
+    /**
+     * 즐겨찾기 상태만 다른 복사본을 만듭니다. 화면에 표시 중인 목록의 객체를 직접 바꾸지 않을 때 사용합니다.
+     * @param favorite 복사본의 즐겨찾기 여부
+     * @return 새 Recipe 객체. 단계 목록은 원본과 공유합니다.
+     */
+    public Recipe withFavorite(boolean favorite) {
+        return new Recipe(id, name, steps, favorite);
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 레시피 목록을 읽고 고치는 규칙을 담은 클래스입니다. 저장은 {@link RecipeStorage} 에 맡깁니다.
+ *
+ * 저장된 레시피가 하나도 없으면 샘플 레시피를 만들어 저장하고, 불러오거나 저장한 목록은
+ * {@link RecipeSessionCache} 에도 반영합니다. 추가, 수정, 삭제는 모두 목록 전체를 읽고 고친 뒤 다시 저장합니다.
+ * 안드로이드 API 를 사용하지 않으므로 메모리 저장소를 넘겨 JVM 에서 테스트하고 측정할 수 있습니다.
+ * 앱의 화면은 이 클래스 대신 RecipeRepository 를 사용합니다.
+ */
+public class RecipeCatalog {
+
+    private final RecipeStorage storage;
+    private final RecipeSessionCache sessionCache;
+
+    /**
+     * @param storage 레시피 목록을 영구 저장할 곳
+     * @param sessionCache 불러오거나 저장한 목록을 반영할 메모리 캐시
+     */
+    public RecipeCatalog(RecipeStorage storage, RecipeSessionCache sessionCache) {
+        this.storage = storage;
+        this.sessionCache = sessionCache;
+    }
+
+    /**
+     * 저장된 모든 레시피 목록을 가져옵니다. 저장된 레시피가 없으면 샘플 레시피를 저장하고 반환합니다.
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 레시피 리스트를 담고 있는 CompletableFuture. 취소되면 CancellationException 으로 끝납니다.
+     */
+    public CompletableFuture<List<Recipe>> getRecipes(CancellationToken token) {
+        long loadVersion = sessionCache.beginLoad();
+        return storage.getRecipes(token).thenCompose(recipes -> {
+            if (recipes == null || recipes.isEmpty()) {
+                // 데이터가 없으면 샘플 레시피를 생성하고 저장합니다.
+                return createSampleRecipes().thenCompose(this::save);
+            }
+            sessionCache.offerLoaded(loadVersion, recipes);
+            return CompletableFuture.completedFuture(recipes);
+        });
+    }
+
+    /**
+     * @param recipeId 가져올 레시피의 고유 ID
+     * @return 메모리에 있는 레시피. 아직 불러오지 않았으면 null
+     */
+    public Recipe peekRecipe(String recipeId) {
+        return sessionCache.get(recipeId);
+    }
+
+    /**
+     * @param recipeId 가져올 레시피의 고유 ID
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 해당 레시피 객체를 담은 CompletableFuture. 레시피가 없으면 null을 담고 있습니다.
+     */
+    public CompletableFuture<Recipe> getRecipeById(String recipeId, CancellationToken token) {
+        return getRecipes(token).thenApply(recipes -> findById(recipes, recipeId));
+    }
+
+    /**
+     * @param recipe 목록 끝에 추가할 Recipe 객체
+     * @return 저장이 완료되면 끝나는 CompletableFuture.
+     */
+    public CompletableFuture<Void> addRecipe(Recipe recipe) {
+        return getRecipes(CancellationToken.NONE).thenCompose(recipes -> {
+            recipes.add(recipe);
+            return save(recipes).thenApply(saved -> null);
+        });
+    }
+
+    /**
+     * @param updatedRecipe 같은 ID 의 레시피를 대신할 Recipe 객체
+     * @return 업데이트가 완료되면 끝나는 CompletableFuture.
+     */
+    public CompletableFuture<Void> updateRecipe(Recipe updatedRecipe) {
+        return getRecipes(CancellationToken.NONE).thenCompose(recipes -> {
+            List<Recipe> newRecipeList = recipes.stream()
+                    .map(r -> Objects.equals(r.getId(), updatedRecipe.getId()) ? updatedRecipe : r)
+                    .collect(Collectors.toList());
+            return save(newRecipeList).thenApply(saved -> null);
+        });
+    }
+
+    /**
+     * 여러 레시피의 즐겨찾기 상태를 한 번의 읽기와 쓰기로 저장합니다. 값이 바뀌지 않은 레시피는 그대로 둡니다.
+     * @param favorites 레시피 ID 와 저장할 즐겨찾기 값
+     * @return 저장이 완료되면 끝나는 CompletableFuture.
+     */
+    public CompletableFuture<Void> updateFavorites(Map<String, Boolean> favorites) {
+        return getRecipes(CancellationToken.NONE).thenCompose(recipes -> {
+            List<Recipe> newRecipeList = recipes.stream()
+                    .map(r -> {
+                        Boolean favorite = favorites.get(r.getId());
+                        return favorite != null && favorite != r.isFavorite() ? r.withFavorite(favorite) : r;
+                    })
+                    .collect(Collectors.toList());
+            return save(newRecipeList).thenApply(saved -> null);
+        });
+    }
+
+    /**
+     * @param recipeId 삭제할 레시피의 고유 ID.
+     * @return 삭제가 완료되면 끝나는 CompletableFuture.
+     */
+    public CompletableFuture<Void> deleteRecipe(String recipeId) {
+        return getRecipes(CancellationToken.NONE).thenCompose(recipes -> {
+            List<Recipe> newRecipeList = recipes.stream()
+                    .filter(r -> !Objects.equals(r.getId(), recipeId))
+                    .collect(Collectors.toList());
+            return save(newRecipeList).thenApply(saved -> null);
+        });
+    }
+
+    /**
+     * @return 목록에서 ID 가 같은 첫 레시피. 없으면 null
+     */
+    static Recipe findById(List<Recipe> recipes, String recipeId) {
+        for (Recipe recipe : recipes) {
+            if (Objects.equals(recipe.getId(), recipeId)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 목록을 저장하고, 저장이 끝나면 메모리 캐시도 같은 목록으로 바꿉니다.
+     * @return 저장한 목록을 담은 CompletableFuture.
+     */
+    private CompletableFuture<List<Recipe>> save(List<Recipe> recipes) {
+        return storage.saveRecipes(recipes).thenApply(v -> {
+            sessionCache.replaceAll(recipes);
+            return recipes;
+        });
+    }
+
+    /**
+     * 샘플 레시피 데이터를 생성합니다. 앱 최초 실행 시 사용됩니다.
+     * @return 샘플 레시피 리스트를 담은 CompletableFuture.
+     */
+    private CompletableFuture<List<Recipe>> createSampleRecipes() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Recipe> sampleRecipes = new ArrayList<>();
+            Recipe ramen = new Recipe("신라면 맛있게 끓이기", Arrays.asList(
+                    new RecipeStep("물 550ml 끓이기", 180), // 3분
+                    new RecipeStep("면과 분말, 건더기 스프 넣기", 270), // 4분 30초
+                    new RecipeStep("계란 넣고 30초 더 끓이기", 30) // 30초
+            ));
+            ramen.setFavorite(true); // 샘플 레시피를 즐겨찾기에 추가해 봅니다.
+            sampleRecipes.add(ramen);
+            return sampleRecipes;
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.recipealarm;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 레시피 목록을 저장용 JSON 문자열로 바꾸고 다시 읽습니다.
+ * 알람과 타이머 서비스에 레시피를 넘기는 Intent 의 JSON 도 이 클래스로 만듭니다.
+ * 상태가 없어 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class RecipeJsonCodec {
+
+    private static final Gson GSON = new Gson();
+    private static final Type LIST_TYPE = new TypeToken<ArrayList<Recipe>>() {}.getType();
+
+    private RecipeJsonCodec() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * @param recipes 저장할 레시피 목록
+     * @return JSON 문자열
+     */
+    public static String encode(List<Recipe> recipes) {
+        return GSON.toJson(recipes, LIST_TYPE);
+    }
+
+    /**
+     * @param json {@link #encode} 로 만든 문자열. null 이거나 비어 있으면 빈 목록으로 봅니다.
+     * @return 수정할 수 있는 레시피 목록
+     * @throws com.google.gson.JsonParseException 문자열이 올바른 JSON 이 아닐 때
+     */
+    public static List<Recipe> decode(String json) {
+        if (json == null || json.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Recipe> recipes = GSON.fromJson(json, LIST_TYPE);
+        return recipes != null ? recipes : new ArrayList<>();
+    }
+
+    /**
+     * @param recipe Intent 로 넘길 레시피
+     * @return JSON 문자열
+     */
+    public static String encodeRecipe(Recipe recipe) {
+        return GSON.toJson(recipe, Recipe.class);
+    }
+
+    /**
+     * @param json {@link #encodeRecipe} 로 만든 문자열
+     * @return 레시피. json 이 null 이거나 비어 있으면 null
+     * @throws com.google.gson.JsonParseException 문자열이 올바른 JSON 이 아닐 때
+     */
+    public static Recipe decodeRecipe(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        return GSON.fromJson(json, Recipe.class);
+    }
+}
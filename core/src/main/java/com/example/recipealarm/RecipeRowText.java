@@ -0,0 +1,81 @@
+package com.example.recipealarm;
+
+/**
+ * 레시피 목록 행에 표시할 글자를 만들고, 스크롤 방향으로 미리 준비할 행의 범위를 정합니다.
+ *
+ * 요약 문구("총 N분 · M단계")는 단계 일정을 계산해야 하므로 작업 스레드에서 미리 만들어 둡니다.
+ * 스크롤하는 동안에는 보이는 행 너머로 스크롤 방향의 {@code lookahead} 개 행을 미리 준비하고,
+ * 멈춰 있을 때는 양쪽으로 절반씩 준비합니다.
+ * 안드로이드 API 를 사용하지 않으며, 상태가 없어 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class RecipeRowText {
+
+    private RecipeRowText() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * 총 시간과 단계 수 요약 문구를 만듭니다. 병행 단계가 있으면 단축된 시간입니다.
+     */
+    public static String summaryOf(Recipe recipe) {
+        int stepCount = recipe.getSteps().size();
+        long totalMinutes = StepSchedule.totalMsOf(recipe) / 60000;
+        String infoText = "총 " + totalMinutes + "분";
+        if (stepCount > 0) {
+            infoText += " · " + stepCount + "단계";
+        }
+        return infoText;
+    }
+
+    /**
+     * 행 글자를 보관할 때 쓸 키를 만듭니다. Recipe 는 equals 를 정의하지 않아 다시 읽은 목록이나
+     * 즐겨찾기만 바꾼 복사본은 다른 객체가 되므로, 레시피 ID 와 행 글자를 바꾸는 값(이름, 단계별 시간과
+     * 선행 단계)으로 키를 만듭니다. 즐겨찾기처럼 행 글자와 무관한 값은 키에 넣지 않습니다.
+     */
+    public static String cacheKeyOf(Recipe recipe) {
+        StringBuilder key = new StringBuilder(recipe.getId()).append('\u0000').append(recipe.getName());
+        for (RecipeStep step : recipe.getSteps()) {
+            key.append('\u0000').append(step.getDurationInSeconds());
+            if (step.getDependsOn() != null) {
+                key.append(step.getDependsOn());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 미리 준비할 행의 범위를 계산합니다.
+     * @param firstVisible 처음 보이는 행 위치. 보이는 행이 없으면 음수
+     * @param lastVisible 마지막으로 보이는 행 위치
+     * @param dy 마지막 스크롤 방향. 양수면 아래, 음수면 위, 0 이면 멈춤
+     * @param itemCount 전체 행 수
+     * @param lookahead 준비할 행 수
+     * @param out 결과를 담을 길이 2 이상의 배열. 스크롤할 때마다 불리므로 호출하는 쪽의 배열을 다시 씁니다.
+     * @return out. {시작 위치, 끝 위치(포함하지 않음)} 이며, 준비할 행이 없으면 두 값이 같습니다.
+     */
+    public static int[] prefetchRange(int firstVisible, int lastVisible, int dy, int itemCount, int lookahead,
+                                      int[] out) {
+        if (firstVisible < 0 || lastVisible < firstVisible || itemCount <= 0 || lookahead <= 0) {
+            out[0] = 0;
+            out[1] = 0;
+            return out;
+        }
+        int start;
+        int end;
+        if (dy > 0) {
+            start = lastVisible + 1;
+            end = lastVisible + 1 + lookahead;
+        } else if (dy < 0) {
+            start = firstVisible - lookahead;
+            end = firstVisible;
+        } else {
+            start = firstVisible - lookahead / 2;
+            end = lastVisible + 1 + lookahead / 2;
+        }
+        start = Math.max(0, Math.min(start, itemCount));
+        end = Math.max(start, Math.min(end, itemCount));
+        out[0] = start;
+        out[1] = end;
+        return out;
+    }
+}
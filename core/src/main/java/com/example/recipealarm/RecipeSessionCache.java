@@ -0,0 +1,166 @@
+package com.example.recipealarm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 프로세스가 살아 있는 동안 이미 불러온 레시피와 그 단계 일정을 보관하는 메모리 캐시입니다.
+ *
+ * 목록 화면이 불러온 레시피를 상세 화면과 타이머 화면이 저장소를 다시 읽지 않고 바로 꺼내 쓸 수 있게 합니다.
+ * 저장소가 쓴 목록은 {@link #replaceAll} 로 즉시 반영하고, 읽기는 시작할 때의 버전을 {@link #beginLoad()} 로 받아
+ * 그 사이에 쓰기가 없었을 때만 {@link #offerLoaded} 로 반영하므로 오래된 읽기 결과가 새로 쓴 값을 덮어쓰지 않습니다.
+ * 단계 일정은 레시피 객체마다 한 번만 계산하며, 목록에서 행을 누르는 순간 {@link #prefetch} 로 미리 계산해 둡니다.
+ * 안드로이드 API 를 사용하지 않으며, 어느 스레드에서나 호출할 수 있습니다.
+ * 앱 전체에서 하나의 인스턴스만 사용하도록 싱글톤으로 구현되었습니다.
+ */
+public class RecipeSessionCache {
+
+    private static volatile RecipeSessionCache INSTANCE;
+
+    private static final class Entry {
+        final Recipe recipe;
+        StepSchedule schedule;
+
+        Entry(Recipe recipe) {
+            this.recipe = recipe;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Executor prefetchExecutor;
+    private long version;
+    private int hitCount;
+    private int missCount;
+
+    RecipeSessionCache(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * RecipeSessionCache 의 싱글톤 인스턴스를 가져옵니다.
+     */
+    public static RecipeSessionCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (RecipeSessionCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new RecipeSessionCache(Executors.newSingleThreadExecutor());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 저장소에서 목록을 읽기 시작할 때 호출합니다.
+     * @return 읽은 결과를 {@link #offerLoaded} 에 넘길 때 함께 넘길 버전
+     */
+    public synchronized long beginLoad() {
+        return version;
+    }
+
+    /**
+     * 저장소에서 읽은 목록을 반영합니다. 읽는 동안 쓰기가 있었다면 무시합니다.
+     * @param loadVersion {@link #beginLoad()} 가 반환한 버전
+     * @return 반영했으면 true
+     */
+    public synchronized boolean offerLoaded(long loadVersion, List<Recipe> recipes) {
+        if (loadVersion != version) {
+            return false;
+        }
+        replaceEntries(recipes);
+        return true;
+    }
+
+    /**
+     * 저장소에 쓴 목록으로 캐시 전체를 바꿉니다. 진행 중인 읽기의 결과는 반영되지 않습니다.
+     */
+    public synchronized void replaceAll(List<Recipe> recipes) {
+        version++;
+        replaceEntries(recipes);
+    }
+
+    private void replaceEntries(List<Recipe> recipes) {
+        Map<String, Entry> previous = new HashMap<>(entries);
+        entries.clear();
+        for (Recipe recipe : recipes) {
+            Entry old = previous.get(recipe.getId());
+            // 같은 객체라면 이미 계산한 일정을 그대로 씁니다.
+            entries.put(recipe.getId(), old != null && old.recipe == recipe ? old : new Entry(recipe));
+        }
+    }
+
+    /**
+     * @return 캐시에 있는 레시피. 없으면 null
+     */
+    public synchronized Recipe get(String recipeId) {
+        Entry entry = entries.get(recipeId);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.recipe;
+    }
+
+    /**
+     * 화면이 표시 중인 레시피를 다음 화면에 넘기기 위해 넣습니다. 같은 객체가 이미 있으면 아무것도 하지 않습니다.
+     */
+    public synchronized void put(Recipe recipe) {
+        Entry entry = entries.get(recipe.getId());
+        if (entry == null || entry.recipe != recipe) {
+            entries.put(recipe.getId(), new Entry(recipe));
+        }
+    }
+
+    /**
+     * 레시피의 단계 일정을 돌려줍니다. 캐시에 같은 레시피 객체의 일정이 있으면 다시 계산하지 않습니다.
+     * @throws IllegalArgumentException 선행 관계가 올바르지 않을 때
+     */
+    public StepSchedule scheduleFor(Recipe recipe) {
+        synchronized (this) {
+            Entry entry = entries.get(recipe.getId());
+            if (entry != null && entry.recipe == recipe && entry.schedule != null) {
+                return entry.schedule;
+            }
+        }
+        StepSchedule schedule = StepSchedule.of(recipe);
+        synchronized (this) {
+            Entry entry = entries.get(recipe.getId());
+            if (entry != null && entry.recipe == recipe) {
+                entry.schedule = schedule;
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * 레시피를 넣고 단계 일정을 작업 스레드에서 미리 계산합니다. 목록의 행을 누르기 시작할 때 호출합니다.
+     */
+    public void prefetch(Recipe recipe) {
+        put(recipe);
+        prefetchExecutor.execute(() -> {
+            try {
+                scheduleFor(recipe);
+            } catch (IllegalArgumentException e) {
+                // 잘못된 레시피는 화면에서 다시 계산하며 오류를 보여줍니다.
+            }
+        });
+    }
+
+    /**
+     * @return {@link #get} 이 캐시에서 찾은 횟수
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return {@link #get} 이 캐시에서 찾지 못한 횟수
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+}
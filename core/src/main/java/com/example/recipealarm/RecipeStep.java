@@ -0,0 +1,52 @@
+package com.example.recipealarm;
+
+import java.util.List;
+
+/**
+ * 레시피의 한 단계를 나타내는 데이터 클래스입니다.
+ * 각 단계는 설명과 소요 시간(초)으로 구성됩니다.
+ *
+ * 단계는 선행 단계 목록(dependsOn)을 가질 수 있습니다. 선행 단계가 지정되지 않은 경우(null)
+ * 기존처럼 바로 앞 단계가 끝난 뒤에 시작하며, 빈 목록이면 레시피 시작과 동시에 시작할 수 있습니다.
+ * 물 끓이기와 재료 손질처럼 서로 독립적인 단계는 동시에 진행됩니다. ({@link StepSchedule} 참고)
+ */
+public class RecipeStep {
+    private final String description;
+    private final int durationInSeconds;
+    private final List<Integer> dependsOn;
+
+    /**
+     * @param description 단계에 대한 설명 (예: "물 550ml 끓이기")
+     * @param durationInSeconds 해당 단계에 소요되는 시간 (초 단위)
+     */
+    public RecipeStep(String description, int durationInSeconds) {
+        this(description, durationInSeconds, null);
+    }
+
+    /**
+     * @param description 단계에 대한 설명
+     * @param durationInSeconds 해당 단계에 소요되는 시간 (초 단위)
+     * @param dependsOn 먼저 끝나야 하는 단계들의 인덱스 (0부터 시작). null 이면 바로 앞 단계를 뜻합니다.
+     */
+    public RecipeStep(String description, int durationInSeconds, List<Integer> dependsOn) {
+        this.description = description;
+        this.durationInSeconds = durationInSeconds;
+        this.dependsOn = dependsOn;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getDurationInSeconds() {
+        return durationInSeconds;
+    }
+
+    /**
+     * 명시적으로 지정된 선행 단계 인덱스 목록을 반환합니다.
+     * @return 선행 단계 목록. 지정되지 않았다면 null (바로 앞 단계에 의존)
+     */
+    public List<Integer> getDependsOn() {
+        return dependsOn;
+    }
+}
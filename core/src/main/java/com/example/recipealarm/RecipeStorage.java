@@ -0,0 +1,28 @@
+package com.example.recipealarm;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 레시피 목록을 영구 저장하는 곳입니다. {@link RecipeCatalog} 는 이 인터페이스로만 저장소에 접근합니다.
+ *
+ * 앱에서는 SharedPreferences 를 쓰는 RecipeDataStore 가 구현하며, JVM 테스트와 벤치마크에서는
+ * 메모리에 보관하는 구현을 넘길 수 있습니다. 모든 메소드는 호출 스레드를 막지 않아야 합니다.
+ */
+public interface RecipeStorage {
+
+    /**
+     * 저장된 레시피 목록을 불러옵니다.
+     * 토큰이 취소되면 반환한 CompletableFuture 도 취소되고, 아직 시작하지 않은 읽기는 실행하지 않아야 합니다.
+     * @param token 읽기를 요청한 화면의 취소 신호
+     * @return 레시피 리스트를 담고 있는 CompletableFuture. 데이터가 없으면 빈 리스트를 반환합니다.
+     */
+    CompletableFuture<List<Recipe>> getRecipes(CancellationToken token);
+
+    /**
+     * 레시피 목록 전체를 저장합니다.
+     * @param recipes 저장할 레시피 목록
+     * @return 저장이 완료되면 끝나는 CompletableFuture
+     */
+    CompletableFuture<Void> saveRecipes(List<Recipe> recipes);
+}
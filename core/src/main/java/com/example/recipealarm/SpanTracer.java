@@ -0,0 +1,239 @@
+package com.example.recipealarm;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 작업 구간(span)의 시작과 끝을 스레드마다 고정 크기의 링 버퍼에 기록하는 추적기입니다.
+ *
+ * 단계 안내가 늦었을 때 시간이 알람 처리, TTS 엔진 초기화, 저장소 작업 스레드의 대기열, 화면의 메인 스레드 중
+ * 어디에서 쓰였는지 보기 위해 사용합니다. 한 스레드 안에서 시작하고 끝나는 구간은 {@link #begin}/{@link #end} 로,
+ * 다른 스레드에서 끝나는 구간(대기열 대기, 비동기 작업)은 {@link #beginAsync}/{@link #endAsync} 로 기록합니다.
+ * 기록은 자기 스레드의 버퍼에만 쓰므로 잠금과 객체 할당이 없고, 버퍼가 차면 가장 오래된 기록을 덮어씁니다.
+ * {@link #writeChromeTrace} 는 남아 있는 기록을 Chrome trace-event JSON 으로 내보내며, 이 파일은
+ * chrome://tracing 이나 ui.perfetto.dev 에서 그대로 열 수 있습니다.
+ * 안드로이드 API 를 사용하지 않으며, 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class SpanTracer {
+
+    /** 스레드마다 보관하는 기록 수. 스레드 하나에 약 50KB 를 씁니다. */
+    static final int DEFAULT_CAPACITY = 2048;
+
+    private static final char PHASE_BEGIN = 'B';
+    private static final char PHASE_END = 'E';
+    private static final char PHASE_ASYNC_BEGIN = 'b';
+    private static final char PHASE_ASYNC_END = 'e';
+    private static final String CATEGORY = "recipealarm";
+
+    private static volatile SpanTracer INSTANCE;
+
+    private final int capacity;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong nextThreadId = new AtomicLong();
+    private final Queue<Ring> rings = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Ring> localRing = ThreadLocal.withInitial(this::newRing);
+    private volatile boolean enabled = true;
+
+    /**
+     * 한 스레드의 기록입니다. 그 스레드만 쓰고, 내보낼 때 다른 스레드가 읽습니다.
+     */
+    private static final class Ring {
+        final long threadId;
+        final String threadName;
+        final long[] timestampsNanos;
+        final long[] ids;
+        final String[] names;
+        final char[] phases;
+        // 지금까지 쓴 기록 수. 배열에 쓴 뒤에 늘려서, 읽는 쪽이 쓰는 중인 칸을 보지 않게 합니다.
+        volatile long written;
+        // clear() 를 부른 시점의 written. 이보다 앞의 기록은 내보내지 않습니다.
+        volatile long clearedAt;
+
+        Ring(long threadId, String threadName, int capacity) {
+            this.threadId = threadId;
+            this.threadName = threadName;
+            this.timestampsNanos = new long[capacity];
+            this.ids = new long[capacity];
+            this.names = new String[capacity];
+            this.phases = new char[capacity];
+        }
+    }
+
+    SpanTracer(int capacity, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * SpanTracer 의 싱글톤 인스턴스를 가져옵니다.
+     */
+    public static SpanTracer getInstance() {
+        if (INSTANCE == null) {
+            synchronized (SpanTracer.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SpanTracer(DEFAULT_CAPACITY, System::nanoTime);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기록을 켜거나 끕니다. 꺼져 있으면 모든 기록 메소드가 바로 반환합니다.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 지금 스레드에서 구간을 시작합니다. 같은 스레드에서 {@link #end(long)} 로 끝내야 하며, 구간은 중첩될 수 있습니다.
+     * @param name 구간 이름. 상수 문자열을 넘깁니다.
+     * @return {@link #end(long)} 에 넘길 구간 ID. 기록이 꺼져 있으면 0
+     */
+    public long begin(String name) {
+        if (!enabled) {
+            return 0;
+        }
+        long id = nextId.incrementAndGet();
+        record(PHASE_BEGIN, name, id);
+        return id;
+    }
+
+    /**
+     * 지금 스레드에서 가장 최근에 시작한 구간을 끝냅니다.
+     * @param id {@link #begin} 이 반환한 구간 ID
+     */
+    public void end(long id) {
+        if (!enabled || id == 0) {
+            return;
+        }
+        record(PHASE_END, null, id);
+    }
+
+    /**
+     * 다른 스레드에서 끝날 수 있는 구간을 시작합니다. 작업 대기열에 넣을 때처럼 시작한 스레드가 기다리지 않는 경우에 씁니다.
+     * @param name 구간 이름. {@link #endAsync} 에도 같은 이름을 넘깁니다.
+     * @return {@link #endAsync} 에 넘길 구간 ID. 기록이 꺼져 있으면 0
+     */
+    public long beginAsync(String name) {
+        if (!enabled) {
+            return 0;
+        }
+        long id = nextId.incrementAndGet();
+        record(PHASE_ASYNC_BEGIN, name, id);
+        return id;
+    }
+
+    /**
+     * {@link #beginAsync} 로 시작한 구간을 끝냅니다. 어느 스레드에서나 호출할 수 있습니다.
+     */
+    public void endAsync(String name, long id) {
+        if (!enabled || id == 0) {
+            return;
+        }
+        record(PHASE_ASYNC_END, name, id);
+    }
+
+    private void record(char phase, String name, long id) {
+        Ring ring = localRing.get();
+        long written = ring.written;
+        int slot = (int) (written % capacity);
+        ring.timestampsNanos[slot] = nanoClock.getAsLong();
+        ring.ids[slot] = id;
+        ring.names[slot] = name;
+        ring.phases[slot] = phase;
+        ring.written = written + 1;
+    }
+
+    private Ring newRing() {
+        Ring ring = new Ring(nextThreadId.incrementAndGet(), Thread.currentThread().getName(), capacity);
+        rings.add(ring);
+        return ring;
+    }
+
+    /**
+     * 모든 스레드의 기록을 지웁니다. 버퍼는 그대로 두고, 지금까지의 기록을 내보내지 않도록 표시만 합니다.
+     */
+    public void clear() {
+        for (Ring ring : rings) {
+            ring.clearedAt = ring.written;
+        }
+    }
+
+    /**
+     * 남아 있는 기록을 Chrome trace-event JSON 으로 씁니다. 시각(ts)은 마이크로초입니다.
+     * 쓰는 동안 다른 스레드가 계속 기록하면, 그 사이에 덮어써졌을 수 있는 가장 오래된 기록은 빼고 씁니다.
+     * 버퍼가 돌아 시작 기록이 사라진 구간은 끝 기록만 남을 수 있으며, 보는 도구가 이를 무시합니다.
+     */
+    public void writeChromeTrace(Appendable out) throws IOException {
+        out.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (Ring ring : rings) {
+            out.append(first ? "\n" : ",\n");
+            first = false;
+            out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(Long.toString(ring.threadId))
+                    .append(",\"args\":{\"name\":");
+            appendString(out, ring.threadName);
+            out.append("}}");
+            writeEvents(ring, out);
+        }
+        out.append("\n]}\n");
+    }
+
+    private void writeEvents(Ring ring, Appendable out) throws IOException {
+        long end = ring.written;
+        long start = Math.max(ring.clearedAt, end - capacity);
+        int count = (int) Math.max(0, end - start);
+        long[] timestamps = new long[count];
+        long[] ids = new long[count];
+        String[] names = new String[count];
+        char[] phases = new char[count];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((start + i) % capacity);
+            timestamps[i] = ring.timestampsNanos[slot];
+            ids[i] = ring.ids[slot];
+            names[i] = ring.names[slot];
+            phases[i] = ring.phases[slot];
+        }
+        // 복사하는 동안 새로 쓴 기록이 덮어썼거나 지금 덮어쓰고 있을 수 있는 칸은 버립니다.
+        long overwritten = Math.max(0, ring.written + 1 - capacity);
+        for (int i = (int) Math.max(0, overwritten - start); i < count; i++) {
+            out.append(",\n{\"ph\":\"").append(phases[i]).append("\",\"pid\":1,\"tid\":")
+                    .append(Long.toString(ring.threadId))
+                    .append(",\"ts\":").append(Long.toString(timestamps[i] / 1000));
+            if (names[i] != null) {
+                out.append(",\"name\":");
+                appendString(out, names[i]);
+            }
+            if (phases[i] == PHASE_ASYNC_BEGIN || phases[i] == PHASE_ASYNC_END) {
+                out.append(",\"cat\":\"").append(CATEGORY).append("\",\"id\":").append(Long.toString(ids[i]));
+            } else {
+                out.append(",\"args\":{\"id\":").append(Long.toString(ids[i])).append('}');
+            }
+            out.append('}');
+        }
+    }
+
+    private static void appendString(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.recipealarm;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 미리 합성한 음성 안내 파일을 보관하는 디스크 캐시입니다.
+ *
+ * 파일 이름은 (안내 문장, 언어, 음성)의 해시이므로 음성 설정이 바뀌면 새로 합성됩니다.
+ * 전체 크기가 한도를 넘으면 가장 오래 사용하지 않은 파일부터 지웁니다. 사용 시각은 파일의
+ * 수정 시각으로 기록합니다. 조회 적중률을 함께 기록합니다.
+ *
+ * 동기화하지 않으므로 한 스레드에서만 사용해야 합니다. 디스크를 읽고 쓰므로 메인 스레드가 아닌 작업 스레드에서 사용합니다.
+ */
+public class SpeechAudioCache {
+
+    private static final String EXTENSION = ".wav";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+
+    private int hits;
+    private int misses;
+
+    /**
+     * @param directory 캐시 파일을 보관할 디렉터리. 없으면 만듭니다.
+     * @param maxBytes 캐시 전체 크기 한도
+     */
+    public SpeechAudioCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalStateException("캐시 디렉터리를 만들 수 없습니다: " + directory);
+        }
+    }
+
+    /**
+     * 안내 문장, 언어, 음성으로 캐시 키를 만듭니다.
+     */
+    public static String keyFor(String text, String locale, String voice) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((text + '\u0000' + locale + '\u0000' + voice).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 캐시된 음성 파일을 찾고 적중 여부를 기록합니다. 찾으면 최근 사용으로 표시합니다.
+     * @return 음성 파일. 없으면 null
+     */
+    public File get(String key) {
+        File file = fileFor(key);
+        if (file.isFile() && file.length() > 0) {
+            hits++;
+            file.setLastModified(System.currentTimeMillis());
+            return file;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * 적중 여부를 기록하지 않고 캐시에 있는지만 확인합니다. 미리 합성할 대상을 고를 때 사용합니다.
+     */
+    public boolean contains(String key) {
+        File file = fileFor(key);
+        return file.isFile() && file.length() > 0;
+    }
+
+    /**
+     * 합성 결과를 기록할 임시 파일입니다. 합성이 끝나면 {@link #commit(String)} 을 호출해야 합니다.
+     */
+    public File tempFileFor(String key) {
+        return new File(directory, key + TEMP_EXTENSION);
+    }
+
+    /**
+     * 합성이 끝난 임시 파일을 캐시에 넣고 크기 한도를 맞춥니다.
+     * @return 캐시에 넣었으면 true
+     */
+    public boolean commit(String key) {
+        File temp = tempFileFor(key);
+        if (!temp.isFile() || temp.length() == 0) {
+            discard(key);
+            return false;
+        }
+        File target = fileFor(key);
+        if (target.exists() && !target.delete()) {
+            discard(key);
+            return false;
+        }
+        boolean committed = temp.renameTo(target);
+        if (committed) {
+            trimToSize();
+        } else {
+            discard(key);
+        }
+        return committed;
+    }
+
+    /**
+     * 실패한 합성의 임시 파일을 지웁니다.
+     */
+    public void discard(String key) {
+        File temp = tempFileFor(key);
+        if (temp.exists()) {
+            temp.delete();
+        }
+    }
+
+    /**
+     * 전체 크기가 한도 이하가 될 때까지 가장 오래 사용하지 않은 파일부터 지웁니다.
+     */
+    void trimToSize() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    /**
+     * @return 캐시 파일 전체 크기 (bytes)
+     */
+    public long sizeBytes() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        long total = 0;
+        if (files != null) {
+            for (File file : files) {
+                total += file.length();
+            }
+        }
+        return total;
+    }
+
+    public int getHitCount() {
+        return hits;
+    }
+
+    public int getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return 조회 적중률 (0~1). 조회한 적이 없으면 0
+     */
+    public double getHitRate() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, key + EXTENSION);
+    }
+}
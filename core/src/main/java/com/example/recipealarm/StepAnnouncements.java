@@ -0,0 +1,81 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 단계가 끝날 때 들려주는 음성 안내 문장을 만듭니다.
+ * AlarmReceiver 가 안내할 문장과 세션 시작 시 미리 합성해 둘 문장이 항상 같도록 한 곳에서 만듭니다.
+ */
+public final class StepAnnouncements {
+
+    /** 레시피의 마지막 단계가 끝났을 때의 안내 */
+    public static final String COMPLETION = "요리가 완성되었습니다. 맛있게 드세요!";
+
+    private StepAnnouncements() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * 단계가 끝났을 때 들려줄 안내 문장을 만듭니다.
+     * @param recipe 레시피
+     * @param schedule 레시피의 단계 일정
+     * @param finishedStep 끝난 단계
+     * @return 안내 문장. 병행 단계만 끝나 새로 시작하는 단계가 없으면 null
+     */
+    public static String forStepEnd(Recipe recipe, StepSchedule schedule, int finishedStep) {
+        if (schedule.isFinalStep(finishedStep)) {
+            return COMPLETION;
+        }
+        int[] releasedSteps = schedule.stepsReleasedBy(finishedStep);
+        if (releasedSteps.length == 0) {
+            return null;
+        }
+        StringBuilder announcement = new StringBuilder("다음 단계는, ");
+        for (int k = 0; k < releasedSteps.length; k++) {
+            if (k > 0) {
+                announcement.append(", 그리고 ");
+            }
+            announcement.append(recipe.getSteps().get(releasedSteps[k]).getDescription());
+        }
+        return announcement.append(" 입니다.").toString();
+    }
+
+    /**
+     * 식사 계획에서 나중에 시작할 레시피의 시작 시각에 들려줄 안내 문장을 만듭니다.
+     * @param recipe 시작할 레시피
+     * @param schedule 레시피의 단계 일정
+     * @return 레시피 이름과 처음에 함께 시작하는 단계들을 알려주는 안내 문장
+     */
+    public static String forPlannedStart(Recipe recipe, StepSchedule schedule) {
+        StringBuilder announcement = new StringBuilder(recipe.getName()).append(", 지금 시작하세요. 첫 단계는, ");
+        boolean first = true;
+        for (int i = 0; i < schedule.getStepCount(); i++) {
+            if (schedule.getStartMs(i) != 0) {
+                continue;
+            }
+            if (!first) {
+                announcement.append(", 그리고 ");
+            }
+            announcement.append(recipe.getSteps().get(i).getDescription());
+            first = false;
+        }
+        return announcement.append(" 입니다.").toString();
+    }
+
+    /**
+     * 레시피를 진행하는 동안 나올 수 있는 모든 안내 문장을 중복 없이 반환합니다.
+     */
+    public static List<String> allFor(Recipe recipe, StepSchedule schedule) {
+        Set<String> texts = new LinkedHashSet<>();
+        for (int i = 0; i < schedule.getStepCount(); i++) {
+            String text = forStepEnd(recipe, schedule, i);
+            if (text != null) {
+                texts.add(text);
+            }
+        }
+        return new ArrayList<>(texts);
+    }
+}
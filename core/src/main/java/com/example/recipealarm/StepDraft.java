@@ -0,0 +1,91 @@
+package com.example.recipealarm;
+
+/**
+ * 레시피 편집 화면에서 입력 중인 단계 하나입니다.
+ *
+ * 입력란의 글자를 그대로 보관하고, 글자가 바뀔 때마다 revision 을 올립니다. 작업 스레드의 검사 결과는
+ * 검사를 시작할 때의 revision 과 같을 때만 반영하므로, 그 사이에 다시 입력한 내용을 덮어쓰지 않습니다.
+ * id 는 목록에서 행을 안정적으로 구분하는 데 씁니다. 메인 스레드에서만 변경합니다.
+ */
+public class StepDraft {
+
+    private final long id;
+    private String description;
+    private String durationText;
+    private String dependsText;
+    private int revision;
+    private String error;
+
+    public StepDraft(long id, String description, String durationText, String dependsText) {
+        this.id = id;
+        this.description = description;
+        this.durationText = durationText;
+        this.dependsText = dependsText;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        revision++;
+    }
+
+    public String getDurationText() {
+        return durationText;
+    }
+
+    public void setDurationText(String durationText) {
+        this.durationText = durationText;
+        revision++;
+    }
+
+    public String getDependsText() {
+        return dependsText;
+    }
+
+    public void setDependsText(String dependsText) {
+        this.dependsText = dependsText;
+        revision++;
+    }
+
+    /**
+     * @return 입력이 바뀔 때마다 증가하는 값
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return 마지막 검사에서 찾은 오류 메시지. 오류가 없거나 아직 검사하지 않았으면 null
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * 입력 내용과 revision 을 복사합니다. 작업 스레드에서 검사할 때 메인 스레드의 변경과 겹치지 않도록 사용합니다.
+     */
+    public StepDraft copy() {
+        StepDraft copy = new StepDraft(id, description, durationText, dependsText);
+        copy.revision = revision;
+        copy.error = error;
+        return copy;
+    }
+
+    /**
+     * @return 세 입력란이 모두 비어 있으면 true
+     */
+    public boolean isBlank() {
+        return description.trim().isEmpty() && durationText.trim().isEmpty() && dependsText.trim().isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 편집 중인 단계의 입력을 검사하고 {@link RecipeStep} 으로 바꿉니다.
+ *
+ * 한 단계의 입력만 보는 검사({@link #validate})는 입력할 때마다 작업 스레드에서 실행되고,
+ * 선행 관계의 순환처럼 전체를 봐야 하는 검사는 저장할 때 {@link #toSteps} 가 {@link StepSchedule} 로 확인합니다.
+ * 안드로이드 API 를 사용하지 않으며, 상태가 없어 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class StepDraftValidator {
+
+    private StepDraftValidator() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * 한 단계의 입력을 검사합니다.
+     * @param index 단계 인덱스 (0부터 시작)
+     * @param stepCount 전체 단계 수. 선행 단계 번호의 범위를 확인하는 데 씁니다.
+     * @return 오류 메시지. 올바르면 null
+     */
+    public static String validate(int index, String description, String durationText, String dependsText,
+                                  int stepCount) {
+        try {
+            toStep(index, description, durationText, dependsText, stepCount);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * 한 단계의 입력을 RecipeStep 으로 바꿉니다.
+     * @throws IllegalArgumentException 입력이 올바르지 않을 때. 메시지는 사용자에게 그대로 보여줍니다.
+     */
+    public static RecipeStep toStep(int index, String description, String durationText, String dependsText,
+                                    int stepCount) {
+        String trimmedDescription = description.trim();
+        String trimmedDuration = durationText.trim();
+        int number = index + 1;
+        if (trimmedDescription.isEmpty() || trimmedDuration.isEmpty()) {
+            throw new IllegalArgumentException("단계 " + number + "의 설명과 시간을 모두 입력해주세요.");
+        }
+        int durationInSeconds;
+        try {
+            durationInSeconds = Integer.parseInt(trimmedDuration);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("단계 " + number + "의 시간은 숫자로 입력해주세요.");
+        }
+        List<Integer> dependsOn;
+        try {
+            dependsOn = parseDependsOn(dependsText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("단계 " + number + "의 선행 단계는 단계 번호로 입력해주세요.");
+        }
+        if (dependsOn != null) {
+            for (int prerequisite : dependsOn) {
+                if (prerequisite >= stepCount || prerequisite == index) {
+                    throw new IllegalArgumentException("단계 " + number + "의 선행 단계 "
+                            + (prerequisite + 1) + "이(가) 올바르지 않습니다.");
+                }
+            }
+        }
+        return new RecipeStep(trimmedDescription, durationInSeconds, dependsOn);
+    }
+
+    /**
+     * 모든 단계를 검사해 RecipeStep 목록으로 바꾸고, 선행 관계 전체가 올바른지 확인합니다.
+     * 작업 스레드에서 호출할 때는 {@link StepDraft#copy()} 로 복사한 목록을 넘깁니다.
+     * @throws IllegalArgumentException 처음 발견한 오류
+     */
+    public static List<RecipeStep> toSteps(List<StepDraft> drafts) {
+        List<RecipeStep> steps = new ArrayList<>(drafts.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            StepDraft draft = drafts.get(i);
+            steps.add(toStep(i, draft.getDescription(), draft.getDurationText(), draft.getDependsText(), drafts.size()));
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("레시피 단계를 하나 이상 추가해주세요.");
+        }
+        StepSchedule.of(steps);
+        return steps;
+    }
+
+    /**
+     * "1, 2" 처럼 입력된 1부터 시작하는 단계 번호를 0부터 시작하는 인덱스 목록으로 바꿉니다.
+     * 비어 있으면 null(앞 단계 다음), "0" 이면 빈 목록(처음부터 시작)을 반환합니다.
+     */
+    public static List<Integer> parseDependsOn(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        List<Integer> dependsOn = new ArrayList<>();
+        for (String token : trimmed.split("[,\\s]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int number = Integer.parseInt(token);
+            if (number > 0 && !dependsOn.contains(number - 1)) {
+                dependsOn.add(number - 1);
+            }
+        }
+        return dependsOn;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.recipealarm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 붙여넣은 여러 줄의 글을 레시피 단계 목록으로 나눕니다.
+ *
+ * 한 줄이 한 단계이며, 줄 끝의 시간 표기를 단계 시간으로 읽습니다.
+ * "3분 30초", "1시간", "90s", "4:30", 단위 없는 숫자(초) 를 인식하고, 앞의 "1.", "2)", "-" 같은 번호와
+ * 글머리표는 지웁니다. 표 계산 프로그램에서 복사한 탭 구분 줄은 설명, 시간, 선행 단계 순서의 칸으로 읽습니다.
+ * 시간을 찾지 못한 줄은 시간을 비워 두어 편집 화면에서 채우도록 합니다.
+ * 안드로이드 API 를 사용하지 않으며, 상태가 없어 어느 스레드에서나 호출할 수 있습니다.
+ */
+public final class StepPasteParser {
+
+    /**
+     * 붙여넣은 한 줄에서 읽은 단계입니다.
+     */
+    public static final class ParsedStep {
+        private final String description;
+        private final String durationText;
+        private final String dependsText;
+
+        ParsedStep(String description, String durationText, String dependsText) {
+            this.description = description;
+            this.durationText = durationText;
+            this.dependsText = dependsText;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return 초 단위 시간. 찾지 못했으면 빈 문자열
+         */
+        public String getDurationText() {
+            return durationText;
+        }
+
+        public String getDependsText() {
+            return dependsText;
+        }
+    }
+
+    private static final Pattern LIST_MARKER = Pattern.compile("^(?:[-*•·]+|\\d+\\s*[.)]|\\d+\\s*단계\\s*[.:)]?)\\s*");
+    private static final Pattern CLOCK = Pattern.compile("(\\d{1,4}):(\\d{2})\\s*$");
+    private static final Pattern UNITS = Pattern.compile(
+            "(?:(\\d+)\\s*(?:시간|hours?|hrs?|h)\\s*)?"
+                    + "(?:(\\d+)\\s*(?:분|minutes?|mins?|m)\\s*)?"
+                    + "(?:(\\d+)\\s*(?:초|seconds?|secs?|s))?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    private static final Pattern PLAIN_SECONDS = Pattern.compile("(?:^|\\s)(\\d+)\\s*$");
+    private static final String SEPARATORS = " \t-–—,|:";
+
+    private StepPasteParser() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * @param text 붙여넣은 글. null 이면 빈 목록을 반환합니다.
+     * @return 빈 줄을 제외한 줄마다 하나씩 읽은 단계
+     */
+    public static List<ParsedStep> parse(CharSequence text) {
+        List<ParsedStep> steps = new ArrayList<>();
+        if (text == null) {
+            return steps;
+        }
+        for (String line : text.toString().split("\\r?\\n|\\r")) {
+            ParsedStep step = parseLine(line);
+            if (step != null) {
+                steps.add(step);
+            }
+        }
+        return steps;
+    }
+
+    private static ParsedStep parseLine(String line) {
+        String trimmed = LIST_MARKER.matcher(line.trim()).replaceFirst("");
+        if (trimmed.trim().isEmpty()) {
+            return null;
+        }
+        if (trimmed.indexOf('\t') >= 0) {
+            String[] cells = trimmed.split("\t");
+            String description = cells[0].trim();
+            String duration = cells.length > 1 ? parseDuration(cells[1].trim()) : "";
+            String depends = cells.length > 2 ? cells[2].trim() : "";
+            return new ParsedStep(description, duration, depends);
+        }
+
+        Matcher clock = CLOCK.matcher(trimmed);
+        if (clock.find()) {
+            String seconds = toSecondsText(0, parseOrZero(clock.group(1)), parseOrZero(clock.group(2)));
+            return new ParsedStep(stripTrailing(trimmed.substring(0, clock.start())), seconds, "");
+        }
+        Matcher units = UNITS.matcher(trimmed);
+        // 모든 단위가 생략 가능하므로 줄 끝의 빈 일치는 시간이 아닙니다.
+        if (units.find() && (units.group(1) != null || units.group(2) != null || units.group(3) != null)) {
+            String seconds = toSecondsText(parseOrZero(units.group(1)), parseOrZero(units.group(2)),
+                    parseOrZero(units.group(3)));
+            return new ParsedStep(stripTrailing(trimmed.substring(0, units.start())), seconds, "");
+        }
+        Matcher plain = PLAIN_SECONDS.matcher(trimmed);
+        if (plain.find()) {
+            return new ParsedStep(stripTrailing(trimmed.substring(0, plain.start())), plain.group(1), "");
+        }
+        return new ParsedStep(stripTrailing(trimmed), "", "");
+    }
+
+    /**
+     * 표의 시간 칸을 초 단위 글자로 바꿉니다. 읽을 수 없으면 빈 문자열입니다.
+     */
+    private static String parseDuration(String cell) {
+        if (cell.isEmpty()) {
+            return "";
+        }
+        ParsedStep parsed = parseLine("x " + cell);
+        return parsed != null && "x".equals(parsed.description) ? parsed.durationText : "";
+    }
+
+    private static String toSecondsText(long hours, long minutes, long seconds) {
+        long total = hours * 3600 + minutes * 60 + seconds;
+        return total > 0 && total <= Integer.MAX_VALUE ? Long.toString(total) : "";
+    }
+
+    private static long parseOrZero(String digits) {
+        if (digits == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE + 1L; // 너무 큰 값은 시간으로 쓰지 않습니다.
+        }
+    }
+
+    private static String stripTrailing(String description) {
+        int end = description.length();
+        while (end > 0 && SEPARATORS.indexOf(description.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return description.substring(0, end).trim();
+    }
+}
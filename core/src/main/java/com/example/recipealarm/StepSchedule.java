@@ -0,0 +1,408 @@
+package com.example.recipealarm;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 레시피 단계들의 선행 관계(DAG)로부터 실행 일정을 계산하는 클래스입니다.
+ *
+ * 각 단계는 모든 선행 단계가 끝나는 즉시 시작합니다(ASAP). 이렇게 계산된 전체 소요 시간은
+ * 가장 긴 의존 경로, 즉 크리티컬 패스의 길이와 같습니다. 동시에 진행되는 단계들은
+ * 서로 겹치지 않는 레인(lane)에 배치되어 화면에 병렬로 표시됩니다.
+ *
+ * 모든 시간은 레시피 시작 시점으로부터의 경과 시간(밀리초)입니다.
+ * 선행 관계가 없는 기존 레시피는 단계 i 가 단계 i-1 에 의존하는 것으로 취급되므로 순차 실행과 동일합니다.
+ */
+public class StepSchedule {
+
+    private final List<RecipeStep> steps;
+    private final int[][] prerequisites;
+    private final long[] startMs;
+    private final long[] endMs;
+    private final boolean[] critical;
+    private final int[] criticalPath;
+    private final int[] lanes;
+    private final int laneCount;
+    private final long[] sortedEnds;
+    private final long totalMs;
+    private final long sequentialMs;
+
+    private StepSchedule(List<RecipeStep> steps) {
+        this.steps = steps;
+        int n = steps.size();
+        this.prerequisites = new int[n][];
+        for (int i = 0; i < n; i++) {
+            prerequisites[i] = resolvePrerequisites(steps.get(i), i, n);
+        }
+
+        int[] order = topologicalOrder(prerequisites);
+        this.startMs = new long[n];
+        this.endMs = new long[n];
+        long sum = 0;
+        long total = 0;
+        for (int i : order) {
+            long start = 0;
+            for (int p : prerequisites[i]) {
+                start = Math.max(start, endMs[p]);
+            }
+            long duration = steps.get(i).getDurationInSeconds() * 1000L;
+            startMs[i] = start;
+            endMs[i] = start + duration;
+            sum += duration;
+            total = Math.max(total, endMs[i]);
+        }
+        this.totalMs = total;
+        this.sequentialMs = sum;
+
+        this.critical = new boolean[n];
+        this.criticalPath = computeCriticalPath();
+        this.lanes = new int[n];
+        this.laneCount = assignLanes();
+
+        long[] ends = endMs.clone();
+        Arrays.sort(ends);
+        int unique = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (unique == 0 || ends[unique - 1] != ends[i]) {
+                ends[unique++] = ends[i];
+            }
+        }
+        this.sortedEnds = Arrays.copyOf(ends, unique);
+    }
+
+    /**
+     * 레시피의 실행 일정을 계산합니다.
+     * @param recipe 일정을 계산할 레시피
+     * @return 계산된 일정
+     * @throws IllegalArgumentException 선행 관계가 잘못되었거나 순환이 있는 경우
+     */
+    public static StepSchedule of(Recipe recipe) {
+        return of(recipe.getSteps());
+    }
+
+    /**
+     * 단계 목록의 실행 일정을 계산합니다.
+     * @param steps 단계 목록
+     * @return 계산된 일정
+     * @throws IllegalArgumentException 선행 관계가 잘못되었거나 순환이 있는 경우
+     */
+    public static StepSchedule of(List<RecipeStep> steps) {
+        return new StepSchedule(steps != null ? steps : Collections.emptyList());
+    }
+
+    /**
+     * 레시피를 병렬로 실행했을 때의 전체 소요 시간을 반환합니다.
+     * 선행 관계가 잘못된 레시피는 모든 단계를 순서대로 더한 시간을 반환합니다.
+     */
+    public static long totalMsOf(Recipe recipe) {
+        try {
+            return of(recipe).getTotalMs();
+        } catch (IllegalArgumentException e) {
+            long sum = 0;
+            for (RecipeStep step : recipe.getSteps()) {
+                sum += step.getDurationInSeconds() * 1000L;
+            }
+            return sum;
+        }
+    }
+
+    private static int[] resolvePrerequisites(RecipeStep step, int index, int stepCount) {
+        List<Integer> dependsOn = step.getDependsOn();
+        if (dependsOn == null) {
+            return index == 0 ? new int[0] : new int[]{index - 1};
+        }
+        int[] result = new int[dependsOn.size()];
+        for (int k = 0; k < result.length; k++) {
+            Integer p = dependsOn.get(k);
+            if (p == null || p < 0 || p >= stepCount || p == index) {
+                throw new IllegalArgumentException((index + 1) + "단계의 선행 단계가 올바르지 않습니다: " + (p == null ? null : p + 1));
+            }
+            result[k] = p;
+        }
+        return result;
+    }
+
+    private static int[] topologicalOrder(int[][] prerequisites) {
+        int n = prerequisites.length;
+        int[] inDegree = new int[n];
+        int[][] successors = successorsOf(prerequisites);
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = prerequisites[i].length;
+        }
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int[] order = new int[n];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            order[count++] = i;
+            for (int s : successors[i]) {
+                if (--inDegree[s] == 0) {
+                    ready.add(s);
+                }
+            }
+        }
+        if (count != n) {
+            throw new IllegalArgumentException("단계의 선행 관계에 순환이 있습니다.");
+        }
+        return order;
+    }
+
+    private static int[][] successorsOf(int[][] prerequisites) {
+        int n = prerequisites.length;
+        int[] counts = new int[n];
+        for (int[] prereqs : prerequisites) {
+            for (int p : prereqs) {
+                counts[p]++;
+            }
+        }
+        int[][] successors = new int[n][];
+        for (int i = 0; i < n; i++) {
+            successors[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int p : prerequisites[i]) {
+                successors[p][counts[p]++] = i;
+            }
+        }
+        return successors;
+    }
+
+    /**
+     * 가장 늦게 끝나는 단계에서 시작 시각을 결정한 선행 단계를 따라 거슬러 올라가며 크리티컬 패스를 찾습니다.
+     */
+    private int[] computeCriticalPath() {
+        int n = steps.size();
+        if (n == 0) {
+            return new int[0];
+        }
+        int last = 0;
+        for (int i = 1; i < n; i++) {
+            if (endMs[i] > endMs[last]) {
+                last = i;
+            }
+        }
+        Deque<Integer> path = new ArrayDeque<>();
+        int current = last;
+        while (current >= 0) {
+            path.addFirst(current);
+            critical[current] = true;
+            int next = -1;
+            for (int p : prerequisites[current]) {
+                if (endMs[p] == startMs[current] && (next < 0 || p < next)) {
+                    next = p;
+                }
+            }
+            current = next;
+        }
+        int[] result = new int[path.size()];
+        int k = 0;
+        for (int i : path) {
+            result[k++] = i;
+        }
+        return result;
+    }
+
+    /**
+     * 시작 시각 순으로 단계를 훑으며 먼저 비는 레인에 배치합니다(구간 분할). 크리티컬 패스는 항상 0번 레인입니다.
+     */
+    private int assignLanes() {
+        int n = steps.size();
+        Integer[] byStart = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            byStart[i] = i;
+        }
+        Arrays.sort(byStart, (a, b) -> startMs[a] != startMs[b] ? Long.compare(startMs[a], startMs[b]) : Integer.compare(a, b));
+
+        long[] laneFreeAt = new long[Math.max(1, n)];
+        int used = n == 0 ? 0 : 1;
+        for (int i : byStart) {
+            if (critical[i]) {
+                lanes[i] = 0;
+                laneFreeAt[0] = endMs[i];
+                continue;
+            }
+            int lane = -1;
+            for (int l = 1; l < used; l++) {
+                if (laneFreeAt[l] <= startMs[i]) {
+                    lane = l;
+                    break;
+                }
+            }
+            if (lane < 0) {
+                lane = used++;
+            }
+            lanes[i] = lane;
+            laneFreeAt[lane] = endMs[i];
+        }
+        return used;
+    }
+
+    public int getStepCount() {
+        return steps.size();
+    }
+
+    /**
+     * @return 단계 i 의 선행 단계 인덱스 배열. 호출자가 수정해서는 안 됩니다.
+     */
+    public int[] getPrerequisites(int stepIndex) {
+        return prerequisites[stepIndex];
+    }
+
+    public long getStartMs(int stepIndex) {
+        return startMs[stepIndex];
+    }
+
+    public long getEndMs(int stepIndex) {
+        return endMs[stepIndex];
+    }
+
+    public int getLane(int stepIndex) {
+        return lanes[stepIndex];
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public boolean isCritical(int stepIndex) {
+        return critical[stepIndex];
+    }
+
+    /**
+     * @return 동시에 진행되는 단계가 하나라도 있으면 true
+     */
+    public boolean isParallel() {
+        return laneCount > 1;
+    }
+
+    /**
+     * @return 병렬 실행 시 전체 소요 시간 (크리티컬 패스 길이)
+     */
+    public long getTotalMs() {
+        return totalMs;
+    }
+
+    /**
+     * @return 모든 단계를 순서대로 실행했을 때의 소요 시간
+     */
+    public long getSequentialMs() {
+        return sequentialMs;
+    }
+
+    /**
+     * @return 경과 시간 elapsedMs 에 단계가 진행 중이면 true
+     */
+    public boolean isActiveAt(int stepIndex, long elapsedMs) {
+        return startMs[stepIndex] <= elapsedMs && elapsedMs < endMs[stepIndex];
+    }
+
+    /**
+     * 경과 시간 elapsedMs 에 화면에 대표로 보여줄 단계, 즉 진행 중인 크리티컬 패스 단계를 반환합니다.
+     * 모든 단계가 끝났다면 크리티컬 패스의 마지막 단계를 반환합니다.
+     */
+    public int focusStepAt(long elapsedMs) {
+        for (int i : criticalPath) {
+            if (elapsedMs < endMs[i]) {
+                return i;
+            }
+        }
+        return criticalPath.length > 0 ? criticalPath[criticalPath.length - 1] : -1;
+    }
+
+    /**
+     * @return 크리티컬 패스에서 주어진 단계의 바로 앞 단계. 없으면 -1
+     */
+    public int previousOnCriticalPath(int stepIndex) {
+        for (int k = 1; k < criticalPath.length; k++) {
+            if (criticalPath[k] == stepIndex) {
+                return criticalPath[k - 1];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 크리티컬 패스에서 주어진 단계의 바로 다음 단계. 없으면 -1
+     */
+    public int nextOnCriticalPath(int stepIndex) {
+        for (int k = 0; k < criticalPath.length - 1; k++) {
+            if (criticalPath[k] == stepIndex) {
+                return criticalPath[k + 1];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * elapsedMs 이후에 처음으로 단계가 끝나는 시각을 반환합니다. 객체를 할당하지 않습니다.
+     * @return 다음 단계 종료 시각. 더 이상 없으면 Long.MAX_VALUE
+     */
+    public long nextEndAfter(long elapsedMs) {
+        int lo = 0;
+        int hi = sortedEnds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedEnds[mid] <= elapsedMs) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < sortedEnds.length ? sortedEnds[lo] : Long.MAX_VALUE;
+    }
+
+    /**
+     * 단계 finishedStep 이 끝나는 순간 시작되는 단계들, 즉 finishedStep 이 마지막으로 끝난 선행 단계인 단계들을 반환합니다.
+     * 다음 단계 안내 음성에 사용됩니다.
+     * 마지막으로 끝난 선행 단계가 여러 개면 그중 인덱스가 가장 큰 단계만 그 단계를 시작시키므로,
+     * 한 단계가 두 번 안내되지 않습니다.
+     */
+    public int[] stepsReleasedBy(int finishedStep) {
+        int n = steps.size();
+        int[] buffer = new int[n];
+        int count = 0;
+        for (int j = 0; j < n; j++) {
+            if (startMs[j] != endMs[finishedStep]) {
+                continue;
+            }
+            boolean prerequisite = false;
+            boolean releasedByLater = false;
+            for (int p : prerequisites[j]) {
+                if (p == finishedStep) {
+                    prerequisite = true;
+                } else if (p > finishedStep && endMs[p] == startMs[j]) {
+                    releasedByLater = true;
+                }
+            }
+            if (prerequisite && !releasedByLater) {
+                buffer[count++] = j;
+            }
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * @return 주어진 단계가 레시피 전체를 끝내는 단계이면 true.
+     *         여러 단계가 동시에 마지막으로 끝나면 인덱스가 가장 작은 단계만 true 입니다.
+     */
+    public boolean isFinalStep(int stepIndex) {
+        if (endMs[stepIndex] != totalMs) {
+            return false;
+        }
+        for (int i = 0; i < stepIndex; i++) {
+            if (endMs[i] == totalMs) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.recipealarm;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 단계 종료(전환) 이벤트가 한 번만 처리되도록 기록하는 장부입니다.
+ *
+ * 전환은 (레시피 ID, 세대, 단계 인덱스)로 식별합니다. 세대는 알람을 새로 예약할 때마다
+ * (시작, 재개, 단계 이동) 증가하며, 알람 인텐트와 서비스의 세션이 같은 세대 번호를 가집니다.
+ * 같은 세대의 같은 단계는 먼저 도착한 쪽만 처리되고, 이전 세대의 이벤트(단계 이동 전에 이미
+ * 전달되던 알람 등)는 버려집니다. 수락된 전환에는 1부터 증가하는 순번이 붙습니다.
+ *
+ * 안드로이드 API 를 사용하지 않으며, 동기화하지 않으므로 호출자가 동기화해야 합니다.
+ */
+public class StepTransitionLedger {
+
+    /** 처음 도착한 전환입니다. 처리해야 합니다. */
+    public static final int RESULT_ACCEPTED = 0;
+    /** 같은 세대에서 이미 처리된 전환입니다. */
+    public static final int RESULT_DUPLICATE = 1;
+    /** 이전 세대의 전환입니다. */
+    public static final int RESULT_STALE = 2;
+
+    private static class RecipeState {
+        int generation;
+        final BitSet processed = new BitSet();
+    }
+
+    private final Map<String, RecipeState> states = new HashMap<>();
+    private long sequence;
+    private int duplicateCount;
+    private int staleCount;
+
+    /**
+     * 레시피의 새 세대를 시작합니다. 이전 세대의 전환은 이후 모두 버려집니다.
+     * @return 새 세대 번호
+     */
+    public int nextGeneration(String recipeId) {
+        RecipeState state = stateOf(recipeId);
+        state.generation++;
+        state.processed.clear();
+        return state.generation;
+    }
+
+    /**
+     * @return 레시피의 현재 세대 번호. 세대를 시작한 적이 없으면 0
+     */
+    public int currentGeneration(String recipeId) {
+        RecipeState state = states.get(recipeId);
+        return state != null ? state.generation : 0;
+    }
+
+    /**
+     * 전환 이벤트를 제출합니다.
+     * @param generation 이벤트를 만든 세대. 음수이면 (세대 정보가 없는 이전 버전의 알람) 현재 세대로 간주합니다.
+     * @return RESULT_* 중 하나
+     */
+    public int offer(String recipeId, int generation, int stepIndex) {
+        RecipeState state = stateOf(recipeId);
+        if (generation < 0) {
+            generation = state.generation;
+        }
+        if (generation < state.generation) {
+            staleCount++;
+            return RESULT_STALE;
+        }
+        if (generation > state.generation) {
+            // 프로세스가 다시 시작되어 장부가 비어 있는 동안 이전 프로세스가 예약한 알람이 도착한 경우입니다.
+            state.generation = generation;
+            state.processed.clear();
+        }
+        if (state.processed.get(stepIndex)) {
+            duplicateCount++;
+            return RESULT_DUPLICATE;
+        }
+        state.processed.set(stepIndex);
+        sequence++;
+        return RESULT_ACCEPTED;
+    }
+
+    /**
+     * 레시피가 끝나거나 중지되었을 때 호출합니다. 이미 전달 중인 알람은 이후 모두 버려집니다.
+     */
+    public void retire(String recipeId) {
+        nextGeneration(recipeId);
+    }
+
+    /**
+     * @return 마지막으로 수락된 전환의 순번
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public int getStaleCount() {
+        return staleCount;
+    }
+
+    private RecipeState stateOf(String recipeId) {
+        RecipeState state = states.get(recipeId);
+        if (state == null) {
+            state = new RecipeState();
+            states.put(recipeId, state);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.recipealarm;
+
+import java.util.Locale;
+
+/**
+ * TimerService 의 틱 콜백이 메인 스레드를 몇 번 깨웠는지 기록하는 통계입니다.
+ *
+ * 지켜보는 화면이 없을 때 서비스는 매 초가 아니라 다음 단계 종료 시각에만 깨어나므로,
+ * 실제로 깨어난 횟수와 함께 같은 시간 동안 매 초 틱을 돌렸다면 깨어났을 횟수(기준값)를 함께 셉니다.
+ * 기준값은 예약한 틱이 실행되거나 취소될 때까지 흐른 초로 계산합니다.
+ * 화면이 지켜보던 시간과 아닌 시간, 그동안 쓴 CPU 시간도 나누어 기록합니다.
+ * 안드로이드 API 를 사용하지 않으며, 메인 스레드에서만 사용합니다.
+ */
+public class TickWakeupStats {
+
+    private boolean active;
+    private boolean watched;
+    private long activeSinceMs;
+    private long cpuSinceMs;
+    private long watchedSinceMs;
+
+    private long watchedMs;
+    private long unwatchedMs;
+    private long cpuMs;
+
+    private boolean scheduled;
+    private long scheduledAtMs;
+
+    private int watchedWakeups;
+    private int unwatchedWakeups;
+    private long baselineWakeups;
+
+    /**
+     * 서비스가 시작될 때 호출합니다.
+     * @param nowMs 현재 시각. 기기가 잠든 동안 멈추는 시계(SystemClock.uptimeMillis)를 사용합니다.
+     * @param cpuTimeMs 프로세스가 지금까지 사용한 CPU 시간 (Process.getElapsedCpuTime)
+     * @param watched 틱을 받는 화면이 있는지 여부
+     */
+    public void start(long nowMs, long cpuTimeMs, boolean watched) {
+        if (active) {
+            return;
+        }
+        active = true;
+        activeSinceMs = nowMs;
+        cpuSinceMs = cpuTimeMs;
+        this.watched = watched;
+        watchedSinceMs = nowMs;
+    }
+
+    /**
+     * 서비스가 끝날 때 호출합니다. 예약된 틱이 남아 있으면 취소된 것으로 셉니다.
+     */
+    public void stop(long nowMs, long cpuTimeMs) {
+        if (!active) {
+            return;
+        }
+        onCancelled(nowMs);
+        accumulateMode(nowMs);
+        cpuMs += cpuTimeMs - cpuSinceMs;
+        active = false;
+    }
+
+    /**
+     * 틱을 받는 화면이 생기거나 사라졌을 때 호출합니다.
+     */
+    public void setWatched(boolean watched, long nowMs) {
+        if (this.watched == watched) {
+            return;
+        }
+        accumulateMode(nowMs);
+        this.watched = watched;
+    }
+
+    /**
+     * 틱 콜백을 예약했을 때 호출합니다.
+     */
+    public void onScheduled(long nowMs) {
+        scheduled = true;
+        scheduledAtMs = nowMs;
+    }
+
+    /**
+     * 예약한 틱 콜백이 실행되었을 때 호출합니다. 객체를 할당하지 않습니다.
+     */
+    public void onWakeup(long nowMs) {
+        if (watched) {
+            watchedWakeups++;
+        } else {
+            unwatchedWakeups++;
+        }
+        // 매 초 틱이었다면 이 사이에 깨어났을 횟수입니다. 한 번의 콜백은 적어도 한 번으로 셉니다.
+        baselineWakeups += scheduled ? Math.max(1, Math.round((nowMs - scheduledAtMs) / 1000.0)) : 1;
+        scheduled = false;
+    }
+
+    /**
+     * 예약한 틱 콜백을 실행 전에 취소했을 때 호출합니다.
+     */
+    public void onCancelled(long nowMs) {
+        if (scheduled) {
+            baselineWakeups += (nowMs - scheduledAtMs) / 1000;
+            scheduled = false;
+        }
+    }
+
+    private void accumulateMode(long nowMs) {
+        if (watched) {
+            watchedMs += nowMs - watchedSinceMs;
+        } else {
+            unwatchedMs += nowMs - watchedSinceMs;
+        }
+        watchedSinceMs = nowMs;
+    }
+
+    public int getWakeups() {
+        return watchedWakeups + unwatchedWakeups;
+    }
+
+    public int getWatchedWakeups() {
+        return watchedWakeups;
+    }
+
+    public int getUnwatchedWakeups() {
+        return unwatchedWakeups;
+    }
+
+    /**
+     * @return 같은 시간 동안 매 초 틱을 돌렸다면 깨어났을 횟수
+     */
+    public long getBaselineWakeups() {
+        return baselineWakeups;
+    }
+
+    /**
+     * @return 지켜보는 화면이 있던 시간. 진행 중이면 지금까지의 시간을 포함합니다.
+     */
+    public long getWatchedMs(long nowMs) {
+        return watchedMs + (active && watched ? nowMs - watchedSinceMs : 0);
+    }
+
+    /**
+     * @return 지켜보는 화면이 없던 시간. 진행 중이면 지금까지의 시간을 포함합니다.
+     */
+    public long getUnwatchedMs(long nowMs) {
+        return unwatchedMs + (active && !watched ? nowMs - watchedSinceMs : 0);
+    }
+
+    /**
+     * @return 서비스가 실행된 1시간당 틱 콜백 횟수
+     */
+    public double getWakeupsPerHour(long nowMs) {
+        return perHour(getWakeups(), getWatchedMs(nowMs) + getUnwatchedMs(nowMs));
+    }
+
+    /**
+     * @return 서비스가 실행된 1시간당 프로세스 CPU 시간(ms)
+     */
+    public double getCpuMsPerHour(long nowMs, long cpuTimeMs) {
+        long cpu = cpuMs + (active ? cpuTimeMs - cpuSinceMs : 0);
+        return perHour(cpu, getWatchedMs(nowMs) + getUnwatchedMs(nowMs));
+    }
+
+    private static double perHour(double value, long durationMs) {
+        return durationMs > 0 ? value * 3_600_000.0 / durationMs : 0;
+    }
+
+    /**
+     * 로그와 디버그 화면에 표시할 요약 문자열을 만듭니다.
+     */
+    public String summarize(long nowMs, long cpuTimeMs) {
+        return String.format(Locale.US,
+                "타이머 틱 깨우기\n  화면 있음 %ds: %d회  화면 없음 %ds: %d회\n"
+                        + "  합계 %d회 (매 초 틱이었다면 %d회)  %.0f회/h  CPU=%.0fms/h",
+                getWatchedMs(nowMs) / 1000, watchedWakeups, getUnwatchedMs(nowMs) / 1000, unwatchedWakeups,
+                getWakeups(), baselineWakeups, getWakeupsPerHour(nowMs), getCpuMsPerHour(nowMs, cpuTimeMs));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.recipealarm;
+
+/**
+ * 남은 시간을 "MM:SS" 형식으로 표시하기 위한 포맷터입니다.
+ *
+ * 매 초 호출되는 타이머 틱 경로에서는 {@link #formatInto(long, char[])} 로 미리 할당된 버퍼에
+ * 직접 숫자를 써 넣어 String.format 이나 문자열 연결로 인한 할당이 생기지 않도록 합니다.
+ * 틱이 아닌 곳(알림, 일시정지 상태 등)에서는 {@link #format(long)} 을 사용합니다.
+ */
+public final class TimeFormatter {
+
+    /**
+     * formatInto 에 넘길 버퍼의 최소 길이입니다. 9999분 59초까지 표시할 수 있습니다.
+     */
+    public static final int BUFFER_SIZE = 7;
+
+    private TimeFormatter() {
+        // 인스턴스화 방지
+    }
+
+    /**
+     * 밀리초를 "MM:SS" 형식으로 버퍼에 씁니다. 분이 두 자리를 넘으면 필요한 만큼 자릿수가 늘어납니다.
+     * @param millis 표시할 시간 (밀리초). 음수는 0으로 취급합니다.
+     * @param dst 결과를 쓸 버퍼. 길이가 {@link #BUFFER_SIZE} 이상이어야 합니다.
+     * @return 버퍼에 쓴 글자 수
+     */
+    public static int formatInto(long millis, char[] dst) {
+        long totalSeconds = Math.max(0, millis) / 1000;
+        long minutes = Math.min(totalSeconds / 60, 9999);
+        int seconds = (int) (totalSeconds % 60);
+
+        int minuteDigits = minutes >= 1000 ? 4 : minutes >= 100 ? 3 : 2;
+        int pos = minuteDigits;
+        long m = minutes;
+        while (pos > 0) {
+            dst[--pos] = (char) ('0' + (m % 10));
+            m /= 10;
+        }
+        dst[minuteDigits] = ':';
+        dst[minuteDigits + 1] = (char) ('0' + seconds / 10);
+        dst[minuteDigits + 2] = (char) ('0' + seconds % 10);
+        return minuteDigits + 3;
+    }
+
+    /**
+     * 밀리초를 "MM:SS" 형식의 문자열로 변환합니다.
+     * @param millis 표시할 시간 (밀리초)
+     * @return 포맷된 문자열
+     */
+    public static String format(long millis) {
+        char[] buffer = new char[BUFFER_SIZE];
+        int length = formatInto(millis, buffer);
+        return new String(buffer, 0, length);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.recipealarm;
+
+/**
+ * 타이머 화면을 매 프레임 그리기 위해 대표 단계의 종료 시각으로부터 진행률과 남은 시간을 계산합니다.
+ *
+ * 서비스의 틱이나 상태 변경을 받을 때마다 {@link #sync} 로 남은 시간을 맞추고, 프레임마다
+ * {@link #progressAt(long)} 와 {@link #formatIfChanged(long)} 로 그 사이를 보간합니다.
+ * 예상한 남은 시간과 틱의 값이 조금만 다르면 종료 시각을 옮기지 않아 진행률이 뒤로 튀지 않습니다.
+ * 시각은 Choreographer 의 프레임 시각과 같은 System.nanoTime 기준의 밀리초입니다.
+ * 프레임 경로는 객체를 할당하지 않으며, 메인 스레드에서만 사용합니다.
+ */
+public class TimerFrameModel {
+
+    /** 진행률 표시기의 최대값. 1초 단위보다 훨씬 촘촘하게 움직이도록 합니다. */
+    public static final int PROGRESS_MAX = 10_000;
+
+    /** 틱의 남은 시간이 예상과 이 이상 다를 때만 종료 시각을 다시 맞춥니다. */
+    static final long SYNC_TOLERANCE_MS = 50L;
+
+    private long deadlineMs;
+    private long durationMs;
+    private long pausedRemainingMs;
+    private boolean paused = true;
+
+    private final char[] formatted = new char[TimeFormatter.BUFFER_SIZE];
+    private int formattedLength;
+    private long displayedSecond = -1;
+
+    /**
+     * 서비스에서 받은 상태로 종료 시각을 맞춥니다.
+     * @param remainingMs 대표 단계의 남은 시간
+     * @param stepDurationMs 대표 단계의 길이
+     * @param paused 일시정지 여부
+     * @param nowMs 현재 시각 (System.nanoTime 기준 밀리초)
+     */
+    public void sync(long remainingMs, long stepDurationMs, boolean paused, long nowMs) {
+        boolean sameState = !paused && !this.paused && stepDurationMs == durationMs;
+        if (sameState && Math.abs(remainingAt(nowMs) - remainingMs) < SYNC_TOLERANCE_MS) {
+            return;
+        }
+        this.paused = paused;
+        durationMs = stepDurationMs;
+        pausedRemainingMs = remainingMs;
+        deadlineMs = nowMs + remainingMs;
+        displayedSecond = -1;
+    }
+
+    /**
+     * @return 프레임을 계속 그려야 하면 true. 일시정지 중이거나 단계가 끝났으면 false
+     */
+    public boolean isRunning(long nowMs) {
+        return !paused && durationMs > 0 && remainingAt(nowMs) > 0;
+    }
+
+    /**
+     * @return 주어진 시각의 남은 시간
+     */
+    public long remainingAt(long nowMs) {
+        long remaining = paused ? pausedRemainingMs : deadlineMs - nowMs;
+        return Math.max(0, Math.min(durationMs, remaining));
+    }
+
+    /**
+     * @return 0 ~ {@link #PROGRESS_MAX} 사이의 진행률
+     */
+    public int progressAt(long nowMs) {
+        if (durationMs <= 0) {
+            return 0;
+        }
+        return (int) ((durationMs - remainingAt(nowMs)) * PROGRESS_MAX / durationMs);
+    }
+
+    /**
+     * 표시할 초가 바뀌었으면 남은 시간을 버퍼에 "MM:SS" 로 씁니다.
+     * 서비스와 같이 남은 초를 올림하므로 표시는 정확히 초 경계에서 바뀝니다.
+     * @return 버퍼가 바뀌었으면 true
+     */
+    public boolean formatIfChanged(long nowMs) {
+        long second = (remainingAt(nowMs) + 999) / 1000;
+        if (second == displayedSecond) {
+            return false;
+        }
+        displayedSecond = second;
+        formattedLength = TimeFormatter.formatInto(second * 1000, formatted);
+        return true;
+    }
+
+    /**
+     * 남은 시간을 담고 있는 버퍼입니다. 다음 프레임에서 덮어써지므로 보관하지 말아야 합니다.
+     */
+    public char[] getFormatted() {
+        return formatted;
+    }
+
+    public int getFormattedLength() {
+        return formattedLength;
+    }
+}
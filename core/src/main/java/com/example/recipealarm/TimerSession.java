@@ -0,0 +1,279 @@
+package com.example.recipealarm;
+
+/**
+ * TimerService 가 실행 중인 레시피 하나의 타이머 상태를 담는 클래스입니다.
+ *
+ * 세션은 레시피 전체의 경과 시간(타임라인)을 기준으로 동작합니다. 각 단계의 시작/종료 시각은
+ * {@link StepSchedule} 이 선행 관계로부터 계산하며, 독립적인 단계들은 동시에 진행됩니다.
+ * 화면에는 진행 중인 크리티컬 패스 단계(대표 단계)의 남은 시간을 표시합니다.
+ *
+ * 현재 단계, 남은 시간, 일시정지 여부를 원시 타입 필드로 보관하므로
+ * 매 초 호출되는 {@link #tick(long)} 은 객체를 할당하지 않습니다.
+ * 시간은 모두 호출자가 넘겨주는 단조 증가 시계(SystemClock.elapsedRealtime 등) 기준입니다.
+ * 메인 스레드에서만 접근하도록 설계되었습니다.
+ */
+public class TimerSession {
+
+    /** 표시할 초가 바뀌지 않았습니다. */
+    public static final int TICK_UNCHANGED = 0;
+    /** 표시할 초가 바뀌었습니다. 화면을 갱신해야 합니다. */
+    public static final int TICK_CHANGED = 1;
+    /** 어떤 단계의 종료 시각에 도달했습니다. {@link #advanceBoundary(long)} 를 호출해야 합니다. */
+    public static final int TICK_FINISHED = 2;
+
+    private final Recipe recipe;
+    private final String recipeId;
+    private final int totalSteps;
+    private final StepSchedule schedule;
+
+    // 타임라인 경과 시간이 0 이었던 시각. elapsed = now - originMs
+    private long originMs;
+    private long pausedElapsedMs;
+    private boolean paused;
+    private long nextBoundaryMs;
+
+    private int stepIndex;
+    private long stepDurationMs;
+    private long remainingMs;
+
+    private long displayedSecond = -1;
+    private final char[] formatted = new char[TimeFormatter.BUFFER_SIZE];
+    private int formattedLength;
+
+    /**
+     * @param recipe 실행할 레시피
+     * @throws IllegalArgumentException 단계의 선행 관계가 잘못된 경우
+     */
+    public TimerSession(Recipe recipe) {
+        this.recipe = recipe;
+        this.recipeId = recipe.getId();
+        this.totalSteps = recipe.getSteps().size();
+        this.schedule = StepSchedule.of(recipe);
+    }
+
+    /**
+     * 타임라인의 특정 경과 시간부터 타이머를 진행합니다.
+     * @param elapsedMs 레시피 시작으로부터의 경과 시간
+     * @param nowMs 현재 시각
+     */
+    public void startAt(long elapsedMs, long nowMs) {
+        long elapsed = Math.max(0, Math.min(elapsedMs, schedule.getTotalMs()));
+        originMs = nowMs - elapsed;
+        paused = false;
+        nextBoundaryMs = schedule.nextEndAfter(elapsed);
+        updateFocus(elapsed);
+    }
+
+    /**
+     * 지정한 단계의 시작 시각으로 타임라인을 옮깁니다. 단계 이동(이전/다음)에 사용합니다.
+     * @param stepIndex 이동할 단계 인덱스
+     * @param nowMs 현재 시각
+     */
+    public void jumpToStep(int stepIndex, long nowMs) {
+        startAt(schedule.getStartMs(stepIndex), nowMs);
+    }
+
+    /**
+     * 타이머를 일시정지하고 그 시점의 경과 시간을 고정합니다.
+     * @param nowMs 현재 시각
+     */
+    public void pause(long nowMs) {
+        if (paused) {
+            return;
+        }
+        pausedElapsedMs = Math.min(nowMs - originMs, schedule.getTotalMs());
+        paused = true;
+        updateFocus(pausedElapsedMs);
+    }
+
+    /**
+     * 일시정지된 시점부터 타이머를 다시 진행합니다.
+     * @param nowMs 현재 시각
+     */
+    public void resume(long nowMs) {
+        if (!paused) {
+            return;
+        }
+        startAt(pausedElapsedMs, nowMs);
+    }
+
+    /**
+     * 매 틱마다 호출되어 남은 시간을 갱신합니다. 객체를 할당하지 않습니다.
+     * @param nowMs 현재 시각
+     * @return {@link #TICK_UNCHANGED}, {@link #TICK_CHANGED}, {@link #TICK_FINISHED} 중 하나
+     */
+    public int tick(long nowMs) {
+        if (paused) {
+            return TICK_UNCHANGED;
+        }
+        long elapsed = nowMs - originMs;
+        if (elapsed >= nextBoundaryMs) {
+            return TICK_FINISHED;
+        }
+        remainingMs = Math.max(0, schedule.getEndMs(stepIndex) - elapsed);
+        return updateFormatted() ? TICK_CHANGED : TICK_UNCHANGED;
+    }
+
+    /**
+     * 단계 종료 시각을 지난 뒤 호출되어 대표 단계와 다음 종료 시각을 갱신합니다.
+     * @param nowMs 현재 시각
+     * @return 모든 단계가 끝났으면 true
+     */
+    public boolean advanceBoundary(long nowMs) {
+        long elapsed = getElapsedMs(nowMs);
+        while (nextBoundaryMs <= elapsed) {
+            nextBoundaryMs = schedule.nextEndAfter(nextBoundaryMs);
+        }
+        updateFocus(Math.min(elapsed, schedule.getTotalMs()));
+        return isFinished(nowMs);
+    }
+
+    /**
+     * @return 모든 단계의 시간이 지났으면 true
+     */
+    public boolean isFinished(long nowMs) {
+        return getElapsedMs(nowMs) >= schedule.getTotalMs();
+    }
+
+    /**
+     * @return 레시피 시작으로부터의 경과 시간. 일시정지 중에는 멈춘 시점의 값입니다.
+     */
+    public long getElapsedMs(long nowMs) {
+        return paused ? pausedElapsedMs : nowMs - originMs;
+    }
+
+    /**
+     * 다음 초 경계까지 남은 시간을 반환합니다. 틱을 초 단위에 맞춰 예약하는 데 사용합니다.
+     * 단계 길이가 모두 초 단위이므로 모든 단계 종료 시각도 초 경계와 일치합니다.
+     * @param nowMs 현재 시각
+     */
+    public long millisUntilNextSecond(long nowMs) {
+        long fraction = Math.floorMod(nowMs - originMs, 1000L);
+        return 1000 - fraction;
+    }
+
+    /**
+     * 다음 단계 종료 시각까지 남은 시간을 반환합니다. 지켜보는 화면이 없어 매 초 틱을 멈춘 동안
+     * 다음 틱을 이 시각에 맞춰 예약합니다.
+     * @param nowMs 현재 시각
+     * @return 남은 시간. 이미 지났으면 0
+     */
+    public long millisUntilNextBoundary(long nowMs) {
+        return Math.max(0, nextBoundaryMs - (nowMs - originMs));
+    }
+
+    private void updateFocus(long elapsedMs) {
+        int focus = schedule.focusStepAt(elapsedMs);
+        stepIndex = Math.max(0, focus);
+        stepDurationMs = recipe.getSteps().get(stepIndex).getDurationInSeconds() * 1000L;
+        remainingMs = Math.max(0, Math.min(stepDurationMs, schedule.getEndMs(stepIndex) - elapsedMs));
+        displayedSecond = -1;
+        updateFormatted();
+    }
+
+    /**
+     * 카운트다운은 남은 초를 올림하여 표시합니다. 시작 직후에는 단계 길이 그대로,
+     * 마지막 1초 동안에는 00:01 이 보이며 표시가 바뀌는 시점은 정확히 초 경계와 일치합니다.
+     */
+    private boolean updateFormatted() {
+        long second = (remainingMs + 999) / 1000;
+        if (second == displayedSecond) {
+            return false;
+        }
+        displayedSecond = second;
+        formattedLength = TimeFormatter.formatInto(second * 1000, formatted);
+        return true;
+    }
+
+    /**
+     * @return 단계 i 의 남은 시간. 아직 시작 전이면 단계 길이, 이미 끝났으면 0
+     */
+    public long getStepRemainingMs(int step, long nowMs) {
+        long elapsed = getElapsedMs(nowMs);
+        long start = schedule.getStartMs(step);
+        long end = schedule.getEndMs(step);
+        return Math.max(0, end - Math.max(start, elapsed));
+    }
+
+    public StepSchedule getSchedule() {
+        return schedule;
+    }
+
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    public String getRecipeId() {
+        return recipeId;
+    }
+
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public RecipeStep getCurrentStep() {
+        return recipe.getSteps().get(stepIndex);
+    }
+
+    public long getStepDurationMs() {
+        return stepDurationMs;
+    }
+
+    public long getRemainingMs() {
+        return remainingMs;
+    }
+
+    /**
+     * 대표 단계가 끝나는 시각 (틱 시계 기준). 일시정지 중에는 의미가 없습니다.
+     */
+    public long getDeadlineMs() {
+        return originMs + schedule.getEndMs(stepIndex);
+    }
+
+    /**
+     * 다음으로 어떤 단계가 끝나는 타임라인 시각. 값이 바뀌면 동시에 진행 중인 단계 구성이 바뀐 것입니다.
+     */
+    public long getNextBoundaryMs() {
+        return nextBoundaryMs;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * 남은 시간을 "MM:SS" 형식으로 담고 있는 버퍼입니다. 다음 틱에서 덮어써지므로 복사해서 보관해야 합니다.
+     */
+    public char[] getFormattedRemaining() {
+        return formatted;
+    }
+
+    public int getFormattedRemainingLength() {
+        return formattedLength;
+    }
+
+    /**
+     * 남은 시간 표시를 문자열로 복사해 반환합니다. 할당이 생기므로 상태 변경 시에만 사용합니다.
+     */
+    public String copyFormattedRemaining() {
+        return new String(formatted, 0, formattedLength);
+    }
+
+    /**
+     * 현재 상태를 불변 객체로 복사합니다. 마지막 틱 이후 지난 시간도 반영합니다.
+     * 할당이 생기므로 화면이 상태를 직접 읽을 때만 사용합니다.
+     * @param nowMs 현재 시각
+     */
+    public TimerSnapshot snapshot(long nowMs) {
+        long elapsed = Math.min(getElapsedMs(nowMs), schedule.getTotalMs());
+        long remaining = paused ? remainingMs
+                : Math.max(0, Math.min(stepDurationMs, schedule.getEndMs(stepIndex) - elapsed));
+        long second = (remaining + 999) / 1000;
+        return new TimerSnapshot(recipeId, stepIndex, totalSteps, getCurrentStep().getDescription(),
+                TimeFormatter.format(second * 1000), remaining, stepDurationMs, elapsed, paused);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.recipealarm;
+
+/**
+ * 한 시점의 레시피 타이머 상태를 담는 불변 객체입니다.
+ * 바인드된 화면이 앱 모듈의 TimerService.getSnapshot(String) 으로 브로드캐스트를 기다리지 않고 상태를 바로 읽을 때 사용합니다.
+ */
+public final class TimerSnapshot {
+
+    private final String recipeId;
+    private final int stepIndex;
+    private final int totalSteps;
+    private final String stepDescription;
+    private final String formattedRemaining;
+    private final long remainingMs;
+    private final long stepDurationMs;
+    private final long elapsedMs;
+    private final boolean paused;
+
+    public TimerSnapshot(String recipeId, int stepIndex, int totalSteps, String stepDescription,
+                         String formattedRemaining, long remainingMs, long stepDurationMs, long elapsedMs,
+                         boolean paused) {
+        this.recipeId = recipeId;
+        this.stepIndex = stepIndex;
+        this.totalSteps = totalSteps;
+        this.stepDescription = stepDescription;
+        this.formattedRemaining = formattedRemaining;
+        this.remainingMs = remainingMs;
+        this.stepDurationMs = stepDurationMs;
+        this.elapsedMs = elapsedMs;
+        this.paused = paused;
+    }
+
+    public String getRecipeId() {
+        return recipeId;
+    }
+
+    /**
+     * @return 대표 단계의 인덱스
+     */
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public String getStepDescription() {
+        return stepDescription;
+    }
+
+    /**
+     * @return 대표 단계의 남은 시간 ("MM:SS")
+     */
+    public String getFormattedRemaining() {
+        return formattedRemaining;
+    }
+
+    public long getRemainingMs() {
+        return remainingMs;
+    }
+
+    public long getStepDurationMs() {
+        return stepDurationMs;
+    }
+
+    /**
+     * @return 레시피 시작으로부터의 경과 시간
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+}
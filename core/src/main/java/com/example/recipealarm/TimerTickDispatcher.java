@@ -0,0 +1,137 @@
+package com.example.recipealarm;
+
+/**
+ * TimerService 의 매 초 틱을 같은 프로세스의 화면에 전달하는 디스패처입니다.
+ *
+ * 틱마다 Intent 와 extras Bundle 을 만들어 브로드캐스트하는 대신, 등록된 리스너에게
+ * {@link TimerSession} 을 그대로 넘겨줍니다. 리스너 배열은 등록/해제 시에만 복사되므로
+ * {@link #dispatch(TimerSession)} 는 객체를 할당하지 않습니다.
+ * 틱은 메인 스레드에서 전달됩니다.
+ *
+ * 리스너가 처음 등록되거나 마지막 리스너가 해제되면 {@link ObserverListener} 에 알려,
+ * 서비스가 지켜보는 화면이 없는 동안 매 초 틱을 멈출 수 있게 합니다.
+ */
+public final class TimerTickDispatcher {
+
+    /**
+     * 타이머 틱을 받는 리스너입니다.
+     */
+    public interface TimerTickListener {
+        /**
+         * 세션의 표시 시간이 바뀌었을 때 메인 스레드에서 호출됩니다.
+         * 전달된 세션은 다음 틱에서 갱신되므로 참조를 보관하지 말아야 합니다.
+         * @param session 갱신된 타이머 세션
+         */
+        void onTimerTick(TimerSession session);
+    }
+
+    /**
+     * 틱을 받는 리스너가 생기거나 모두 사라졌을 때 알림을 받습니다.
+     */
+    public interface ObserverListener {
+        /**
+         * 리스너를 등록/해제한 스레드(메인 스레드)에서 호출됩니다.
+         * @param hasObservers 등록된 리스너가 하나라도 있으면 true
+         */
+        void onObserversChanged(boolean hasObservers);
+    }
+
+    private static final TimerTickListener[] EMPTY = new TimerTickListener[0];
+    private static volatile TimerTickDispatcher INSTANCE;
+
+    private volatile TimerTickListener[] listeners = EMPTY;
+    private volatile ObserverListener observerListener;
+
+    TimerTickDispatcher() {
+        // 앱에서는 getInstance() 를 사용합니다. 테스트에서만 직접 생성합니다.
+    }
+
+    /**
+     * TimerTickDispatcher 의 싱글톤 인스턴스를 가져옵니다.
+     */
+    public static TimerTickDispatcher getInstance() {
+        if (INSTANCE == null) {
+            synchronized (TimerTickDispatcher.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TimerTickDispatcher();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public void addListener(TimerTickListener listener) {
+        synchronized (this) {
+            for (TimerTickListener existing : listeners) {
+                if (existing == listener) {
+                    return;
+                }
+            }
+            TimerTickListener[] updated = new TimerTickListener[listeners.length + 1];
+            System.arraycopy(listeners, 0, updated, 0, listeners.length);
+            updated[listeners.length] = listener;
+            listeners = updated;
+            if (updated.length != 1) {
+                return;
+            }
+        }
+        notifyObserversChanged(true);
+    }
+
+    public void removeListener(TimerTickListener listener) {
+        synchronized (this) {
+            TimerTickListener[] current = listeners;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            TimerTickListener[] updated = new TimerTickListener[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            listeners = updated.length == 0 ? EMPTY : updated;
+            if (updated.length != 0) {
+                return;
+            }
+        }
+        notifyObserversChanged(false);
+    }
+
+    /**
+     * @return 틱을 받는 리스너가 하나라도 있으면 true
+     */
+    public boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    /**
+     * 리스너가 생기거나 모두 사라질 때 알림을 받을 대상을 지정합니다. null 이면 해제합니다.
+     */
+    public void setObserverListener(ObserverListener listener) {
+        observerListener = listener;
+    }
+
+    // 잠금 밖에서 호출해 콜백이 다시 리스너를 등록/해제하더라도 교착되지 않도록 합니다.
+    private void notifyObserversChanged(boolean hasObservers) {
+        ObserverListener current = observerListener;
+        if (current != null) {
+            current.onObserversChanged(hasObservers);
+        }
+    }
+
+    /**
+     * 등록된 모든 리스너에게 틱을 전달합니다. 객체를 할당하지 않습니다.
+     * @param session 갱신된 타이머 세션
+     */
+    public void dispatch(TimerSession session) {
+        TimerTickListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].onTimerTick(session);
+        }
+    }
+}
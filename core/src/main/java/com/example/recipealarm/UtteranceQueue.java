@@ -0,0 +1,100 @@
+package com.example.recipealarm;
+
+import java.util.PriorityQueue;
+
+/**
+ * 음성 안내 대기열입니다. 우선순위가 높은 안내가 먼저 나오고, 우선순위가 같으면 먼저 들어온 순서를 지킵니다.
+ * 안내는 버려지지 않으며, 여러 레시피의 안내가 겹쳐도 모두 차례대로 재생됩니다.
+ * 동기화하지 않으므로 한 스레드(메인 스레드)에서만 사용해야 합니다.
+ */
+public class UtteranceQueue {
+
+    /** 단계 전환 같은 일반 안내 */
+    public static final int PRIORITY_NORMAL = 0;
+    /** 레시피 완성처럼 먼저 들려줘야 하는 안내 */
+    public static final int PRIORITY_HIGH = 1;
+
+    /**
+     * 대기 중인 안내 하나입니다.
+     */
+    public static final class Utterance {
+        private final String text;
+        private final int priority;
+        private final long sequence;
+        private final long enqueuedAtMs;
+
+        Utterance(String text, int priority, long sequence, long enqueuedAtMs) {
+            this.text = text;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedAtMs = enqueuedAtMs;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return 안내가 요청된 시각. 안내가 실제로 들리기까지의 지연을 재는 데 사용합니다.
+         */
+        public long getEnqueuedAtMs() {
+            return enqueuedAtMs;
+        }
+
+        /**
+         * @return TextToSpeech 에 넘길 안내 ID
+         */
+        public String getId() {
+            return "utterance-" + sequence;
+        }
+    }
+
+    private final PriorityQueue<Utterance> queue = new PriorityQueue<>(11, (a, b) -> {
+        if (a.priority != b.priority) {
+            return Integer.compare(b.priority, a.priority);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    });
+    private long nextSequence;
+
+    /**
+     * 안내를 대기열에 추가합니다.
+     * @param enqueuedAtMs 안내가 요청된 시각
+     * @return 추가된 안내
+     */
+    public Utterance add(String text, int priority, long enqueuedAtMs) {
+        Utterance utterance = new Utterance(text, priority, nextSequence++, enqueuedAtMs);
+        queue.add(utterance);
+        return utterance;
+    }
+
+    /**
+     * @return 다음에 재생할 안내를 꺼내지 않고 반환합니다. 대기열이 비어 있으면 null
+     */
+    public Utterance peek() {
+        return queue.peek();
+    }
+
+    /**
+     * @return 다음에 재생할 안내. 대기열이 비어 있으면 null
+     */
+    public Utterance poll() {
+        return queue.poll();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+}
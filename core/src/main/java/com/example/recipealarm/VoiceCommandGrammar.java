@@ -0,0 +1,281 @@
+package com.example.recipealarm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 음성 인식 결과에서 타이머 명령을 찾는 문법입니다.
+ *
+ * 명령마다 여러 동의어를 등록하고, 모든 동의어를 하나의 Aho-Corasick 오토마톤으로 컴파일합니다.
+ * 인식 문장은 공백을 무시하고 소문자로 비교하므로 "일시 정지"와 "일시정지"는 같은 문장입니다.
+ * 문장 하나를 한 번 훑는 동안 모든 동의어를 찾으며, 매칭 중에는 객체를 할당하지 않습니다.
+ *
+ * 문장 안에서 여러 명령이 보이면 가장 긴 동의어로 찾은 명령을 고릅니다 ("다시 시작"은 "시작"보다 우선).
+ * 길이가 같은 서로 다른 명령이 보이면 모호한 문장으로 보고 명령을 고르지 않습니다.
+ * 여러 인식 후보(N-best)가 있으면 후보마다 고른 명령에 신뢰도만큼 점수를 주어 합산합니다.
+ *
+ * 컴파일된 문법은 변경되지 않으며, {@link #match(CharSequence)} 와 {@link #bestCommand} 는 어느 스레드에서 호출해도 됩니다.
+ */
+public class VoiceCommandGrammar {
+
+    public static final String COMMAND_PAUSE = "pause";
+    public static final String COMMAND_RESUME = "resume";
+    public static final String COMMAND_NEXT = "next";
+    public static final String COMMAND_PREVIOUS = "previous";
+    public static final String COMMAND_STOP = "stop";
+    /** 남은 시간을 묻는 명령 */
+    public static final String COMMAND_TIME = "time";
+
+    private static final int ROOT = 0;
+    private static final int NO_STATE = -1;
+
+    private final String[] commands;
+    // 상태 전이는 (상태, 문자) 를 키로 하는 열린 주소 해시 테이블에 보관합니다.
+    private final long[] transitionKeys;
+    private final int[] transitionTargets;
+    private final int transitionMask;
+    private final int[] failure;
+    // 상태에서 끝나는 가장 긴 동의어의 명령 인덱스와 길이. 접미사로 끝나는 동의어는 outputLink 를 따라갑니다.
+    private final int[] outputCommand;
+    private final int[] outputLength;
+    private final int[] outputLink;
+
+    /**
+     * @param synonyms 명령 이름과 그 동의어 목록
+     * @throws IllegalArgumentException 공백만으로 이루어진 동의어가 있는 경우
+     */
+    public VoiceCommandGrammar(Map<String, String[]> synonyms) {
+        commands = synonyms.keySet().toArray(new String[0]);
+
+        // 1. 동의어들로 트라이를 만듭니다.
+        List<int[]> edges = new ArrayList<>(); // {from, char, to}
+        List<Integer> patternCommand = new ArrayList<>();
+        List<Integer> patternLength = new ArrayList<>();
+        patternCommand.add(-1);
+        patternLength.add(0);
+        Map<Long, Integer> trie = new HashMap<>();
+        int stateCount = 1;
+        for (int c = 0; c < commands.length; c++) {
+            for (String phrase : synonyms.get(commands[c])) {
+                String normalized = normalize(phrase);
+                if (normalized.isEmpty()) {
+                    throw new IllegalArgumentException("빈 동의어: " + commands[c]);
+                }
+                int state = ROOT;
+                for (int i = 0; i < normalized.length(); i++) {
+                    long key = key(state, normalized.charAt(i));
+                    Integer next = trie.get(key);
+                    if (next == null) {
+                        next = stateCount++;
+                        trie.put(key, next);
+                        edges.add(new int[]{state, normalized.charAt(i), next});
+                        patternCommand.add(-1);
+                        patternLength.add(0);
+                    }
+                    state = next;
+                }
+                if (patternLength.get(state) == 0) {
+                    patternCommand.set(state, c);
+                    patternLength.set(state, normalized.length());
+                }
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(4, edges.size() * 2 - 1)) << 1;
+        transitionKeys = new long[capacity];
+        transitionTargets = new int[capacity];
+        transitionMask = capacity - 1;
+        Arrays.fill(transitionKeys, -1L);
+        for (int[] edge : edges) {
+            putTransition(key(edge[0], (char) edge[1]), edge[2]);
+        }
+
+        outputCommand = new int[stateCount];
+        outputLength = new int[stateCount];
+        outputLink = new int[stateCount];
+        failure = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            outputCommand[s] = patternCommand.get(s);
+            outputLength[s] = patternLength.get(s);
+            outputLink[s] = NO_STATE;
+        }
+
+        // 2. 너비 우선으로 실패 링크와 출력 링크를 계산합니다.
+        List<List<int[]>> children = new ArrayList<>();
+        for (int s = 0; s < stateCount; s++) {
+            children.add(new ArrayList<>());
+        }
+        for (int[] edge : edges) {
+            children.get(edge[0]).add(edge);
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int[] edge : children.get(ROOT)) {
+            failure[edge[2]] = ROOT;
+            queue.add(edge[2]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int[] edge : children.get(state)) {
+                char ch = (char) edge[1];
+                int child = edge[2];
+                int fallback = failure[state];
+                while (fallback != ROOT && transition(fallback, ch) == NO_STATE) {
+                    fallback = failure[fallback];
+                }
+                int target = transition(fallback, ch);
+                failure[child] = target != NO_STATE ? target : ROOT;
+                int suffix = failure[child];
+                outputLink[child] = outputLength[suffix] > 0 ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 요리 타이머에서 사용하는 기본 명령과 동의어로 문법을 만듭니다.
+     */
+    public static VoiceCommandGrammar createDefault() {
+        Map<String, String[]> synonyms = new LinkedHashMap<>();
+        synonyms.put(COMMAND_PAUSE, new String[]{"일시정지", "정지", "멈춰", "멈춤", "잠깐", "기다려", "pause"});
+        synonyms.put(COMMAND_RESUME, new String[]{"다시 시작", "재개", "계속", "시작", "재생", "resume"});
+        synonyms.put(COMMAND_NEXT, new String[]{"다음", "넘겨", "건너뛰", "스킵", "next"});
+        synonyms.put(COMMAND_PREVIOUS, new String[]{"이전", "전 단계", "뒤로", "previous"});
+        synonyms.put(COMMAND_STOP, new String[]{"취소", "그만", "종료", "끝내", "중단", "stop"});
+        synonyms.put(COMMAND_TIME, new String[]{"몇 분", "몇 초", "얼마나 남", "남은 시간", "얼마 남", "시간 얼마"});
+        return new VoiceCommandGrammar(synonyms);
+    }
+
+    /**
+     * 인식 문장 하나에서 명령을 찾습니다. 객체를 할당하지 않습니다.
+     * @return 명령 이름. 명령이 없거나 모호하면 null
+     */
+    public String match(CharSequence text) {
+        int command = matchIndex(text);
+        return command >= 0 ? commands[command] : null;
+    }
+
+    /**
+     * 여러 인식 후보에서 가장 점수가 높은 명령을 고릅니다.
+     * @param hypotheses 인식 후보. 앞쪽이 더 유력한 후보입니다.
+     * @param confidences 후보별 신뢰도 (SpeechRecognizer.CONFIDENCE_SCORES). 없으면 null 이며, 이때는 순위의 역수를 씁니다.
+     * @param minRatio 1등 명령의 점수가 2등 명령 점수의 이 배수보다 커야 명령으로 인정합니다.
+     *                 1 이면 1등이 단독이기만 하면 되고, 부분 결과처럼 확신이 필요할 때는 더 큰 값을 씁니다.
+     * @return 명령 이름. 확신할 수 있는 명령이 없으면 null
+     */
+    public String bestCommand(List<String> hypotheses, float[] confidences, double minRatio) {
+        if (hypotheses == null || hypotheses.isEmpty()) {
+            return null;
+        }
+        double[] scores = new double[commands.length];
+        for (int i = 0; i < hypotheses.size(); i++) {
+            int command = matchIndex(hypotheses.get(i));
+            if (command < 0) {
+                continue;
+            }
+            double weight = confidences != null && i < confidences.length && confidences[i] > 0
+                    ? confidences[i] : 1.0 / (i + 1);
+            scores[command] += weight;
+        }
+        int best = -1;
+        double second = 0;
+        for (int c = 0; c < scores.length; c++) {
+            if (best < 0 || scores[c] > scores[best]) {
+                if (best >= 0) {
+                    second = Math.max(second, scores[best]);
+                }
+                best = c;
+            } else {
+                second = Math.max(second, scores[c]);
+            }
+        }
+        if (best < 0 || scores[best] <= 0 || scores[best] <= second * minRatio) {
+            return null;
+        }
+        return commands[best];
+    }
+
+    private int matchIndex(CharSequence text) {
+        if (text == null) {
+            return -1;
+        }
+        int state = ROOT;
+        int bestCommand = -1;
+        int bestLength = 0;
+        boolean ambiguous = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                continue;
+            }
+            ch = Character.toLowerCase(ch);
+            int next = transition(state, ch);
+            while (next == NO_STATE && state != ROOT) {
+                state = failure[state];
+                next = transition(state, ch);
+            }
+            state = next != NO_STATE ? next : ROOT;
+
+            for (int out = outputLength[state] > 0 ? state : outputLink[state]; out != NO_STATE; out = outputLink[out]) {
+                int length = outputLength[out];
+                if (length > bestLength) {
+                    bestLength = length;
+                    bestCommand = outputCommand[out];
+                    ambiguous = false;
+                } else if (length == bestLength && outputCommand[out] != bestCommand) {
+                    ambiguous = true;
+                }
+            }
+        }
+        return ambiguous ? -1 : bestCommand;
+    }
+
+    private static String normalize(String phrase) {
+        StringBuilder builder = new StringBuilder(phrase.length());
+        for (int i = 0; i < phrase.length(); i++) {
+            char ch = phrase.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                builder.append(ch);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long key(int state, char ch) {
+        return ((long) state << 16) | ch;
+    }
+
+    private void putTransition(long key, int target) {
+        int slot = slotOf(key);
+        while (transitionKeys[slot] != -1L) {
+            slot = (slot + 1) & transitionMask;
+        }
+        transitionKeys[slot] = key;
+        transitionTargets[slot] = target;
+    }
+
+    private int transition(int state, char ch) {
+        long key = key(state, ch);
+        int slot = slotOf(key);
+        while (true) {
+            long stored = transitionKeys[slot];
+            if (stored == key) {
+                return transitionTargets[slot];
+            }
+            if (stored == -1L) {
+                return NO_STATE;
+            }
+            slot = (slot + 1) & transitionMask;
+        }
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & transitionMask;
+    }
+}
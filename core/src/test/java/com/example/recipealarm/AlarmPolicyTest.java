@@ -0,0 +1,86 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 단계 알람의 예약 방법을 고르는 AlarmPolicy 와 결정 카운터를 확인하는 테스트입니다.
+ */
+public class AlarmPolicyTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void choose_shortStepUsesSingleExactAlarm() {
+        AlarmPolicy policy = new AlarmPolicy(AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS);
+
+        assertEquals(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE, policy.choose(5 * MINUTE, true, false, false));
+    }
+
+    @Test
+    public void choose_longStepUsesWindowThenExact() {
+        AlarmPolicy policy = new AlarmPolicy(AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS);
+        long deadline = 1_000_000_000L;
+
+        assertEquals(AlarmPolicy.MECHANISM_WINDOWED_THEN_EXACT, policy.choose(40 * MINUTE, true, false, false));
+        assertEquals(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE,
+                policy.choose(AlarmPolicy.REARM_THRESHOLD_MS, true, false, false));
+        // 시간 범위는 Android 12 의 최소 길이 이상이고, 종료 전에 끝납니다.
+        long windowStart = AlarmPolicy.rearmWindowStartMs(deadline);
+        assertTrue(AlarmPolicy.REARM_WINDOW_MS >= 10 * MINUTE);
+        assertTrue(windowStart > deadline - AlarmPolicy.REARM_THRESHOLD_MS);
+        assertTrue(windowStart + AlarmPolicy.REARM_WINDOW_MS < deadline);
+    }
+
+    @Test
+    public void choose_deviceIdleUsesSingleExactAlarm() {
+        AlarmPolicy policy = new AlarmPolicy(AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS);
+
+        // Doze 중에는 시간 범위 알람이 미뤄지므로 긴 단계도 allow-while-idle 정확한 알람 하나로 깨웁니다.
+        assertEquals(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE, policy.choose(40 * MINUTE, true, false, true));
+        assertEquals(AlarmPolicy.MECHANISM_FOREGROUND_ONLY, policy.choose(40 * MINUTE, true, true, true));
+    }
+
+    @Test
+    public void choose_strictTargetUsesAlarmClock() {
+        AlarmPolicy policy = new AlarmPolicy(500);
+
+        assertEquals(AlarmPolicy.MECHANISM_ALARM_CLOCK, policy.choose(40 * MINUTE, true, false, false));
+        assertEquals(AlarmPolicy.MECHANISM_ALARM_CLOCK, policy.choose(40 * MINUTE, true, false, true));
+        assertEquals(AlarmPolicy.MECHANISM_ALARM_CLOCK, policy.choose(MINUTE, true, false, false));
+    }
+
+    @Test
+    public void choose_fallsBackWithoutExactPermission() {
+        AlarmPolicy policy = new AlarmPolicy(500);
+
+        assertEquals(AlarmPolicy.MECHANISM_INEXACT_ALLOW_WHILE_IDLE, policy.choose(MINUTE, false, false, false));
+        assertEquals(AlarmPolicy.MECHANISM_INEXACT_ALLOW_WHILE_IDLE, policy.choose(40 * MINUTE, false, false, false));
+    }
+
+    @Test
+    public void choose_foregroundDeliveryNeedsNoAlarm() {
+        AlarmPolicy policy = new AlarmPolicy(AlarmPolicy.DEFAULT_ACCURACY_TARGET_MS);
+
+        assertEquals(AlarmPolicy.MECHANISM_FOREGROUND_ONLY, policy.choose(40 * MINUTE, true, true, false));
+        assertEquals(AlarmPolicy.MECHANISM_FOREGROUND_ONLY, policy.choose(MINUTE, false, true, false));
+    }
+
+    @Test
+    public void counter_countsDedicatedWakeups() {
+        AlarmDecisionCounter counter = new AlarmDecisionCounter();
+        counter.record(AlarmPolicy.MECHANISM_WINDOWED_THEN_EXACT);
+        counter.record(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE);
+        counter.record(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE);
+        counter.record(AlarmPolicy.MECHANISM_INEXACT_ALLOW_WHILE_IDLE);
+        counter.record(AlarmPolicy.MECHANISM_FOREGROUND_ONLY);
+
+        assertEquals(5, counter.getTotalCount());
+        assertEquals(2, counter.getCount(AlarmPolicy.MECHANISM_EXACT_ALLOW_WHILE_IDLE));
+        assertEquals(4, counter.getDedicatedWakeups());
+        assertEquals("foreground_only=1, windowed_then_exact=1, exact_allow_while_idle=2, "
+                        + "inexact_allow_while_idle=1 (wakeups=4)",
+                counter.toString());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 화면이 끝나면 작업 결과를 버리는 CancellationToken 을 확인하는 테스트입니다.
+ */
+public class CancellationTokenTest {
+
+    private final List<Runnable> mainQueue = new ArrayList<>();
+
+    private void runMainQueue() {
+        while (!mainQueue.isEmpty()) {
+            mainQueue.remove(0).run();
+        }
+    }
+
+    @Test
+    public void cancel_runsListenersOnce() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger calls = new AtomicInteger();
+        token.onCancel(calls::incrementAndGet);
+
+        token.cancel();
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void listenerRegisteredAfterCancel_runsImmediately() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        AtomicInteger calls = new AtomicInteger();
+
+        token.onCancel(calls::incrementAndGet);
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void unregisteredListener_isNotCalled() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger calls = new AtomicInteger();
+        Runnable unregister = token.onCancel(calls::incrementAndGet);
+
+        unregister.run();
+        token.cancel();
+
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void deliver_postsResultToExecutor() {
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        AtomicReference<String> delivered = new AtomicReference<>();
+        token.deliver(future, mainQueue::add, (result, throwable) -> delivered.set(result));
+
+        future.complete("ok");
+        assertNull(delivered.get());
+        runMainQueue();
+
+        assertEquals("ok", delivered.get());
+    }
+
+    @Test
+    public void deliver_dropsResultWhenCancelledBeforeItRuns() {
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        token.deliver(future, mainQueue::add, (result, throwable) -> calls.incrementAndGet());
+
+        future.complete("late");
+        token.cancel();
+        runMainQueue();
+
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void deliver_unwrapsCompletionException() {
+        CancellationToken token = new CancellationToken();
+        IllegalStateException failure = new IllegalStateException("저장 실패");
+        CompletableFuture<String> future = CompletableFuture.<String>supplyAsync(() -> {
+            throw failure;
+        }, Runnable::run).thenApply(s -> s);
+        AtomicReference<Throwable> delivered = new AtomicReference<>();
+
+        token.deliver(future, Runnable::run, (result, throwable) -> delivered.set(throwable));
+
+        assertSame(failure, delivered.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void noneToken_cannotBeCancelled() {
+        CancellationToken.NONE.cancel();
+    }
+}
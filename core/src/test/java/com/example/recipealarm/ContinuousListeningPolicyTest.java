@@ -0,0 +1,64 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 연속 음성 명령 모드의 재시작 간격과 사용량 기록을 확인하는 테스트입니다.
+ */
+public class ContinuousListeningPolicyTest {
+
+    @Test
+    public void silence_backsOffUntilSpeechIsHeard() {
+        ContinuousListeningPolicy policy = new ContinuousListeningPolicy();
+        policy.start(0, 0);
+
+        long[] expected = {1_000, 2_000, 4_000, 8_000, 8_000};
+        for (long delay : expected) {
+            policy.onListeningStarted();
+            policy.onRmsChanged(1.0f);
+            assertEquals(delay, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_SILENCE));
+        }
+
+        // 말소리가 들렸으면 명령이 아니었더라도 바로 다시 듣고 간격을 초기화합니다.
+        policy.onListeningStarted();
+        policy.onRmsChanged(ContinuousListeningPolicy.SPEECH_RMS_DB + 1);
+        assertEquals(ContinuousListeningPolicy.RESTART_DELAY_MS,
+                policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_SILENCE));
+        policy.onListeningStarted();
+        assertEquals(1_000, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_SILENCE));
+    }
+
+    @Test
+    public void errors_backOffAndStopWhenFatal() {
+        ContinuousListeningPolicy policy = new ContinuousListeningPolicy();
+        policy.start(0, 0);
+
+        assertEquals(500, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_TRANSIENT_ERROR));
+        assertEquals(1_000, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_TRANSIENT_ERROR));
+        assertEquals(ContinuousListeningPolicy.RESTART_DELAY_MS,
+                policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_SPEECH));
+        assertEquals(500, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_TRANSIENT_ERROR));
+        assertEquals(ContinuousListeningPolicy.STOP, policy.onSessionEnded(ContinuousListeningPolicy.OUTCOME_FATAL_ERROR));
+        assertEquals(4, policy.getErrorCount());
+    }
+
+    @Test
+    public void stats_reportPerHourOfActiveTime() {
+        ContinuousListeningPolicy policy = new ContinuousListeningPolicy();
+        policy.start(0, 1_000);
+        for (int i = 0; i < 30; i++) {
+            policy.onListeningStarted();
+        }
+        policy.stop(30 * 60_000L, 1_600);
+
+        // 꺼져 있는 동안의 시간은 세지 않습니다.
+        policy.start(60 * 60_000L, 5_000);
+        policy.stop(90 * 60_000L, 5_600);
+
+        assertEquals(60 * 60_000L, policy.getActiveMs(100 * 60_000L));
+        assertEquals(30.0, policy.getRestartsPerHour(100 * 60_000L), 1e-9);
+        assertEquals(1_200.0, policy.getCpuMsPerHour(100 * 60_000L, 9_999), 1e-9);
+    }
+}
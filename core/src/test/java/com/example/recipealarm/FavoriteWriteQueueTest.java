@@ -0,0 +1,93 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 즐겨찾기 변경을 모아서 저장하는 FavoriteWriteQueue 를 확인하는 테스트입니다.
+ */
+public class FavoriteWriteQueueTest {
+
+    @Test
+    public void rapidToggles_collapseIntoOneWrite() {
+        FavoriteWriteQueue queue = new FavoriteWriteQueue();
+
+        assertTrue(queue.offer("a", false, true));
+        assertFalse(queue.offer("a", true, false));
+        assertFalse(queue.offer("a", false, true));
+        assertTrue(queue.currentValue("a", false));
+
+        Map<String, Boolean> batch = queue.drain();
+        assertEquals(Collections.singletonMap("a", true), batch);
+        assertFalse(queue.onWriteSucceeded());
+        assertFalse(queue.hasPending());
+        assertEquals(1, queue.getWriteCount());
+        assertEquals(2, queue.getCoalescedCount());
+    }
+
+    @Test
+    public void toggleBackToPersistedValue_writesNothing() {
+        FavoriteWriteQueue queue = new FavoriteWriteQueue();
+        queue.offer("a", false, true);
+        queue.offer("a", true, false);
+
+        assertTrue(queue.drain().isEmpty());
+        assertFalse(queue.hasPending());
+        assertEquals(0, queue.getWriteCount());
+    }
+
+    @Test
+    public void changesDuringWrite_goToNextBatch() {
+        FavoriteWriteQueue queue = new FavoriteWriteQueue();
+        queue.offer("a", false, true);
+        queue.drain();
+
+        // 쓰는 중에는 새 묶음을 만들지 않고, 끝난 뒤 다시 쓰도록 알려줍니다.
+        assertFalse(queue.offer("b", false, true));
+        assertFalse(queue.offer("a", true, false));
+        assertTrue(queue.drain().isEmpty());
+        assertTrue(queue.onWriteSucceeded());
+
+        Map<String, Boolean> next = queue.drain();
+        assertEquals(2, next.size());
+        assertEquals(Boolean.FALSE, next.get("a"));
+        assertEquals(Boolean.TRUE, next.get("b"));
+    }
+
+    @Test
+    public void failedWrite_rollsBackToPersistedValue() {
+        FavoriteWriteQueue queue = new FavoriteWriteQueue();
+        queue.offer("a", false, true);
+        queue.drain();
+        queue.offer("a", true, false);
+        queue.offer("a", false, true);
+
+        Map<String, Boolean> rollback = queue.onWriteFailed();
+
+        assertEquals(Collections.singletonMap("a", false), rollback);
+        assertFalse(queue.hasPending());
+        assertFalse(queue.currentValue("a", false));
+    }
+
+    @Test
+    public void applyPending_overlaysUnsavedValues() {
+        FavoriteWriteQueue queue = new FavoriteWriteQueue();
+        Recipe a = new Recipe("a", "라면", Collections.emptyList(), false);
+        Recipe b = new Recipe("b", "김치찌개", Collections.emptyList(), true);
+        List<Recipe> loaded = Arrays.asList(a, b);
+        assertSame(loaded, queue.applyPending(loaded));
+
+        queue.offer("a", false, true);
+        List<Recipe> shown = queue.applyPending(loaded);
+
+        assertTrue(shown.get(0).isFavorite());
+        assertSame(b, shown.get(1));
+        assertFalse(a.isFavorite());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 알람 지연 기록에 사용하는 LatencyHistogram 을 확인하는 테스트입니다.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketIndex_roundTripsWithinRelativeError() {
+        for (long value = 0; value < 5_000_000; value += 1 + value / 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(value <= highest);
+            assertTrue("값 " + value + " 의 버킷 상한 " + highest, highest - value <= Math.max(0, value / 16));
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void valueAtPercentile_reportsTail() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i < 990 ? 10 : 60_000);
+        }
+
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(10, histogram.valueAtPercentile(50));
+        assertEquals(10, histogram.valueAtPercentile(95));
+        long p99 = histogram.valueAtPercentile(99);
+        assertTrue(p99 >= 60_000 && p99 <= 60_000 * 17 / 16);
+        assertEquals(60_000, histogram.getMaxValue());
+    }
+
+    @Test
+    public void record_clampsEarlyAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-250);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1, histogram.getNegativeCount());
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE, histogram.getMaxValue());
+    }
+
+    @Test
+    public void encode_decode_preservesDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {0, 3, 45, 45, 900, 12_345, 600_000};
+        for (long value : values) {
+            histogram.record(value);
+        }
+        histogram.record(-1);
+
+        LatencyHistogram restored = LatencyHistogram.decode(histogram.encode());
+
+        assertEquals(histogram.getTotalCount(), restored.getTotalCount());
+        assertEquals(histogram.getMaxValue(), restored.getMaxValue());
+        assertEquals(histogram.getNegativeCount(), restored.getNegativeCount());
+        for (double p : new double[]{10, 50, 90, 99, 100}) {
+            assertEquals(histogram.valueAtPercentile(p), restored.valueAtPercentile(p));
+        }
+    }
+
+    @Test
+    public void decode_ignoresCorruptInput() {
+        assertEquals(0, LatencyHistogram.decode(null).getTotalCount());
+        assertEquals(0, LatencyHistogram.decode("garbage").getTotalCount());
+        assertEquals(0, LatencyHistogram.decode("1;0;99999:1").getTotalCount());
+        assertEquals(0, LatencyHistogram.decode("1;0;").getTotalCount());
+    }
+}
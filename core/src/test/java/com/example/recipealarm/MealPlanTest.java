@@ -0,0 +1,81 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * 여러 레시피가 같은 시각에 완성되도록 시작 시각을 역산하는 MealPlan 을 확인하는 테스트입니다.
+ */
+public class MealPlanTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final Recipe stew = new Recipe("김치찌개", Arrays.asList(
+            new RecipeStep("재료 손질", 10 * 60),
+            new RecipeStep("끓이기", 30 * 60)));
+    private final Recipe eggs = new Recipe("계란찜", Arrays.asList(
+            new RecipeStep("계란 풀기", 5 * 60),
+            new RecipeStep("찌기", 10 * 60)));
+
+    @Test
+    public void create_startsEachRecipeSoAllFinishTogether() {
+        MealPlan plan = MealPlan.create(Arrays.asList(stew, eggs), 0, 60 * MINUTE);
+
+        assertFalse(plan.isLate());
+        assertEquals(60 * MINUTE, plan.getFinishMs());
+        assertEquals(20 * MINUTE, plan.find(stew.getId()).getStartMs());
+        assertEquals(45 * MINUTE, plan.find(eggs.getId()).getStartMs());
+        assertEquals(50 * MINUTE, plan.find(eggs.getId()).getStepStartMs(1));
+    }
+
+    @Test
+    public void create_usesParallelScheduleLength() {
+        Recipe pasta = new Recipe("파스타", Arrays.asList(
+                new RecipeStep("물 끓이기", 10 * 60, Collections.emptyList()),
+                new RecipeStep("소스 만들기", 15 * 60, Collections.emptyList()),
+                new RecipeStep("면 삶기", 8 * 60, Arrays.asList(0))));
+
+        MealPlan plan = MealPlan.create(Collections.singletonList(pasta), 0, 60 * MINUTE);
+
+        // 순차 합계 33분이 아니라 병행을 반영한 18분 전에 시작합니다.
+        assertEquals(42 * MINUTE, plan.find(pasta.getId()).getStartMs());
+    }
+
+    @Test
+    public void create_pushesFinishBackWhenTargetIsUnreachable() {
+        MealPlan plan = MealPlan.create(Arrays.asList(stew, eggs), 0, 30 * MINUTE);
+
+        assertTrue(plan.isLate());
+        assertEquals(40 * MINUTE, plan.getFinishMs());
+        assertEquals(0, plan.find(stew.getId()).getStartMs());
+        assertEquals(25 * MINUTE, plan.find(eggs.getId()).getStartMs());
+    }
+
+    @Test
+    public void delayFinish_movesOnlyPendingStarts() {
+        MealPlan plan = MealPlan.create(Arrays.asList(stew, eggs), 0, 60 * MINUTE);
+        MealPlan.Entry stewEntry = plan.find(stew.getId());
+        plan.markStarted(stewEntry, stewEntry.getStartMs());
+
+        // 김치찌개가 7분 동안 일시정지되었습니다.
+        assertTrue(plan.delayFinish(67 * MINUTE));
+        assertFalse(plan.delayFinish(65 * MINUTE));
+
+        assertEquals(20 * MINUTE, stewEntry.getStartMs());
+        assertEquals(52 * MINUTE, plan.find(eggs.getId()).getStartMs());
+        assertTrue(plan.hasPendingStarts());
+
+        assertTrue(plan.removePending(eggs.getId()));
+        assertFalse(plan.removePending(stew.getId()));
+        assertFalse(plan.hasPendingStarts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_rejectsEmptyPlan() {
+        MealPlan.create(Collections.emptyList(), 0, MINUTE);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 자주 실행되는 경로의 메트릭을 모으는 MetricsRegistry 를 확인하는 테스트입니다.
+ */
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void sameName_returnsSameMetric() {
+        assertSame(registry.counter("a"), registry.counter("a"));
+        assertSame(registry.gauge("a"), registry.gauge("a"));
+        assertSame(registry.histogram("a"), registry.histogram("a"));
+    }
+
+    @Test
+    public void histogram_reportsPercentilesLikeLatencyHistogram() {
+        MetricsRegistry.Histogram histogram = registry.histogram("parse_us");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i < 990 ? 10 : 60_000);
+        }
+        histogram.record(-5);
+
+        LatencyHistogram snapshot = histogram.snapshot();
+        assertEquals(1001, snapshot.getTotalCount());
+        assertEquals(10, snapshot.valueAtPercentile(50));
+        assertEquals(60_000, snapshot.getMaxValue());
+        assertEquals(1, snapshot.getNegativeCount());
+    }
+
+    @Test
+    public void concurrentRecords_areNotLost() throws Exception {
+        MetricsRegistry.Counter counter = registry.counter("posts");
+        MetricsRegistry.Histogram histogram = registry.histogram("jitter_ms");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                    histogram.record(i % 100 + offset);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, counter.get());
+        assertEquals(40_000, histogram.snapshot().getTotalCount());
+        assertEquals(102, histogram.snapshot().getMaxValue());
+    }
+
+    @Test
+    public void dump_writesOneSortedLinePerMetric() {
+        registry.counter("b.count").add(3);
+        registry.counter("a.count").increment();
+        registry.gauge("sessions").set(2);
+        registry.histogram("load_us").record(840);
+
+        StringBuilder out = new StringBuilder();
+        registry.dump(1_000L, out);
+        String[] lines = out.toString().split("\n");
+
+        assertEquals("# metrics 1000", lines[0]);
+        assertEquals("counter\ta.count\t1", lines[1]);
+        assertEquals("counter\tb.count\t3", lines[2]);
+        assertEquals("gauge\tsessions\t2", lines[3]);
+        assertTrue(lines[4].startsWith("histogram\tload_us\tn=1\t"));
+        String buckets = lines[4].substring(lines[4].indexOf("buckets=") + "buckets=".length());
+        assertEquals(840, LatencyHistogram.decode(buckets).getMaxValue());
+    }
+
+    @Test
+    public void clear_resetsCountersAndHistogramsButKeepsGauges() {
+        registry.counter("errors").add(5);
+        registry.gauge("sessions").set(1);
+        registry.histogram("parse_us").record(100);
+
+        registry.clear();
+
+        assertEquals(0, registry.counter("errors").get());
+        assertEquals(1, registry.gauge("sessions").get());
+        assertEquals(0, registry.histogram("parse_us").snapshot().getTotalCount());
+        assertFalse(registry.summarize().contains("parse_us"));
+    }
+}
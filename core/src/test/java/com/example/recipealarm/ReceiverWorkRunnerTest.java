@@ -0,0 +1,102 @@
+package com.example.recipealarm;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * AlarmReceiver 가 goAsync() 와 함께 사용하는 ReceiverWorkRunner 를 확인하는 테스트입니다.
+ * 호출 스레드(리시버의 메인 스레드)에서의 비용은 benchmarks 모듈의 ReceiverWorkRunnerBenchmark 로 잽니다.
+ */
+public class ReceiverWorkRunnerTest {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(ReceiverWorkRunner.daemonThreads("test-worker"));
+    private final ScheduledExecutorService watchdog = ReceiverWorkRunner.newWatchdog();
+
+    @After
+    public void tearDown() {
+        worker.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    @Test
+    public void run_finishesEveryWorkOnce() throws InterruptedException {
+        ReceiverWorkRunner runner = new ReceiverWorkRunner(worker, watchdog, ReceiverWorkRunner.DEFAULT_DEADLINE_MS);
+        int count = 1_000;
+        AtomicInteger finishCount = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+
+        for (int i = 0; i < count; i++) {
+            runner.run(() -> { }, () -> {
+                finishCount.incrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(count, finishCount.get());
+        assertEquals(count, runner.getCompletedCount());
+        assertEquals(0, runner.getTimedOutCount());
+    }
+
+    @Test
+    public void run_finishesOnceEvenWhenWorkFails() throws InterruptedException {
+        ReceiverWorkRunner runner = new ReceiverWorkRunner(worker, watchdog, ReceiverWorkRunner.DEFAULT_DEADLINE_MS);
+        AtomicInteger finishCount = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        runner.run(() -> {
+            throw new IllegalStateException("잘못된 레시피");
+        }, () -> {
+            finishCount.incrementAndGet();
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // 다음 작업도 같은 작업 스레드에서 정상 실행되어야 합니다.
+        CountDownLatch next = new CountDownLatch(1);
+        runner.run(() -> { }, next::countDown);
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, finishCount.get());
+        assertEquals(1, runner.getFailedCount());
+        assertEquals(1, runner.getCompletedCount());
+    }
+
+    @Test
+    public void run_finishesAtDeadlineWhenWorkHangs() throws InterruptedException {
+        ReceiverWorkRunner runner = new ReceiverWorkRunner(worker, watchdog, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger finishCount = new AtomicInteger();
+
+        runner.run(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> {
+            finishCount.incrementAndGet();
+            finished.countDown();
+        });
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(1, runner.getTimedOutCount());
+
+        // 작업이 뒤늦게 끝나도 완료 콜백은 다시 호출되지 않습니다.
+        release.countDown();
+        CountDownLatch drained = new CountDownLatch(1);
+        runner.run(() -> { }, drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertEquals(1, finishCount.get());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * 메모리 저장소로 RecipeCatalog 의 읽기와 쓰기 규칙을 확인하는 테스트입니다.
+ */
+public class RecipeCatalogTest {
+
+    /** JSON 으로 바꿔 보관하여, 실제 저장소처럼 읽을 때마다 새 객체를 돌려주는 저장소입니다. */
+    private static final class MemoryStorage implements RecipeStorage {
+        String json;
+        int saveCount;
+
+        @Override
+        public CompletableFuture<List<Recipe>> getRecipes(CancellationToken token) {
+            if (token.isCancelled()) {
+                CompletableFuture<List<Recipe>> cancelled = new CompletableFuture<>();
+                cancelled.cancel(false);
+                return cancelled;
+            }
+            return CompletableFuture.completedFuture(RecipeJsonCodec.decode(json));
+        }
+
+        @Override
+        public CompletableFuture<Void> saveRecipes(List<Recipe> recipes) {
+            json = RecipeJsonCodec.encode(recipes);
+            saveCount++;
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private final MemoryStorage storage = new MemoryStorage();
+    private final RecipeSessionCache cache = new RecipeSessionCache(Runnable::run);
+    private final RecipeCatalog catalog = new RecipeCatalog(storage, cache);
+
+    private static Recipe recipe(String id) {
+        return new Recipe(id, "레시피 " + id, Collections.singletonList(new RecipeStep("step", 60)), false);
+    }
+
+    private void store(Recipe... recipes) {
+        storage.json = RecipeJsonCodec.encode(new ArrayList<>(Arrays.asList(recipes)));
+    }
+
+    @Test
+    public void emptyStorage_isSeededWithSampleRecipe() {
+        List<Recipe> recipes = catalog.getRecipes(CancellationToken.NONE).join();
+
+        assertEquals(1, recipes.size());
+        assertTrue(recipes.get(0).isFavorite());
+        assertEquals(1, storage.saveCount);
+        assertSame(recipes.get(0), catalog.peekRecipe(recipes.get(0).getId()));
+    }
+
+    @Test
+    public void loadedRecipes_canBePeekedWithoutReading() {
+        store(recipe("a"), recipe("b"));
+
+        assertNull(catalog.peekRecipe("a"));
+        catalog.getRecipes(CancellationToken.NONE).join();
+
+        assertEquals("레시피 b", catalog.peekRecipe("b").getName());
+        assertEquals(0, storage.saveCount);
+    }
+
+    @Test
+    public void getRecipeById_findsRecipeOrNull() {
+        store(recipe("a"), recipe("b"));
+
+        assertEquals("b", catalog.getRecipeById("b", CancellationToken.NONE).join().getId());
+        assertNull(catalog.getRecipeById("missing", CancellationToken.NONE).join());
+    }
+
+    @Test
+    public void addUpdateDelete_rewriteStoredList() {
+        store(recipe("a"));
+
+        catalog.addRecipe(recipe("b")).join();
+        catalog.updateRecipe(new Recipe("a", "새 이름", Collections.emptyList(), false)).join();
+        catalog.deleteRecipe("b").join();
+
+        List<Recipe> stored = RecipeJsonCodec.decode(storage.json);
+        assertEquals(1, stored.size());
+        assertEquals("새 이름", stored.get(0).getName());
+        assertEquals("새 이름", catalog.peekRecipe("a").getName());
+        assertNull(catalog.peekRecipe("b"));
+    }
+
+    @Test
+    public void updateFavorites_changesOnlyListedRecipes() {
+        store(recipe("a"), recipe("b"), recipe("c"));
+        Map<String, Boolean> favorites = new HashMap<>();
+        favorites.put("a", true);
+        favorites.put("c", false);
+
+        catalog.updateFavorites(favorites).join();
+
+        List<Recipe> stored = RecipeJsonCodec.decode(storage.json);
+        assertTrue(stored.get(0).isFavorite());
+        assertFalse(stored.get(1).isFavorite());
+        assertFalse(stored.get(2).isFavorite());
+        assertEquals(1, storage.saveCount);
+    }
+
+    @Test
+    public void cancelledToken_skipsRead() {
+        store(recipe("a"));
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertTrue(catalog.getRecipes(token).isCompletedExceptionally());
+        assertNull(catalog.peekRecipe("a"));
+    }
+}
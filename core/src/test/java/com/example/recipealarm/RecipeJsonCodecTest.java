@@ -0,0 +1,62 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 레시피 목록을 저장용 JSON 으로 바꾸는 RecipeJsonCodec 을 확인하는 테스트입니다.
+ */
+public class RecipeJsonCodecTest {
+
+    @Test
+    public void encodeThenDecode_keepsRecipesAndSteps() {
+        Recipe recipe = new Recipe("r1", "김치찌개", Arrays.asList(
+                new RecipeStep("물 끓이기", 300),
+                new RecipeStep("김치 볶기", 120),
+                new RecipeStep("끓이기", 600, Arrays.asList(0, 1))), true);
+
+        List<Recipe> decoded = RecipeJsonCodec.decode(RecipeJsonCodec.encode(Collections.singletonList(recipe)));
+
+        assertEquals(1, decoded.size());
+        Recipe copy = decoded.get(0);
+        assertEquals("r1", copy.getId());
+        assertEquals("김치찌개", copy.getName());
+        assertTrue(copy.isFavorite());
+        assertEquals(3, copy.getSteps().size());
+        assertEquals("김치 볶기", copy.getSteps().get(1).getDescription());
+        assertEquals(600, copy.getSteps().get(2).getDurationInSeconds());
+        assertEquals(Arrays.asList(0, 1), copy.getSteps().get(2).getDependsOn());
+    }
+
+    @Test
+    public void decode_missingJsonIsEmptyMutableList() {
+        List<Recipe> fromNull = RecipeJsonCodec.decode(null);
+        List<Recipe> fromEmpty = RecipeJsonCodec.decode("");
+
+        assertTrue(fromNull.isEmpty());
+        assertTrue(fromEmpty.isEmpty());
+        fromNull.add(new Recipe("이름", Collections.emptyList()));
+        assertEquals(1, fromNull.size());
+    }
+
+    @Test
+    public void encodeRecipeThenDecode_keepsSingleRecipe() {
+        Recipe recipe = new Recipe("r2", "라면", Collections.singletonList(new RecipeStep("끓이기", 240)), false);
+
+        Recipe copy = RecipeJsonCodec.decodeRecipe(RecipeJsonCodec.encodeRecipe(recipe));
+
+        assertEquals("r2", copy.getId());
+        assertEquals(240, copy.getSteps().get(0).getDurationInSeconds());
+        assertNull(RecipeJsonCodec.decodeRecipe(null));
+    }
+
+    @Test(expected = com.google.gson.JsonParseException.class)
+    public void decode_malformedJsonThrows() {
+        RecipeJsonCodec.decode("[{\"name\":");
+    }
+}
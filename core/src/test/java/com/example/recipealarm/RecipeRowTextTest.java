@@ -0,0 +1,86 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * 레시피 목록 행의 글자와 미리 준비할 범위를 정하는 RecipeRowText 를 확인하는 테스트입니다.
+ */
+public class RecipeRowTextTest {
+
+    @Test
+    public void summary_usesScheduledTotalAndStepCount() {
+        Recipe sequential = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 270)), false);
+        Recipe parallel = new Recipe("p", "볶음밥", Arrays.asList(
+                new RecipeStep("밥 데우기", 300, Collections.<Integer>emptyList()),
+                new RecipeStep("채소 썰기", 240, Collections.<Integer>emptyList())), false);
+
+        assertEquals("총 7분 · 2단계", RecipeRowText.summaryOf(sequential));
+        assertEquals("총 5분 · 2단계", RecipeRowText.summaryOf(parallel));
+        assertEquals("총 0분", RecipeRowText.summaryOf(new Recipe("e", "빈 레시피", Collections.<RecipeStep>emptyList(), false)));
+    }
+
+    @Test
+    public void cacheKey_matchesReloadedAndFavoriteCopies() {
+        Recipe ramen = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 270)), false);
+        Recipe reloaded = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 270)), false);
+
+        assertEquals(RecipeRowText.cacheKeyOf(ramen), RecipeRowText.cacheKeyOf(reloaded));
+        assertEquals(RecipeRowText.cacheKeyOf(ramen), RecipeRowText.cacheKeyOf(ramen.withFavorite(true)));
+    }
+
+    @Test
+    public void cacheKey_changesWithRowTextInputs() {
+        Recipe ramen = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 270)), false);
+        Recipe renamed = new Recipe("r", "짜파게티", ramen.getSteps(), false);
+        Recipe longer = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 300)), false);
+        Recipe parallel = new Recipe("r", "라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180), new RecipeStep("면 넣기", 270, Collections.<Integer>emptyList())), false);
+        Recipe other = new Recipe("o", "라면", ramen.getSteps(), false);
+
+        String key = RecipeRowText.cacheKeyOf(ramen);
+        assertNotEquals(key, RecipeRowText.cacheKeyOf(renamed));
+        assertNotEquals(key, RecipeRowText.cacheKeyOf(longer));
+        assertNotEquals(key, RecipeRowText.cacheKeyOf(parallel));
+        assertNotEquals(key, RecipeRowText.cacheKeyOf(other));
+    }
+
+    @Test
+    public void scrollingDown_prefetchesRowsBelow() {
+        assertArrayEquals(new int[]{11, 31}, RecipeRowText.prefetchRange(2, 10, 24, 10_000, 20, new int[2]));
+    }
+
+    @Test
+    public void scrollingUp_prefetchesRowsAbove() {
+        assertArrayEquals(new int[]{80, 100}, RecipeRowText.prefetchRange(100, 108, -5, 10_000, 20, new int[2]));
+        assertArrayEquals(new int[]{0, 5}, RecipeRowText.prefetchRange(5, 13, -5, 10_000, 20, new int[2]));
+    }
+
+    @Test
+    public void idle_prefetchesBothSides() {
+        assertArrayEquals(new int[]{40, 70}, RecipeRowText.prefetchRange(50, 59, 0, 10_000, 20, new int[2]));
+    }
+
+    @Test
+    public void rangeIsClampedToList() {
+        assertArrayEquals(new int[]{10, 10}, RecipeRowText.prefetchRange(0, 9, 10, 10, 20, new int[2]));
+        assertArrayEquals(new int[]{0, 0}, RecipeRowText.prefetchRange(-1, -1, 0, 10_000, 20, new int[2]));
+        assertArrayEquals(new int[]{0, 0}, RecipeRowText.prefetchRange(0, 5, 1, 0, 20, new int[2]));
+    }
+
+    @Test
+    public void reusedArray_isOverwritten() {
+        int[] out = new int[2];
+        assertSame(out, RecipeRowText.prefetchRange(2, 10, 24, 10_000, 20, out));
+        assertArrayEquals(new int[]{0, 0}, RecipeRowText.prefetchRange(-1, -1, 0, 10_000, 20, out));
+    }
+}
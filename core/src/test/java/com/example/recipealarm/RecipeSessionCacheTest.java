@@ -0,0 +1,116 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 화면 사이에 레시피를 넘겨주는 RecipeSessionCache 를 확인하는 테스트입니다.
+ */
+public class RecipeSessionCacheTest {
+
+    private final List<Runnable> prefetchTasks = new ArrayList<>();
+    private final RecipeSessionCache cache = new RecipeSessionCache(prefetchTasks::add);
+
+    private static Recipe recipe(String id, int... durations) {
+        List<RecipeStep> steps = new ArrayList<>();
+        for (int duration : durations) {
+            steps.add(new RecipeStep("step", duration));
+        }
+        return new Recipe(id, "레시피 " + id, steps, false);
+    }
+
+    @Test
+    public void loadedRecipes_areAvailableSynchronously() {
+        Recipe a = recipe("a", 60);
+        assertNull(cache.get("a"));
+
+        assertTrue(cache.offerLoaded(cache.beginLoad(), Collections.singletonList(a)));
+
+        assertSame(a, cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void loadStartedBeforeWrite_doesNotOverwriteWrittenList() {
+        Recipe old = recipe("a", 60);
+        Recipe written = old.withFavorite(true);
+
+        long loadVersion = cache.beginLoad();
+        cache.replaceAll(Collections.singletonList(written));
+
+        assertFalse(cache.offerLoaded(loadVersion, Collections.singletonList(old)));
+        assertSame(written, cache.get("a"));
+    }
+
+    @Test
+    public void replaceAll_dropsDeletedRecipes() {
+        cache.replaceAll(Arrays.asList(recipe("a", 60), recipe("b", 30)));
+        cache.replaceAll(Collections.singletonList(recipe("b", 30)));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    public void prefetch_computesScheduleOnceOffTheCaller() {
+        Recipe a = recipe("a", 60, 30);
+        cache.prefetch(a);
+        assertSame(a, cache.get("a"));
+        assertEquals(1, prefetchTasks.size());
+
+        prefetchTasks.get(0).run();
+        StepSchedule schedule = cache.scheduleFor(a);
+
+        assertEquals(90_000L, schedule.getTotalMs());
+        assertSame(schedule, cache.scheduleFor(a));
+    }
+
+    @Test
+    public void reloadedRecipeObject_getsFreshSchedule() {
+        Recipe first = recipe("a", 60);
+        cache.replaceAll(Collections.singletonList(first));
+        StepSchedule firstSchedule = cache.scheduleFor(first);
+
+        Recipe reloaded = recipe("a", 120);
+        cache.offerLoaded(cache.beginLoad(), Collections.singletonList(reloaded));
+
+        assertNotSame(firstSchedule, cache.scheduleFor(reloaded));
+        assertEquals(120_000L, cache.scheduleFor(reloaded).getTotalMs());
+    }
+
+    @Test
+    public void sameObjectAfterReload_keepsSchedule() {
+        Recipe a = recipe("a", 60);
+        cache.replaceAll(Collections.singletonList(a));
+        StepSchedule schedule = cache.scheduleFor(a);
+
+        cache.offerLoaded(cache.beginLoad(), Collections.singletonList(a));
+
+        assertSame(schedule, cache.scheduleFor(a));
+    }
+
+    @Test
+    public void invalidRecipe_prefetchSwallowsErrorButScheduleForThrows() {
+        List<RecipeStep> steps = Arrays.asList(
+                new RecipeStep("a", 10, Collections.singletonList(1)),
+                new RecipeStep("b", 10, Collections.singletonList(0)));
+        Recipe cyclic = new Recipe("c", "순환", steps, false);
+
+        cache.prefetch(cyclic);
+        prefetchTasks.get(0).run();
+
+        try {
+            cache.scheduleFor(cyclic);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 화면에서 오류를 보여줍니다.
+        }
+    }
+}
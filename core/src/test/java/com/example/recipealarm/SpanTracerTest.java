@@ -0,0 +1,123 @@
+package com.example.recipealarm;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 구간을 링 버퍼에 기록하고 Chrome trace-event JSON 으로 내보내는 SpanTracer 를 확인하는 테스트입니다.
+ */
+public class SpanTracerTest {
+
+    private long nowNanos = 1_000_000;
+
+    private SpanTracer tracer(int capacity) {
+        return new SpanTracer(capacity, () -> nowNanos += 1_000);
+    }
+
+    private static List<JsonObject> events(SpanTracer tracer) throws Exception {
+        StringBuilder out = new StringBuilder();
+        tracer.writeChromeTrace(out);
+        JsonArray array = JsonParser.parseString(out.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+        List<JsonObject> events = new ArrayList<>();
+        for (JsonElement element : array) {
+            JsonObject event = element.getAsJsonObject();
+            if (!"M".equals(event.get("ph").getAsString())) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    @Test
+    public void nestedSpans_areWrittenInOrderWithMicrosecondTimestamps() throws Exception {
+        SpanTracer tracer = tracer(16);
+
+        long outer = tracer.begin("alarm.handle");
+        long inner = tracer.begin("alarm.parse");
+        tracer.end(inner);
+        tracer.end(outer);
+
+        List<JsonObject> events = events(tracer);
+        assertEquals(4, events.size());
+        assertEquals("B", events.get(0).get("ph").getAsString());
+        assertEquals("alarm.handle", events.get(0).get("name").getAsString());
+        assertEquals("alarm.parse", events.get(1).get("name").getAsString());
+        assertEquals("E", events.get(2).get("ph").getAsString());
+        assertEquals(inner, events.get(2).getAsJsonObject("args").get("id").getAsLong());
+        assertEquals(1_001, events.get(0).get("ts").getAsLong());
+        assertEquals(1_004, events.get(3).get("ts").getAsLong());
+    }
+
+    @Test
+    public void asyncSpan_canEndOnAnotherThread() throws Exception {
+        SpanTracer tracer = tracer(16);
+
+        long id = tracer.beginAsync("datastore.queue");
+        Thread worker = new Thread(() -> tracer.endAsync("datastore.queue", id), "worker");
+        worker.start();
+        worker.join();
+
+        List<JsonObject> events = events(tracer);
+        assertEquals(2, events.size());
+        JsonObject begin = events.get(0);
+        JsonObject end = events.get(1);
+        assertEquals("b", begin.get("ph").getAsString());
+        assertEquals("e", end.get("ph").getAsString());
+        assertEquals(id, begin.get("id").getAsLong());
+        assertEquals(id, end.get("id").getAsLong());
+        assertNotEquals(begin.get("tid").getAsLong(), end.get("tid").getAsLong());
+    }
+
+    @Test
+    public void fullRing_keepsNewestRecords() throws Exception {
+        SpanTracer tracer = tracer(8);
+
+        for (int i = 0; i < 20; i++) {
+            tracer.end(tracer.begin("tick"));
+        }
+
+        List<JsonObject> events = events(tracer);
+        // 덮어쓰는 중일 수 있는 가장 오래된 칸 하나는 빼고 씁니다.
+        assertEquals(7, events.size());
+        assertEquals("E", events.get(events.size() - 1).get("ph").getAsString());
+        assertEquals(20, events.get(events.size() - 1).getAsJsonObject("args").get("id").getAsLong());
+    }
+
+    @Test
+    public void disabledAndCleared_recordNothing() throws Exception {
+        SpanTracer tracer = tracer(16);
+        tracer.end(tracer.begin("before"));
+        tracer.clear();
+
+        tracer.setEnabled(false);
+        long id = tracer.begin("off");
+        tracer.end(id);
+
+        assertEquals(0, id);
+        assertTrue(events(tracer).isEmpty());
+    }
+
+    @Test
+    public void threadNames_areEscaped() throws Exception {
+        SpanTracer tracer = tracer(16);
+        Thread thread = new Thread(() -> tracer.end(tracer.begin("speak")), "tts \"engine\"");
+        thread.start();
+        thread.join();
+
+        StringBuilder out = new StringBuilder();
+        tracer.writeChromeTrace(out);
+        JsonObject metadata = JsonParser.parseString(out.toString()).getAsJsonObject()
+                .getAsJsonArray("traceEvents").get(0).getAsJsonObject();
+        assertEquals("thread_name", metadata.get("name").getAsString());
+        assertEquals("tts \"engine\"", metadata.getAsJsonObject("args").get("name").getAsString());
+    }
+}
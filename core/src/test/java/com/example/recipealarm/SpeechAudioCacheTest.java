@@ -0,0 +1,102 @@
+package com.example.recipealarm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 미리 합성한 음성 안내 캐시와 안내 문장 생성을 확인하는 테스트입니다.
+ */
+public class SpeechAudioCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keyFor_dependsOnTextLocaleAndVoice() {
+        String key = SpeechAudioCache.keyFor("다음 단계는, 면 삶기 입니다.", "ko", "ko-kr-x-ism-local");
+        assertEquals(key, SpeechAudioCache.keyFor("다음 단계는, 면 삶기 입니다.", "ko", "ko-kr-x-ism-local"));
+        assertNotEquals(key, SpeechAudioCache.keyFor("다음 단계는, 면 삶기 입니다.", "ko", "ko-kr-x-kob-network"));
+        assertNotEquals(key, SpeechAudioCache.keyFor("다음 단계는, 면 삶기 입니다.", "en", "ko-kr-x-ism-local"));
+        assertNotEquals(key, SpeechAudioCache.keyFor("다음 단계는, 스프 넣기 입니다.", "ko", "ko-kr-x-ism-local"));
+    }
+
+    @Test
+    public void commit_makesClipAvailableAndCountsHits() throws IOException {
+        SpeechAudioCache cache = new SpeechAudioCache(folder.newFolder("tts"), 1024);
+        String key = SpeechAudioCache.keyFor("요리가 완성되었습니다.", "ko", "default");
+
+        assertNull(cache.get(key));
+        write(cache.tempFileFor(key), 100);
+        assertTrue(cache.commit(key));
+        assertNotNull(cache.get(key));
+        assertFalse(cache.tempFileFor(key).exists());
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void commit_rejectsEmptySynthesisResult() throws IOException {
+        SpeechAudioCache cache = new SpeechAudioCache(folder.newFolder("tts"), 1024);
+        write(cache.tempFileFor("empty"), 0);
+        assertFalse(cache.commit("empty"));
+        assertFalse(cache.contains("empty"));
+        assertFalse(cache.tempFileFor("empty").exists());
+    }
+
+    @Test
+    public void trimToSize_evictsLeastRecentlyUsedClips() throws IOException {
+        SpeechAudioCache cache = new SpeechAudioCache(folder.newFolder("tts"), 250);
+        long now = System.currentTimeMillis();
+        for (String key : Arrays.asList("a", "b")) {
+            write(cache.tempFileFor(key), 100);
+            assertTrue(cache.commit(key));
+        }
+        new File(folder.getRoot(), "tts/a.wav").setLastModified(now - 20_000);
+        new File(folder.getRoot(), "tts/b.wav").setLastModified(now - 10_000);
+        // "a" 를 사용하면 가장 오래 사용하지 않은 것은 "b" 가 됩니다.
+        assertNotNull(cache.get("a"));
+
+        write(cache.tempFileFor("c"), 100);
+        assertTrue(cache.commit("c"));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertTrue(cache.sizeBytes() <= 250);
+    }
+
+    @Test
+    public void announcements_coverEveryStepTransitionOnce() {
+        Recipe recipe = new Recipe("라면", Arrays.asList(
+                new RecipeStep("물 끓이기", 180),
+                new RecipeStep("면 삶기", 240),
+                new RecipeStep("그릇에 담기", 30)));
+        StepSchedule schedule = StepSchedule.of(recipe);
+
+        assertEquals("다음 단계는, 면 삶기 입니다.", StepAnnouncements.forStepEnd(recipe, schedule, 0));
+        assertEquals(StepAnnouncements.COMPLETION, StepAnnouncements.forStepEnd(recipe, schedule, 2));
+
+        List<String> all = StepAnnouncements.allFor(recipe, schedule);
+        assertEquals(Arrays.asList(
+                "다음 단계는, 면 삶기 입니다.",
+                "다음 단계는, 그릇에 담기 입니다.",
+                StepAnnouncements.COMPLETION), all);
+    }
+
+    private static void write(File file, int length) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[length]);
+        }
+    }
+}
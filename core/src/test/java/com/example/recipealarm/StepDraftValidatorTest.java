@@ -0,0 +1,92 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 편집 중인 단계를 검사하는 StepDraftValidator 를 확인하는 테스트입니다.
+ */
+public class StepDraftValidatorTest {
+
+    @Test
+    public void validStep_hasNoError() {
+        assertNull(StepDraftValidator.validate(0, "물 끓이기", "180", "", 1));
+        assertNull(StepDraftValidator.validate(1, "면 넣기", " 240 ", "1", 2));
+    }
+
+    @Test
+    public void missingFields_reportStepNumber() {
+        assertEquals("단계 2의 설명과 시간을 모두 입력해주세요.",
+                StepDraftValidator.validate(1, "", "60", "", 2));
+        assertEquals("단계 1의 설명과 시간을 모두 입력해주세요.",
+                StepDraftValidator.validate(0, "물 끓이기", "  ", "", 1));
+    }
+
+    @Test
+    public void nonNumericDuration_isRejected() {
+        assertEquals("단계 1의 시간은 숫자로 입력해주세요.",
+                StepDraftValidator.validate(0, "물 끓이기", "3분", "", 1));
+    }
+
+    @Test
+    public void dependsOnOutOfRangeOrSelf_isRejected() {
+        assertNotNull(StepDraftValidator.validate(0, "물 끓이기", "60", "3", 2));
+        assertNotNull(StepDraftValidator.validate(1, "면 넣기", "60", "2", 2));
+        assertNull(StepDraftValidator.validate(1, "면 넣기", "60", "0", 2));
+    }
+
+    @Test
+    public void parseDependsOn_convertsToZeroBasedIndexes() {
+        assertNull(StepDraftValidator.parseDependsOn("  "));
+        assertEquals(Collections.emptyList(), StepDraftValidator.parseDependsOn("0"));
+        assertEquals(Arrays.asList(0, 2), StepDraftValidator.parseDependsOn("1, 3 1"));
+    }
+
+    @Test
+    public void toSteps_buildsAllSteps() {
+        List<RecipeStep> steps = StepDraftValidator.toSteps(Arrays.asList(
+                new StepDraft(0, "물 끓이기", "180", ""),
+                new StepDraft(1, "면 넣기", "240", "1")));
+
+        assertEquals(2, steps.size());
+        assertEquals("면 넣기", steps.get(1).getDescription());
+        assertEquals(240, steps.get(1).getDurationInSeconds());
+        assertEquals(Collections.singletonList(0), steps.get(1).getDependsOn());
+    }
+
+    @Test
+    public void toSteps_rejectsEmptyListAndCycles() {
+        try {
+            StepDraftValidator.toSteps(Collections.<StepDraft>emptyList());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("레시피 단계를 하나 이상 추가해주세요.", e.getMessage());
+        }
+        try {
+            StepDraftValidator.toSteps(Arrays.asList(
+                    new StepDraft(0, "a", "10", "2"),
+                    new StepDraft(1, "b", "10", "1")));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("단계의 선행 관계에 순환이 있습니다.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void draftCopy_keepsRevisionForStaleCheck() {
+        StepDraft draft = new StepDraft(7, "", "", "");
+        assertTrue(draft.isBlank());
+        draft.setDescription("물 끓이기");
+        StepDraft snapshot = draft.copy();
+        draft.setDurationText("60");
+
+        assertEquals(7, snapshot.getId());
+        assertEquals(1, snapshot.getRevision());
+        assertNotEquals(snapshot.getRevision(), draft.getRevision());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 붙여넣은 글을 단계로 나누는 StepPasteParser 를 확인하는 테스트입니다.
+ */
+public class StepPasteParserTest {
+
+    @Test
+    public void numberedLines_withUnits() {
+        List<StepPasteParser.ParsedStep> steps = StepPasteParser.parse(
+                "1. 물 끓이기 5분\n2) 면 넣기 - 3분 30초\n\n- 뜸 들이기 1시간\n");
+
+        assertEquals(3, steps.size());
+        assertStep(steps.get(0), "물 끓이기", "300");
+        assertStep(steps.get(1), "면 넣기", "210");
+        assertStep(steps.get(2), "뜸 들이기", "3600");
+    }
+
+    @Test
+    public void clockAndPlainSeconds() {
+        List<StepPasteParser.ParsedStep> steps = StepPasteParser.parse("소스 졸이기 4:30\r\n간 보기 45\r\n90s 동안 굽기 90s");
+
+        assertStep(steps.get(0), "소스 졸이기", "270");
+        assertStep(steps.get(1), "간 보기", "45");
+        assertStep(steps.get(2), "90s 동안 굽기", "90");
+    }
+
+    @Test
+    public void lineWithoutTime_keepsDurationEmpty() {
+        List<StepPasteParser.ParsedStep> steps = StepPasteParser.parse("• 그릇에 담기");
+
+        assertEquals(1, steps.size());
+        assertStep(steps.get(0), "그릇에 담기", "");
+    }
+
+    @Test
+    public void tabSeparatedCells_mapToColumns() {
+        List<StepPasteParser.ParsedStep> steps = StepPasteParser.parse("물 끓이기\t5분\t\n면 넣기\t240\t1");
+
+        assertStep(steps.get(0), "물 끓이기", "300");
+        assertEquals("", steps.get(0).getDependsText());
+        assertStep(steps.get(1), "면 넣기", "240");
+        assertEquals("1", steps.get(1).getDependsText());
+    }
+
+    @Test
+    public void nullOrBlank_yieldsNoSteps() {
+        assertTrue(StepPasteParser.parse(null).isEmpty());
+        assertTrue(StepPasteParser.parse(" \n\t\n").isEmpty());
+    }
+
+    @Test
+    public void largeRecipe_parsesEveryLine() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 500; i++) {
+            text.append(i).append(". 단계 ").append(i).append(' ').append(i).append("초\n");
+        }
+        List<StepPasteParser.ParsedStep> steps = StepPasteParser.parse(text);
+
+        assertEquals(500, steps.size());
+        assertStep(steps.get(499), "단계 500", "500");
+    }
+
+    private static void assertStep(StepPasteParser.ParsedStep step, String description, String duration) {
+        assertEquals(description, step.getDescription());
+        assertEquals(duration, step.getDurationText());
+    }
+}
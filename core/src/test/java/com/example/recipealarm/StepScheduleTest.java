@@ -0,0 +1,101 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * 단계 선행 관계(DAG)로부터 계산되는 일정과 크리티컬 패스를 확인하는 테스트입니다.
+ */
+public class StepScheduleTest {
+
+    @Test
+    public void stepsWithoutDependencies_runSequentially() {
+        StepSchedule schedule = StepSchedule.of(Arrays.asList(
+                new RecipeStep("물 끓이기", 180),
+                new RecipeStep("면 넣기", 270),
+                new RecipeStep("계란 넣기", 30)));
+
+        assertEquals(480_000L, schedule.getTotalMs());
+        assertEquals(schedule.getSequentialMs(), schedule.getTotalMs());
+        assertEquals(180_000L, schedule.getStartMs(1));
+        assertFalse(schedule.isParallel());
+        assertEquals(1, schedule.nextOnCriticalPath(0));
+        assertEquals(1, schedule.previousOnCriticalPath(2));
+        assertTrue(schedule.isFinalStep(2));
+    }
+
+    @Test
+    public void independentSteps_runInParallelAlongCriticalPath() {
+        StepSchedule schedule = StepSchedule.of(Arrays.asList(
+                new RecipeStep("물 끓이기", 300, Collections.<Integer>emptyList()),
+                new RecipeStep("채소 썰기", 120, Collections.<Integer>emptyList()),
+                new RecipeStep("면 삶기", 240, Collections.singletonList(0)),
+                new RecipeStep("채소 볶기", 180, Collections.singletonList(1)),
+                new RecipeStep("합치기", 60, Arrays.asList(2, 3))));
+
+        assertEquals(600_000L, schedule.getTotalMs());
+        assertEquals(900_000L, schedule.getSequentialMs());
+        assertTrue(schedule.isParallel());
+        assertEquals(2, schedule.getLaneCount());
+
+        assertTrue(schedule.isCritical(0));
+        assertTrue(schedule.isCritical(2));
+        assertTrue(schedule.isCritical(4));
+        assertFalse(schedule.isCritical(1));
+        assertEquals(0, schedule.getLane(0));
+        assertEquals(1, schedule.getLane(1));
+
+        assertEquals(0, schedule.focusStepAt(100_000));
+        assertEquals(2, schedule.focusStepAt(300_000));
+        assertArrayEquals(new int[]{3}, schedule.stepsReleasedBy(1));
+        assertArrayEquals(new int[]{4}, schedule.stepsReleasedBy(2));
+        assertEquals(120_000L, schedule.nextEndAfter(0));
+        assertEquals(300_000L, schedule.nextEndAfter(120_000));
+    }
+
+    @Test
+    public void diamondDependency_releasesJoinStepOnce() {
+        StepSchedule schedule = StepSchedule.of(Arrays.asList(
+                new RecipeStep("재료 준비", 60, Collections.<Integer>emptyList()),
+                new RecipeStep("면 삶기", 240, Collections.singletonList(0)),
+                new RecipeStep("소스 끓이기", 240, Collections.singletonList(0)),
+                new RecipeStep("합치기", 60, Arrays.asList(1, 2))));
+
+        assertEquals(schedule.getEndMs(1), schedule.getEndMs(2));
+        assertArrayEquals(new int[]{1, 2}, schedule.stepsReleasedBy(0));
+        assertArrayEquals(new int[0], schedule.stepsReleasedBy(1));
+        assertArrayEquals(new int[]{3}, schedule.stepsReleasedBy(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cyclicDependencies_areRejected() {
+        StepSchedule.of(Arrays.asList(
+                new RecipeStep("A", 10, Collections.singletonList(1)),
+                new RecipeStep("B", 10, Collections.singletonList(0))));
+    }
+
+    @Test
+    public void session_followsTimelineAcrossParallelSteps() {
+        Recipe recipe = new Recipe("비빔면", Arrays.asList(
+                new RecipeStep("물 끓이기", 5, Collections.<Integer>emptyList()),
+                new RecipeStep("소스 만들기", 2, Collections.<Integer>emptyList()),
+                new RecipeStep("면 삶기", 3, Collections.singletonList(0))));
+        TimerSession session = new TimerSession(recipe);
+        session.startAt(0, 0);
+
+        assertEquals(0, session.getStepIndex());
+        assertEquals(TimerSession.TICK_FINISHED, session.tick(2_000));
+        assertFalse(session.advanceBoundary(2_000));
+        assertEquals(0, session.getStepIndex());
+        assertEquals(3_000L, session.getStepRemainingMs(0, 2_000));
+
+        assertEquals(TimerSession.TICK_FINISHED, session.tick(5_000));
+        assertFalse(session.advanceBoundary(5_000));
+        assertEquals(2, session.getStepIndex());
+        assertTrue(session.advanceBoundary(8_000));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 서비스와 알람의 단계 전환 중복을 거르는 StepTransitionLedger 를 확인하는 테스트입니다.
+ */
+public class StepTransitionLedgerTest {
+
+    @Test
+    public void offer_acceptsEachStepOncePerGeneration() {
+        StepTransitionLedger ledger = new StepTransitionLedger();
+        int generation = ledger.nextGeneration("r");
+
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("r", generation, 0));
+        assertEquals(StepTransitionLedger.RESULT_DUPLICATE, ledger.offer("r", generation, 0));
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("r", generation, 1));
+        // 다른 레시피의 같은 단계는 별개의 전환입니다.
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("other", 1, 0));
+
+        assertEquals(3, ledger.getSequence());
+        assertEquals(1, ledger.getDuplicateCount());
+    }
+
+    @Test
+    public void offer_dropsEventsFromPreviousGeneration() {
+        StepTransitionLedger ledger = new StepTransitionLedger();
+        int first = ledger.nextGeneration("r");
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("r", first, 0));
+
+        // 단계 이동으로 알람을 다시 예약하면 같은 단계도 다시 처리할 수 있고, 이전 알람은 버려집니다.
+        int second = ledger.nextGeneration("r");
+        assertEquals(StepTransitionLedger.RESULT_STALE, ledger.offer("r", first, 1));
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("r", second, 0));
+        assertEquals(1, ledger.getStaleCount());
+    }
+
+    @Test
+    public void retire_dropsInFlightAlarms() {
+        StepTransitionLedger ledger = new StepTransitionLedger();
+        int generation = ledger.nextGeneration("r");
+        ledger.retire("r");
+
+        assertEquals(StepTransitionLedger.RESULT_STALE, ledger.offer("r", generation, 2));
+        assertTrue(ledger.nextGeneration("r") > generation + 1);
+    }
+
+    @Test
+    public void offer_adoptsNewerGenerationAfterProcessRestart() {
+        StepTransitionLedger ledger = new StepTransitionLedger();
+
+        assertEquals(StepTransitionLedger.RESULT_ACCEPTED, ledger.offer("r", 7, 0));
+        assertEquals(7, ledger.currentGeneration("r"));
+        assertEquals(StepTransitionLedger.RESULT_DUPLICATE, ledger.offer("r", 7, 0));
+        // 세대 정보가 없는 알람은 현재 세대로 간주합니다.
+        assertEquals(StepTransitionLedger.RESULT_DUPLICATE, ledger.offer("r", -1, 0));
+        assertEquals(8, ledger.nextGeneration("r"));
+    }
+}
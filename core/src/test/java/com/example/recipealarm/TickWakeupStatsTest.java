@@ -0,0 +1,65 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 지켜보는 화면이 없을 때 매 초 틱을 멈춘 효과를 재는 TickWakeupStats 를 확인하는 테스트입니다.
+ */
+public class TickWakeupStatsTest {
+
+    @Test
+    public void perSecondTicks_matchBaseline() {
+        TickWakeupStats stats = new TickWakeupStats();
+        stats.start(0, 0, true);
+        long now = 0;
+        for (int i = 0; i < 60; i++) {
+            stats.onScheduled(now);
+            now += 1_000;
+            stats.onWakeup(now);
+        }
+        stats.stop(now, 0);
+
+        assertEquals(60, stats.getWatchedWakeups());
+        assertEquals(0, stats.getUnwatchedWakeups());
+        assertEquals(60, stats.getBaselineWakeups());
+        assertEquals(60_000, stats.getWatchedMs(now));
+    }
+
+    @Test
+    public void deadlineWakeups_countSkippedSecondsInBaseline() {
+        TickWakeupStats stats = new TickWakeupStats();
+        stats.start(0, 0, false);
+
+        // 화면 없이 3분짜리 단계 하나를 기다렸다가 단계 종료 시각에 한 번 깨어납니다.
+        stats.onScheduled(0);
+        stats.onWakeup(180_000);
+        // 다음 단계를 기다리는 중에 화면이 붙어 예약이 취소되고 매 초 틱으로 돌아갑니다.
+        stats.onScheduled(180_000);
+        stats.setWatched(true, 200_500);
+        stats.onCancelled(200_500);
+        stats.onScheduled(200_500);
+        stats.onWakeup(201_000);
+        stats.stop(201_000, 0);
+
+        assertEquals(1, stats.getUnwatchedWakeups());
+        assertEquals(1, stats.getWatchedWakeups());
+        assertEquals(2, stats.getWakeups());
+        assertEquals(180 + 20 + 1, stats.getBaselineWakeups());
+        assertEquals(200_500, stats.getUnwatchedMs(201_000));
+        assertEquals(500, stats.getWatchedMs(201_000));
+    }
+
+    @Test
+    public void stop_countsPendingTickAsCancelled() {
+        TickWakeupStats stats = new TickWakeupStats();
+        stats.start(0, 1_000, false);
+        stats.onScheduled(0);
+        stats.stop(30_000, 1_300);
+
+        assertEquals(0, stats.getWakeups());
+        assertEquals(30, stats.getBaselineWakeups());
+        assertEquals(36_000.0, stats.getCpuMsPerHour(30_000, 9_999), 1e-9);
+    }
+}
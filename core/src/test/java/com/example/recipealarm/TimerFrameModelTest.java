@@ -0,0 +1,102 @@
+package com.example.recipealarm;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * 타이머 화면의 프레임 보간을 담당하는 TimerFrameModel 을 확인하는 테스트입니다.
+ */
+public class TimerFrameModelTest {
+
+    private static final long FRAME_MS = 16;
+
+    @Test
+    public void progress_interpolatesBetweenTicks() {
+        TimerFrameModel model = new TimerFrameModel();
+        model.sync(10_000, 10_000, false, 1_000);
+
+        assertEquals(0, model.progressAt(1_000));
+        assertEquals(TimerFrameModel.PROGRESS_MAX / 20, model.progressAt(1_500));
+        assertEquals(9_500, model.remainingAt(1_500));
+        assertEquals(TimerFrameModel.PROGRESS_MAX, model.progressAt(11_000));
+        assertFalse(model.isRunning(11_000));
+    }
+
+    @Test
+    public void text_changesExactlyOnSecondBoundary() {
+        TimerFrameModel model = new TimerFrameModel();
+        model.sync(3_000, 3_000, false, 0);
+
+        assertTrue(model.formatIfChanged(0));
+        assertEquals("00:03", text(model));
+        assertFalse(model.formatIfChanged(999));
+        assertTrue(model.formatIfChanged(1_000));
+        assertEquals("00:02", text(model));
+    }
+
+    @Test
+    public void sync_ignoresSmallDriftButFollowsStateChanges() {
+        TimerFrameModel model = new TimerFrameModel();
+        model.sync(10_000, 10_000, false, 0);
+
+        // 틱이 조금 늦게 도착해도 종료 시각을 옮기지 않아 진행률이 뒤로 가지 않습니다.
+        model.sync(9_000, 10_000, false, 1_020);
+        assertEquals(8_980, model.remainingAt(1_020));
+
+        // 일시정지하면 그 자리에서 멈춥니다.
+        model.sync(7_000, 10_000, true, 3_000);
+        assertFalse(model.isRunning(50_000));
+        assertEquals(7_000, model.remainingAt(50_000));
+
+        // 재개하면 새 종료 시각을 기준으로 다시 흐릅니다.
+        model.sync(7_000, 10_000, false, 60_000);
+        assertEquals(6_000, model.remainingAt(61_000));
+
+        // 단계가 바뀌면 차이가 작아도 새 단계로 맞춥니다.
+        model.sync(20_000, 20_000, false, 61_010);
+        assertEquals(0, model.progressAt(61_010));
+    }
+
+    @Test
+    public void frames_allocateNothing() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        TimerFrameModel model = new TimerFrameModel();
+        long stepMs = 60 * 60_000L;
+        long checksum = runFrames(model, stepMs);
+        checksum += runFrames(model, stepMs);
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        checksum += runFrames(model, stepMs);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum > 0);
+        assertTrue("프레임 경로에서 " + allocated + " bytes 가 할당되었습니다.", allocated < 1024);
+    }
+
+    private static long runFrames(TimerFrameModel model, long stepMs) {
+        model.sync(stepMs, stepMs, true, 0);
+        model.sync(stepMs, stepMs, false, 0);
+        long checksum = 0;
+        for (long now = 0; model.isRunning(now); now += FRAME_MS) {
+            checksum += model.progressAt(now);
+            if (model.formatIfChanged(now)) {
+                checksum += model.getFormattedLength();
+            }
+        }
+        return checksum;
+    }
+
+    private static String text(TimerFrameModel model) {
+        return new String(model.getFormatted(), 0, model.getFormattedLength());
+    }
+}
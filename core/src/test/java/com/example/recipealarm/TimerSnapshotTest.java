@@ -0,0 +1,52 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * 바인드된 화면이 읽는 TimerSession.snapshot 을 확인하는 테스트입니다.
+ */
+public class TimerSnapshotTest {
+
+    private final Recipe recipe = new Recipe("라면", Arrays.asList(
+            new RecipeStep("물 끓이기", 180),
+            new RecipeStep("면 넣기", 240)));
+
+    @Test
+    public void snapshot_reflectsTimeSinceLastTick() {
+        TimerSession session = new TimerSession(recipe);
+        session.startAt(0, 10_000);
+        session.tick(10_000);
+
+        // 마지막 틱 이후 1.5초가 지났으면 그만큼 줄어든 남은 시간을 읽습니다.
+        TimerSnapshot snapshot = session.snapshot(11_500);
+
+        assertEquals(recipe.getId(), snapshot.getRecipeId());
+        assertEquals(0, snapshot.getStepIndex());
+        assertEquals(2, snapshot.getTotalSteps());
+        assertEquals("물 끓이기", snapshot.getStepDescription());
+        assertEquals(178_500, snapshot.getRemainingMs());
+        assertEquals("02:59", snapshot.getFormattedRemaining());
+        assertEquals(1_500, snapshot.getElapsedMs());
+        assertFalse(snapshot.isPaused());
+    }
+
+    @Test
+    public void snapshot_freezesWhilePaused() {
+        TimerSession session = new TimerSession(recipe);
+        session.startAt(0, 0);
+        session.jumpToStep(1, 5_000);
+        session.pause(65_000);
+
+        TimerSnapshot snapshot = session.snapshot(500_000);
+
+        assertTrue(snapshot.isPaused());
+        assertEquals(1, snapshot.getStepIndex());
+        assertEquals(180_000, snapshot.getRemainingMs());
+        assertEquals(240_000, snapshot.getElapsedMs());
+        assertEquals("03:00", snapshot.getFormattedRemaining());
+    }
+}
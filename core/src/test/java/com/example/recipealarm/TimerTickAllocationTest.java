@@ -0,0 +1,106 @@
+package com.example.recipealarm;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * TimerService 의 매 초 틱 경로(TimerSession.tick + TimerTickDispatcher.dispatch)가
+ * 정상 상태에서 객체를 할당하지 않는지 확인하는 테스트입니다.
+ */
+public class TimerTickAllocationTest {
+
+    private static final int TICKS = 3 * 60 * 60; // 3시간짜리 단계
+
+    @Test
+    public void steadyStateTick_allocatesNothing() {
+        com.sun.management.ThreadMXBean threadBean = allocationCountingBean();
+        long threadId = Thread.currentThread().getId();
+
+        Recipe recipe = new Recipe("오래 끓이는 사골국", Arrays.asList(
+                new RecipeStep("뼈 핏물 빼기", TICKS),
+                new RecipeStep("끓이기", TICKS)));
+        TimerSession session = new TimerSession(recipe);
+        // 싱글톤의 리스너 목록을 건드리지 않도록 별도 인스턴스를 사용합니다.
+        TimerTickDispatcher dispatcher = new TimerTickDispatcher();
+        CountingListener listener = new CountingListener();
+        dispatcher.addListener(listener);
+
+        // 워밍업: JIT 컴파일과 클래스 로딩으로 인한 할당을 측정에서 제외합니다.
+        runStep(session, dispatcher);
+        runStep(session, dispatcher);
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        int changed = runStep(session, dispatcher);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(TICKS - 1, changed);
+        // 측정 호출 자체의 잡음만 허용합니다. 틱마다 할당이 생기면 수백 KB 이상이 됩니다.
+        assertTrue("틱 경로에서 " + allocated + " bytes 가 할당되었습니다.", allocated < 1024);
+    }
+
+    @Test
+    public void tick_formatsRemainingTimeIntoSessionBuffer() {
+        Recipe recipe = new Recipe("라면", Arrays.asList(new RecipeStep("면 삶기", 270)));
+        TimerSession session = new TimerSession(recipe);
+        session.startAt(0, 0);
+        assertEquals("04:30", formatted(session));
+
+        assertEquals(TimerSession.TICK_UNCHANGED, session.tick(500));
+        assertEquals(TimerSession.TICK_CHANGED, session.tick(1_000));
+        assertEquals("04:29", formatted(session));
+        assertEquals(TimerSession.TICK_UNCHANGED, session.tick(1_500));
+
+        session.pause(61_000);
+        assertEquals(TimerSession.TICK_UNCHANGED, session.tick(120_000));
+        assertEquals(209_000L, session.getRemainingMs());
+
+        session.resume(200_000);
+        assertEquals(TimerSession.TICK_FINISHED, session.tick(409_000));
+    }
+
+    @Test
+    public void formatter_handlesLongDurations() {
+        assertEquals("00:00", TimeFormatter.format(-5));
+        assertEquals("01:05", TimeFormatter.format(65_999));
+        assertEquals("120:00", TimeFormatter.format(7_200_000));
+    }
+
+    private static int runStep(TimerSession session, TimerTickDispatcher dispatcher) {
+        session.startAt(0, 0);
+        int changed = 0;
+        for (long now = 1000; now < TICKS * 1000L; now += 1000) {
+            if (session.tick(now) == TimerSession.TICK_CHANGED) {
+                dispatcher.dispatch(session);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static String formatted(TimerSession session) {
+        return new String(session.getFormattedRemaining(), 0, session.getFormattedRemainingLength());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCountingBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        return threadBean;
+    }
+
+    private static class CountingListener implements TimerTickDispatcher.TimerTickListener {
+        long ticks;
+
+        @Override
+        public void onTimerTick(TimerSession session) {
+            ticks += session.getFormattedRemainingLength();
+        }
+    }
+}
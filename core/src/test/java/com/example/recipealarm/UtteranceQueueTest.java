@@ -0,0 +1,36 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 음성 안내 대기열의 순서를 확인하는 테스트입니다.
+ */
+public class UtteranceQueueTest {
+
+    @Test
+    public void poll_ordersByPriorityThenArrival() {
+        UtteranceQueue queue = new UtteranceQueue();
+        queue.add("찌개: 다음 단계는 끓이기 입니다.", UtteranceQueue.PRIORITY_NORMAL, 0);
+        queue.add("계란찜: 다음 단계는 찌기 입니다.", UtteranceQueue.PRIORITY_NORMAL, 0);
+        queue.add("요리가 완성되었습니다.", UtteranceQueue.PRIORITY_HIGH, 0);
+        queue.add("밥: 다음 단계는 뜸 들이기 입니다.", UtteranceQueue.PRIORITY_NORMAL, 0);
+
+        assertEquals(4, queue.size());
+        assertEquals("요리가 완성되었습니다.", queue.poll().getText());
+        assertEquals("찌개: 다음 단계는 끓이기 입니다.", queue.poll().getText());
+        assertEquals("계란찜: 다음 단계는 찌기 입니다.", queue.poll().getText());
+        assertEquals("밥: 다음 단계는 뜸 들이기 입니다.", queue.poll().getText());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void add_assignsDistinctUtteranceIds() {
+        UtteranceQueue queue = new UtteranceQueue();
+        String first = queue.add("같은 안내", UtteranceQueue.PRIORITY_NORMAL, 0).getId();
+        String second = queue.add("같은 안내", UtteranceQueue.PRIORITY_NORMAL, 0).getId();
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.recipealarm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 음성 명령 문법 VoiceCommandGrammar 를 확인하는 테스트입니다.
+ */
+public class VoiceCommandGrammarTest {
+
+    private final VoiceCommandGrammar grammar = VoiceCommandGrammar.createDefault();
+
+    @Test
+    public void match_findsSynonymsAnywhereIgnoringSpaces() {
+        assertEquals(VoiceCommandGrammar.COMMAND_PAUSE, grammar.match("잠깐 멈춰 줘"));
+        assertEquals(VoiceCommandGrammar.COMMAND_PAUSE, grammar.match("일시 정지"));
+        assertEquals(VoiceCommandGrammar.COMMAND_NEXT, grammar.match("다음 단계로 가자"));
+        assertEquals(VoiceCommandGrammar.COMMAND_PREVIOUS, grammar.match("이전 단계"));
+        assertEquals(VoiceCommandGrammar.COMMAND_STOP, grammar.match("요리 취소해"));
+        assertEquals(VoiceCommandGrammar.COMMAND_TIME, grammar.match("몇분 남았어"));
+        assertEquals(VoiceCommandGrammar.COMMAND_RESUME, grammar.match("Resume"));
+        assertNull(grammar.match("양파를 썰어요"));
+        assertNull(grammar.match(""));
+    }
+
+    @Test
+    public void match_prefersLongestSynonym() {
+        // "다시 시작"이 "시작"보다 길고, "일시정지"는 "정지"와 같은 명령입니다.
+        assertEquals(VoiceCommandGrammar.COMMAND_RESUME, grammar.match("다음에 다시 시작"));
+        assertEquals(VoiceCommandGrammar.COMMAND_PAUSE, grammar.match("일시정지"));
+    }
+
+    @Test
+    public void match_rejectsAmbiguousSentence() {
+        assertNull(grammar.match("시작 취소"));
+    }
+
+    @Test
+    public void match_followsFailureLinksAcrossOverlaps() {
+        Map<String, String[]> synonyms = new LinkedHashMap<>();
+        synonyms.put("a", new String[]{"abcd"});
+        synonyms.put("b", new String[]{"bc"});
+        VoiceCommandGrammar overlapping = new VoiceCommandGrammar(synonyms);
+
+        assertEquals("b", overlapping.match("abce"));
+        assertEquals("a", overlapping.match("xabcd"));
+        assertEquals("b", overlapping.match("aabc"));
+    }
+
+    @Test
+    public void bestCommand_usesAllHypotheses() {
+        // 첫 번째 후보가 잘못 인식되어도 나머지 후보에서 명령을 찾습니다.
+        List<String> hypotheses = Arrays.asList("다 은 단계", "다음 단계", "다음 단계요");
+        assertEquals(VoiceCommandGrammar.COMMAND_NEXT, grammar.bestCommand(hypotheses, null, 1.0));
+
+        List<String> conflicting = Arrays.asList("이전", "다음");
+        assertEquals(VoiceCommandGrammar.COMMAND_PREVIOUS, grammar.bestCommand(conflicting, null, 1.0));
+        // 신뢰도가 주어지면 순위 대신 신뢰도를 씁니다.
+        assertEquals(VoiceCommandGrammar.COMMAND_NEXT,
+                grammar.bestCommand(conflicting, new float[]{0.2f, 0.7f}, 1.0));
+        // 확신이 필요한 부분 결과에서는 점수 차이가 충분하지 않으면 명령을 고르지 않습니다.
+        assertNull(grammar.bestCommand(conflicting, null, 2.0));
+        assertNull(grammar.bestCommand(Collections.emptyList(), null, 1.0));
+    }
+
+    @Test
+    public void match_givesSameResultOnRepeatedCalls() {
+        // 부분 결과마다 같은 인스턴스를 다시 쓰므로, 이전 호출의 상태가 다음 매칭에 남으면 안 됩니다.
+        // 매칭 속도는 benchmarks 모듈의 VoiceCommandGrammarBenchmark 에서 잽니다.
+        String[] sentences = {
+                "지금 몇 분 남았는지 알려줘", "양파를 갈색이 될 때까지 볶다가 다음 단계로",
+                "잠깐만 기다려 줘", "물이 끓으면 면을 넣어요"
+        };
+        String[] expected = {
+                VoiceCommandGrammar.COMMAND_TIME, VoiceCommandGrammar.COMMAND_NEXT,
+                VoiceCommandGrammar.COMMAND_PAUSE, null
+        };
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sentences[i % sentences.length],
+                    expected[i % expected.length], grammar.match(sentences[i % sentences.length]));
+        }
+    }
+}